@@ -0,0 +1,109 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.exception.BotException;
+import de.raysha.lib.telegram.bot.api.model.ChatId;
+import de.raysha.lib.telegram.bot.api.model.InlineQueryResult;
+import de.raysha.lib.telegram.bot.api.model.InlineQueryResultArticle;
+import de.raysha.lib.telegram.bot.api.model.ReplyKeyboardMarkup;
+import de.raysha.lib.telegram.bot.api.model.ReplyMarkup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the encoding of the parameters of a sendMessage by a map with the {@link RequestBodyWriter},
+ * the mutable reply keyboards with a {@link ReplyMarkup}, and the results of an inline query as string
+ * parameter with the json body of cached results.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestBodyBenchmark {
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final Integer chatId = -123456789;
+    private final String text = "Hello world, this is message number 12345 of the broadcast!";
+    private final Integer replyTo = 4711;
+    private final String markup = "{\"keyboard\":[[\"yes\",\"no\"]],\"one_time_keyboard\":true}";
+
+    private final ChatId chat = new ChatId(chatId);
+    private final ReplyKeyboardMarkup keyboard = new ReplyKeyboardMarkup();
+    private final ReplyMarkup immutableKeyboard = ReplyMarkup.keyboard().row("yes", "no").oneTime().build();
+
+    private final List<InlineQueryResult> results = new ArrayList<InlineQueryResult>();
+
+    {
+        for(int i = 0; i < 50; i++) {
+            final InlineQueryResultArticle article = new InlineQueryResultArticle("Result " + i, "hello world");
+            article.setThumb_url("http://example.org/" + i + ".png");
+            results.add(article);
+        }
+        keyboard.setKeyboard(Arrays.asList(Arrays.asList("yes", "no")));
+        keyboard.setOne_time_keyboard(true);
+    }
+
+    @Benchmark
+    public byte[] map() {
+        final Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put("chat_id", chatId);
+        parameters.put("text", text);
+        parameters.put("reply_to_message_id", replyTo);
+        parameters.put("reply_markup", markup);
+        return FormEncoding.encode(parameters).getBytes(UTF_8);
+    }
+
+    @Benchmark
+    public RequestBody writer() {
+        return RequestBodyWriter.form()
+                .param("chat_id", chatId)
+                .param("text", text)
+                .param("reply_to_message_id", replyTo)
+                .json("reply_markup", markup)
+                .build();
+    }
+
+    @Benchmark
+    public RequestBody sendMessageWithKeyboard() throws BotException {
+        return ApiRequest.sendMessage(chat, text, null, null, replyTo, keyboard).getBody();
+    }
+
+    @Benchmark
+    public RequestBody sendMessageWithReplyMarkup() throws BotException {
+        return ApiRequest.sendMessage(chat, text, null, null, replyTo, immutableKeyboard).getBody();
+    }
+
+    /**
+     * The results as string parameter of a query, like before
+     */
+    @Benchmark
+    public byte[] answerInlineQueryMap() throws IOException {
+        final Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put("inline_query_id", "4711");
+        parameters.put("results", JsonCodecs.shared().writeValueAsString(JsonCodecs.INLINE_QUERY_RESULTS, results));
+        parameters.put("cache_time", 300);
+        return FormEncoding.encode(parameters).getBytes(UTF_8);
+    }
+
+    @Benchmark
+    public RequestBody answerInlineQuery() throws BotException {
+        return ApiRequest.answerInlineQuery("4711", results, 300, null, null).getBody();
+    }
+}
@@ -0,0 +1,61 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.model.Update;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the bitmap of the {@link UpdateDeduplicator} with a set of the last ids (an LRU map),
+ * for increasing ids with every tenth update sent twice.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UpdateDeduplicatorBenchmark {
+    private static final int WINDOW = 1 << 20;
+
+    private final Update update = new Update();
+    private int handled;
+    private int nextId = 1;
+
+    private final UpdateDeduplicator deduplicator = new UpdateDeduplicator(update -> handled++, WINDOW);
+
+    private final Map<Integer, Boolean> seen = new LinkedHashMap<Integer, Boolean>(WINDOW * 2) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Boolean> eldest) {
+            return size() > WINDOW;
+        }
+    };
+
+    private int nextId() {
+        final int id = nextId++;
+        return id % 10 == 0 ? id - 5 : id;
+    }
+
+    @Benchmark
+    public int bitmap() throws Exception {
+        update.setUpdate_id(nextId());
+        deduplicator.handle(update);
+        return handled;
+    }
+
+    @Benchmark
+    public int lruSet() {
+        if(seen.put(nextId(), Boolean.TRUE) == null) handled++;
+        return handled;
+    }
+}
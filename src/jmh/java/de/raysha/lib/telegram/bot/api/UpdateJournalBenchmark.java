@@ -0,0 +1,78 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.model.Update;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares recording an update in the {@link UpdateJournal} (received and acknowledged) with writing
+ * the offset to a file and syncing it for every update.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UpdateJournalBenchmark {
+    private File journalFile;
+    private File offsetFile;
+    private UpdateJournal journal;
+    private RandomAccessFile offsetAccess;
+    private FileChannel offsetChannel;
+    private final ByteBuffer offsetBuffer = ByteBuffer.allocate(4);
+    private final Update update = new Update();
+    private int nextId = 1;
+
+    @Setup
+    public void setup() throws IOException {
+        journalFile = File.createTempFile("benchmark", ".journal");
+        journalFile.delete();
+        journal = new UpdateJournal(journalFile);
+        offsetFile = File.createTempFile("benchmark", ".offset");
+        offsetAccess = new RandomAccessFile(offsetFile, "rw");
+        offsetChannel = offsetAccess.getChannel();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        journal.close();
+        offsetAccess.close();
+        journalFile.delete();
+        offsetFile.delete();
+    }
+
+    @Benchmark
+    public boolean journal() throws IOException {
+        update.setUpdate_id(nextId++);
+        journal.received(Collections.singletonList(update));
+        journal.acknowledge(update.getUpdate_id());
+        return journal.isAcknowledged(update.getUpdate_id());
+    }
+
+    @Benchmark
+    public int syncedOffset() throws IOException {
+        offsetBuffer.clear();
+        offsetBuffer.putInt(0, nextId++);
+        offsetChannel.write(offsetBuffer, 0);
+        offsetChannel.force(false);
+        return nextId;
+    }
+}
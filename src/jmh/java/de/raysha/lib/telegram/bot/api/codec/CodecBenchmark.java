@@ -0,0 +1,181 @@
+package de.raysha.lib.telegram.bot.api.codec;
+
+import de.raysha.lib.telegram.bot.api.JsonCodecs;
+import de.raysha.lib.telegram.bot.api.model.InlineQueryResult;
+import de.raysha.lib.telegram.bot.api.model.InlineQueryResultArticle;
+import de.raysha.lib.telegram.bot.api.model.Message;
+import de.raysha.lib.telegram.bot.api.model.Update;
+import de.raysha.lib.telegram.bot.api.model.compact.CompactUpdate;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.type.JavaType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the generated codecs with the reflective (de)serializers of Jackson.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+    private static final String UPDATE = "{\"update_id\":%d,\"message\":{\"message_id\":%d,\"date\":1450000000," +
+            "\"from\":{\"id\":3,\"first_name\":\"Jane\",\"last_name\":\"Doe\",\"username\":\"jane\"}," +
+            "\"chat\":{\"id\":-4,\"type\":\"group\",\"title\":\"Group\"}," +
+            "\"text\":\"hello world\",\"photo\":[{\"file_id\":\"AgADBAAD\",\"width\":90,\"height\":51,\"file_size\":1024}]," +
+            "\"reply_to_message\":{\"message_id\":1,\"date\":1449999999,\"from\":{\"id\":5,\"first_name\":\"John\"},\"text\":\"hi\"}}}";
+
+    @Param({"1", "100"})
+    public int updates;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final JsonCodecs generated = new JsonCodecs(mapper, true).warmUp();
+    private final JsonCodecs reflective = new JsonCodecs(mapper).warmUp();
+    private final JsonCodecs lazy = new JsonCodecs(mapper, true).setLazyDecoding(true).warmUp();
+    private final JsonCodecs canonical = new JsonCodecs(mapper, true).setCanonicalPool(new CanonicalPool(1024)).warmUp();
+    private final JsonCodecs projected = new JsonCodecs(mapper, true)
+            .project(Message.class, Projection.of("chat.id", "from.id", "text")).warmUp();
+
+    private byte[] updatesJson;
+    private List<InlineQueryResult> results;
+
+    @Setup
+    public void setUp() {
+        final StringBuilder json = new StringBuilder("[");
+        results = new ArrayList<InlineQueryResult>();
+        for(int i = 0; i < updates; i++) {
+            if(i > 0) json.append(',');
+            json.append(String.format(UPDATE, i, i));
+
+            final InlineQueryResultArticle article = new InlineQueryResultArticle();
+            article.setTitle("Result " + i);
+            article.setMessage_text("hello world");
+            article.setThumb_url("http://example.org/" + i + ".png");
+            results.add(article);
+        }
+        updatesJson = json.append(']').toString().getBytes(Charset.forName("UTF-8"));
+    }
+
+    @Benchmark
+    public List<Update> readGenerated() throws IOException {
+        return read(generated, JsonCodecs.UPDATES);
+    }
+
+    /**
+     * Shares the instances of the users, chats and file ids of the updates
+     */
+    @Benchmark
+    public List<Update> readCanonical() throws IOException {
+        return read(canonical, JsonCodecs.UPDATES);
+    }
+
+    /**
+     * Reads the updates into the compact model with primitive fields
+     */
+    @Benchmark
+    public List<CompactUpdate> readCompact() throws IOException {
+        return read(generated, JsonCodecs.COMPACT_UPDATES);
+    }
+
+    @Benchmark
+    public List<Update> readReflective() throws IOException {
+        return read(reflective, JsonCodecs.UPDATES);
+    }
+
+    /**
+     * Reads the updates and looks at the fields a router needs
+     */
+    @Benchmark
+    public long routeGenerated() throws IOException {
+        return route(generated);
+    }
+
+    @Benchmark
+    public long routeLazy() throws IOException {
+        return route(lazy);
+    }
+
+    @Benchmark
+    public long routeProjected() throws IOException {
+        return route(projected);
+    }
+
+    @Benchmark
+    public long routeCompact() throws IOException {
+        long sum = 0;
+        final List<CompactUpdate> list = read(generated, JsonCodecs.COMPACT_UPDATES);
+        for(CompactUpdate update : list) {
+            sum += update.getUpdate_id() + update.getMessage().getChat().getId() + update.getMessage().getText().length();
+        }
+        return sum;
+    }
+
+    /**
+     * Reads the updates and only looks at their ids, e.g. to drop the ones which were handled already
+     */
+    @Benchmark
+    public long filterGenerated() throws IOException {
+        return filter(generated);
+    }
+
+    @Benchmark
+    public long filterLazy() throws IOException {
+        return filter(lazy);
+    }
+
+    @Benchmark
+    public String writeGenerated() throws IOException {
+        return generated.writeValueAsString(JsonCodecs.INLINE_QUERY_RESULTS, results);
+    }
+
+    @Benchmark
+    public String writeReflective() throws IOException {
+        return reflective.writeValueAsString(JsonCodecs.INLINE_QUERY_RESULTS, results);
+    }
+
+    private long route(JsonCodecs codecs) throws IOException {
+        long sum = 0;
+        final List<Update> list = read(codecs, JsonCodecs.UPDATES);
+        for(Update update : list) {
+            sum += update.getUpdate_id() + update.getMessage().getChat().getId() + update.getMessage().getText().length();
+        }
+        return sum;
+    }
+
+    private long filter(JsonCodecs codecs) throws IOException {
+        long sum = 0;
+        final List<Update> list = read(codecs, JsonCodecs.UPDATES);
+        for(Update update : list) {
+            sum += update.getUpdate_id();
+        }
+        return sum;
+    }
+
+    private <T> T read(JsonCodecs codecs, JavaType type) throws IOException {
+        final JsonParser parser = codecs.getJsonFactory().createJsonParser(updatesJson);
+        try {
+            parser.nextToken();
+            return codecs.read(parser, type);
+        } finally {
+            parser.close();
+        }
+    }
+}
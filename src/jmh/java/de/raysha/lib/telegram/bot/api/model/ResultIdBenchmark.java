@@ -0,0 +1,51 @@
+package de.raysha.lib.telegram.bot.api.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ids of the inline query results by two UUIDs, as they were generated before, with the
+ * {@link ResultIdGenerators}. Runs on four threads to show the contention of the shared random source.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class ResultIdBenchmark {
+    private final ResultIdGenerator counter = ResultIdGenerators.counter();
+    private final InlineQueryResultArticle article = new InlineQueryResultArticle("Result", "hello world");
+
+    @Benchmark
+    public String uuid() {
+        return UUID.randomUUID().toString().replace("-", "") + UUID.randomUUID().toString().replace("-", "");
+    }
+
+    @Benchmark
+    public String random() {
+        return ResultIdGenerators.random().generate(article);
+    }
+
+    @Benchmark
+    public String counter() {
+        return counter.generate(article);
+    }
+
+    @Benchmark
+    public String content() {
+        return ResultIdGenerators.content().generate(article);
+    }
+}
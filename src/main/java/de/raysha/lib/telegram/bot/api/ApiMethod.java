@@ -0,0 +1,95 @@
+package de.raysha.lib.telegram.bot.api;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This enum contains all methods of the Telegram Bot API, named like the action of the request
+ * (/bot%TOKEN%/%ACTION%), together with their idempotency.
+ * <br /><br />
+ * An idempotent method can be repeated without changing the result, for example reading the updates
+ * again. Repeating a non-idempotent method may have an effect twice, for example send a message twice.
+ * <br /><br />
+ * Every method belongs to a {@link Group} of methods with a similar kind of traffic.
+ */
+public enum ApiMethod {
+    getMe(true, Group.SENDING),
+    getUpdates(true, Group.POLLING),
+    sendMessage(false, Group.SENDING),
+    forwardMessage(false, Group.SENDING),
+    sendPhoto(false, Group.SENDING),
+    sendAudio(false, Group.SENDING),
+    sendDocument(false, Group.SENDING),
+    sendSticker(false, Group.SENDING),
+    sendVideo(false, Group.SENDING),
+    sendVoice(false, Group.SENDING),
+    sendLocation(false, Group.SENDING),
+    sendChatAction(true, Group.SENDING),
+    getUserProfilePhotos(true, Group.FILE_METADATA),
+    setWebhook(true, Group.POLLING),
+    getFile(true, Group.FILE_METADATA),
+    answerInlineQuery(false, Group.SENDING);
+
+    /**
+     * This enum contains the groups of methods with a similar kind of traffic.
+     */
+    public static enum Group {
+        /**
+         * Receiving the updates (long polling) and setting up the webhook
+         */
+        POLLING,
+        /**
+         * Sending and answering messages without a file upload
+         */
+        SENDING,
+        /**
+         * Every request with a file upload
+         */
+        UPLOADS,
+        /**
+         * Reading information about files and profile photos
+         */
+        FILE_METADATA
+    }
+
+    /**
+     * The methods by their action, as it is looked up for every request
+     */
+    private static final Map<String, ApiMethod> BY_ACTION = new HashMap<String, ApiMethod>();
+
+    static {
+        for(ApiMethod method : values()) {
+            BY_ACTION.put(method.name(), method);
+        }
+    }
+
+    private final boolean idempotent;
+    private final Group group;
+
+    ApiMethod(boolean idempotent, Group group) {
+        this.idempotent = idempotent;
+        this.group = group;
+    }
+
+    /**
+     * @return true if the method can be repeated safely
+     */
+    public boolean isIdempotent() {
+        return idempotent;
+    }
+
+    /**
+     * @return the group of the method if the request has no file upload
+     */
+    public Group getGroup() {
+        return group;
+    }
+
+    /**
+     * @param action API method name (/bot%TOKEN%/%ACTION%)
+     * @return the method or null if the action is unknown
+     */
+    public static ApiMethod of(String action) {
+        return action == null ? null : BY_ACTION.get(action);
+    }
+}
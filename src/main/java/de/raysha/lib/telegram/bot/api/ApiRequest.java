@@ -0,0 +1,367 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.exception.BotException;
+import de.raysha.lib.telegram.bot.api.model.ChatId;
+import de.raysha.lib.telegram.bot.api.model.ForceReply;
+import de.raysha.lib.telegram.bot.api.model.InlineQueryResult;
+import de.raysha.lib.telegram.bot.api.model.InputFile;
+import de.raysha.lib.telegram.bot.api.model.Message;
+import de.raysha.lib.telegram.bot.api.model.ReplyKeyboardHide;
+import de.raysha.lib.telegram.bot.api.model.ReplyKeyboardMarkup;
+import de.raysha.lib.telegram.bot.api.model.ReplyMarkup;
+import de.raysha.lib.telegram.bot.api.model.Update;
+import de.raysha.lib.telegram.bot.api.model.User;
+import de.raysha.lib.telegram.bot.api.model.UserProfilePhotos;
+import de.raysha.lib.telegram.bot.api.model.compact.CompactUpdate;
+import org.codehaus.jackson.type.JavaType;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A single call of a Bot API method: the action, its parameters and the type of its result.
+ * The requests are built here and executed by the {@link TelegramBot} and the {@link AsyncTelegramBot}.
+ *
+ * @param <T> type of the 'result' field
+ */
+final class ApiRequest<T> {
+    private static final JsonCodecs codecs = JsonCodecs.shared();
+
+    static final JavaType USER = JsonCodecs.USER;
+    static final JavaType UPDATES = JsonCodecs.UPDATES;
+    static final JavaType COMPACT_UPDATES = JsonCodecs.COMPACT_UPDATES;
+    static final JavaType MESSAGE = JsonCodecs.MESSAGE;
+    static final JavaType USER_PROFILE_PHOTOS = JsonCodecs.USER_PROFILE_PHOTOS;
+    static final JavaType FILE = JsonCodecs.FILE;
+    static final JavaType BOOLEAN = JsonCodecs.BOOLEAN;
+
+    private final String action;
+    private final boolean post;
+    private final Map<String, Object> parameters;
+    private final RequestBody body;
+    private final JavaType resultType;
+    private String fileName;
+    private InputFile file;
+
+    private ApiRequest(String action, boolean post, Map<String, Object> parameters, RequestBody body, JavaType resultType) {
+        this.action = action;
+        this.post = post;
+        this.parameters = parameters;
+        this.body = body;
+        this.resultType = resultType;
+    }
+
+    /**
+     * @return API method name (/bot%TOKEN%/%ACTION%)
+     */
+    String getAction() {
+        return action;
+    }
+
+    /**
+     * @return true if the request must be sent via POST
+     */
+    boolean isPost() {
+        return post;
+    }
+
+    /**
+     * @return the parameters. The parameters of a request with an encoded body are decoded again.
+     */
+    Map<String, Object> getParameters() {
+        return body != null ? body.toParameters() : parameters;
+    }
+
+    /**
+     * @return the encoded parameters or null if the request has a map of parameters
+     */
+    RequestBody getBody() {
+        return body;
+    }
+
+    JavaType getResultType() {
+        return resultType;
+    }
+
+    /**
+     * @return the parameter name of the file to upload or null if there is no file
+     */
+    String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * @return the file to upload or null if there is no file
+     */
+    InputFile getFile() {
+        return file;
+    }
+
+    private static <T> ApiRequest<T> get(String action, Map<String, Object> parameters, JavaType resultType) {
+        return new ApiRequest<T>(action, false, parameters, null, resultType);
+    }
+
+    private static <T> ApiRequest<T> post(String action, Map<String, Object> parameters, JavaType resultType) {
+        return new ApiRequest<T>(action, true, parameters, null, resultType);
+    }
+
+    private static <T> ApiRequest<T> post(String action, RequestBody body, JavaType resultType) {
+        return new ApiRequest<T>(action, true, null, body, resultType);
+    }
+
+    /**
+     * Attach the given file to upload, if there is one.
+     */
+    private ApiRequest<T> withFile(String name, InputFile file) {
+        if(file != null) {
+            this.fileName = name;
+            this.file = file;
+        }
+        return this;
+    }
+
+    /**
+     * @return the input as file to upload or null if the input is a file_id
+     */
+    private static InputFile inputFile(String name, Object input) {
+        if(input instanceof String) {
+            return null;
+        }else if(input instanceof File){
+            return inputFile(name, InputFile.of((File) input));
+        }else if(input instanceof InputFile){
+            final InputFile inputFile = (InputFile) input;
+            if(inputFile.getLength() > InputFile.MAX_UPLOAD_SIZE) {
+                throw new IllegalArgumentException("The " + name + " must not be larger than " + InputFile.MAX_UPLOAD_SIZE + " bytes!");
+            }
+            return inputFile;
+        }else{
+            throw new IllegalArgumentException("The " + name + " must be a string, a file or an input file!");
+        }
+    }
+
+    /**
+     * Write the input as parameter, if it is a file_id.
+     */
+    private static RequestBodyWriter input(RequestBodyWriter body, String name, Object input, InputFile file) {
+        return file == null ? body.param(name, (String) input) : body;
+    }
+
+    private static void checkReply(Object replyMarkup) {
+        if(replyMarkup != null){
+            if(!(   replyMarkup instanceof ReplyKeyboardHide ||
+                    replyMarkup instanceof ReplyKeyboardMarkup ||
+                    replyMarkup instanceof ForceReply)){
+
+                throw new IllegalStateException("The replyMarkup must be on of the following classes: " +
+                    ReplyMarkup.class.getName() + ", " +
+                    ReplyKeyboardHide.class.getName() + ", " +
+                    ReplyKeyboardMarkup.class.getName() + ", " +
+                    ForceReply.class.getName());
+            }
+        }
+    }
+
+    /**
+     * @return the reply markup or null if there is none. A {@link ReplyMarkup} is serialized already,
+     * the mutable markups are serialized on every call.
+     */
+    private static ReplyMarkup replyMarkup(Object replyMarkup) {
+        if(replyMarkup instanceof ReplyMarkup) return (ReplyMarkup) replyMarkup;
+
+        checkReply(replyMarkup);
+        return replyMarkup == null ? null : ReplyMarkup.of(replyMarkup);
+    }
+
+    static ApiRequest<User> getMe() {
+        return get("getMe", null, USER);
+    }
+
+    static ApiRequest<List<Update>> getUpdates(Integer offset, Integer limit, Integer timeout) {
+        return get("getUpdates", updatesParameters(offset, limit, timeout), UPDATES);
+    }
+
+    static ApiRequest<List<CompactUpdate>> getCompactUpdates(Integer offset, Integer limit, Integer timeout) {
+        return get("getUpdates", updatesParameters(offset, limit, timeout), COMPACT_UPDATES);
+    }
+
+    private static Map<String, Object> updatesParameters(Integer offset, Integer limit, Integer timeout) {
+        final Map<String, Object> parameters = new HashMap<String, Object>();
+        if(offset != null) parameters.put("offset", offset);
+        if(limit != null) parameters.put("limit", limit);
+        if(timeout != null) parameters.put("timeout", timeout);
+        return parameters;
+    }
+
+    static ApiRequest<Message> sendMessage(ChatId chatId, String text, BotAPI.ParseMode parseMode,
+                                           Boolean disableWebPagePreview, Integer replyToMessageId, Object replyMarkup) throws BotException {
+        final ReplyMarkup markup = replyMarkup(replyMarkup);
+
+        return post("sendMessage", RequestBodyWriter.form()
+                .param("chat_id", chatId.getId())
+                .param("text", text)
+                .param("parse_mode", parseMode == null ? null : parseMode.name())
+                .param("disable_web_page_preview", disableWebPagePreview)
+                .param("reply_to_message_id", replyToMessageId)
+                .param("reply_markup", markup)
+                .build(), MESSAGE);
+    }
+
+    static ApiRequest<Message> forwardMessage(ChatId chatId, ChatId fromChatId, Integer messageId) {
+        return post("forwardMessage", RequestBodyWriter.form()
+                .param("chat_id", chatId.getId())
+                .param("from_chat_id", fromChatId.getId())
+                .param("message_id", messageId)
+                .build(), MESSAGE);
+    }
+
+    static ApiRequest<Message> sendPhoto(ChatId chatId, Object photo, String caption,
+                                         Integer replyToMessageId, Object replyMarkup) throws BotException {
+        final ReplyMarkup markup = replyMarkup(replyMarkup);
+        final InputFile file = inputFile("photo", photo);
+
+        return ApiRequest.<Message>post("sendPhoto", input(RequestBodyWriter.form().param("chat_id", chatId.getId()), "photo", photo, file)
+                .param("caption", caption)
+                .param("reply_to_message_id", replyToMessageId)
+                .param("reply_markup", markup)
+                .build(), MESSAGE).withFile("photo", file);
+    }
+
+    static ApiRequest<Message> sendAudio(ChatId chatId, Object audio, Integer duration,
+                                         String performer, String title, Integer replyToMessageId,
+                                         Object replyMarkup) throws BotException {
+        final ReplyMarkup markup = replyMarkup(replyMarkup);
+        final InputFile file = inputFile("audio", audio);
+
+        return ApiRequest.<Message>post("sendAudio", input(RequestBodyWriter.form().param("chat_id", chatId.getId()), "audio", audio, file)
+                .param("duration", duration)
+                .param("performer", performer)
+                .param("title", title)
+                .param("reply_to_message_id", replyToMessageId)
+                .param("reply_markup", markup)
+                .build(), MESSAGE).withFile("audio", file);
+    }
+
+    static ApiRequest<Message> sendDocument(ChatId chatId, Object document, Integer replyToMessageId,
+                                            Object replyMarkup) throws BotException {
+        final ReplyMarkup markup = replyMarkup(replyMarkup);
+        final InputFile file = inputFile("document", document);
+
+        return ApiRequest.<Message>post("sendDocument", input(RequestBodyWriter.form().param("chat_id", chatId.getId()), "document", document, file)
+                .param("reply_to_message_id", replyToMessageId)
+                .param("reply_markup", markup)
+                .build(), MESSAGE).withFile("document", file);
+    }
+
+    static ApiRequest<Message> sendSticker(ChatId chatId, Object sticker, Integer replyToMessageId,
+                                           Object replyMarkup) throws BotException {
+        final ReplyMarkup markup = replyMarkup(replyMarkup);
+        final InputFile file = inputFile("sticker", sticker);
+
+        return ApiRequest.<Message>post("sendSticker", input(RequestBodyWriter.form().param("chat_id", chatId.getId()), "sticker", sticker, file)
+                .param("reply_to_message_id", replyToMessageId)
+                .param("reply_markup", markup)
+                .build(), MESSAGE).withFile("sticker", file);
+    }
+
+    static ApiRequest<Message> sendVoice(ChatId chatId, Object voice, Integer duration,
+                                         Integer replyToMessageId, Object replyMarkup) throws BotException {
+        final ReplyMarkup markup = replyMarkup(replyMarkup);
+        final InputFile file = inputFile("voice", voice);
+
+        return ApiRequest.<Message>post("sendVoice", input(RequestBodyWriter.form().param("chat_id", chatId.getId()), "voice", voice, file)
+                .param("duration", duration)
+                .param("reply_to_message_id", replyToMessageId)
+                .param("reply_markup", markup)
+                .build(), MESSAGE).withFile("voice", file);
+    }
+
+    static ApiRequest<Message> sendVideo(ChatId chatId, Object video, Integer duration, String caption,
+                                         Integer replyToMessageId, Object replyMarkup) throws BotException {
+        final ReplyMarkup markup = replyMarkup(replyMarkup);
+        final InputFile file = inputFile("video", video);
+
+        return ApiRequest.<Message>post("sendVideo", input(RequestBodyWriter.form().param("chat_id", chatId.getId()), "video", video, file)
+                .param("duration", duration)
+                .param("caption", caption)
+                .param("reply_to_message_id", replyToMessageId)
+                .param("reply_markup", markup)
+                .build(), MESSAGE).withFile("video", file);
+    }
+
+    static ApiRequest<Message> sendLocation(ChatId chatId, Float latitude, Float longitude,
+                                            Integer replyToMessageId, Object replyMarkup) throws BotException {
+        final ReplyMarkup markup = replyMarkup(replyMarkup);
+
+        return post("sendLocation", RequestBodyWriter.form()
+                .param("chat_id", chatId.getId())
+                .param("latitude", latitude)
+                .param("longitude", longitude)
+                .param("reply_to_message_id", replyToMessageId)
+                .param("reply_markup", markup)
+                .build(), MESSAGE);
+    }
+
+    static ApiRequest<UserProfilePhotos> getUserProfilePhotos(Integer userId, Integer offset, Integer limit) {
+        final Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put("user_id", userId);
+        if(offset != null) parameters.put("offset", offset);
+        if(limit != null) parameters.put("limit", limit);
+
+        return get("getUserProfilePhotos", parameters, USER_PROFILE_PHOTOS);
+    }
+
+    static ApiRequest<Boolean> sendChatAction(ChatId chatId, String action) {
+        return post("sendChatAction", RequestBodyWriter.form()
+                .param("chat_id", chatId.getId())
+                .param("action", action)
+                .build(), BOOLEAN);
+    }
+
+    static ApiRequest<Boolean> setWebhook(String url, File certificate) {
+        final Map<String, Object> parameters = new HashMap<String, Object>();
+
+        if(url != null) parameters.put("url", url);
+
+        if(certificate == null) {
+            return get("setWebhook", parameters, BOOLEAN);
+        }
+
+        return ApiRequest.<Boolean>post("setWebhook", parameters, BOOLEAN).withFile("certificate", inputFile("certificate", certificate));
+    }
+
+    static ApiRequest<de.raysha.lib.telegram.bot.api.model.File> getFile(String fileId) {
+        final Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put("file_id", fileId);
+
+        return get("getFile", parameters, FILE);
+    }
+
+    /**
+     * The results are sent as json body. Every result is serialized once, until it is changed.
+     */
+    static ApiRequest<Boolean> answerInlineQuery(String inlineQueryId, List<InlineQueryResult> results, Integer cacheTime,
+                                                 Boolean isPersonal, String nextOffset) throws BotException {
+        byte[][] json = null;
+        if(results != null) {
+            json = new byte[results.size()][];
+            try {
+                for(int i = 0; i < json.length; i++) {
+                    json[i] = codecs.writeInlineQueryResult(results.get(i));
+                }
+            } catch (IOException e) {
+                throw new BotException("Error occurs while serializing the list of results!", e);
+            }
+        }
+
+        return post("answerInlineQuery", RequestBodyWriter.json()
+                .param("inline_query_id", inlineQueryId)
+                .jsonArray("results", json)
+                .param("cache_time", cacheTime)
+                .param("is_personal", isPersonal)
+                .param("next_offset", nextOffset)
+                .build(), BOOLEAN);
+    }
+}
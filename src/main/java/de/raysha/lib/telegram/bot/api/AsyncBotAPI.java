@@ -0,0 +1,224 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.model.ChatId;
+import de.raysha.lib.telegram.bot.api.model.InlineQueryResult;
+import de.raysha.lib.telegram.bot.api.model.InputFile;
+import de.raysha.lib.telegram.bot.api.model.Message;
+import de.raysha.lib.telegram.bot.api.model.Update;
+import de.raysha.lib.telegram.bot.api.model.User;
+import de.raysha.lib.telegram.bot.api.model.UserProfilePhotos;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The asynchronous companion of the {@link BotAPI}. Every method returns immediately with a future
+ * of the result. On failure the future is completed exceptionally with a
+ * {@link de.raysha.lib.telegram.bot.api.exception.BotException}.
+ * <br /><br />
+ * See the corresponding method of the {@link BotAPI} for the documentation of the parameters.
+ */
+public interface AsyncBotAPI {
+
+    /**
+     * @see BotAPI#getMe()
+     */
+    public CompletableFuture<User> getMe();
+
+    /**
+     * @see BotAPI#getUpdates(Integer, Integer, Integer)
+     */
+    public CompletableFuture<List<Update>> getUpdates(Integer offset, Integer limit, Integer timeout);
+
+    /**
+     * @see BotAPI#sendMessage(ChatId, String)
+     */
+    public CompletableFuture<Message> sendMessage(ChatId chatId, String text);
+
+    /**
+     * @see BotAPI#sendMessage(ChatId, String, BotAPI.ParseMode, Boolean, Integer, Object)
+     */
+    public CompletableFuture<Message> sendMessage(ChatId chatId, String text, BotAPI.ParseMode parseMode, Boolean disableWebPagePreview, Integer replyToMessageId, Object replyMarkup);
+
+    /**
+     * @see BotAPI#forwardMessage(ChatId, ChatId, Integer)
+     */
+    public CompletableFuture<Message> forwardMessage(ChatId chatId, ChatId fromChatId, Integer messageId);
+
+    /**
+     * @see BotAPI#sendPhoto(ChatId, String)
+     */
+    public CompletableFuture<Message> sendPhoto(ChatId chatId, String photo);
+
+    /**
+     * @see BotAPI#sendPhoto(ChatId, File)
+     */
+    public CompletableFuture<Message> sendPhoto(ChatId chatId, File photo);
+
+    /**
+     * @see BotAPI#sendPhoto(ChatId, File)
+     */
+    public CompletableFuture<Message> sendPhoto(ChatId chatId, InputFile photo);
+
+    /**
+     * @see BotAPI#sendPhoto(ChatId, Object, String, Integer, Object)
+     */
+    public CompletableFuture<Message> sendPhoto(ChatId chatId, Object photo, String caption, Integer replyToMessageId, Object replyMarkup);
+
+    /**
+     * @see BotAPI#sendAudio(ChatId, File)
+     */
+    public CompletableFuture<Message> sendAudio(ChatId chatId, File audio);
+
+    /**
+     * @see BotAPI#sendAudio(ChatId, File)
+     */
+    public CompletableFuture<Message> sendAudio(ChatId chatId, InputFile audio);
+
+    /**
+     * @see BotAPI#sendAudio(ChatId, String)
+     */
+    public CompletableFuture<Message> sendAudio(ChatId chatId, String audio);
+
+    /**
+     * @see BotAPI#sendAudio(ChatId, Object, Integer, String, String, Integer, Object)
+     */
+    public CompletableFuture<Message> sendAudio(ChatId chatId, Object audio, Integer duration, String performer, String title, Integer replyToMessageId, Object replyMarkup);
+
+    /**
+     * @see BotAPI#sendDocument(ChatId, File)
+     */
+    public CompletableFuture<Message> sendDocument(ChatId chatId, File document);
+
+    /**
+     * @see BotAPI#sendDocument(ChatId, File)
+     */
+    public CompletableFuture<Message> sendDocument(ChatId chatId, InputFile document);
+
+    /**
+     * @see BotAPI#sendDocument(ChatId, String)
+     */
+    public CompletableFuture<Message> sendDocument(ChatId chatId, String document);
+
+    /**
+     * @see BotAPI#sendDocument(ChatId, Object, Integer, Object)
+     */
+    public CompletableFuture<Message> sendDocument(ChatId chatId, Object document, Integer replyToMessageId, Object replyMarkup);
+
+    /**
+     * @see BotAPI#sendSticker(ChatId, File)
+     */
+    public CompletableFuture<Message> sendSticker(ChatId chatId, File sticker);
+
+    /**
+     * @see BotAPI#sendSticker(ChatId, File)
+     */
+    public CompletableFuture<Message> sendSticker(ChatId chatId, InputFile sticker);
+
+    /**
+     * @see BotAPI#sendSticker(ChatId, String)
+     */
+    public CompletableFuture<Message> sendSticker(ChatId chatId, String sticker);
+
+    /**
+     * @see BotAPI#sendSticker(ChatId, Object, Integer, Object)
+     */
+    public CompletableFuture<Message> sendSticker(ChatId chatId, Object sticker, Integer replyToMessageId, Object replyMarkup);
+
+    /**
+     * @see BotAPI#sendVideo(ChatId, File)
+     */
+    public CompletableFuture<Message> sendVideo(ChatId chatId, File video);
+
+    /**
+     * @see BotAPI#sendVideo(ChatId, File)
+     */
+    public CompletableFuture<Message> sendVideo(ChatId chatId, InputFile video);
+
+    /**
+     * @see BotAPI#sendVideo(ChatId, String)
+     */
+    public CompletableFuture<Message> sendVideo(ChatId chatId, String video);
+
+    /**
+     * @see BotAPI#sendVideo(ChatId, Object, Integer, String, Integer, Object)
+     */
+    public CompletableFuture<Message> sendVideo(ChatId chatId, Object video, Integer duration, String caption, Integer replyToMessageId, Object replyMarkup);
+
+    /**
+     * @see BotAPI#sendVoice(ChatId, File)
+     */
+    public CompletableFuture<Message> sendVoice(ChatId chatId, File voice);
+
+    /**
+     * @see BotAPI#sendVoice(ChatId, File)
+     */
+    public CompletableFuture<Message> sendVoice(ChatId chatId, InputFile voice);
+
+    /**
+     * @see BotAPI#sendVoice(ChatId, String)
+     */
+    public CompletableFuture<Message> sendVoice(ChatId chatId, String voice);
+
+    /**
+     * @see BotAPI#sendVoice(ChatId, Object, Integer, Integer, Object)
+     */
+    public CompletableFuture<Message> sendVoice(ChatId chatId, Object voice, Integer duration, Integer replyToMessageId, Object replyMarkup);
+
+    /**
+     * @see BotAPI#sendLocation(ChatId, Float, Float)
+     */
+    public CompletableFuture<Message> sendLocation(ChatId chatId, Float latitude, Float longitude);
+
+    /**
+     * @see BotAPI#sendLocation(ChatId, Float, Float, Integer, Object)
+     */
+    public CompletableFuture<Message> sendLocation(ChatId chatId, Float latitude, Float longitude, Integer replyToMessageId, Object replyMarkup);
+
+    /**
+     * @see BotAPI#sendChatAction(ChatId, String)
+     */
+    public CompletableFuture<Boolean> sendChatAction(ChatId chatId, String action);
+
+    /**
+     * @see BotAPI#sendChatAction(ChatId, BotAPI.ChatAction)
+     */
+    public CompletableFuture<Boolean> sendChatAction(ChatId chatId, BotAPI.ChatAction action);
+
+    /**
+     * @see BotAPI#getUserProfilePhotos(Integer)
+     */
+    public CompletableFuture<UserProfilePhotos> getUserProfilePhotos(Integer userId);
+
+    /**
+     * @see BotAPI#getUserProfilePhotos(Integer, Integer, Integer)
+     */
+    public CompletableFuture<UserProfilePhotos> getUserProfilePhotos(Integer userId, Integer offset, Integer limit);
+
+    /**
+     * @see BotAPI#setWebhook(String)
+     */
+    public CompletableFuture<Boolean> setWebhook(String url);
+
+    /**
+     * @see BotAPI#setWebhook(String, File)
+     */
+    public CompletableFuture<Boolean> setWebhook(String url, File certificate);
+
+    /**
+     * @see BotAPI#getFile(String)
+     */
+    public CompletableFuture<de.raysha.lib.telegram.bot.api.model.File> getFile(String fileId);
+
+    /**
+     * @see BotAPI#answerInlineQuery(String, List)
+     */
+    public CompletableFuture<Boolean> answerInlineQuery(String inlineQueryId, List<InlineQueryResult> results);
+
+    /**
+     * @see BotAPI#answerInlineQuery(String, List, Integer, Boolean, String)
+     */
+    public CompletableFuture<Boolean> answerInlineQuery(String inlineQueryId, List<InlineQueryResult> results, Integer cacheTime,
+                                                        Boolean isPersonal, String nextOffset);
+}
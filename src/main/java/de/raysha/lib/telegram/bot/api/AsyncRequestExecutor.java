@@ -0,0 +1,63 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.model.InputFile;
+import org.codehaus.jackson.type.JavaType;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Executes requests to Telegram Bot API without blocking the calling thread. The returned futures
+ * are completed with the value of the 'result' field or, on failure, exceptionally with a
+ * {@link de.raysha.lib.telegram.bot.api.exception.BotException}.
+ */
+public interface AsyncRequestExecutor {
+
+    /**
+     * Make GET request to the API
+     *
+     * @param action API method name (/bot%TOKEN%/%ACTION%)
+     * @param parameters query parameters
+     * @param resultType type the 'result' field is bound to
+     * @return future of the value of 'result' field
+     */
+    <T> CompletableFuture<T> get(String action, Map<String, Object> parameters, JavaType resultType);
+
+    /**
+     * Make POST request to the API
+     *
+     * @param action API method name (/bot%TOKEN%/%ACTION%)
+     * @param parameters query parameters
+     * @param resultType type the 'result' field is bound to
+     * @return future of the value of 'result' field
+     */
+    <T> CompletableFuture<T> post(String action, Map<String, Object> parameters, JavaType resultType);
+
+    /**
+     * Make POST request to the API, with parameters which are encoded already
+     * <br /><br />
+     * The executors of this library send the body as it is. The default implementation decodes the
+     * parameters again and calls {@link #post(String, Map, JavaType)}.
+     *
+     * @param action API method name (/bot%TOKEN%/%ACTION%)
+     * @param body the encoded parameters
+     * @param resultType type the 'result' field is bound to
+     * @return future of the value of 'result' field
+     */
+    default <T> CompletableFuture<T> post(String action, RequestBody body, JavaType resultType) {
+        return post(action, body.toParameters(), resultType);
+    }
+
+    /**
+     * Make POST request to the API, with a file
+     *
+     * @param action API method name (/bot%TOKEN%/%ACTION%)
+     * @param parameters query parameters
+     * @param fileName a parameter name for the file ('photo', 'sticker', etc)
+     * @param file file to upload
+     * @param resultType type the 'result' field is bound to
+     * @return future of the value of 'result' field
+     */
+    <T> CompletableFuture<T> post(String action, Map<String, Object> parameters, String fileName, InputFile file, JavaType resultType);
+
+}
@@ -0,0 +1,270 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.exception.BotException;
+import de.raysha.lib.telegram.bot.api.model.ChatId;
+import de.raysha.lib.telegram.bot.api.model.InlineQueryResult;
+import de.raysha.lib.telegram.bot.api.model.InputFile;
+import de.raysha.lib.telegram.bot.api.model.Message;
+import de.raysha.lib.telegram.bot.api.model.Update;
+import de.raysha.lib.telegram.bot.api.model.User;
+import de.raysha.lib.telegram.bot.api.model.UserProfilePhotos;
+import de.raysha.lib.telegram.bot.api.model.compact.CompactUpdate;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class AsyncTelegramBot implements AsyncBotAPI {
+    private final AsyncRequestExecutor requestExecutor;
+
+    public AsyncTelegramBot(String token) {
+        this(new UnirestAsyncRequestExecutor("https://api.telegram.org/bot" + token + "/"));
+    }
+
+    public AsyncTelegramBot(AsyncRequestExecutor requestExecutor) {
+        this.requestExecutor = requestExecutor;
+    }
+
+    private interface RequestBuilder<T> {
+        ApiRequest<T> build() throws BotException;
+    }
+
+    /**
+     * Every failure, also one while the request is built or sent, completes the returned future.
+     */
+    private <T> CompletableFuture<T> execute(RequestBuilder<T> builder) {
+        try {
+            final ApiRequest<T> request = builder.build();
+
+            if(request.getFile() != null) {
+                return requestExecutor.post(request.getAction(), request.getParameters(),
+                        request.getFileName(), request.getFile(), request.getResultType());
+            }else if(request.getBody() != null) {
+                return requestExecutor.post(request.getAction(), request.getBody(), request.getResultType());
+            }else if(request.isPost()) {
+                return requestExecutor.post(request.getAction(), request.getParameters(), request.getResultType());
+            }else{
+                return requestExecutor.get(request.getAction(), request.getParameters(), request.getResultType());
+            }
+        } catch (BotException | RuntimeException e) {
+            final CompletableFuture<T> result = new CompletableFuture<T>();
+            result.completeExceptionally(e);
+            return result;
+        }
+    }
+
+    private CompletableFuture<Boolean> executeBoolean(RequestBuilder<Boolean> builder) {
+        return execute(builder).thenApply(Boolean.TRUE::equals);
+    }
+
+    @Override
+    public CompletableFuture<User> getMe() {
+        return execute(() -> ApiRequest.getMe());
+    }
+
+    @Override
+    public CompletableFuture<List<Update>> getUpdates(Integer offset, Integer limit, Integer timeout) {
+        return execute(() -> ApiRequest.getUpdates(offset, limit, timeout));
+    }
+
+    /**
+     * @see TelegramBot#getCompactUpdates(Integer, Integer, Integer)
+     */
+    public CompletableFuture<List<CompactUpdate>> getCompactUpdates(Integer offset, Integer limit, Integer timeout) {
+        return execute(() -> ApiRequest.getCompactUpdates(offset, limit, timeout));
+    }
+
+    @Override
+    public CompletableFuture<Message> sendMessage(ChatId chatId, String text) {
+        return sendMessage(chatId, text, null, null, null, null);
+    }
+
+    @Override
+    public CompletableFuture<Message> sendMessage(ChatId chatId, String text, BotAPI.ParseMode parseMode,
+                                                  Boolean disableWebPagePreview, Integer replyToMessageId, Object replyMarkup) {
+        return execute(() -> ApiRequest.sendMessage(chatId, text, parseMode, disableWebPagePreview, replyToMessageId, replyMarkup));
+    }
+
+    @Override
+    public CompletableFuture<Message> forwardMessage(ChatId chatId, ChatId fromChatId, Integer messageId) {
+        return execute(() -> ApiRequest.forwardMessage(chatId, fromChatId, messageId));
+    }
+
+    @Override
+    public CompletableFuture<Message> sendPhoto(ChatId chatId, String photo) {
+        return sendPhoto(chatId, photo, null, null, null);
+    }
+
+    @Override
+    public CompletableFuture<Message> sendPhoto(ChatId chatId, File photo) {
+        return sendPhoto(chatId, photo, null, null, null);
+    }
+
+    @Override
+    public CompletableFuture<Message> sendPhoto(ChatId chatId, InputFile photo) {
+        return sendPhoto(chatId, photo, null, null, null);
+    }
+
+    @Override
+    public CompletableFuture<Message> sendPhoto(ChatId chatId, Object photo, String caption, Integer replyToMessageId, Object replyMarkup) {
+        return execute(() -> ApiRequest.sendPhoto(chatId, photo, caption, replyToMessageId, replyMarkup));
+    }
+
+    @Override
+    public CompletableFuture<Message> sendAudio(ChatId chatId, File audio) {
+        return sendAudio(chatId, audio, null, null, null, null, null);
+    }
+
+    @Override
+    public CompletableFuture<Message> sendAudio(ChatId chatId, InputFile audio) {
+        return sendAudio(chatId, audio, null, null, null, null, null);
+    }
+
+    @Override
+    public CompletableFuture<Message> sendAudio(ChatId chatId, String audio) {
+        return sendAudio(chatId, audio, null, null, null, null, null);
+    }
+
+    @Override
+    public CompletableFuture<Message> sendAudio(ChatId chatId, Object audio, Integer duration, String performer, String title,
+                                                Integer replyToMessageId, Object replyMarkup) {
+        return execute(() -> ApiRequest.sendAudio(chatId, audio, duration, performer, title, replyToMessageId, replyMarkup));
+    }
+
+    @Override
+    public CompletableFuture<Message> sendDocument(ChatId chatId, File document) {
+        return sendDocument(chatId, document, null, null);
+    }
+
+    @Override
+    public CompletableFuture<Message> sendDocument(ChatId chatId, InputFile document) {
+        return sendDocument(chatId, document, null, null);
+    }
+
+    @Override
+    public CompletableFuture<Message> sendDocument(ChatId chatId, String document) {
+        return sendDocument(chatId, document, null, null);
+    }
+
+    @Override
+    public CompletableFuture<Message> sendDocument(ChatId chatId, Object document, Integer replyToMessageId, Object replyMarkup) {
+        return execute(() -> ApiRequest.sendDocument(chatId, document, replyToMessageId, replyMarkup));
+    }
+
+    @Override
+    public CompletableFuture<Message> sendSticker(ChatId chatId, File sticker) {
+        return sendSticker(chatId, sticker, null, null);
+    }
+
+    @Override
+    public CompletableFuture<Message> sendSticker(ChatId chatId, InputFile sticker) {
+        return sendSticker(chatId, sticker, null, null);
+    }
+
+    @Override
+    public CompletableFuture<Message> sendSticker(ChatId chatId, String sticker) {
+        return sendSticker(chatId, sticker, null, null);
+    }
+
+    @Override
+    public CompletableFuture<Message> sendSticker(ChatId chatId, Object sticker, Integer replyToMessageId, Object replyMarkup) {
+        return execute(() -> ApiRequest.sendSticker(chatId, sticker, replyToMessageId, replyMarkup));
+    }
+
+    @Override
+    public CompletableFuture<Message> sendVideo(ChatId chatId, File video) {
+        return sendVideo(chatId, video, null, null, null, null);
+    }
+
+    @Override
+    public CompletableFuture<Message> sendVideo(ChatId chatId, InputFile video) {
+        return sendVideo(chatId, video, null, null, null, null);
+    }
+
+    @Override
+    public CompletableFuture<Message> sendVideo(ChatId chatId, String video) {
+        return sendVideo(chatId, video, null, null, null, null);
+    }
+
+    @Override
+    public CompletableFuture<Message> sendVideo(ChatId chatId, Object video, Integer duration, String caption,
+                                                Integer replyToMessageId, Object replyMarkup) {
+        return execute(() -> ApiRequest.sendVideo(chatId, video, duration, caption, replyToMessageId, replyMarkup));
+    }
+
+    @Override
+    public CompletableFuture<Message> sendVoice(ChatId chatId, File voice) {
+        return sendVoice(chatId, voice, null, null, null);
+    }
+
+    @Override
+    public CompletableFuture<Message> sendVoice(ChatId chatId, InputFile voice) {
+        return sendVoice(chatId, voice, null, null, null);
+    }
+
+    @Override
+    public CompletableFuture<Message> sendVoice(ChatId chatId, String voice) {
+        return sendVoice(chatId, voice, null, null, null);
+    }
+
+    @Override
+    public CompletableFuture<Message> sendVoice(ChatId chatId, Object voice, Integer duration, Integer replyToMessageId, Object replyMarkup) {
+        return execute(() -> ApiRequest.sendVoice(chatId, voice, duration, replyToMessageId, replyMarkup));
+    }
+
+    @Override
+    public CompletableFuture<Message> sendLocation(ChatId chatId, Float latitude, Float longitude) {
+        return sendLocation(chatId, latitude, longitude, null, null);
+    }
+
+    @Override
+    public CompletableFuture<Message> sendLocation(ChatId chatId, Float latitude, Float longitude, Integer replyToMessageId, Object replyMarkup) {
+        return execute(() -> ApiRequest.sendLocation(chatId, latitude, longitude, replyToMessageId, replyMarkup));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> sendChatAction(ChatId chatId, String action) {
+        return executeBoolean(() -> ApiRequest.sendChatAction(chatId, action));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> sendChatAction(ChatId chatId, BotAPI.ChatAction action) {
+        return sendChatAction(chatId, action.name());
+    }
+
+    @Override
+    public CompletableFuture<UserProfilePhotos> getUserProfilePhotos(Integer userId) {
+        return getUserProfilePhotos(userId, null, null);
+    }
+
+    @Override
+    public CompletableFuture<UserProfilePhotos> getUserProfilePhotos(Integer userId, Integer offset, Integer limit) {
+        return execute(() -> ApiRequest.getUserProfilePhotos(userId, offset, limit));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> setWebhook(String url) {
+        return setWebhook(url, null);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> setWebhook(String url, File certificate) {
+        return executeBoolean(() -> ApiRequest.setWebhook(url, certificate));
+    }
+
+    @Override
+    public CompletableFuture<de.raysha.lib.telegram.bot.api.model.File> getFile(String fileId) {
+        return execute(() -> ApiRequest.getFile(fileId));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> answerInlineQuery(String inlineQueryId, List<InlineQueryResult> results) {
+        return answerInlineQuery(inlineQueryId, results, null, null, null);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> answerInlineQuery(String inlineQueryId, List<InlineQueryResult> results, Integer cacheTime,
+                                                        Boolean isPersonal, String nextOffset) {
+        return executeBoolean(() -> ApiRequest.answerInlineQuery(inlineQueryId, results, cacheTime, isPersonal, nextOffset));
+    }
+}
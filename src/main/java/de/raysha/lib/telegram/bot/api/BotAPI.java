@@ -6,9 +6,11 @@ import de.raysha.lib.telegram.bot.api.model.ChatId;
 import de.raysha.lib.telegram.bot.api.model.Document;
 import de.raysha.lib.telegram.bot.api.model.ForceReply;
 import de.raysha.lib.telegram.bot.api.model.InlineQueryResult;
+import de.raysha.lib.telegram.bot.api.model.InputFile;
 import de.raysha.lib.telegram.bot.api.model.Message;
 import de.raysha.lib.telegram.bot.api.model.ReplyKeyboardHide;
 import de.raysha.lib.telegram.bot.api.model.ReplyKeyboardMarkup;
+import de.raysha.lib.telegram.bot.api.model.ReplyMarkup;
 import de.raysha.lib.telegram.bot.api.model.Update;
 import de.raysha.lib.telegram.bot.api.model.User;
 import de.raysha.lib.telegram.bot.api.model.UserProfilePhotos;
@@ -78,6 +80,7 @@ public interface BotAPI {
      * @param disableWebPagePreview Disables link previews for links in this message
      * @param replyToMessageId      If the message is a reply, ID of the original message
      * @param replyMarkup           Can be
+     *                              {@link ReplyMarkup} (serialized once, for the keyboards which are sent again and again) or
      *                              {@link ReplyKeyboardMarkup} or
      *                              {@link ReplyKeyboardHide} or
      *                              {@link ForceReply}.
@@ -117,6 +120,15 @@ public interface BotAPI {
      */
     public Message sendPhoto(ChatId chatId, File photo) throws BotException;
 
+    /**
+     * Use this method to send photos. On success, the sent {@link Message} is returned.
+     *
+     * @param chatId Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param photo  Photo to send.
+     * @return
+     */
+    public Message sendPhoto(ChatId chatId, InputFile photo) throws BotException;
+
     /**
      * Use this method to send photos. On success, the sent {@link Message} is returned.
      *
@@ -148,6 +160,23 @@ public interface BotAPI {
      */
     public Message sendAudio(ChatId chatId, File audio) throws BotException;
 
+    /**
+     * Use this method to send audio files, if you want Telegram clients to display the file as a playable voice message.
+     * For this to work, your audio must be in an .ogg file encoded with OPUS (other formats may be sent as Document).
+     * On success, the sent {@link Message} is returned. Bots can currently send audio files of up to 50 MB in size,
+     * this limit may be changed in the future.
+     * <br />
+     * For backward compatibility, when the fields title and performer are both empty and the mime-type of the
+     * file to be sent is not audio/mpeg, the file will be sent as a playable voice message. For this to work,
+     * the audio must be in an .ogg file encoded with OPUS. This behavior will be phased out in the future.
+     * For sending voice messages, use the sendVoice method instead.
+     *
+     * @param chatId Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param audio  Audio file to send. Upload a new audio file using multipart/form-data.
+     * @return
+     */
+    public Message sendAudio(ChatId chatId, InputFile audio) throws BotException;
+
     /**
      * Use this method to send audio files, if you want Telegram clients to display the file as a playable voice message.
      * For this to work, your audio must be in an .ogg file encoded with OPUS (other formats may be sent as Document).
@@ -189,6 +218,16 @@ public interface BotAPI {
      */
     public Message sendDocument(ChatId chatId, File document) throws BotException;
 
+    /**
+     * Use this method to send general files. On success, the sent {@link Message} is returned.
+     * Bots can currently send files of any type of up to 50 MB in size, this limit may be changed in the future.
+     *
+     * @param chatId   Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param document File to send. Upload a new file using multipart/form-data.
+     * @return
+     */
+    public Message sendDocument(ChatId chatId, InputFile document) throws BotException;
+
     /**
      * Use this method to send general files. On success, the sent {@link Message} is returned.
      * Bots can currently send files of any type of up to 50 MB in size, this limit may be changed in the future.
@@ -222,6 +261,15 @@ public interface BotAPI {
      */
     public Message sendSticker(ChatId chatId, File sticker) throws BotException;
 
+    /**
+     * Use this method to send .webp stickers. On success, the sent {@link Message} is returned.
+     *
+     * @param chatId  Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param sticker Sticker to send. Upload a new sticker using multipart/form-data.
+     * @return
+     */
+    public Message sendSticker(ChatId chatId, InputFile sticker) throws BotException;
+
     /**
      * Use this method to send .webp stickers. On success, the sent {@link Message} is returned.
      *
@@ -256,6 +304,17 @@ public interface BotAPI {
      */
     public Message sendVideo(ChatId chatId, File video) throws BotException;
 
+    /**
+     * Use this method to send video files, Telegram clients support mp4 videos (other formats may be sent as Document).
+     * On success, the sent {@link Message} is returned. Bots can currently send video files of up to 50 MB in size,
+     * this limit may be changed in the future.
+     *
+     * @param chatId Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param video  Video to send. Upload a new video file using multipart/form-data.
+     * @return
+     */
+    public Message sendVideo(ChatId chatId, InputFile video) throws BotException;
+
     /**
      * Use this method to send video files, Telegram clients support mp4 videos (other formats may be sent as Document).
      * On success, the sent {@link Message} is returned. Bots can currently send video files of up to 50 MB in size,
@@ -298,6 +357,20 @@ public interface BotAPI {
      */
     public Message sendVoice(ChatId chatId, File video) throws BotException;
 
+    /**
+     * Use this method to send audio files, if you want Telegram clients to display the file as a playable voice message.
+     * For this to work, your audio must be in an .ogg file encoded with OPUS (other formats may be sent as {@link Audio} or {@link Document}).
+     * On success, the sent {@link Message} is returned. Bots can currently send voice messages of up to 50 MB in size,
+     * this limit may be changed in the future.
+     *
+     * @param chatId Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param video  Audio file to send. You can either pass a file_id as String to resend an audio that is already on the
+     *               Telegram servers, or upload a new audio file using multipart/form-data.
+     * @return
+     * @throws BotException
+     */
+    public Message sendVoice(ChatId chatId, InputFile video) throws BotException;
+
     /**
      * Use this method to send audio files, if you want Telegram clients to display the file as a playable voice message.
      * For this to work, your audio must be in an .ogg file encoded with OPUS (other formats may be sent as {@link Audio} or {@link Document}).
@@ -0,0 +1,38 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.model.Update;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A handler which buffers a limited number of updates, like the {@link UpdateDispatcher}. The intakes of the
+ * updates hold back while it is full: the {@link UpdatePoller} polls fewer updates or waits, the
+ * {@link WebhookServer} answers with 429, so the API sends the updates again later. The updates stay
+ * with the API meanwhile, so the memory is bounded and no update is lost.
+ */
+public interface BoundedUpdateHandler extends UpdateHandler {
+
+    /**
+     * Buffer the update, if there is room.
+     *
+     * @return false if the buffer is full
+     */
+    boolean offer(Update update);
+
+    /**
+     * @return the maximum number of buffered updates
+     */
+    int getCapacity();
+
+    /**
+     * @return the number of updates which may be buffered now
+     */
+    int getRemainingCapacity();
+
+    /**
+     * Wait until the given number of updates may be buffered.
+     *
+     * @return true if there is room for the updates, false if the time elapsed before
+     */
+    boolean awaitCapacity(int updates, long timeout, TimeUnit unit) throws InterruptedException;
+}
@@ -0,0 +1,74 @@
+package de.raysha.lib.telegram.bot.api;
+
+/**
+ * Lets requests fail fast while the API is down. After a number of failures in a row the circuit
+ * breaker opens and rejects all requests. When the open duration is over, one trial request may pass
+ * (half open). Its success closes the circuit breaker again, its failure opens it again.
+ */
+public class CircuitBreaker {
+
+    public static enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDuration;
+
+    private State state = State.CLOSED;
+    private int failures;
+    private long openedAt;
+
+    /**
+     * @param failureThreshold the number of failures in a row which open the circuit breaker
+     * @param openDuration the milliseconds the circuit breaker stays open
+     */
+    public CircuitBreaker(int failureThreshold, long openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+    }
+
+    /**
+     * @return the milliseconds until a request may pass or 0 if the request may pass now
+     */
+    public synchronized long tryAcquire() {
+        if(state == State.OPEN) {
+            final long remaining = openedAt + openDuration - System.currentTimeMillis();
+            if(remaining > 0) {
+                return remaining;
+            }
+            state = State.HALF_OPEN;
+            return 0;
+        }
+        if(state == State.HALF_OPEN) {
+            // the trial request is still running
+            return openDuration;
+        }
+        return 0;
+    }
+
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        failures = 0;
+    }
+
+    public synchronized void onFailure() {
+        failures++;
+        if(state == State.HALF_OPEN || failures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * The trial request was not sent, so the next request may be the trial.
+     */
+    public synchronized void cancelTrial() {
+        if(state == State.HALF_OPEN) {
+            state = State.OPEN;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
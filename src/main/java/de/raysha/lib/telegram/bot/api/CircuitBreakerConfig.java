@@ -0,0 +1,70 @@
+package de.raysha.lib.telegram.bot.api;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The configuration of the {@link CircuitBreakerRequestExecutor}. The circuit breaker and the
+ * limit of concurrent requests (bulkhead) apply to each {@link ApiMethod.Group} separately.
+ */
+public class CircuitBreakerConfig {
+
+    /**
+     * The number of failures in a row which open the circuit breaker
+     */
+    private int failureThreshold = 5;
+
+    /**
+     * The milliseconds the circuit breaker stays open before a trial request may pass
+     */
+    private long openDuration = 30000;
+
+    /**
+     * The milliseconds a request waits for a free place in its bulkhead. 0 means fail immediately.
+     */
+    private long maxWait = 0;
+
+    /**
+     * The maximum number of concurrent requests per group
+     */
+    private final Map<ApiMethod.Group, Integer> maxConcurrentRequests = new EnumMap<ApiMethod.Group, Integer>(ApiMethod.Group.class);
+
+    public CircuitBreakerConfig() {
+        maxConcurrentRequests.put(ApiMethod.Group.POLLING, 2);
+        maxConcurrentRequests.put(ApiMethod.Group.SENDING, 32);
+        maxConcurrentRequests.put(ApiMethod.Group.UPLOADS, 4);
+        maxConcurrentRequests.put(ApiMethod.Group.FILE_METADATA, 8);
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public void setFailureThreshold(int failureThreshold) {
+        this.failureThreshold = failureThreshold;
+    }
+
+    public long getOpenDuration() {
+        return openDuration;
+    }
+
+    public void setOpenDuration(long openDuration) {
+        this.openDuration = openDuration;
+    }
+
+    public long getMaxWait() {
+        return maxWait;
+    }
+
+    public void setMaxWait(long maxWait) {
+        this.maxWait = maxWait;
+    }
+
+    public int getMaxConcurrentRequests(ApiMethod.Group group) {
+        return maxConcurrentRequests.get(group);
+    }
+
+    public void setMaxConcurrentRequests(ApiMethod.Group group, int maxConcurrentRequests) {
+        this.maxConcurrentRequests.put(group, maxConcurrentRequests);
+    }
+}
@@ -0,0 +1,150 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.exception.BotApiException;
+import de.raysha.lib.telegram.bot.api.exception.BotException;
+import de.raysha.lib.telegram.bot.api.exception.BulkheadFullException;
+import de.raysha.lib.telegram.bot.api.exception.CircuitOpenException;
+import de.raysha.lib.telegram.bot.api.model.InputFile;
+import org.codehaus.jackson.type.JavaType;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Protects the application while the API is down or slow. Each {@link ApiMethod.Group} (polling,
+ * sending, uploads and file metadata) has
+ * <ul>
+ *     <li>a {@link CircuitBreaker}: after too many failures in a row the requests fail fast with a
+ *     {@link CircuitOpenException} instead of waiting for a timeout</li>
+ *     <li>a bulkhead: a limit of concurrent requests. If it is reached, the request fails with a
+ *     {@link BulkheadFullException}. So slow uploads can not take the threads that replies need.</li>
+ * </ul>
+ * Only network errors and server errors (5xx) count as failure. Every other answer of the API shows
+ * that the API is reachable.
+ * <br /><br />
+ * Wrap any other executor to enable it:
+ * <pre>
+ * new TelegramBot(new CircuitBreakerRequestExecutor(new HttpClientRequestExecutor(baseUrl)));
+ * </pre>
+ */
+public class CircuitBreakerRequestExecutor implements RequestExecutor {
+
+    private final RequestExecutor delegate;
+    private final long maxWait;
+    private final Map<ApiMethod.Group, CircuitBreaker> circuitBreakers = new EnumMap<ApiMethod.Group, CircuitBreaker>(ApiMethod.Group.class);
+    private final Map<ApiMethod.Group, Semaphore> bulkheads = new EnumMap<ApiMethod.Group, Semaphore>(ApiMethod.Group.class);
+
+    public CircuitBreakerRequestExecutor(RequestExecutor delegate) {
+        this(delegate, new CircuitBreakerConfig());
+    }
+
+    public CircuitBreakerRequestExecutor(RequestExecutor delegate, CircuitBreakerConfig config) {
+        this.delegate = delegate;
+        this.maxWait = config.getMaxWait();
+
+        for(ApiMethod.Group group : ApiMethod.Group.values()) {
+            circuitBreakers.put(group, new CircuitBreaker(config.getFailureThreshold(), config.getOpenDuration()));
+            bulkheads.put(group, new Semaphore(config.getMaxConcurrentRequests(group)));
+        }
+    }
+
+    @Override
+    public <T> T get(final String action, final Map<String, Object> parameters, final JavaType resultType) throws BotException {
+        return execute(groupOf(action), new RequestCall<T>() {
+            @Override
+            public T call() throws BotException {
+                return delegate.get(action, parameters, resultType);
+            }
+        });
+    }
+
+    @Override
+    public <T> T post(final String action, final Map<String, Object> parameters, final JavaType resultType) throws BotException {
+        return execute(groupOf(action), new RequestCall<T>() {
+            @Override
+            public T call() throws BotException {
+                return delegate.post(action, parameters, resultType);
+            }
+        });
+    }
+
+    @Override
+    public <T> T post(final String action, final RequestBody body, final JavaType resultType) throws BotException {
+        return execute(groupOf(action), new RequestCall<T>() {
+            @Override
+            public T call() throws BotException {
+                return delegate.post(action, body, resultType);
+            }
+        });
+    }
+
+    @Override
+    public <T> T post(final String action, final Map<String, Object> parameters, final String fileName, final InputFile file, final JavaType resultType) throws BotException {
+        return execute(ApiMethod.Group.UPLOADS, new RequestCall<T>() {
+            @Override
+            public T call() throws BotException {
+                return delegate.post(action, parameters, fileName, file, resultType);
+            }
+        });
+    }
+
+    private <T> T execute(ApiMethod.Group group, RequestCall<T> call) throws BotException {
+        final CircuitBreaker circuitBreaker = circuitBreakers.get(group);
+        final long retryAfter = circuitBreaker.tryAcquire();
+        if(retryAfter > 0) {
+            throw new CircuitOpenException("The circuit breaker of " + group + " is open.", retryAfter);
+        }
+
+        final Semaphore bulkhead = bulkheads.get(group);
+        try {
+            if(!bulkhead.tryAcquire(maxWait, TimeUnit.MILLISECONDS)) {
+                circuitBreaker.cancelTrial();
+                throw new BulkheadFullException("Too many concurrent requests of " + group + ".");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            circuitBreaker.cancelTrial();
+            throw new BotException("Interrupted while waiting for the bulkhead of " + group + ".", e);
+        }
+
+        // every outcome is recorded, also an Error. Otherwise a trial request would keep the breaker half open.
+        boolean success = false;
+        try {
+            final T result = call.call();
+            success = true;
+            return result;
+        } catch (BotApiException e) {
+            // the API works, the request was wrong
+            success = e.getErrorCode() < 500;
+            throw e;
+        } finally {
+            if(success) {
+                circuitBreaker.onSuccess();
+            } else {
+                circuitBreaker.onFailure();
+            }
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * @return the state of the circuit breaker of the given group
+     */
+    public CircuitBreaker.State getState(ApiMethod.Group group) {
+        return circuitBreakers.get(group).getState();
+    }
+
+    /**
+     * @return the number of requests of the given group which could be started at the moment
+     */
+    public int getAvailableRequests(ApiMethod.Group group) {
+        return bulkheads.get(group).availablePermits();
+    }
+
+    private static ApiMethod.Group groupOf(String action) {
+        final ApiMethod method = ApiMethod.of(action);
+        return method == null ? ApiMethod.Group.SENDING : method.getGroup();
+    }
+}
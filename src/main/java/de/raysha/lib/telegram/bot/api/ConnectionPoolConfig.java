@@ -0,0 +1,99 @@
+package de.raysha.lib.telegram.bot.api;
+
+/**
+ * Configuration of the connection pool and the timeouts of a request executor which owns its http client.
+ * All durations are in milliseconds.
+ */
+public class ConnectionPoolConfig {
+
+    /**
+     * Maximum number of open connections to the API
+     */
+    private int maxConnections = 20;
+
+    /**
+     * How long an idle connection is kept alive if the server does not specify it
+     */
+    private long keepAlive = 30000;
+
+    /**
+     * Connections which are idle for longer than this are evicted from the pool. Zero disables the eviction.
+     */
+    private long idleTimeout = 60000;
+
+    /**
+     * Timeout until a connection is established. Zero means no timeout.
+     */
+    private int connectTimeout = 10000;
+
+    /**
+     * Timeout while waiting for data (socket timeout). Zero means no timeout.
+     * Must be greater than the timeout of long polling requests ({@link BotAPI#getUpdates}).
+     */
+    private int readTimeout = 75000;
+
+    /**
+     * Timeout while waiting for a free connection of the pool. Zero means no timeout.
+     */
+    private int poolTimeout = 0;
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public long getKeepAlive() {
+        return keepAlive;
+    }
+
+    public void setKeepAlive(long keepAlive) {
+        this.keepAlive = keepAlive;
+    }
+
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public int getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(int readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    public int getPoolTimeout() {
+        return poolTimeout;
+    }
+
+    public void setPoolTimeout(int poolTimeout) {
+        this.poolTimeout = poolTimeout;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPoolConfig{" +
+                "maxConnections=" + maxConnections +
+                ", keepAlive=" + keepAlive +
+                ", idleTimeout=" + idleTimeout +
+                ", connectTimeout=" + connectTimeout +
+                ", readTimeout=" + readTimeout +
+                ", poolTimeout=" + poolTimeout +
+                '}';
+    }
+}
@@ -0,0 +1,60 @@
+package de.raysha.lib.telegram.bot.api;
+
+/**
+ * A snapshot of the usage of a connection pool.
+ */
+public class ConnectionPoolStats {
+
+    /**
+     * Number of connections which are currently used by a request
+     */
+    private final int leased;
+
+    /**
+     * Number of requests which are waiting for a free connection
+     */
+    private final int pending;
+
+    /**
+     * Number of idle connections
+     */
+    private final int available;
+
+    /**
+     * Maximum number of connections
+     */
+    private final int max;
+
+    public ConnectionPoolStats(int leased, int pending, int available, int max) {
+        this.leased = leased;
+        this.pending = pending;
+        this.available = available;
+        this.max = max;
+    }
+
+    public int getLeased() {
+        return leased;
+    }
+
+    public int getPending() {
+        return pending;
+    }
+
+    public int getAvailable() {
+        return available;
+    }
+
+    public int getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPoolStats{" +
+                "leased=" + leased +
+                ", pending=" + pending +
+                ", available=" + available +
+                ", max=" + max +
+                '}';
+    }
+}
@@ -0,0 +1,93 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.exception.BotApiException;
+import de.raysha.lib.telegram.bot.api.exception.BotException;
+import de.raysha.lib.telegram.bot.api.exception.BulkheadFullException;
+import de.raysha.lib.telegram.bot.api.exception.CircuitOpenException;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Repeats failed requests with an exponentially growing delay. Half of the delay is random (jitter),
+ * so that many bots which failed at the same time do not repeat their requests at the same time.
+ * <br /><br />
+ * Idempotent methods are repeated on every network error and on server errors (5xx) of the API.
+ * Other methods are only repeated if the connection could not be established, because then the
+ * request was not sent at all. Errors of the request itself (4xx) are never repeated, and neither are the
+ * requests which a {@link CircuitBreakerRequestExecutor} rejected to fail fast.
+ */
+public class ExponentialBackoffRetryPolicy implements RetryPolicy {
+
+    /**
+     * Failures (by class name) which happen before any byte of the request was sent.
+     */
+    private static final String[] CONNECT_FAILURES = {
+            "org.apache.http.conn.ConnectTimeoutException",
+            "org.apache.http.conn.ConnectionPoolTimeoutException",
+            "java.net.http.HttpConnectTimeoutException"
+    };
+
+    private final int maxAttempts;
+    private final long initialDelay;
+    private final long maxDelay;
+
+    public ExponentialBackoffRetryPolicy() {
+        this(3, 100, 5000);
+    }
+
+    /**
+     * @param maxAttempts the maximum number of attempts of a request, including the first one
+     * @param initialDelay the delay in milliseconds before the second attempt. It is doubled for every further attempt.
+     * @param maxDelay the maximum delay in milliseconds
+     */
+    public ExponentialBackoffRetryPolicy(int maxAttempts, long initialDelay, long maxDelay) {
+        this.maxAttempts = maxAttempts;
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+    }
+
+    @Override
+    public long retryDelay(ApiMethod method, int attempt, BotException error) {
+        if(attempt >= maxAttempts || !isRetryable(method, error)) {
+            return -1;
+        }
+
+        final long delay = Math.min(maxDelay, initialDelay << Math.min(attempt - 1, 30));
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    protected boolean isRetryable(ApiMethod method, BotException error) {
+        final boolean idempotent = method != null && method.isIdempotent();
+
+        // the request was not sent, but repeating it would only wait for the breaker
+        if(error instanceof CircuitOpenException || error instanceof BulkheadFullException) {
+            return false;
+        }
+        if(error instanceof BotApiException) {
+            return idempotent && ((BotApiException) error).getErrorCode() >= 500;
+        }
+        return idempotent || isConnectFailure(error);
+    }
+
+    /**
+     * @return true if the error (or one of its causes) shows that the connection could not be established
+     */
+    static boolean isConnectFailure(Throwable error) {
+        for(Throwable cause = error; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if(cause instanceof ConnectException
+                    || cause instanceof UnknownHostException
+                    || cause instanceof NoRouteToHostException) {
+                return true;
+            }
+            for(Class<?> type = cause.getClass(); type != null; type = type.getSuperclass()) {
+                for(String failure : CONNECT_FAILURES) {
+                    if(failure.equals(type.getName())) return true;
+                }
+            }
+        }
+        return false;
+    }
+}
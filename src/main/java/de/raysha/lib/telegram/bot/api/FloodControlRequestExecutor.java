@@ -0,0 +1,180 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.exception.BotApiException;
+import de.raysha.lib.telegram.bot.api.exception.BotException;
+import de.raysha.lib.telegram.bot.api.model.InputFile;
+import org.codehaus.jackson.type.JavaType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Handles the flood control of the Telegram Bot API. If a request is answered with error 429,
+ * the request is repeated after the number of seconds the API reports in <code>retry_after</code>.
+ * Until then all other requests to the same chat are held back too, so they do not exceed the
+ * flood control again. Requests without a chat are held back by a flood control without a chat.
+ * <br /><br />
+ * Wrap any other executor to enable it:
+ * <pre>
+ * new TelegramBot(new FloodControlRequestExecutor(new HttpClientRequestExecutor(baseUrl)));
+ * </pre>
+ */
+public class FloodControlRequestExecutor implements RequestExecutor {
+    static final int TOO_MANY_REQUESTS = 429;
+
+    private static final String NO_CHAT = "";
+
+    private final RequestExecutor delegate;
+    private final int maxRetries;
+    private final long maxRetryAfter;
+
+    /**
+     * The time (System.nanoTime) until that the requests to a chat have to wait
+     */
+    private final ConcurrentMap<String, Long> blockedUntil = new ConcurrentHashMap<String, Long>();
+
+    public FloodControlRequestExecutor(RequestExecutor delegate) {
+        this(delegate, 3, 300);
+    }
+
+    /**
+     * @param delegate the executor which sends the requests
+     * @param maxRetries how often a request is repeated at most
+     * @param maxRetryAfter the maximum number of seconds to wait. If the API requests a longer
+     *                      wait the error is thrown instead
+     */
+    public FloodControlRequestExecutor(RequestExecutor delegate, int maxRetries, long maxRetryAfter) {
+        this.delegate = delegate;
+        this.maxRetries = maxRetries;
+        this.maxRetryAfter = maxRetryAfter;
+    }
+
+    @Override
+    public <T> T get(final String action, final Map<String, Object> parameters, final JavaType resultType) throws BotException {
+        return execute(chatOf(parameters), true, new RequestCall<T>() {
+            @Override
+            public T call() throws BotException {
+                return delegate.get(action, parameters, resultType);
+            }
+        });
+    }
+
+    @Override
+    public <T> T post(final String action, final Map<String, Object> parameters, final JavaType resultType) throws BotException {
+        return execute(chatOf(parameters), true, new RequestCall<T>() {
+            @Override
+            public T call() throws BotException {
+                return delegate.post(action, parameters, resultType);
+            }
+        });
+    }
+
+    @Override
+    public <T> T post(final String action, final RequestBody body, final JavaType resultType) throws BotException {
+        return execute(chatOf(body.getChatId()), true, new RequestCall<T>() {
+            @Override
+            public T call() throws BotException {
+                return delegate.post(action, body, resultType);
+            }
+        });
+    }
+
+    @Override
+    public <T> T post(final String action, final Map<String, Object> parameters, final String fileName, final InputFile file, final JavaType resultType) throws BotException {
+        return execute(chatOf(parameters), file.isRepeatable(), new RequestCall<T>() {
+            @Override
+            public T call() throws BotException {
+                return delegate.post(action, parameters, fileName, file, resultType);
+            }
+        });
+    }
+
+    private <T> T execute(String chat, boolean repeatable, RequestCall<T> call) throws BotException {
+        for(int retry = 0; ; retry++) {
+            awaitFloodControl(chat);
+
+            try {
+                return call.call();
+            } catch (BotApiException e) {
+                final Integer retryAfter = e.getRetryAfter();
+                if(e.getErrorCode() != TOO_MANY_REQUESTS || retryAfter == null || retryAfter > maxRetryAfter) {
+                    throw e;
+                }
+
+                block(chat, retryAfter);
+                if(!repeatable || retry >= maxRetries) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void block(String chat, int retryAfter) {
+        final long now = System.nanoTime();
+        removeExpired(now);
+
+        final long until = now + TimeUnit.SECONDS.toNanos(retryAfter);
+
+        Long current;
+        do {
+            current = blockedUntil.putIfAbsent(chat, until);
+        } while(current != null && current - until < 0 && !blockedUntil.replace(chat, current, until));
+    }
+
+    /**
+     * The chats are only added here, so the map holds at most the chats which were blocked
+     * within the last {@link #maxRetryAfter} seconds, even if they never send a request again.
+     */
+    private void removeExpired(long now) {
+        for(Map.Entry<String, Long> entry : blockedUntil.entrySet()) {
+            if(entry.getValue() - now <= 0) {
+                blockedUntil.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private void awaitFloodControl(String chat) throws BotException {
+        while(true) {
+            final Long until = blockedUntil.get(chat);
+            if(until == null) return;
+
+            final long wait = until - System.nanoTime();
+            if(wait <= 0) {
+                blockedUntil.remove(chat, until);
+                return;
+            }
+
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BotException("Interrupted while waiting for the flood control.", e);
+            }
+        }
+    }
+
+    /**
+     * @return true if the requests to the given chat are held back at the moment
+     */
+    public boolean isBlocked(Object chatId) {
+        final Long until = blockedUntil.get(chatId == null ? NO_CHAT : String.valueOf(chatId));
+        return until != null && until - System.nanoTime() > 0;
+    }
+
+    /**
+     * @return the number of chats which are remembered as blocked, including the expired ones
+     */
+    int getBlockedCount() {
+        return blockedUntil.size();
+    }
+
+    private static String chatOf(Map<String, Object> parameters) {
+        return chatOf(parameters == null ? null : parameters.get("chat_id"));
+    }
+
+    private static String chatOf(Object chatId) {
+        return chatId == null ? NO_CHAT : String.valueOf(chatId);
+    }
+}
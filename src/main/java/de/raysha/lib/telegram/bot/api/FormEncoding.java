@@ -0,0 +1,50 @@
+package de.raysha.lib.telegram.bot.api;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.Map;
+
+/**
+ * URL-encoding of request parameters (application/x-www-form-urlencoded) without any third party library.
+ */
+final class FormEncoding {
+
+    private FormEncoding() {
+    }
+
+    /**
+     * @return the encoded parameters prefixed by '?' or an empty string if there are no parameters
+     */
+    static String queryString(Map<String, Object> parameters) {
+        final String encoded = encode(parameters);
+        return encoded.isEmpty() ? "" : "?" + encoded;
+    }
+
+    /**
+     * @return the encoded parameters (<code>key1=value1&amp;key2=value2</code>). Null values are skipped.
+     */
+    static String encode(Map<String, Object> parameters) {
+        if(parameters == null || parameters.isEmpty()) {
+            return "";
+        }
+
+        final StringBuilder encoded = new StringBuilder();
+        for(Map.Entry<String, Object> parameter : parameters.entrySet()) {
+            if(parameter.getValue() == null) continue;
+
+            if(encoded.length() > 0) encoded.append('&');
+            encoded.append(encode(parameter.getKey()))
+                    .append('=')
+                    .append(encode(parameter.getValue().toString()));
+        }
+        return encoded.toString();
+    }
+
+    static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException("UTF-8 is not supported. This should never happen!", e);
+        }
+    }
+}
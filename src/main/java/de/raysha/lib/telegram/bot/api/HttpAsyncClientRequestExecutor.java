@@ -0,0 +1,162 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.exception.BotException;
+import de.raysha.lib.telegram.bot.api.model.InputFile;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.pool.PoolStats;
+import org.codehaus.jackson.type.JavaType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uses an own Apache asynchronous (non-blocking I/O) http client for making http requests.
+ * Like the {@link HttpClientRequestExecutor} each instance has its own connection pool and timeouts.
+ * The responses are decoded and the futures are completed on the callback executor.
+ * The executor must be closed to release the connections and the I/O threads.
+ */
+public class HttpAsyncClientRequestExecutor implements AsyncRequestExecutor, Closeable {
+
+    private final String baseUrl;
+    private final Executor callbackExecutor;
+    private final ResponseDecoder decoder;
+    private final PoolingNHttpClientConnectionManager connectionManager;
+    private final CloseableHttpAsyncClient httpClient;
+    private final ScheduledFuture<?> eviction;
+
+    public HttpAsyncClientRequestExecutor(String baseUrl) {
+        this(baseUrl, new ConnectionPoolConfig(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param baseUrl the base url of the api (https://api.telegram.org/bot%TOKEN%/)
+     * @param config the configuration of the connection pool
+     * @param callbackExecutor the executor that decodes the responses and completes the futures
+     */
+    public HttpAsyncClientRequestExecutor(String baseUrl, final ConnectionPoolConfig config, Executor callbackExecutor) {
+        this(baseUrl, config, callbackExecutor, JsonCodecs.shared());
+    }
+
+    /**
+     * @param baseUrl the base url of the api (https://api.telegram.org/bot%TOKEN%/)
+     * @param config the configuration of the connection pool
+     * @param callbackExecutor the executor that decodes the responses and completes the futures
+     * @param codecs the codecs which decode the responses, e.g. with lazy decoding (see {@link JsonCodecs#create()})
+     */
+    public HttpAsyncClientRequestExecutor(String baseUrl, final ConnectionPoolConfig config, Executor callbackExecutor, JsonCodecs codecs) {
+        this.baseUrl = baseUrl;
+        this.decoder = new ResponseDecoder(codecs);
+        this.callbackExecutor = callbackExecutor;
+
+        try {
+            connectionManager = new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(
+                    IOReactorConfig.custom()
+                            .setConnectTimeout(config.getConnectTimeout())
+                            .setSoTimeout(config.getReadTimeout())
+                            .build()));
+        } catch (IOReactorException e) {
+            throw new IllegalStateException("Could not create the I/O reactor!", e);
+        }
+        connectionManager.setMaxTotal(config.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(config.getMaxConnections());
+
+        httpClient = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(HttpRequests.requestConfig(config))
+                .setKeepAliveStrategy(HttpRequests.keepAliveStrategy(config))
+                .build();
+        httpClient.start();
+
+        eviction = HttpRequests.scheduleEviction(config, new Runnable() {
+            @Override
+            public void run() {
+                connectionManager.closeExpiredConnections();
+                connectionManager.closeIdleConnections(config.getIdleTimeout(), TimeUnit.MILLISECONDS);
+            }
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<T> get(String action, Map<String, Object> parameters, JavaType resultType) {
+        return sendAndHandleRequest(HttpRequests.get(baseUrl + action, parameters), resultType);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> post(String action, Map<String, Object> parameters, JavaType resultType) {
+        return sendAndHandleRequest(HttpRequests.post(baseUrl + action, parameters), resultType);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> post(String action, RequestBody body, JavaType resultType) {
+        return sendAndHandleRequest(HttpRequests.post(baseUrl + action, body), resultType);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> post(String action, Map<String, Object> parameters, String fileName, InputFile file, JavaType resultType) {
+        return sendAndHandleRequest(HttpRequests.post(baseUrl + action, parameters, fileName, file), resultType);
+    }
+
+    private <T> CompletableFuture<T> sendAndHandleRequest(HttpUriRequest request, final JavaType resultType) {
+        final CompletableFuture<T> result = new CompletableFuture<T>();
+
+        httpClient.execute(request, new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(final HttpResponse response) {
+                callbackExecutor.execute(() -> {
+                    try {
+                        if(response.getEntity() == null) {
+                            throw new BotException("Could not get a response. Status: " + response.getStatusLine());
+                        }
+                        result.complete(decoder.<T>decode(response.getEntity().getContent(), resultType));
+                    } catch (BotException e) {
+                        result.completeExceptionally(e);
+                    } catch (IOException e) {
+                        result.completeExceptionally(new BotException("Could not get a response.", e));
+                    }
+                });
+            }
+
+            @Override
+            public void failed(final Exception e) {
+                callbackExecutor.execute(() -> result.completeExceptionally(new BotException("Could not get a response.", e)));
+            }
+
+            @Override
+            public void cancelled() {
+                callbackExecutor.execute(() -> result.cancel(false));
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * @return the current usage of the connection pool of this executor
+     */
+    public ConnectionPoolStats getPoolStats() {
+        final PoolStats stats = connectionManager.getTotalStats();
+        return new ConnectionPoolStats(stats.getLeased(), stats.getPending(), stats.getAvailable(), stats.getMax());
+    }
+
+    @Override
+    public void close() throws IOException {
+        if(eviction != null) {
+            eviction.cancel(false);
+        }
+        httpClient.close();
+    }
+}
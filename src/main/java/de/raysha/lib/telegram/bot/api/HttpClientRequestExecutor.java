@@ -0,0 +1,133 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.exception.BotException;
+import de.raysha.lib.telegram.bot.api.model.InputFile;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.codehaus.jackson.type.JavaType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Uses an own Apache http client for making http requests. In contrast to the {@link UnirestRequestExecutor}
+ * each instance has its own connection pool and timeouts, so bots within the same JVM do not
+ * compete for the same connections. The executor must be closed to release the connections.
+ */
+public class HttpClientRequestExecutor implements RequestExecutor, Closeable {
+
+    private final Logger logger = Logger.getLogger(HttpClientRequestExecutor.class.getName());
+
+    private final String baseUrl;
+    private final ResponseDecoder decoder;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final ScheduledFuture<?> eviction;
+
+    public HttpClientRequestExecutor(String baseUrl) {
+        this(baseUrl, new ConnectionPoolConfig());
+    }
+
+    /**
+     * @param baseUrl the base url of the api (https://api.telegram.org/bot%TOKEN%/)
+     */
+    public HttpClientRequestExecutor(String baseUrl, final ConnectionPoolConfig config) {
+        this(baseUrl, config, JsonCodecs.shared());
+    }
+
+    /**
+     * @param baseUrl the base url of the api (https://api.telegram.org/bot%TOKEN%/)
+     * @param codecs the codecs which decode the responses, e.g. with lazy decoding (see {@link JsonCodecs#create()})
+     */
+    public HttpClientRequestExecutor(String baseUrl, final ConnectionPoolConfig config, JsonCodecs codecs) {
+        this.baseUrl = baseUrl;
+        this.decoder = new ResponseDecoder(codecs);
+
+        connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(config.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(config.getMaxConnections());
+
+        httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(HttpRequests.requestConfig(config))
+                .setKeepAliveStrategy(HttpRequests.keepAliveStrategy(config))
+                .build();
+
+        eviction = HttpRequests.scheduleEviction(config, new Runnable() {
+            @Override
+            public void run() {
+                connectionManager.closeExpiredConnections();
+                connectionManager.closeIdleConnections(config.getIdleTimeout(), TimeUnit.MILLISECONDS);
+            }
+        });
+    }
+
+    @Override
+    public <T> T get(String action, Map<String, Object> parameters, JavaType resultType) throws BotException {
+        return sendAndHandleRequest(HttpRequests.get(baseUrl + action, parameters), resultType);
+    }
+
+    @Override
+    public <T> T post(String action, Map<String, Object> parameters, JavaType resultType) throws BotException {
+        return sendAndHandleRequest(HttpRequests.post(baseUrl + action, parameters), resultType);
+    }
+
+    @Override
+    public <T> T post(String action, RequestBody body, JavaType resultType) throws BotException {
+        return sendAndHandleRequest(HttpRequests.post(baseUrl + action, body), resultType);
+    }
+
+    @Override
+    public <T> T post(String action, Map<String, Object> parameters, String fileName, InputFile file, JavaType resultType) throws BotException {
+        return sendAndHandleRequest(HttpRequests.post(baseUrl + action, parameters, fileName, file), resultType);
+    }
+
+    private <T> T sendAndHandleRequest(HttpUriRequest request, JavaType resultType) throws BotException {
+        final CloseableHttpResponse response;
+        try {
+            response = httpClient.execute(request);
+        } catch (IOException e) {
+            throw new BotException("Could not get a response.", e);
+        }
+
+        try {
+            if(response.getEntity() == null) {
+                throw new BotException("Could not get a response. Status: " + response.getStatusLine());
+            }
+            return decoder.decode(response.getEntity().getContent(), resultType);
+        } catch (IOException e) {
+            throw new BotException("Could not get a response.", e);
+        } finally {
+            try {
+                response.close();
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Could not release the connection!", e);
+            }
+        }
+    }
+
+    /**
+     * @return the current usage of the connection pool of this executor
+     */
+    public ConnectionPoolStats getPoolStats() {
+        final PoolStats stats = connectionManager.getTotalStats();
+        return new ConnectionPoolStats(stats.getLeased(), stats.getPending(), stats.getAvailable(), stats.getMax());
+    }
+
+    @Override
+    public void close() throws IOException {
+        if(eviction != null) {
+            eviction.cancel(false);
+        }
+        httpClient.close();
+    }
+}
@@ -0,0 +1,129 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.model.InputFile;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.entity.UrlEncodedFormEntity;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.entity.mime.MultipartEntityBuilder;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.message.BasicNameValuePair;
+import org.apache.http.protocol.HttpContext;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the Apache HttpComponents requests for the request executors which own their http client.
+ */
+final class HttpRequests {
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * One daemon thread evicts the idle connections of all pools.
+     */
+    private static final ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+            final Thread thread = new Thread(r, "telegram-bot-api-connection-evictor");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private HttpRequests() {
+    }
+
+    static HttpUriRequest get(String url, Map<String, Object> parameters) {
+        return new HttpGet(url + FormEncoding.queryString(parameters));
+    }
+
+    static HttpUriRequest post(String url, Map<String, Object> parameters) {
+        final HttpPost post = new HttpPost(url);
+        post.setEntity(new UrlEncodedFormEntity(nameValuePairs(parameters), UTF_8));
+        return post;
+    }
+
+    static HttpUriRequest post(String url, RequestBody body) {
+        final HttpPost post = new HttpPost(url);
+        final ByteArrayEntity entity = new ByteArrayEntity(body.getContent());
+        entity.setContentType(body.getContentType());
+        post.setEntity(entity);
+        return post;
+    }
+
+    static HttpUriRequest post(String url, Map<String, Object> parameters, String fileName, InputFile file) {
+        final HttpPost post = new HttpPost(url + FormEncoding.queryString(parameters));
+        post.setEntity(multipart(fileName, file));
+        return post;
+    }
+
+    /**
+     * The content of the file is streamed into the connection when the entity is written.
+     */
+    static HttpEntity multipart(String fileName, InputFile file) {
+        return MultipartEntityBuilder.create()
+                .addPart(fileName, new InputFileBody(file))
+                .build();
+    }
+
+    static RequestConfig requestConfig(ConnectionPoolConfig config) {
+        return RequestConfig.custom()
+                .setConnectTimeout(config.getConnectTimeout())
+                .setSocketTimeout(config.getReadTimeout())
+                .setConnectionRequestTimeout(config.getPoolTimeout())
+                .build();
+    }
+
+    /**
+     * Use the keep-alive of the server or, if there is none, the configured keep-alive.
+     */
+    static ConnectionKeepAliveStrategy keepAliveStrategy(final ConnectionPoolConfig config) {
+        return new DefaultConnectionKeepAliveStrategy() {
+            @Override
+            public long getKeepAliveDuration(HttpResponse response, HttpContext context) {
+                final long duration = super.getKeepAliveDuration(response, context);
+                return duration > 0 ? duration : config.getKeepAlive();
+            }
+        };
+    }
+
+    /**
+     * Periodically run the given eviction task, if the idle eviction is enabled.
+     *
+     * @return the scheduled task (to cancel it on close) or null if the eviction is disabled
+     */
+    static ScheduledFuture<?> scheduleEviction(ConnectionPoolConfig config, Runnable evictionTask) {
+        if(config.getIdleTimeout() <= 0) {
+            return null;
+        }
+
+        final long period = Math.max(config.getIdleTimeout() / 2, 1000);
+        return evictor.scheduleWithFixedDelay(evictionTask, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    private static List<NameValuePair> nameValuePairs(Map<String, Object> parameters) {
+        final List<NameValuePair> pairs = new ArrayList<NameValuePair>();
+        if(parameters != null) {
+            for(Map.Entry<String, Object> parameter : parameters.entrySet()) {
+                if(parameter.getValue() != null) {
+                    pairs.add(new BasicNameValuePair(parameter.getKey(), parameter.getValue().toString()));
+                }
+            }
+        }
+        return pairs;
+    }
+}
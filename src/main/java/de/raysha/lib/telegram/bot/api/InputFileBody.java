@@ -0,0 +1,41 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.model.InputFile;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.mime.MIME;
+import org.apache.http.entity.mime.content.AbstractContentBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Streams an {@link InputFile} into a multipart request of the Apache http client.
+ */
+class InputFileBody extends AbstractContentBody {
+    private final InputFile file;
+
+    InputFileBody(InputFile file) {
+        super(ContentType.APPLICATION_OCTET_STREAM);
+        this.file = file;
+    }
+
+    @Override
+    public String getFilename() {
+        return file.getName();
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        file.writeTo(out);
+    }
+
+    @Override
+    public String getTransferEncoding() {
+        return MIME.ENC_BINARY;
+    }
+
+    @Override
+    public long getContentLength() {
+        return file.getLength();
+    }
+}
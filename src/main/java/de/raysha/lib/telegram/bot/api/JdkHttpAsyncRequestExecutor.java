@@ -0,0 +1,61 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.model.InputFile;
+import org.codehaus.jackson.type.JavaType;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Uses the asynchronous API of the http client of the JDK (java.net.http) for making http requests.
+ * The client negotiates HTTP/2, so concurrent requests share a few multiplexed connections.
+ * Neither Unirest nor org.json are needed.
+ * <br /><br />
+ * The http client of the JDK is available since Java 11, this class is only usable from the multi-release
+ * jar on Java 11 or newer. This is the placeholder for older releases: it has no public constructors, so code
+ * which is compiled for Java 8 does not build, while code compiled for Java 11 sees the real executor in the jar.
+ * Check {@link #isSupported()} before choosing this executor at runtime.
+ */
+public class JdkHttpAsyncRequestExecutor implements AsyncRequestExecutor {
+
+    /**
+     * @return whether the http client of the JDK is available, i.e. the classes of Java 11 are loaded
+     */
+    public static boolean isSupported() {
+        return false;
+    }
+
+    JdkHttpAsyncRequestExecutor(String baseUrl) {
+        this(baseUrl, new ConnectionPoolConfig(), ForkJoinPool.commonPool());
+    }
+
+    JdkHttpAsyncRequestExecutor(String baseUrl, ConnectionPoolConfig config, Executor callbackExecutor) {
+        this(baseUrl, config, callbackExecutor, JsonCodecs.shared());
+    }
+
+    JdkHttpAsyncRequestExecutor(String baseUrl, ConnectionPoolConfig config, Executor callbackExecutor, JsonCodecs codecs) {
+        throw JdkHttpRequestExecutor.unsupported();
+    }
+
+    @Override
+    public <T> CompletableFuture<T> get(String action, Map<String, Object> parameters, JavaType resultType) {
+        throw JdkHttpRequestExecutor.unsupported();
+    }
+
+    @Override
+    public <T> CompletableFuture<T> post(String action, Map<String, Object> parameters, JavaType resultType) {
+        throw JdkHttpRequestExecutor.unsupported();
+    }
+
+    @Override
+    public <T> CompletableFuture<T> post(String action, RequestBody body, JavaType resultType) {
+        throw JdkHttpRequestExecutor.unsupported();
+    }
+
+    @Override
+    public <T> CompletableFuture<T> post(String action, Map<String, Object> parameters, String fileName, InputFile file, JavaType resultType) {
+        throw JdkHttpRequestExecutor.unsupported();
+    }
+}
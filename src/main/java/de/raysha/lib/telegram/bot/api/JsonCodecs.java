@@ -0,0 +1,466 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.model.File;
+import de.raysha.lib.telegram.bot.api.model.ForceReply;
+import de.raysha.lib.telegram.bot.api.model.InlineQueryResult;
+import de.raysha.lib.telegram.bot.api.model.InlineQueryResultArticle;
+import de.raysha.lib.telegram.bot.api.model.InlineQueryResultGif;
+import de.raysha.lib.telegram.bot.api.model.InlineQueryResultMpeg4Gif;
+import de.raysha.lib.telegram.bot.api.model.InlineQueryResultPhoto;
+import de.raysha.lib.telegram.bot.api.model.InlineQueryResultVideo;
+import de.raysha.lib.telegram.bot.api.model.Message;
+import de.raysha.lib.telegram.bot.api.model.ReplyKeyboardHide;
+import de.raysha.lib.telegram.bot.api.model.ReplyKeyboardMarkup;
+import de.raysha.lib.telegram.bot.api.model.ResponseParameters;
+import de.raysha.lib.telegram.bot.api.model.Update;
+import de.raysha.lib.telegram.bot.api.model.User;
+import de.raysha.lib.telegram.bot.api.model.UserProfilePhotos;
+import de.raysha.lib.telegram.bot.api.model.compact.CompactUpdate;
+import de.raysha.lib.telegram.bot.api.codec.CanonicalPool;
+import de.raysha.lib.telegram.bot.api.codec.Codec;
+import de.raysha.lib.telegram.bot.api.codec.Codecs;
+import de.raysha.lib.telegram.bot.api.codec.Projection;
+import org.codehaus.jackson.JsonEncoding;
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonGenerator;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.io.SegmentedStringWriter;
+import org.codehaus.jackson.util.ByteArrayBuilder;
+import org.codehaus.jackson.map.DeserializationConfig;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.map.ObjectReader;
+import org.codehaus.jackson.map.ObjectWriter;
+import org.codehaus.jackson.map.type.TypeFactory;
+import org.codehaus.jackson.type.JavaType;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds the readers and writers of the model types. A reader or writer is resolved once per type
+ * and is reused afterwards, so no request has to look up the (de)serializers again. Readers and
+ * writers are immutable, so one instance can be shared by all bots of the JVM ({@link #shared()}).
+ * The shared instance can not be configured. A bot which wants to decode differently creates its own
+ * codecs ({@link #create()}) and passes them to its request executor, e.g.
+ * <code>new HttpClientRequestExecutor(baseUrl, config, codecs)</code>.
+ * <br /><br />
+ * The first request of a type still has to build the (de)serializers by reflection. Call
+ * {@link #warmUp()} on startup to do that for all model types before the first request.
+ * <br /><br />
+ * The model classes have codecs which are generated at compile time (see
+ * {@link de.raysha.lib.telegram.bot.api.codec.GenerateCodec}). If enabled, {@link #read(JsonParser, JavaType)}
+ * and {@link #writeValueAsString(JavaType, Object)} use them instead of the reflective (de)serializers
+ * of Jackson. Types without a generated codec are still handled by Jackson.
+ * <br /><br />
+ * With {@link #setLazyDecoding(boolean) lazy decoding} the generated codecs keep the raw json of the
+ * larger nested objects (e.g. the message of an update or the photos of a message) and decode them on
+ * the first call of their getter. So the objects a bot never looks at are never created.
+ * <br /><br />
+ * A {@link #project(Class, Projection) projection} limits the fields of a model type which are decoded.
+ * The generated codecs skip all other fields at the token level. The shared codecs skip unknown fields
+ * too, also if Jackson is used.
+ * <br /><br />
+ * With a {@link #setCanonicalPool(CanonicalPool) canonical pool} the equal names of users and chats and
+ * the equal file ids of the decoded values share one string.
+ * <br /><br />
+ * {@link #COMPACT_UPDATES} reads the updates into the compact model ({@link CompactUpdate} and its parts),
+ * whose numbers and flags are primitives. Use it with the generated codecs, Jackson can not tell a missing
+ * primitive from a zero.
+ */
+public final class JsonCodecs {
+    private static final TypeFactory types = TypeFactory.defaultInstance();
+
+    public static final JavaType USER = types.constructType(User.class);
+    public static final JavaType UPDATE = types.constructType(Update.class);
+    public static final JavaType UPDATES = types.constructCollectionType(List.class, Update.class);
+    public static final JavaType COMPACT_UPDATES = types.constructCollectionType(List.class, CompactUpdate.class);
+    public static final JavaType MESSAGE = types.constructType(Message.class);
+    public static final JavaType USER_PROFILE_PHOTOS = types.constructType(UserProfilePhotos.class);
+    public static final JavaType FILE = types.constructType(File.class);
+    public static final JavaType BOOLEAN = types.constructType(Boolean.class);
+    public static final JavaType RESPONSE_PARAMETERS = types.constructType(ResponseParameters.class);
+    public static final JavaType INLINE_QUERY_RESULTS = types.constructCollectionType(List.class, InlineQueryResult.class);
+
+    private static final JavaType[] READ_TYPES = {
+            USER, UPDATE, UPDATES, COMPACT_UPDATES, MESSAGE, USER_PROFILE_PHOTOS, FILE, BOOLEAN, RESPONSE_PARAMETERS
+    };
+    private static final JavaType[] WRITE_TYPES = {
+            INLINE_QUERY_RESULTS,
+            types.constructType(ReplyKeyboardMarkup.class),
+            types.constructType(ReplyKeyboardHide.class),
+            types.constructType(ForceReply.class)
+    };
+
+    /**
+     * The results are serialized by their runtime type
+     */
+    private static final Class<?>[] INLINE_QUERY_RESULT_TYPES = {
+            InlineQueryResultArticle.class, InlineQueryResultPhoto.class, InlineQueryResultGif.class,
+            InlineQueryResultMpeg4Gif.class, InlineQueryResultVideo.class
+    };
+
+    private static final JsonCodecs shared = new JsonCodecs(defaultMapper(), true, false);
+
+    /**
+     * Marks the types without a generated codec in the cache
+     */
+    private static final Codec<Object> NO_CODEC = new Codec<Object>() {
+        @Override
+        public Object read(JsonParser parser) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void write(Object value, JsonGenerator generator) {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    private final ObjectMapper mapper;
+    private final boolean generatedCodecs;
+    private final boolean configurable;
+    private final ConcurrentMap<JavaType, Codec<?>> codecs = new ConcurrentHashMap<JavaType, Codec<?>>();
+    private final ConcurrentMap<JavaType, Codec<?>> lazyCodecs = new ConcurrentHashMap<JavaType, Codec<?>>();
+    private final RuntimeTypeCodec runtimeTypes = new RuntimeTypeCodec();
+    private volatile boolean lazyDecoding;
+    private final Map<Class<?>, Projection> projections = new HashMap<Class<?>, Projection>();
+    private volatile Projection projection = Projection.ALL;
+    private volatile CanonicalPool canonicalPool;
+    private final ConcurrentMap<JavaType, ObjectReader> readers = new ConcurrentHashMap<JavaType, ObjectReader>();
+    private final ConcurrentMap<JavaType, ObjectWriter> writers = new ConcurrentHashMap<JavaType, ObjectWriter>();
+    private final ConcurrentMap<Class<?>, ObjectWriter> classWriters = new ConcurrentHashMap<Class<?>, ObjectWriter>();
+
+    /**
+     * @param mapper the mapper to create the readers and writers with. It must not be configured afterwards.
+     */
+    public JsonCodecs(ObjectMapper mapper) {
+        this(mapper, false);
+    }
+
+    /**
+     * @param mapper the mapper to create the readers and writers with. It must not be configured afterwards.
+     * @param generatedCodecs true if the generated codecs should be used instead of the mapper where available
+     */
+    public JsonCodecs(ObjectMapper mapper, boolean generatedCodecs) {
+        this(mapper, generatedCodecs, true);
+    }
+
+    private JsonCodecs(ObjectMapper mapper, boolean generatedCodecs, boolean configurable) {
+        this.mapper = mapper;
+        this.generatedCodecs = generatedCodecs;
+        this.configurable = configurable;
+    }
+
+    /**
+     * @return the codecs which are shared by all bots of the JVM. They can not be configured.
+     */
+    public static JsonCodecs shared() {
+        return shared;
+    }
+
+    /**
+     * @return new codecs which decode like the {@link #shared()} ones, but can be configured
+     */
+    public static JsonCodecs create() {
+        return new JsonCodecs(defaultMapper(), true);
+    }
+
+    private static ObjectMapper defaultMapper() {
+        return new ObjectMapper().configure(DeserializationConfig.Feature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    /**
+     * @throws IllegalStateException if these are the shared codecs
+     */
+    private void checkConfigurable() {
+        if(!configurable) {
+            throw new IllegalStateException("The shared codecs can not be configured! Use JsonCodecs.create() instead.");
+        }
+    }
+
+    /**
+     * Enable or disable the lazy decoding of nested objects. It has no effect if the generated
+     * codecs are not used.
+     *
+     * @return this codecs
+     * @throws IllegalStateException if these are the shared codecs
+     */
+    public JsonCodecs setLazyDecoding(boolean lazyDecoding) {
+        checkConfigurable();
+        this.lazyDecoding = lazyDecoding;
+        return this;
+    }
+
+    public boolean isLazyDecoding() {
+        return lazyDecoding;
+    }
+
+    /**
+     * Decode only the fields of the given projection for all values of the given type. It has no
+     * effect if the generated codecs are not used.
+     *
+     * @param type the model type, e.g. Message
+     * @param projection the fields to decode or null to decode all fields again
+     * @return this codecs
+     * @throws IllegalStateException if these are the shared codecs
+     */
+    public JsonCodecs project(Class<?> type, Projection projection) {
+        checkConfigurable();
+        synchronized (projections) {
+            if(projection == null) projections.remove(type);
+            else projections.put(type, projection);
+
+            this.projection = Projection.ALL.withTypes(projections);
+        }
+        return this;
+    }
+
+    /**
+     * Decode the names of users and chats and the file ids by the given pool. Equal values share one
+     * string then. It has no effect if the generated codecs are not used.
+     *
+     * @param canonicalPool the pool or null to create new strings for all values again
+     * @return this codecs
+     * @throws IllegalStateException if these are the shared codecs
+     */
+    public JsonCodecs setCanonicalPool(CanonicalPool canonicalPool) {
+        checkConfigurable();
+        this.canonicalPool = canonicalPool;
+        return this;
+    }
+
+    public CanonicalPool getCanonicalPool() {
+        return canonicalPool;
+    }
+
+    public JsonFactory getJsonFactory() {
+        return mapper.getJsonFactory();
+    }
+
+    /**
+     * @return the reader of the given type
+     */
+    public ObjectReader reader(JavaType type) {
+        ObjectReader reader = readers.get(type);
+        if(reader == null) {
+            reader = mapper.reader(type);
+            final ObjectReader existing = readers.putIfAbsent(type, reader);
+            if(existing != null) reader = existing;
+        }
+        return reader;
+    }
+
+    /**
+     * @return the writer of the given type
+     */
+    public ObjectWriter writer(JavaType type) {
+        ObjectWriter writer = writers.get(type);
+        if(writer == null) {
+            writer = mapper.writerWithType(type);
+            final ObjectWriter existing = writers.putIfAbsent(type, writer);
+            if(existing != null) writer = existing;
+        }
+        return writer;
+    }
+
+    /**
+     * @return the writer of the given class
+     */
+    public ObjectWriter writer(Class<?> type) {
+        ObjectWriter writer = classWriters.get(type);
+        if(writer == null) {
+            writer = writer(types.constructType(type));
+            final ObjectWriter existing = classWriters.putIfAbsent(type, writer);
+            if(existing != null) writer = existing;
+        }
+        return writer;
+    }
+
+    /**
+     * Read a value of the given type. The parser has to point to the first token of the value.
+     *
+     * @return the value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T read(JsonParser parser, JavaType type) throws IOException {
+        final Codec<?> codec = lazyDecoding ? codec(type, true) : codec(type, false);
+        if(codec != NO_CODEC) {
+            final JavaType valueType = type.isContainerType() ? type.getContentType() : type;
+            final Projection root = projection.root(valueType.getRawClass());
+
+            final CanonicalPool pool = canonicalPool;
+            if(pool == null) {
+                return (T) codec.read(parser, root);
+            }
+
+            final CanonicalPool previous = CanonicalPool.enter(pool);
+            try {
+                return (T) codec.read(parser, root);
+            } finally {
+                CanonicalPool.exit(previous);
+            }
+        }
+        return reader(type).<T>readValue(parser);
+    }
+
+    /**
+     * Write the given value as a json string.
+     *
+     * @param type the declared type of the value
+     * @return the json string
+     */
+    @SuppressWarnings("unchecked")
+    public String writeValueAsString(JavaType type, Object value) throws IOException {
+        final Codec<Object> codec = (Codec<Object>) codec(type, false);
+        if(codec == NO_CODEC) {
+            return writer(type).writeValueAsString(value);
+        }
+
+        final JsonFactory factory = mapper.getJsonFactory();
+        final SegmentedStringWriter out = new SegmentedStringWriter(factory._getBufferRecycler());
+        final JsonGenerator generator = factory.createJsonGenerator(out);
+        try {
+            codec.write(value, generator);
+        } finally {
+            generator.close();
+        }
+        return out.getAndClear();
+    }
+
+    /**
+     * Write the given value by its runtime type as a json string.
+     *
+     * @return the json string
+     */
+    public String writeValueAsString(Object value) throws IOException {
+        if(value == null) return "null";
+        return writeValueAsString(types.constructType(value.getClass()), value);
+    }
+
+    /**
+     * Write the given inline query result by its runtime type as json. The result keeps the json until
+     * it is changed, so a result which is sent again is not serialized again.
+     *
+     * @return the json as UTF-8. The array must not be modified.
+     */
+    public byte[] writeInlineQueryResult(InlineQueryResult result) throws IOException {
+        byte[] json = result.cachedJson();
+        if(json == null) {
+            json = generatedCodecs ? writeValueAsBytes(runtimeTypes, result) : mapper.writeValueAsBytes(result);
+            result.cacheJson(json);
+        }
+        return json;
+    }
+
+    private byte[] writeValueAsBytes(Codec<Object> codec, Object value) throws IOException {
+        final JsonFactory factory = mapper.getJsonFactory();
+        final ByteArrayBuilder out = new ByteArrayBuilder(factory._getBufferRecycler());
+        final JsonGenerator generator = factory.createJsonGenerator(out, JsonEncoding.UTF8);
+        try {
+            codec.write(value, generator);
+        } finally {
+            generator.close();
+        }
+
+        final byte[] json = out.toByteArray();
+        out.release();
+        return json;
+    }
+
+    /**
+     * @return the generated codec of the given type or {@link #NO_CODEC}
+     */
+    private Codec<?> codec(JavaType type, boolean lazy) {
+        final ConcurrentMap<JavaType, Codec<?>> cache = lazy ? lazyCodecs : codecs;
+        Codec<?> codec = cache.get(type);
+        if(codec == null) {
+            codec = generatedCodecs ? resolveCodec(type, lazy) : null;
+            if(codec == null) codec = NO_CODEC;
+
+            final Codec<?> existing = cache.putIfAbsent(type, codec);
+            if(existing != null) codec = existing;
+        }
+        return codec;
+    }
+
+    private Codec<?> resolveCodec(JavaType type, boolean lazy) {
+        if(type.isCollectionLikeType()) {
+            if(!List.class.isAssignableFrom(type.getRawClass())) return null;
+
+            final JavaType elementType = type.getContentType();
+            if(elementType.getRawClass() == InlineQueryResult.class) {
+                return Codecs.listOf(runtimeTypes);
+            }
+
+            final Codec<?> elementCodec = resolveCodec(elementType, lazy);
+            return elementCodec == null ? null : Codecs.listOf(elementCodec);
+        }
+        if(type.getRawClass() == Boolean.class) {
+            return Codecs.BOOLEAN;
+        }
+        return Codecs.lookup(type.getRawClass(), lazy);
+    }
+
+    /**
+     * Writes the values with the generated codec of their runtime type, or with the mapper
+     * if there is none. Can not read.
+     */
+    private class RuntimeTypeCodec implements Codec<Object> {
+        private final ConcurrentMap<Class<?>, Codec<?>> byClass = new ConcurrentHashMap<Class<?>, Codec<?>>();
+
+        @Override
+        public Object read(JsonParser parser) {
+            throw new UnsupportedOperationException("The runtime type of a value can not be read.");
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void write(Object value, JsonGenerator generator) throws IOException {
+            if(value == null) {
+                generator.writeNull();
+                return;
+            }
+
+            Codec<?> codec = byClass.get(value.getClass());
+            if(codec == null) {
+                codec = Codecs.lookup(value.getClass());
+                if(codec == null) codec = NO_CODEC;
+                byClass.putIfAbsent(value.getClass(), codec);
+            }
+
+            if(codec != NO_CODEC) {
+                ((Codec<Object>) codec).write(value, generator);
+            } else {
+                mapper.writeValue(generator, value);
+            }
+        }
+    }
+
+    /**
+     * Resolve the readers and writers, together with their (de)serializers, of all model types.
+     *
+     * @return this codecs
+     */
+    public JsonCodecs warmUp() {
+        for(JavaType type : READ_TYPES) {
+            reader(type);
+            mapper.canDeserialize(type);
+            codec(type, false);
+            codec(type, true);
+        }
+        for(JavaType type : WRITE_TYPES) {
+            writer(type);
+            mapper.canSerialize(type.getRawClass());
+            codec(type, false);
+        }
+        for(Class<?> type : INLINE_QUERY_RESULT_TYPES) {
+            mapper.canSerialize(type);
+            codec(types.constructType(type), false);
+        }
+        return this;
+    }
+}
@@ -0,0 +1,113 @@
+package de.raysha.lib.telegram.bot.api;
+
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonGenerator;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The parameters of a request, encoded already as form (application/x-www-form-urlencoded) or as json.
+ * The executors send the content as it is. Bodies are written by a {@link RequestBodyWriter} and are immutable.
+ */
+public final class RequestBody {
+    public static final String FORM = "application/x-www-form-urlencoded; charset=UTF-8";
+    public static final String JSON = "application/json; charset=UTF-8";
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final JsonFactory factory = new JsonFactory();
+
+    private final byte[] content;
+    private final String contentType;
+    private final Object chatId;
+
+    RequestBody(byte[] content, String contentType, Object chatId) {
+        this.content = content;
+        this.contentType = contentType;
+        this.chatId = chatId;
+    }
+
+    /**
+     * @return the encoded parameters. The array is not copied and must not be modified.
+     */
+    public byte[] getContent() {
+        return content;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public boolean isJson() {
+        return JSON.equals(contentType);
+    }
+
+    /**
+     * @return the value of the parameter chat_id or null if there is none
+     */
+    public Object getChatId() {
+        return chatId;
+    }
+
+    /**
+     * Decode the parameters again, for the executors which can only send parameters. The values are
+     * strings, the objects and arrays of a json body are json strings.
+     *
+     * @return the parameters in the order they were written
+     */
+    public Map<String, Object> toParameters() {
+        try {
+            return isJson() ? jsonParameters() : formParameters();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not decode the request body!", e);
+        }
+    }
+
+    private Map<String, Object> formParameters() throws UnsupportedEncodingException {
+        final Map<String, Object> parameters = new LinkedHashMap<String, Object>();
+        if(content.length == 0) return parameters;
+
+        for(String parameter : new String(content, UTF_8).split("&")) {
+            final int separator = parameter.indexOf('=');
+            parameters.put(URLDecoder.decode(parameter.substring(0, separator), "UTF-8"),
+                    URLDecoder.decode(parameter.substring(separator + 1), "UTF-8"));
+        }
+        return parameters;
+    }
+
+    private Map<String, Object> jsonParameters() throws IOException {
+        final Map<String, Object> parameters = new LinkedHashMap<String, Object>();
+        final JsonParser parser = factory.createJsonParser(content);
+        try {
+            parser.nextToken();
+            while(parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String name = parser.getCurrentName();
+                final JsonToken token = parser.nextToken();
+                if(token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                    final StringWriter json = new StringWriter();
+                    final JsonGenerator generator = factory.createJsonGenerator(json);
+                    generator.copyCurrentStructure(parser);
+                    generator.close();
+                    parameters.put(name, json.toString());
+                } else if(token != JsonToken.VALUE_NULL) {
+                    parameters.put(name, parser.getText());
+                }
+            }
+        } finally {
+            parser.close();
+        }
+        return parameters;
+    }
+
+    @Override
+    public String toString() {
+        return new String(content, UTF_8);
+    }
+}
@@ -0,0 +1,382 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.model.ReplyMarkup;
+
+import java.util.Arrays;
+
+/**
+ * Encodes the parameters of a request straight into bytes, as form (application/x-www-form-urlencoded)
+ * or as json object. The parameters are written in the order of the calls, null values are skipped:
+ * <pre>
+ * RequestBody body = RequestBodyWriter.form()
+ *         .param("chat_id", 42)
+ *         .param("text", "hello")
+ *         .build();
+ * </pre>
+ * The numbers are written without boxing and the strings without encoding them into intermediate
+ * strings or maps. Every thread reuses one writer (and its buffer) per format, so {@link #build()}
+ * only allocates the content of the body. A writer must be completed by {@link #build()} or
+ * {@link #release()}, the writers which are started meanwhile on the same thread are not pooled.
+ */
+public final class RequestBodyWriter {
+    private static final int INITIAL_CAPACITY = 512;
+
+    /**
+     * Larger buffers are not kept by the pool
+     */
+    private static final int MAX_POOLED_CAPACITY = 64 * 1024;
+
+    /**
+     * The parameter whose value is kept by the body, e.g. for the flood control per chat
+     */
+    private static final String CHAT_ID = "chat_id";
+
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes();
+
+    private static final ThreadLocal<RequestBodyWriter> forms = new ThreadLocal<RequestBodyWriter>();
+    private static final ThreadLocal<RequestBodyWriter> jsons = new ThreadLocal<RequestBodyWriter>();
+
+    private final boolean json;
+    private final boolean pooled;
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    private int length;
+    private int count;
+    private Object chatId;
+    private boolean inUse;
+
+    private RequestBodyWriter(boolean json, boolean pooled) {
+        this.json = json;
+        this.pooled = pooled;
+    }
+
+    /**
+     * @return a writer of form encoded parameters
+     */
+    public static RequestBodyWriter form() {
+        return acquire(forms, false);
+    }
+
+    /**
+     * @return a writer of a json object
+     */
+    public static RequestBodyWriter json() {
+        return acquire(jsons, true);
+    }
+
+    private static RequestBodyWriter acquire(ThreadLocal<RequestBodyWriter> pool, boolean json) {
+        RequestBodyWriter writer = pool.get();
+        if(writer == null) {
+            writer = new RequestBodyWriter(json, true);
+            pool.set(writer);
+        } else if(writer.inUse) {
+            writer = new RequestBodyWriter(json, false);
+        }
+
+        writer.inUse = true;
+        if(json) writer.write('{');
+        return writer;
+    }
+
+    public RequestBodyWriter param(String name, String value) {
+        if(value == null) return this;
+
+        name(name);
+        if(json) jsonString(value);
+        else formEncoded(value);
+        if(CHAT_ID.equals(name)) chatId = value;
+        return this;
+    }
+
+    public RequestBodyWriter param(String name, long value) {
+        name(name);
+        number(value);
+        if(CHAT_ID.equals(name)) chatId = value;
+        return this;
+    }
+
+    public RequestBodyWriter param(String name, boolean value) {
+        name(name);
+        ascii(value ? "true" : "false");
+        return this;
+    }
+
+    /**
+     * Write a parameter of any type. Integral numbers and booleans are written as such,
+     * all other values by their string representation.
+     */
+    public RequestBodyWriter param(String name, Object value) {
+        if(value == null) return this;
+
+        if(value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            param(name, ((Number) value).longValue());
+        } else if(value instanceof Boolean) {
+            param(name, ((Boolean) value).booleanValue());
+        } else if(json && (value instanceof Float || value instanceof Double) && isFinite(((Number) value).doubleValue())) {
+            name(name);
+            ascii(value.toString());
+        } else {
+            param(name, value.toString());
+        }
+
+        if(CHAT_ID.equals(name)) chatId = value;
+        return this;
+    }
+
+    /**
+     * Write a parameter whose value is json already (e.g. a reply markup). A json body embeds the
+     * value as it is, a form encodes it as string.
+     */
+    public RequestBodyWriter json(String name, String json) {
+        if(json == null) return this;
+
+        if(this.json) {
+            name(name);
+            raw(json);
+        } else {
+            param(name, json);
+        }
+        return this;
+    }
+
+    /**
+     * Write a json array of the given elements, which are json already (UTF-8). A json body embeds the
+     * array as it is, a form encodes it as string.
+     */
+    public RequestBodyWriter jsonArray(String name, byte[][] elements) {
+        if(elements == null) return this;
+
+        name(name);
+        if(json) {
+            write('[');
+            for(int i = 0; i < elements.length; i++) {
+                if(i > 0) write(',');
+                bytes(elements[i]);
+            }
+            write(']');
+        } else {
+            ascii("%5B");
+            for(int i = 0; i < elements.length; i++) {
+                if(i > 0) ascii("%2C");
+                formEncoded(elements[i]);
+            }
+            ascii("%5D");
+        }
+        return this;
+    }
+
+    /**
+     * Write a reply markup. The markup was encoded already, its bytes are copied as they are.
+     */
+    public RequestBodyWriter param(String name, ReplyMarkup markup) {
+        if(markup == null) return this;
+
+        name(name);
+        bytes(json ? markup.getJsonBytes() : markup.getFormBytes());
+        return this;
+    }
+
+    /**
+     * Complete the body and return the writer to the pool.
+     *
+     * @return the body
+     */
+    public RequestBody build() {
+        if(json) write('}');
+        final RequestBody body = new RequestBody(Arrays.copyOf(buffer, length), json ? RequestBody.JSON : RequestBody.FORM, chatId);
+        release();
+        return body;
+    }
+
+    /**
+     * Discard the parameters and return the writer to the pool.
+     */
+    public void release() {
+        length = 0;
+        count = 0;
+        chatId = null;
+        if(buffer.length > MAX_POOLED_CAPACITY) {
+            buffer = new byte[INITIAL_CAPACITY];
+        }
+        inUse = false;
+        if(!pooled) buffer = null;
+    }
+
+    private void name(String name) {
+        if(!inUse || buffer == null) {
+            throw new IllegalStateException("The writer was completed already!");
+        }
+
+        if(count++ > 0) write(json ? ',' : '&');
+        if(json) {
+            jsonString(name);
+            write(':');
+        } else {
+            formEncoded(name);
+            write('=');
+        }
+    }
+
+    private void number(long value) {
+        if(value == Long.MIN_VALUE) {
+            ascii(Long.toString(value));
+            return;
+        }
+
+        if(value < 0) {
+            write('-');
+            value = -value;
+        }
+
+        int digits = 1;
+        for(long rest = value / 10; rest > 0; rest /= 10) digits++;
+
+        ensureCapacity(digits);
+        for(int i = length + digits - 1; i >= length; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        length += digits;
+    }
+
+    /**
+     * Encode like {@link java.net.URLEncoder} with UTF-8
+     */
+    private void formEncoded(String value) {
+        ensureCapacity(value.length());
+        for(int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '.' || c == '-' || c == '*' || c == '_') {
+                write(c);
+            } else if(c == ' ') {
+                write('+');
+            } else {
+                i = utf8(value, i, true);
+            }
+        }
+    }
+
+    /**
+     * Encode UTF-8 bytes like {@link java.net.URLEncoder}
+     */
+    private void formEncoded(byte[] value) {
+        ensureCapacity(value.length);
+        for(byte b : value) {
+            if((b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9')
+                    || b == '.' || b == '-' || b == '*' || b == '_') {
+                write(b);
+            } else if(b == ' ') {
+                write('+');
+            } else {
+                utf8Byte(b & 0xFF, true);
+            }
+        }
+    }
+
+    private void jsonString(String value) {
+        ensureCapacity(value.length() + 2);
+        write('"');
+        for(int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if(c == '"' || c == '\\') {
+                write('\\');
+                write(c);
+            } else if(c < 0x20) {
+                switch(c) {
+                    case '\n': ascii("\\n"); break;
+                    case '\r': ascii("\\r"); break;
+                    case '\t': ascii("\\t"); break;
+                    default:
+                        ascii("\\u00");
+                        write(HEX[c >> 4]);
+                        write(HEX[c & 0xF]);
+                }
+            } else if(c < 0x80) {
+                write(c);
+            } else {
+                i = utf8(value, i, false);
+            }
+        }
+        write('"');
+    }
+
+    /**
+     * Write the UTF-8 bytes of the character at the given index, percent-encoded for forms.
+     * Unpaired surrogates are replaced by '?'.
+     *
+     * @return the index of the last character which was written
+     */
+    private int utf8(String value, int index, boolean percent) {
+        final char c = value.charAt(index);
+        if(c < 0x80) {
+            utf8Byte(c, percent);
+        } else if(c < 0x800) {
+            utf8Byte(0xC0 | (c >> 6), percent);
+            utf8Byte(0x80 | (c & 0x3F), percent);
+        } else if(Character.isHighSurrogate(c) && index + 1 < value.length() && Character.isLowSurrogate(value.charAt(index + 1))) {
+            final int codePoint = Character.toCodePoint(c, value.charAt(index + 1));
+            utf8Byte(0xF0 | (codePoint >> 18), percent);
+            utf8Byte(0x80 | ((codePoint >> 12) & 0x3F), percent);
+            utf8Byte(0x80 | ((codePoint >> 6) & 0x3F), percent);
+            utf8Byte(0x80 | (codePoint & 0x3F), percent);
+            return index + 1;
+        } else if(Character.isSurrogate(c)) {
+            utf8Byte('?', percent);
+        } else {
+            utf8Byte(0xE0 | (c >> 12), percent);
+            utf8Byte(0x80 | ((c >> 6) & 0x3F), percent);
+            utf8Byte(0x80 | (c & 0x3F), percent);
+        }
+        return index;
+    }
+
+    private void utf8Byte(int b, boolean percent) {
+        if(percent) {
+            write('%');
+            write(HEX[(b >> 4) & 0xF]);
+            write(HEX[b & 0xF]);
+        } else {
+            write(b);
+        }
+    }
+
+    /**
+     * Write the characters as they are, encoded as UTF-8
+     */
+    private void raw(String value) {
+        ensureCapacity(value.length());
+        for(int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if(c < 0x80) write(c);
+            else i = utf8(value, i, false);
+        }
+    }
+
+    private void bytes(byte[] value) {
+        ensureCapacity(value.length);
+        System.arraycopy(value, 0, buffer, length, value.length);
+        length += value.length;
+    }
+
+    private void ascii(String value) {
+        ensureCapacity(value.length());
+        for(int i = 0; i < value.length(); i++) {
+            buffer[length++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void write(int b) {
+        if(length == buffer.length) ensureCapacity(1);
+        buffer[length++] = (byte) b;
+    }
+
+    private void ensureCapacity(int additional) {
+        if(length + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + additional));
+        }
+    }
+
+    private static boolean isFinite(double value) {
+        return !Double.isNaN(value) && !Double.isInfinite(value);
+    }
+}
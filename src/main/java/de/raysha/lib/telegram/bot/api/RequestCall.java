@@ -0,0 +1,10 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.exception.BotException;
+
+/**
+ * A request to the delegate of a decorating {@link RequestExecutor}, which can be repeated.
+ */
+interface RequestCall<T> {
+    T call() throws BotException;
+}
@@ -1,8 +1,9 @@
 package de.raysha.lib.telegram.bot.api;
 
 import de.raysha.lib.telegram.bot.api.exception.BotException;
+import de.raysha.lib.telegram.bot.api.model.InputFile;
+import org.codehaus.jackson.type.JavaType;
 
-import java.io.File;
 import java.util.Map;
 
 /**
@@ -15,20 +16,38 @@ public interface RequestExecutor {
      *
      * @param action API method name (/bot%TOKEN%/%ACTION%)
      * @param parameters query parameters
+     * @param resultType type the 'result' field is bound to
      * @return value of 'result' field
      * @throws BotException on internal exception (IO, invalid response, etc
      */
-    String get(String action, Map<String, Object> parameters) throws BotException;
+    <T> T get(String action, Map<String, Object> parameters, JavaType resultType) throws BotException;
 
     /**
      * Make POST request to the API
      *
      * @param action API method name (/bot%TOKEN%/%ACTION%)
      * @param parameters query parameters
+     * @param resultType type the 'result' field is bound to
      * @return value of 'result' field
      * @throws BotException on internal exception (IO, invalid response, etc
      */
-    String post(String action, Map<String, Object> parameters) throws BotException;
+    <T> T post(String action, Map<String, Object> parameters, JavaType resultType) throws BotException;
+
+    /**
+     * Make POST request to the API, with parameters which are encoded already
+     * <br /><br />
+     * The executors of this library send the body as it is. The default implementation decodes the
+     * parameters again and calls {@link #post(String, Map, JavaType)}.
+     *
+     * @param action API method name (/bot%TOKEN%/%ACTION%)
+     * @param body the encoded parameters
+     * @param resultType type the 'result' field is bound to
+     * @return value of 'result' field
+     * @throws BotException on internal exception (IO, invalid response, etc
+     */
+    default <T> T post(String action, RequestBody body, JavaType resultType) throws BotException {
+        return post(action, body.toParameters(), resultType);
+    }
 
     /**
      * Make POST request to the API, with a file
@@ -37,9 +56,10 @@ public interface RequestExecutor {
      * @param parameters query parameters
      * @param fileName a parameter name for the file ('photo', 'sticker', etc)
      * @param file file to upload
+     * @param resultType type the 'result' field is bound to
      * @return value of 'result' field
      * @throws BotException on internal exception (IO, invalid response, etc
      */
-    String post(String action, Map<String, Object> parameters, String fileName, File file) throws BotException;
+    <T> T post(String action, Map<String, Object> parameters, String fileName, InputFile file, JavaType resultType) throws BotException;
 
 }
@@ -0,0 +1,115 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.exception.BotApiException;
+import de.raysha.lib.telegram.bot.api.exception.BotException;
+import de.raysha.lib.telegram.bot.api.model.ResponseParameters;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.type.JavaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Decodes the response envelope of the Telegram Bot API (<code>{ok, result, error_code, description, parameters}</code>)
+ * in a single streaming pass. The 'result' field is bound directly into the requested type, so there
+ * is neither an intermediate tree nor an intermediate string of the payload.
+ */
+public class ResponseDecoder {
+    private final JsonCodecs codecs;
+
+    /**
+     * Use the codecs which are shared by all bots of the JVM.
+     */
+    public ResponseDecoder() {
+        this(JsonCodecs.shared());
+    }
+
+    public ResponseDecoder(ObjectMapper mapper) {
+        this(new JsonCodecs(mapper));
+    }
+
+    public ResponseDecoder(JsonCodecs codecs) {
+        this.codecs = codecs;
+    }
+
+    /**
+     * Read the response envelope from the given stream. The stream is closed afterwards.
+     *
+     * @param in the response body
+     * @param resultType the type of the 'result' field
+     * @return value of 'result' field
+     * @throws BotApiException if the API reports an error
+     * @throws BotException if the response could not be read or is not a valid response envelope
+     */
+    public <T> T decode(InputStream in, JavaType resultType) throws BotException {
+        Boolean ok = null;
+        T result = null;
+        int errorCode = -1;
+        String errorType = null;
+        String description = null;
+        ResponseParameters parameters = null;
+
+        try {
+            // the lazy codecs slice the deferred values out of the bytes of the response
+            final JsonParser parser = codecs.isLazyDecoding()
+                    ? codecs.getJsonFactory().createJsonParser(readFully(in))
+                    : codecs.getJsonFactory().createJsonParser(in);
+            try {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    throw new BotException("Invalid response! The response is not a json object.");
+                }
+
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String field = parser.getCurrentName();
+                    final JsonToken value = parser.nextToken();
+
+                    if ("ok".equals(field)) {
+                        ok = value == JsonToken.VALUE_TRUE;
+                    } else if ("result".equals(field)) {
+                        result = value == JsonToken.VALUE_NULL ? null : codecs.<T>read(parser, resultType);
+                    } else if ("error_code".equals(field)) {
+                        errorCode = parser.getIntValue();
+                    } else if ("error_type".equals(field)) {
+                        errorType = parser.getText();
+                    } else if ("description".equals(field)) {
+                        description = parser.getText();
+                    } else if ("parameters".equals(field)) {
+                        parameters = value == JsonToken.VALUE_NULL ? null : codecs.<ResponseParameters>read(parser, JsonCodecs.RESPONSE_PARAMETERS);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } finally {
+                parser.close();
+            }
+        } catch (IOException e) {
+            throw new BotException("Could not deserialize response!", e);
+        }
+
+        if (ok == null) {
+            throw new BotException("Invalid response! The response contains no 'ok' field.");
+        }
+        if (!ok) {
+            throw new BotApiException(errorCode, errorType, description, parameters);
+        }
+
+        return result;
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        try {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int read;
+            while((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.exception.BotException;
+
+/**
+ * Decides whether and when a failed request is repeated by the {@link RetryingRequestExecutor}.
+ */
+public interface RetryPolicy {
+
+    /**
+     * @param method the method of the failed request or null if the action is unknown
+     * @param attempt the number of the failed attempt, beginning with 1
+     * @param error the error of the failed attempt
+     * @return the milliseconds to wait before the next attempt or a negative value to not repeat the request
+     */
+    long retryDelay(ApiMethod method, int attempt, BotException error);
+}
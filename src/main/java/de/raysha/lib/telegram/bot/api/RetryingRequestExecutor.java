@@ -0,0 +1,94 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.exception.BotException;
+import de.raysha.lib.telegram.bot.api.model.InputFile;
+import org.codehaus.jackson.type.JavaType;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repeats failed requests as the {@link RetryPolicy} decides. Uploads from a stream, which can be
+ * read only once, are never repeated.
+ * <br /><br />
+ * Wrap any other executor to enable it:
+ * <pre>
+ * new TelegramBot(new RetryingRequestExecutor(new HttpClientRequestExecutor(baseUrl)));
+ * </pre>
+ */
+public class RetryingRequestExecutor implements RequestExecutor {
+
+    private final RequestExecutor delegate;
+    private final RetryPolicy policy;
+
+    public RetryingRequestExecutor(RequestExecutor delegate) {
+        this(delegate, new ExponentialBackoffRetryPolicy());
+    }
+
+    public RetryingRequestExecutor(RequestExecutor delegate, RetryPolicy policy) {
+        this.delegate = delegate;
+        this.policy = policy;
+    }
+
+    @Override
+    public <T> T get(final String action, final Map<String, Object> parameters, final JavaType resultType) throws BotException {
+        return execute(action, true, new RequestCall<T>() {
+            @Override
+            public T call() throws BotException {
+                return delegate.get(action, parameters, resultType);
+            }
+        });
+    }
+
+    @Override
+    public <T> T post(final String action, final Map<String, Object> parameters, final JavaType resultType) throws BotException {
+        return execute(action, true, new RequestCall<T>() {
+            @Override
+            public T call() throws BotException {
+                return delegate.post(action, parameters, resultType);
+            }
+        });
+    }
+
+    @Override
+    public <T> T post(final String action, final RequestBody body, final JavaType resultType) throws BotException {
+        return execute(action, true, new RequestCall<T>() {
+            @Override
+            public T call() throws BotException {
+                return delegate.post(action, body, resultType);
+            }
+        });
+    }
+
+    @Override
+    public <T> T post(final String action, final Map<String, Object> parameters, final String fileName, final InputFile file, final JavaType resultType) throws BotException {
+        return execute(action, file.isRepeatable(), new RequestCall<T>() {
+            @Override
+            public T call() throws BotException {
+                return delegate.post(action, parameters, fileName, file, resultType);
+            }
+        });
+    }
+
+    private <T> T execute(String action, boolean repeatable, RequestCall<T> call) throws BotException {
+        final ApiMethod method = ApiMethod.of(action);
+
+        for(int attempt = 1; ; attempt++) {
+            try {
+                return call.call();
+            } catch (BotException e) {
+                final long delay = repeatable ? policy.retryDelay(method, attempt, e) : -1;
+                if(delay < 0) {
+                    throw e;
+                }
+
+                try {
+                    TimeUnit.MILLISECONDS.sleep(delay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+}
@@ -2,24 +2,18 @@ package de.raysha.lib.telegram.bot.api;
 
 import de.raysha.lib.telegram.bot.api.exception.BotException;
 import de.raysha.lib.telegram.bot.api.model.ChatId;
-import de.raysha.lib.telegram.bot.api.model.ForceReply;
 import de.raysha.lib.telegram.bot.api.model.InlineQueryResult;
+import de.raysha.lib.telegram.bot.api.model.InputFile;
 import de.raysha.lib.telegram.bot.api.model.Message;
-import de.raysha.lib.telegram.bot.api.model.ReplyKeyboardHide;
-import de.raysha.lib.telegram.bot.api.model.ReplyKeyboardMarkup;
 import de.raysha.lib.telegram.bot.api.model.Update;
 import de.raysha.lib.telegram.bot.api.model.User;
 import de.raysha.lib.telegram.bot.api.model.UserProfilePhotos;
-import org.codehaus.jackson.map.ObjectMapper;
+import de.raysha.lib.telegram.bot.api.model.compact.CompactUpdate;
 
 import java.io.File;
-import java.io.IOException;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 public class TelegramBot implements BotAPI {
-    private final ObjectMapper mapper = new ObjectMapper();
     private final RequestExecutor requestExecutor;
 
     public TelegramBot(String token) {
@@ -30,32 +24,38 @@ public class TelegramBot implements BotAPI {
         this.requestExecutor = requestExecutor;
     }
 
+    private <T> T execute(ApiRequest<T> request) throws BotException {
+        if(request.getFile() != null) {
+            return requestExecutor.post(request.getAction(), request.getParameters(),
+                    request.getFileName(), request.getFile(), request.getResultType());
+        }else if(request.getBody() != null) {
+            return requestExecutor.post(request.getAction(), request.getBody(), request.getResultType());
+        }else if(request.isPost()) {
+            return requestExecutor.post(request.getAction(), request.getParameters(), request.getResultType());
+        }else{
+            return requestExecutor.get(request.getAction(), request.getParameters(), request.getResultType());
+        }
+    }
+
     @Override
     public User getMe() throws BotException {
-        final String resultBody = requestExecutor.get("getMe", null);
-
-        try {
-            return mapper.readValue(resultBody, User.class);
-        } catch (IOException e) {
-            throw new BotException("Could not deserialize response! ResultBody:\n" + resultBody, e);
-        }
+        return execute(ApiRequest.getMe());
     }
 
     @Override
     public List<Update> getUpdates(Integer offset, Integer limit, Integer timeout) throws BotException {
-        final Map<String, Object> parameters = new HashMap<String, Object>();
-        if(offset != null) parameters.put("offset", offset);
-        if(limit != null) parameters.put("limit", limit);
-        if(timeout != null) parameters.put("timeout", timeout);
-
-        final String resultBody = requestExecutor.get("getUpdates", parameters);
-
-        try {
-            return mapper.readValue(resultBody,
-                    mapper.getTypeFactory().constructCollectionType(List.class, Update.class));
-        } catch (IOException e) {
-            throw new BotException("Could not deserialize response! ResultBody:\n" + resultBody, e);
-        }
+        return execute(ApiRequest.getUpdates(offset, limit, timeout));
+    }
+
+    /**
+     * Like {@link #getUpdates(Integer, Integer, Integer)}, but the updates are read into the compact model.
+     * Its numbers and flags are primitives and its ids are longs, so it takes less memory and does not box
+     * the numbers while decoding.
+     *
+     * @see #getUpdates(Integer, Integer, Integer)
+     */
+    public List<CompactUpdate> getCompactUpdates(Integer offset, Integer limit, Integer timeout) throws BotException {
+        return execute(ApiRequest.getCompactUpdates(offset, limit, timeout));
     }
 
     @Override
@@ -68,59 +68,12 @@ public class TelegramBot implements BotAPI {
     public Message sendMessage(ChatId chatId, String text, ParseMode parseMode,
                                Boolean disableWebPagePreview, Integer replyToMessageId, Object replyMarkup) throws BotException {
 
-        checkReply(replyMarkup);
-
-        final Map<String, Object> parameters = new HashMap<String, Object>();
-        parameters.put("chat_id", chatId.getId());
-        parameters.put("text", text);
-        if(parseMode != null) parameters.put("parse_mode", parseMode.name());
-        if(disableWebPagePreview != null) parameters.put("disable_web_page_preview", disableWebPagePreview);
-        if(replyToMessageId != null) parameters.put("reply_to_message_id", replyToMessageId);
-        if(replyMarkup != null) {
-            try {
-                parameters.put("reply_markup", mapper.writeValueAsString(replyMarkup));
-            } catch (IOException e) {
-                throw new BotException("Could not serialize reply markup!", e);
-            }
-        }
-
-        final String resultBody = requestExecutor.post("sendMessage", parameters);
-
-        try {
-            return mapper.readValue(resultBody, Message.class);
-        } catch (IOException e) {
-            throw new BotException("Could not deserialize response! ResultBody:\n" + resultBody, e);
-        }
-    }
-
-    private void checkReply(Object replyMarkup) {
-        if(replyMarkup != null){
-            if(!(   replyMarkup instanceof ReplyKeyboardHide ||
-                    replyMarkup instanceof ReplyKeyboardMarkup ||
-                    replyMarkup instanceof ForceReply)){
-
-                throw new IllegalStateException("The replyMarkup must be on of the following classes: " +
-                    ReplyKeyboardHide.class.getName() + ", " +
-                    ReplyKeyboardMarkup.class.getName() + ", " +
-                    ForceReply.class.getName());
-            }
-        }
+        return execute(ApiRequest.sendMessage(chatId, text, parseMode, disableWebPagePreview, replyToMessageId, replyMarkup));
     }
 
     @Override
     public Message forwardMessage(ChatId chatId, ChatId fromChatId, Integer messageId) throws BotException {
-        final Map<String, Object> parameters = new HashMap<String, Object>();
-        parameters.put("chat_id", chatId.getId());
-        parameters.put("from_chat_id", fromChatId.getId());
-        parameters.put("message_id", messageId);
-
-        final String resultBody = requestExecutor.get("forwardMessage", parameters);
-
-        try {
-            return mapper.readValue(resultBody, Message.class);
-        } catch (IOException e) {
-            throw new BotException("Could not deserialize response! ResultBody:\n" + resultBody, e);
-        }
+        return execute(ApiRequest.forwardMessage(chatId, fromChatId, messageId));
     }
 
     @Override
@@ -134,41 +87,13 @@ public class TelegramBot implements BotAPI {
     }
 
     @Override
-    public Message sendPhoto(ChatId chatId, Object photo, String caption, Integer replyToMessageId, Object replyMarkup) throws BotException {
-        checkReply(replyMarkup);
-
-        final Map<String, Object> parameters = new HashMap<String, Object>();
-        parameters.put("chat_id", chatId.getId());
-
-        if(caption != null) parameters.put("caption", caption);
-        if(replyToMessageId != null) parameters.put("reply_to_message_id", replyToMessageId);
-
-        if(replyMarkup != null) {
-            try {
-                parameters.put("reply_markup", mapper.writeValueAsString(replyMarkup));
-            } catch (IOException e) {
-                throw new BotException("Could not serialize reply markup!", e);
-            }
-        }
-
-        final String resultBody;
-
-        if(photo instanceof String) {
-            parameters.put("photo", photo);
-
-            resultBody = requestExecutor.post("sendPhoto", parameters);
-        }else if(photo instanceof File){
-            resultBody = requestExecutor.post("sendPhoto", parameters, "photo", (File) photo);
-
-        }else{
-            throw new IllegalArgumentException("The photo must be a string or a file!");
-        }
+    public Message sendPhoto(ChatId chatId, InputFile photo) throws BotException {
+        return sendPhoto(chatId, photo, null, null, null);
+    }
 
-        try {
-            return mapper.readValue(resultBody, Message.class);
-        } catch (IOException e) {
-            throw new BotException("Could not deserialize response! ResultBody:\n" + resultBody, e);
-        }
+    @Override
+    public Message sendPhoto(ChatId chatId, Object photo, String caption, Integer replyToMessageId, Object replyMarkup) throws BotException {
+        return execute(ApiRequest.sendPhoto(chatId, photo, caption, replyToMessageId, replyMarkup));
     }
 
     @Override
@@ -176,6 +101,11 @@ public class TelegramBot implements BotAPI {
         return sendAudio(chatId, audio, null, null, null, null, null);
     }
 
+    @Override
+    public Message sendAudio(ChatId chatId, InputFile audio) throws BotException {
+        return sendAudio(chatId, audio, null, null, null, null, null);
+    }
+
     @Override
     public Message sendAudio(ChatId chatId, String audio) throws BotException {
         return sendAudio(chatId, audio, null, null, null, null, null);
@@ -184,48 +114,17 @@ public class TelegramBot implements BotAPI {
     public Message sendAudio(ChatId chatId, Object audio, Integer duration,
                              String performer, String title, Integer replyToMessageId,
                              Object replyMarkup) throws BotException {
-        checkReply(replyMarkup);
-
-        final Map<String, Object> parameters = new HashMap<String, Object>();
-        parameters.put("chat_id", chatId.getId());
-
-        if(duration != null) parameters.put("duration", duration);
-        if(performer != null) parameters.put("performer", performer);
-        if(title != null) parameters.put("title", title);
-        if(replyToMessageId != null) parameters.put("reply_to_message_id", replyToMessageId);
-
-        if(replyMarkup != null) {
-            try {
-                parameters.put("reply_markup", mapper.writeValueAsString(replyMarkup));
-            } catch (IOException e) {
-                throw new BotException("Could not serialize reply markup!", e);
-            }
-        }
-
-        final String resultBody;
-
-        if(audio instanceof String) {
-            parameters.put("audio", audio);
-
-            resultBody = requestExecutor.post("sendAudio", parameters);
-        }else if(audio instanceof File){
-            resultBody = requestExecutor.post("sendAudio", parameters, "audio", (File) audio);
-
-        }else{
-            throw new IllegalArgumentException("The audio must be a string or a file!");
-        }
-
-        try {
-            return mapper.readValue(resultBody, Message.class);
-        } catch (IOException e) {
-            throw new BotException("Could not deserialize response! ResultBody:\n" + resultBody, e);
-        }
+        return execute(ApiRequest.sendAudio(chatId, audio, duration, performer, title, replyToMessageId, replyMarkup));
     }
 
     public Message sendDocument(ChatId chatId, File document) throws BotException {
         return sendDocument(chatId, document, null, null);
     }
 
+    public Message sendDocument(ChatId chatId, InputFile document) throws BotException {
+        return sendDocument(chatId, document, null, null);
+    }
+
     @Override
     public Message sendDocument(ChatId chatId, String document) throws BotException {
         return sendDocument(chatId, document, null, null);
@@ -233,39 +132,7 @@ public class TelegramBot implements BotAPI {
 
     @Override
     public Message sendDocument(ChatId chatId, Object document, Integer replyToMessageId, Object replyMarkup) throws BotException {
-        checkReply(replyMarkup);
-
-        final Map<String, Object> parameters = new HashMap<String, Object>();
-        parameters.put("chat_id", chatId.getId());
-
-        if(replyToMessageId != null) parameters.put("reply_to_message_id", replyToMessageId);
-
-        if(replyMarkup != null) {
-            try {
-                parameters.put("reply_markup", mapper.writeValueAsString(replyMarkup));
-            } catch (IOException e) {
-                throw new BotException("Could not serialize reply markup!", e);
-            }
-        }
-
-        final String resultBody;
-
-        if(document instanceof String) {
-            parameters.put("document", document);
-
-            resultBody = requestExecutor.post("sendDocument", parameters);
-        }else if(document instanceof File){
-            resultBody = requestExecutor.post("sendDocument", parameters, "document", (File) document);
-
-        }else{
-            throw new IllegalArgumentException("The document must be a string or a file!");
-        }
-
-        try {
-            return mapper.readValue(resultBody, Message.class);
-        } catch (IOException e) {
-            throw new BotException("Could not deserialize response! ResultBody:\n" + resultBody, e);
-        }
+        return execute(ApiRequest.sendDocument(chatId, document, replyToMessageId, replyMarkup));
     }
 
     @Override
@@ -273,6 +140,11 @@ public class TelegramBot implements BotAPI {
         return sendSticker(chatId, sticker, null, null);
     }
 
+    @Override
+    public Message sendSticker(ChatId chatId, InputFile sticker) throws BotException {
+        return sendSticker(chatId, sticker, null, null);
+    }
+
     @Override
     public Message sendSticker(ChatId chatId, String sticker) throws BotException {
         return sendSticker(chatId, sticker, null, null);
@@ -280,39 +152,7 @@ public class TelegramBot implements BotAPI {
 
     @Override
     public Message sendSticker(ChatId chatId, Object sticker, Integer replyToMessageId, Object replyMarkup) throws BotException {
-        checkReply(replyMarkup);
-
-        final Map<String, Object> parameters = new HashMap<String, Object>();
-        parameters.put("chat_id", chatId.getId());
-
-        if(replyToMessageId != null) parameters.put("reply_to_message_id", replyToMessageId);
-
-        if(replyMarkup != null) {
-            try {
-                parameters.put("reply_markup", mapper.writeValueAsString(replyMarkup));
-            } catch (IOException e) {
-                throw new BotException("Could not serialize reply markup!", e);
-            }
-        }
-
-        final String resultBody;
-
-        if(sticker instanceof String) {
-            parameters.put("sticker", sticker);
-
-            resultBody = requestExecutor.post("sendSticker", parameters);
-        }else if(sticker instanceof File){
-            resultBody = requestExecutor.post("sendSticker", parameters, "sticker", (File) sticker);
-
-        }else{
-            throw new IllegalArgumentException("The sticker must be a string or a file!");
-        }
-
-        try {
-            return mapper.readValue(resultBody, Message.class);
-        } catch (IOException e) {
-            throw new BotException("Could not deserialize response! ResultBody:\n" + resultBody, e);
-        }
+        return execute(ApiRequest.sendSticker(chatId, sticker, replyToMessageId, replyMarkup));
     }
 
     @Override
@@ -320,6 +160,11 @@ public class TelegramBot implements BotAPI {
         return sendVoice(chatId, voice, null, null, null);
     }
 
+    @Override
+    public Message sendVoice(ChatId chatId, InputFile voice) throws BotException {
+        return sendVoice(chatId, voice, null, null, null);
+    }
+
     @Override
     public Message sendVoice(ChatId chatId, String voice) throws BotException {
         return sendVoice(chatId, voice, null, null, null);
@@ -327,40 +172,7 @@ public class TelegramBot implements BotAPI {
 
     @Override
     public Message sendVoice(ChatId chatId, Object voice, Integer duration, Integer replyToMessageId, Object replyMarkup) throws BotException {
-        checkReply(replyMarkup);
-
-        final Map<String, Object> parameters = new HashMap<String, Object>();
-        parameters.put("chat_id", chatId.getId());
-
-        if(duration != null) parameters.put("duration", duration);
-        if(replyToMessageId != null) parameters.put("reply_to_message_id", replyToMessageId);
-
-        if(replyMarkup != null) {
-            try {
-                parameters.put("reply_markup", mapper.writeValueAsString(replyMarkup));
-            } catch (IOException e) {
-                throw new BotException("Could not serialize reply markup!", e);
-            }
-        }
-
-        final String resultBody;
-
-        if(voice instanceof String) {
-            parameters.put("voice", voice);
-
-            resultBody = requestExecutor.post("sendVoice", parameters);
-        }else if(voice instanceof File){
-            resultBody = requestExecutor.post("sendVoice", parameters, "voice", (File) voice);
-
-        }else{
-            throw new IllegalArgumentException("The voice must be a string or a file!");
-        }
-
-        try {
-            return mapper.readValue(resultBody, Message.class);
-        } catch (IOException e) {
-            throw new BotException("Could not deserialize response! ResultBody:\n" + resultBody, e);
-        }
+        return execute(ApiRequest.sendVoice(chatId, voice, duration, replyToMessageId, replyMarkup));
     }
 
     @Override
@@ -368,47 +180,18 @@ public class TelegramBot implements BotAPI {
         return sendVideo(chatId, video, null, null, null, null);
     }
 
+    @Override
+    public Message sendVideo(ChatId chatId, InputFile video) throws BotException {
+        return sendVideo(chatId, video, null, null, null, null);
+    }
+
     @Override
     public Message sendVideo(ChatId chatId, String video) throws BotException {
         return sendVideo(chatId, video, null, null, null, null);
     }
 
     public Message sendVideo(ChatId chatId, Object video, Integer duration, String caption, Integer replyToMessageId, Object replyMarkup) throws BotException {
-        checkReply(replyMarkup);
-
-        final Map<String, Object> parameters = new HashMap<String, Object>();
-        parameters.put("chat_id", chatId.getId());
-
-        if(duration != null) parameters.put("duration", duration);
-        if(caption != null) parameters.put("caption", caption);
-        if(replyToMessageId != null) parameters.put("reply_to_message_id", replyToMessageId);
-
-        if(replyMarkup != null) {
-            try {
-                parameters.put("reply_markup", mapper.writeValueAsString(replyMarkup));
-            } catch (IOException e) {
-                throw new BotException("Could not serialize reply markup!", e);
-            }
-        }
-
-        final String resultBody;
-
-        if(video instanceof String) {
-            parameters.put("video", video);
-
-            resultBody = requestExecutor.post("sendVideo", parameters);
-        }else if(video instanceof File){
-            resultBody = requestExecutor.post("sendVideo", parameters, "video", (File) video);
-
-        }else{
-            throw new IllegalArgumentException("The video must be a string or a file!");
-        }
-
-        try {
-            return mapper.readValue(resultBody, Message.class);
-        } catch (IOException e) {
-            throw new BotException("Could not deserialize response! ResultBody:\n" + resultBody, e);
-        }
+        return execute(ApiRequest.sendVideo(chatId, video, duration, caption, replyToMessageId, replyMarkup));
     }
 
     @Override
@@ -418,28 +201,7 @@ public class TelegramBot implements BotAPI {
 
     @Override
     public Message sendLocation(ChatId chatId, Float latitude, Float longitude, Integer replyToMessageId, Object replyMarkup) throws BotException {
-        checkReply(replyMarkup);
-
-        final Map<String, Object> parameters = new HashMap<String, Object>();
-        parameters.put("chat_id", chatId.getId());
-        parameters.put("latitude", latitude);
-        parameters.put("longitude", longitude);
-        if(replyToMessageId != null) parameters.put("reply_to_message_id", replyToMessageId);
-        if(replyMarkup != null) {
-            try {
-                parameters.put("reply_markup", mapper.writeValueAsString(replyMarkup));
-            } catch (IOException e) {
-                throw new BotException("Could not serialize reply markup!", e);
-            }
-        }
-
-        final String resultBody = requestExecutor.post("sendLocation", parameters);
-
-        try {
-            return mapper.readValue(resultBody, Message.class);
-        } catch (IOException e) {
-            throw new BotException("Could not deserialize response! ResultBody:\n" + resultBody, e);
-        }
+        return execute(ApiRequest.sendLocation(chatId, latitude, longitude, replyToMessageId, replyMarkup));
     }
 
     @Override
@@ -454,29 +216,12 @@ public class TelegramBot implements BotAPI {
 
     @Override
     public UserProfilePhotos getUserProfilePhotos(Integer userId, Integer offset, Integer limit) throws BotException {
-        final Map<String, Object> parameters = new HashMap<String, Object>();
-        parameters.put("user_id", userId);
-        if(offset != null) parameters.put("offset", offset);
-        if(limit != null) parameters.put("limit", limit);
-
-        final String resultBody = requestExecutor.get("getUserProfilePhotos", parameters);
-
-        try {
-            return mapper.readValue(resultBody, UserProfilePhotos.class);
-        } catch (IOException e) {
-            throw new BotException("Could not deserialize response! ResultBody:\n" + resultBody, e);
-        }
+        return execute(ApiRequest.getUserProfilePhotos(userId, offset, limit));
     }
 
     @Override
     public Boolean sendChatAction(ChatId chatId, String action) throws BotException {
-        final Map<String, Object> parameters = new HashMap<String, Object>();
-        parameters.put("chat_id", chatId.getId());
-        parameters.put("action", action);
-
-        final String resultBody = requestExecutor.get("sendChatAction", parameters);
-
-        return "True".equalsIgnoreCase(resultBody);
+        return Boolean.TRUE.equals(execute(ApiRequest.sendChatAction(chatId, action)));
     }
 
     @Override
@@ -486,33 +231,12 @@ public class TelegramBot implements BotAPI {
 
     @Override
     public Boolean setWebhook(String url, File certificate) throws BotException {
-        final Map<String, Object> parameters = new HashMap<String, Object>();
-
-        if(url != null) parameters.put("url", url);
-
-        final String resultBody;
-
-        if(certificate == null) {
-            resultBody = requestExecutor.get("setWebhook", parameters);
-        }else{
-            resultBody = requestExecutor.post("setWebhook", parameters, "certificate", certificate);
-        }
-
-        return "True".equalsIgnoreCase(resultBody);
+        return Boolean.TRUE.equals(execute(ApiRequest.setWebhook(url, certificate)));
     }
 
     @Override
     public de.raysha.lib.telegram.bot.api.model.File getFile(String fileId) throws BotException {
-        final Map<String, Object> parameters = new HashMap<String, Object>();
-        parameters.put("file_id", fileId);
-
-        final String resultBody = requestExecutor.get("getFile", parameters);
-
-        try {
-            return mapper.readValue(resultBody, de.raysha.lib.telegram.bot.api.model.File.class);
-        } catch (IOException e) {
-            throw new BotException("Could not deserialize response! ResultBody:\n" + resultBody, e);
-        }
+        return execute(ApiRequest.getFile(fileId));
     }
 
     @Override
@@ -524,21 +248,6 @@ public class TelegramBot implements BotAPI {
     public Boolean answerInlineQuery(String inlineQueryId, List<InlineQueryResult> results, Integer cacheTime,
                                      Boolean isPersonal, String nextOffset) throws BotException {
 
-        final Map<String, Object> parameters = new HashMap<String, Object>();
-        parameters.put("inline_query_id", inlineQueryId);
-
-        try {
-            parameters.put("results", mapper.writeValueAsString(results));
-        } catch (IOException e) {
-            throw new BotException("Error occurs while serializing the list of results!", e);
-        }
-
-        if(cacheTime != null) parameters.put("cache_time", cacheTime);
-        if(isPersonal != null) parameters.put("is_personal", isPersonal);
-        if(nextOffset != null) parameters.put("next_offset", nextOffset);
-
-        final String resultBody = requestExecutor.get("answerInlineQuery", parameters);
-
-        return "True".equalsIgnoreCase(resultBody);
+        return Boolean.TRUE.equals(execute(ApiRequest.answerInlineQuery(inlineQueryId, results, cacheTime, isPersonal, nextOffset)));
     }
 }
@@ -0,0 +1,121 @@
+package de.raysha.lib.telegram.bot.api;
+
+import com.mashape.unirest.http.HttpResponse;
+import com.mashape.unirest.http.Unirest;
+import com.mashape.unirest.http.async.Callback;
+import com.mashape.unirest.http.exceptions.UnirestException;
+import com.mashape.unirest.request.BaseRequest;
+import de.raysha.lib.telegram.bot.api.exception.BotException;
+import de.raysha.lib.telegram.bot.api.model.InputFile;
+import org.codehaus.jackson.type.JavaType;
+
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Uses the asynchronous (non-blocking I/O) client of the Unirest lib for making http requests.
+ * The responses are decoded and the futures are completed on the callback executor, so that
+ * the I/O dispatcher threads are never blocked by the caller's continuations.
+ */
+public class UnirestAsyncRequestExecutor implements AsyncRequestExecutor {
+
+    private final String baseUrl;
+    private final Executor callbackExecutor;
+    private final ResponseDecoder decoder;
+
+    public UnirestAsyncRequestExecutor(String baseUrl) {
+        this(baseUrl, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param baseUrl the base url of the api (https://api.telegram.org/bot%TOKEN%/)
+     * @param callbackExecutor the executor that decodes the responses and completes the futures
+     */
+    public UnirestAsyncRequestExecutor(String baseUrl, Executor callbackExecutor) {
+        this(baseUrl, callbackExecutor, JsonCodecs.shared());
+    }
+
+    /**
+     * @param baseUrl the base url of the api (https://api.telegram.org/bot%TOKEN%/)
+     * @param callbackExecutor the executor that decodes the responses and completes the futures
+     * @param codecs the codecs which decode the responses, e.g. with lazy decoding (see {@link JsonCodecs#create()})
+     */
+    public UnirestAsyncRequestExecutor(String baseUrl, Executor callbackExecutor, JsonCodecs codecs) {
+        this.baseUrl = baseUrl;
+        this.decoder = new ResponseDecoder(codecs);
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    @Override
+    public <T> CompletableFuture<T> get(String action, Map<String, Object> parameters, JavaType resultType) {
+        return sendAndHandleRequest(
+                Unirest.get(baseUrl + action)
+                        .queryString(parameters), resultType);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> post(String action, Map<String, Object> parameters, JavaType resultType) {
+        return sendAndHandleRequest(
+                Unirest.post(baseUrl + action)
+                        .fields(parameters), resultType);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> post(String action, RequestBody body, JavaType resultType) {
+        return sendAndHandleRequest(
+                Unirest.post(baseUrl + action)
+                        .header("Content-Type", body.getContentType())
+                        .body(body.getContent()), resultType);
+    }
+
+    /**
+     * The asynchronous client of Unirest writes the multipart body into memory before it is sent.
+     * Use the {@link JdkHttpAsyncRequestExecutor} or a synchronous executor to stream large files.
+     */
+    @Override
+    public <T> CompletableFuture<T> post(String action, Map<String, Object> parameters, String fileName, InputFile file, JavaType resultType) {
+        return sendAndHandleRequest(UnirestRequestExecutor.multipart(baseUrl + action, parameters, fileName, file), resultType);
+    }
+
+    private <T> CompletableFuture<T> sendAndHandleRequest(BaseRequest request, final JavaType resultType) {
+        final CompletableFuture<T> result = new CompletableFuture<T>();
+
+        try {
+            send(request, resultType, result);
+        } catch (RuntimeException e) {
+            // e.g. the body could not be written into memory
+            result.completeExceptionally(new BotException("Could not send the request.", e));
+        }
+
+        return result;
+    }
+
+    private <T> void send(BaseRequest request, final JavaType resultType, final CompletableFuture<T> result) {
+        request.asBinaryAsync(new Callback<InputStream>() {
+            @Override
+            public void completed(final HttpResponse<InputStream> response) {
+                callbackExecutor.execute(() -> {
+                    try {
+                        result.complete(decoder.<T>decode(response.getBody(), resultType));
+                    } catch (BotException e) {
+                        result.completeExceptionally(e);
+                    }
+                });
+            }
+
+            @Override
+            public void failed(final UnirestException e) {
+                callbackExecutor.execute(() -> result.completeExceptionally(new BotException("Could not get a response.", e)));
+            }
+
+            @Override
+            public void cancelled() {
+                callbackExecutor.execute(() -> result.cancel(false));
+            }
+        });
+    }
+
+}
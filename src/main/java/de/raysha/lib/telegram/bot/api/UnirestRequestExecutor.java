@@ -1,13 +1,17 @@
 package de.raysha.lib.telegram.bot.api;
 
+import com.mashape.unirest.http.HttpMethod;
 import com.mashape.unirest.http.Unirest;
 import com.mashape.unirest.http.exceptions.UnirestException;
 import com.mashape.unirest.request.BaseRequest;
-import de.raysha.lib.telegram.bot.api.exception.BotApiException;
+import com.mashape.unirest.request.HttpRequestWithBody;
+import com.mashape.unirest.request.body.Body;
 import de.raysha.lib.telegram.bot.api.exception.BotException;
-import org.json.JSONObject;
+import de.raysha.lib.telegram.bot.api.model.InputFile;
+import org.apache.http.HttpEntity;
+import org.codehaus.jackson.type.JavaType;
 
-import java.io.File;
+import java.io.InputStream;
 import java.util.Map;
 
 /**
@@ -16,50 +20,86 @@ import java.util.Map;
 public class UnirestRequestExecutor implements RequestExecutor {
 
     private final String baseUrl;
+    private final ResponseDecoder decoder;
 
+    /**
+     * @param baseUrl the base url of the api (https://api.telegram.org/bot%TOKEN%/)
+     */
     public UnirestRequestExecutor(String baseUrl) {
+        this(baseUrl, JsonCodecs.shared());
+    }
+
+    /**
+     * @param baseUrl the base url of the api (https://api.telegram.org/bot%TOKEN%/)
+     * @param codecs the codecs which decode the responses, e.g. with lazy decoding (see {@link JsonCodecs#create()})
+     */
+    public UnirestRequestExecutor(String baseUrl, JsonCodecs codecs) {
         this.baseUrl = baseUrl;
+        this.decoder = new ResponseDecoder(codecs);
     }
 
     @Override
-    public String get(String action, Map<String, Object> parameters) throws BotException {
+    public <T> T get(String action, Map<String, Object> parameters, JavaType resultType) throws BotException {
         return sendAndHandleRequest(
                 Unirest.get(baseUrl + action)
-                        .queryString(parameters));
+                        .queryString(parameters), resultType);
     }
 
     @Override
-    public String post(String action, Map<String, Object> parameters) throws BotException {
+    public <T> T post(String action, Map<String, Object> parameters, JavaType resultType) throws BotException {
         return sendAndHandleRequest(
                 Unirest.post(baseUrl + action)
-                        .fields(parameters));
+                        .fields(parameters), resultType);
     }
 
     @Override
-    public String post(String action, Map<String, Object> parameters, String fileName, File file) throws BotException {
+    public <T> T post(String action, RequestBody body, JavaType resultType) throws BotException {
         return sendAndHandleRequest(
                 Unirest.post(baseUrl + action)
-                        .queryString(parameters)
-                        .field(fileName, file));
+                        .header("Content-Type", body.getContentType())
+                        .body(body.getContent()), resultType);
+    }
+
+    @Override
+    public <T> T post(String action, Map<String, Object> parameters, String fileName, InputFile file, JavaType resultType) throws BotException {
+        return sendAndHandleRequest(multipart(baseUrl + action, parameters, fileName, file), resultType);
+    }
+
+    /**
+     * The multipart entity is handed to Unirest as it is, so the content of the file is streamed into the
+     * connection. Only the asynchronous client of Unirest writes the body into memory before it is sent.
+     */
+    static BaseRequest multipart(String url, Map<String, Object> parameters, String fileName, InputFile file) {
+        final HttpEntity entity = HttpRequests.multipart(fileName, file);
+
+        return new EntityRequest(url, entity)
+                .queryString(parameters)
+                .header(entity.getContentType().getName(), entity.getContentType().getValue());
     }
 
-    private String sendAndHandleRequest(BaseRequest request) throws BotException {
-        JSONObject jsonResult;
+    private <T> T sendAndHandleRequest(BaseRequest request, JavaType resultType) throws BotException {
+        final InputStream body;
         try {
-            jsonResult = request
-                    .asJson().getBody().getObject();
+            body = request.asBinary().getBody();
         } catch (UnirestException e) {
             throw new BotException("Could not get a response.", e);
         }
 
-        if(jsonResult.get("ok").equals(false)){
-            throw new BotApiException(
-                    jsonResult.optInt("error_code", -1),
-                    jsonResult.optString("error_type"),
-                    jsonResult.optString("description"));
-        }
-
-        return jsonResult.get("result").toString();
+        return decoder.decode(body, resultType);
     }
 
+    /**
+     * A POST request with the given entity as body
+     */
+    private static class EntityRequest extends HttpRequestWithBody {
+        EntityRequest(String url, final HttpEntity entity) {
+            super(HttpMethod.POST, url);
+            this.body = new Body() {
+                @Override
+                public HttpEntity getEntity() {
+                    return entity;
+                }
+            };
+        }
+    }
 }
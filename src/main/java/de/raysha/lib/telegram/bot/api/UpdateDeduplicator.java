@@ -0,0 +1,208 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.model.Update;
+
+import java.util.Arrays;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Passes every update only once to the given handler, e.g. if the API sends an update again because the
+ * webhook answered too late, or if a second poller receives a batch again:
+ * <pre>
+ * server.addHandler(new UpdateDeduplicator(new UpdateDispatcher(handler)));
+ * </pre>
+ * The seen updates are kept in a bitmap over the ids of the window below the highest seen id, which slides
+ * up with the ids. So the memory is fixed (one bit per id of the window), and an update is checked in constant
+ * time. Updates up to one more window below are considered as seen, as late repetitions. An update further
+ * below starts a new sequence and resets the window.
+ * <br /><br />
+ * The API continues with a random id after a week without updates. So the window is reset when no new update
+ * was seen for a week ({@link #setResetAfter(long, TimeUnit)}). A new sequence which starts earlier, e.g. because
+ * the deduplicator is used for another bot, must be announced by {@link #reset()}. Otherwise its updates
+ * are dropped while their ids are less than two windows below the highest seen id.
+ * <br /><br />
+ * If the handler is a {@link BoundedUpdateHandler}, so is the deduplicator, and an update which did not fit
+ * into the handler is not marked as seen.
+ */
+public class UpdateDeduplicator implements BoundedUpdateHandler {
+    private final UpdateHandler handler;
+    private final long[] bits;
+    private final long window;
+
+    /**
+     * The id after the highest seen update, or Long.MIN_VALUE if none was seen yet
+     */
+    private long high = Long.MIN_VALUE;
+    private long duplicates;
+
+    /**
+     * The time (System.nanoTime) when the last update was marked as seen
+     */
+    private long lastSeen;
+    private long resetAfter = TimeUnit.DAYS.toNanos(7);
+
+    /**
+     * Remember the last 2^20 ids, in 128 KB.
+     */
+    public UpdateDeduplicator(UpdateHandler handler) {
+        this(handler, 1 << 20);
+    }
+
+    /**
+     * @param window the number of ids below the highest seen one which are remembered, rounded up to a power of two
+     */
+    public UpdateDeduplicator(UpdateHandler handler, int window) {
+        if(window < 1) {
+            throw new IllegalArgumentException("The window must have room for at least one id!");
+        }
+        int size = 64;
+        while(size < window) size <<= 1;
+
+        this.handler = handler;
+        this.window = size;
+        this.bits = new long[size / 64];
+    }
+
+    /**
+     * Pass the update to the handler, if it was not seen yet.
+     *
+     * @throws RejectedExecutionException if the handler is a {@link BoundedUpdateHandler} and is full
+     */
+    @Override
+    public void handle(Update update) throws Exception {
+        if(handler instanceof BoundedUpdateHandler) {
+            if(!offer(update)) {
+                throw new RejectedExecutionException("The handler is full!");
+            }
+            return;
+        }
+
+        if(update.getUpdate_id() == null || markSeen(update.getUpdate_id())) {
+            handler.handle(update);
+        }
+    }
+
+    /**
+     * Pass the update to the handler, if it was not seen yet. Blocks while a handler which is not bounded works.
+     *
+     * @return false if the handler is full
+     */
+    @Override
+    public boolean offer(Update update) {
+        if(!(handler instanceof BoundedUpdateHandler)) {
+            try {
+                handle(update);
+            } catch (Exception e) {
+                throw new IllegalStateException("The update " + update.getUpdate_id() + " could not be handled!", e);
+            }
+            return true;
+        }
+
+        final BoundedUpdateHandler bounded = (BoundedUpdateHandler) handler;
+        if(update.getUpdate_id() == null) return bounded.offer(update);
+
+        synchronized (this) {
+            if(isSeen(update.getUpdate_id())) {
+                duplicates++;
+                return true;
+            }
+            if(!bounded.offer(update)) return false;
+
+            mark(update.getUpdate_id());
+            return true;
+        }
+    }
+
+    /**
+     * Mark the update as seen.
+     *
+     * @return true if the update was not seen before
+     */
+    public synchronized boolean markSeen(int updateId) {
+        if(isSeen(updateId)) {
+            duplicates++;
+            return false;
+        }
+        mark(updateId);
+        return true;
+    }
+
+    public synchronized boolean isSeen(int updateId) {
+        if(high == Long.MIN_VALUE || updateId >= high || isExpired()) return false;
+        // late repetitions are dropped, but an id far below belongs to a new sequence
+        if(updateId < high - window) return updateId >= high - 2 * window;
+
+        final long index = updateId & (window - 1);
+        return (bits[(int) (index >>> 6)] & (1L << index)) != 0;
+    }
+
+    /**
+     * Forget the seen updates, e.g. if the ids start a new sequence
+     */
+    public synchronized void reset() {
+        Arrays.fill(bits, 0);
+        high = Long.MIN_VALUE;
+    }
+
+    /**
+     * Reset the window if no update was seen for the given time. The API continues with a random id after
+     * a week without updates, which is the default.
+     */
+    public synchronized void setResetAfter(long timeout, TimeUnit unit) {
+        this.resetAfter = unit.toNanos(timeout);
+    }
+
+    /**
+     * @return the number of updates which were dropped, because they were seen before
+     */
+    public synchronized long getDuplicates() {
+        return duplicates;
+    }
+
+    private boolean isExpired() {
+        return System.nanoTime() - lastSeen >= resetAfter;
+    }
+
+    private void mark(long id) {
+        if(high != Long.MIN_VALUE && isExpired()) reset();
+        lastSeen = System.nanoTime();
+
+        if(high == Long.MIN_VALUE) {
+            high = id + 1;
+        } else if(id < high - window) {
+            // a new sequence of ids
+            Arrays.fill(bits, 0);
+            high = id + 1;
+        } else if(id >= high) {
+            // the bits of the ids which slide into the window belong to the ids which slide out
+            if(id - high >= window) {
+                Arrays.fill(bits, 0);
+            } else {
+                for(long cleared = high; cleared <= id; cleared++) {
+                    final long index = cleared & (window - 1);
+                    bits[(int) (index >>> 6)] &= ~(1L << index);
+                }
+            }
+            high = id + 1;
+        }
+
+        final long index = id & (window - 1);
+        bits[(int) (index >>> 6)] |= 1L << index;
+    }
+
+    @Override
+    public int getCapacity() {
+        return handler instanceof BoundedUpdateHandler ? ((BoundedUpdateHandler) handler).getCapacity() : Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int getRemainingCapacity() {
+        return handler instanceof BoundedUpdateHandler ? ((BoundedUpdateHandler) handler).getRemainingCapacity() : Integer.MAX_VALUE;
+    }
+
+    @Override
+    public boolean awaitCapacity(int updates, long timeout, TimeUnit unit) throws InterruptedException {
+        return !(handler instanceof BoundedUpdateHandler) || ((BoundedUpdateHandler) handler).awaitCapacity(updates, timeout, unit);
+    }
+}
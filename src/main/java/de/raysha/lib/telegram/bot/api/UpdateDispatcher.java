@@ -0,0 +1,341 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.model.Message;
+import de.raysha.lib.telegram.bot.api.model.Update;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Handles the updates in parallel on a pool of threads, but the updates of one chat in order:
+ * <pre>
+ * UpdateDispatcher dispatcher = new UpdateDispatcher(handler);
+ * poller.addHandler(dispatcher);
+ * </pre>
+ * The updates are assigned to lanes by their chat (the chat of the message, or the user of the inline query).
+ * A lane handles one update after the other, the lanes run in parallel on the threads of the pool.
+ * So one slow chat only delays the chats of its lane. The more lanes, the less chats share one.
+ * <br /><br />
+ * {@link #handle(Update)} only queues the update and returns immediately. The queues hold at most
+ * {@link #getCapacity()} updates together. The {@link UpdatePoller} and the {@link WebhookServer} hold back the
+ * updates while they are full (see {@link BoundedUpdateHandler}), other callers get a RejectedExecutionException.
+ * The reply to an update of the {@link WebhookServer} waits until the update is handled by the lane.
+ */
+public class UpdateDispatcher implements BoundedUpdateHandler {
+    /**
+     * The number of updates a lane handles before it gives its thread to the other lanes
+     */
+    private static final int BATCH = 64;
+
+    private final UpdateHandler handler;
+    private final ExecutorService executor;
+    private final boolean ownExecutor;
+    private final Lane[] lanes;
+    private final int mask;
+    private volatile UpdateErrorHandler errorHandler = UpdateErrorHandler.LOG;
+
+    /**
+     * The number of queued updates of all lanes
+     */
+    private final AtomicInteger queued = new AtomicInteger();
+    private volatile int capacity = 10000;
+
+    /**
+     * Notified when updates are taken from the queues, while someone waits for capacity
+     */
+    private final Object capacityLock = new Object();
+    private volatile int capacityWaiters;
+
+    /**
+     * Dispatch to a pool of one thread per processor, with four lanes per thread.
+     */
+    public UpdateDispatcher(UpdateHandler handler) {
+        this(handler, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Dispatch to a pool of the given number of threads, with four lanes per thread.
+     */
+    public UpdateDispatcher(UpdateHandler handler, int threads) {
+        this(handler, Executors.newFixedThreadPool(threads, new LaneThreadFactory()), threads * 4, true);
+    }
+
+    /**
+     * Dispatch to the given executor, which is not shut down by {@link #shutdown()}.
+     *
+     * @param lanes the number of lanes, rounded up to a power of two
+     */
+    public UpdateDispatcher(UpdateHandler handler, ExecutorService executor, int lanes) {
+        this(handler, executor, lanes, false);
+    }
+
+    private UpdateDispatcher(UpdateHandler handler, ExecutorService executor, int lanes, boolean ownExecutor) {
+        if(lanes < 1) {
+            throw new IllegalArgumentException("There must be at least one lane!");
+        }
+
+        this.handler = handler;
+        this.executor = executor;
+        this.ownExecutor = ownExecutor;
+        int size = 1;
+        while(size < lanes) size <<= 1;
+
+        this.lanes = new Lane[size];
+        this.mask = size - 1;
+        for(int i = 0; i < size; i++) {
+            this.lanes[i] = new Lane();
+        }
+    }
+
+    public void setErrorHandler(UpdateErrorHandler errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * @param capacity the maximum number of queued updates of all lanes
+     */
+    public void setCapacity(int capacity) {
+        if(capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be at least 1!");
+        }
+        this.capacity = capacity;
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public int getRemainingCapacity() {
+        return Math.max(0, capacity - queued.get());
+    }
+
+    /**
+     * Queue the update in the lane of its chat.
+     *
+     * @throws RejectedExecutionException if the queues are full, or the dispatcher was shut down
+     */
+    @Override
+    public void handle(Update update) {
+        if(!offer(update)) {
+            throw new RejectedExecutionException("The queues of the dispatcher are full (" + capacity + " updates)!");
+        }
+    }
+
+    /**
+     * @throws RejectedExecutionException if the dispatcher was shut down
+     */
+    @Override
+    public boolean offer(Update update) {
+        if(queued.incrementAndGet() > capacity) {
+            queued.decrementAndGet();
+            return false;
+        }
+
+        final WebhookReply reply = WebhookReply.current();
+        if(reply != null) reply.retain();
+        lanes[laneOf(update)].add(new Queued(update, reply));
+        return true;
+    }
+
+    @Override
+    public boolean awaitCapacity(int updates, long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (capacityLock) {
+            capacityWaiters++;
+            try {
+                while(getRemainingCapacity() < updates) {
+                    final long wait = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                    if(wait <= 0) return false;
+                    capacityLock.wait(wait);
+                }
+                return true;
+            } finally {
+                capacityWaiters--;
+            }
+        }
+    }
+
+    private void taken() {
+        queued.decrementAndGet();
+        if(capacityWaiters > 0) {
+            synchronized (capacityLock) {
+                capacityLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * @return the lane of the update. All updates of a chat have the same lane.
+     */
+    int laneOf(Update update) {
+        final long key = keyOf(update);
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static long keyOf(Update update) {
+        final Message message = update.getMessage();
+        if(message != null && message.getChat() != null && message.getChat().getId() != null) {
+            return message.getChat().getId();
+        }
+        if(update.getInline_query() != null && update.getInline_query().getFrom() != null) {
+            return update.getInline_query().getFrom().getId();
+        }
+        return update.getUpdate_id() == null ? 0 : update.getUpdate_id();
+    }
+
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * @return a snapshot of the queues and the work of the lanes
+     */
+    public UpdateDispatcherStats getStats() {
+        final int[] depths = new int[lanes.length];
+        final long[] busyNanos = new long[lanes.length];
+        long handled = 0;
+        int active = 0;
+        for(int i = 0; i < lanes.length; i++) {
+            depths[i] = lanes[i].depth.get();
+            busyNanos[i] = lanes[i].busyNanos();
+            handled += lanes[i].handled.get();
+            if(lanes[i].scheduled.get()) active++;
+        }
+        return new UpdateDispatcherStats(System.nanoTime(), depths, busyNanos, handled, active);
+    }
+
+    /**
+     * Handle the queued updates and stop the own pool of threads. An executor which was passed
+     * to the constructor is not shut down.
+     */
+    public void shutdown() {
+        if(ownExecutor) executor.shutdown();
+    }
+
+    /**
+     * Wait until all queued updates were handled.
+     *
+     * @return true if all updates were handled, false if the time elapsed before
+     */
+    public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for(Lane lane : lanes) {
+            while(lane.scheduled.get() || lane.depth.get() > 0) {
+                if(System.nanoTime() > deadline) return false;
+                Thread.sleep(1);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Handles its updates one after the other. It is scheduled on the executor while it has updates.
+     */
+    private class Lane implements Runnable {
+        private final Queue<Queued> queue = new ConcurrentLinkedQueue<Queued>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicInteger depth = new AtomicInteger();
+        private final AtomicLong handled = new AtomicLong();
+        private final AtomicLong busyNanos = new AtomicLong();
+        private volatile long runningSince;
+
+        void add(Queued queued) {
+            depth.incrementAndGet();
+            queue.add(queued);
+            try {
+                schedule();
+            } catch (RejectedExecutionException e) {
+                // the executor was shut down. Unless a running lane took the update meanwhile, it was not queued.
+                if(queue.remove(queued)) {
+                    depth.decrementAndGet();
+                    taken();
+                    if(queued.reply != null) queued.reply.release();
+                }
+                throw e;
+            }
+        }
+
+        private void schedule() {
+            if(scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    throw e;
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            final long start = System.nanoTime();
+            runningSince = start;
+            try {
+                for(int i = 0; i < BATCH; i++) {
+                    final Queued queued = queue.poll();
+                    if(queued == null) break;
+
+                    depth.decrementAndGet();
+                    taken();
+                    final WebhookReply previous = WebhookReply.bind(queued.reply);
+                    try {
+                        handler.handle(queued.update);
+                    } catch (Exception e) {
+                        errorHandler.handleError(queued.update, e);
+                    } finally {
+                        WebhookReply.bind(previous);
+                        if(queued.reply != null) queued.reply.release();
+                    }
+                    handled.incrementAndGet();
+                }
+            } finally {
+                runningSince = 0;
+                busyNanos.addAndGet(System.nanoTime() - start);
+                scheduled.set(false);
+
+                // an update which was added after the last poll would not be scheduled otherwise,
+                // and neither would the rest of the queue if a handler threw an Error
+                if(!queue.isEmpty()) schedule();
+            }
+        }
+
+        long busyNanos() {
+            final long since = runningSince;
+            return busyNanos.get() + (since == 0 ? 0 : Math.max(0, System.nanoTime() - since));
+        }
+    }
+
+    private static class Queued {
+        private final Update update;
+
+        /**
+         * The reply of the webhook which waits for the update, or null
+         */
+        private final WebhookReply reply;
+
+        Queued(Update update, WebhookReply reply) {
+            this.update = update;
+            this.reply = reply;
+        }
+    }
+
+    private static class LaneThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            return new Thread(runnable, "telegram-update-lane-" + count.incrementAndGet());
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package de.raysha.lib.telegram.bot.api;
+
+import java.util.Arrays;
+
+/**
+ * A snapshot of the queues and the work of the lanes of an {@link UpdateDispatcher}.
+ */
+public class UpdateDispatcherStats {
+
+    /**
+     * The time of the snapshot ({@link System#nanoTime()})
+     */
+    private final long timestamp;
+
+    /**
+     * The number of queued updates per lane
+     */
+    private final int[] laneDepths;
+
+    /**
+     * The nanoseconds each lane has worked since the dispatcher was created
+     */
+    private final long[] laneBusyNanos;
+
+    /**
+     * The number of updates which were handled since the dispatcher was created
+     */
+    private final long handled;
+
+    /**
+     * The number of lanes which currently have updates
+     */
+    private final int activeLanes;
+
+    public UpdateDispatcherStats(long timestamp, int[] laneDepths, long[] laneBusyNanos, long handled, int activeLanes) {
+        this.timestamp = timestamp;
+        this.laneDepths = laneDepths;
+        this.laneBusyNanos = laneBusyNanos;
+        this.handled = handled;
+        this.activeLanes = activeLanes;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return the number of queued updates of all lanes
+     */
+    public int getQueueDepth() {
+        int depth = 0;
+        for(int laneDepth : laneDepths) depth += laneDepth;
+        return depth;
+    }
+
+    /**
+     * @return the number of queued updates of the deepest lane
+     */
+    public int getMaxLaneDepth() {
+        int max = 0;
+        for(int laneDepth : laneDepths) max = Math.max(max, laneDepth);
+        return max;
+    }
+
+    public int getLaneDepth(int lane) {
+        return laneDepths[lane];
+    }
+
+    public long getLaneBusyNanos(int lane) {
+        return laneBusyNanos[lane];
+    }
+
+    public int getLaneCount() {
+        return laneDepths.length;
+    }
+
+    public long getHandled() {
+        return handled;
+    }
+
+    public int getActiveLanes() {
+        return activeLanes;
+    }
+
+    /**
+     * @param previous an earlier snapshot of the same dispatcher
+     * @return the share of the time (0-1) the lane has worked between the snapshots
+     */
+    public double getLaneUtilization(int lane, UpdateDispatcherStats previous) {
+        final long elapsed = timestamp - previous.timestamp;
+        if(elapsed <= 0) return 0;
+        return Math.min(1, (laneBusyNanos[lane] - previous.laneBusyNanos[lane]) / (double) elapsed);
+    }
+
+    /**
+     * @param previous an earlier snapshot of the same dispatcher
+     * @return the average share of the time (0-1) the lanes have worked between the snapshots
+     */
+    public double getUtilization(UpdateDispatcherStats previous) {
+        double sum = 0;
+        for(int i = 0; i < laneBusyNanos.length; i++) {
+            sum += getLaneUtilization(i, previous);
+        }
+        return sum / laneBusyNanos.length;
+    }
+
+    @Override
+    public String toString() {
+        return "UpdateDispatcherStats{" +
+                "queueDepth=" + getQueueDepth() +
+                ", handled=" + handled +
+                ", activeLanes=" + activeLanes +
+                ", laneDepths=" + Arrays.toString(laneDepths) +
+                '}';
+    }
+}
@@ -0,0 +1,34 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.model.Update;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Is notified about the failed polls and the errors of the {@link UpdateHandler}s.
+ */
+public interface UpdateErrorHandler {
+
+    /**
+     * Logs the errors by java.util.logging
+     */
+    UpdateErrorHandler LOG = new UpdateErrorHandler() {
+        private final Logger logger = Logger.getLogger(UpdateErrorHandler.class.getName());
+
+        @Override
+        public void handleError(Update update, Throwable error) {
+            if(update == null) {
+                logger.log(Level.WARNING, "Could not receive the updates!", error);
+            } else {
+                logger.log(Level.WARNING, "Could not handle the update " + update.getUpdate_id() + "!", error);
+            }
+        }
+    };
+
+    /**
+     * @param update the update whose handling failed or null if the updates could not be received
+     * @param error the error
+     */
+    void handleError(Update update, Throwable error);
+}
@@ -0,0 +1,15 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.model.Update;
+
+/**
+ * Receives the updates of the bot, e.g. from an {@link UpdatePoller}.
+ */
+public interface UpdateHandler {
+
+    /**
+     * @param update the update. Errors are passed to the {@link UpdateErrorHandler}, the next updates are
+     *               handled anyway.
+     */
+    void handle(Update update) throws Exception;
+}
@@ -0,0 +1,365 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.model.Update;
+import org.codehaus.jackson.JsonParser;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the updates which were received and which of them were handled (acknowledged) in a memory mapped
+ * file, so the {@link UpdatePoller} handles the unacknowledged updates again after a crash:
+ * <pre>
+ * UpdateJournal journal = new UpdateJournal(new File("updates.journal"));
+ * UpdatePoller poller = new UpdatePoller(bot);
+ * poller.setJournal(journal);
+ * poller.addHandler(new UpdateDispatcher(journal.acknowledging(handler)));
+ * </pre>
+ * Every update is handled at least once: an update which was handled, but not acknowledged before the crash,
+ * is handled again. The journal keeps the json of the unacknowledged updates, as the API does not return them
+ * anymore once the poller went on. They are kept in memory too, the poller bounds their number
+ * ({@link UpdatePollerConfig#setMaxInFlight(int)}).
+ * <br /><br />
+ * The records are appended to the mapped pages without a sync, so the journal survives the crash of the
+ * process (e.g. kill -9), because the operating system writes the pages back. Call {@link #force()} to survive
+ * a crash of the operating system. When the file is full, it is replaced by a file with the current state.
+ */
+public class UpdateJournal implements Closeable {
+    /**
+     * "UPDJRNL1"
+     */
+    private static final long HEADER = 0x5550444A524E4C31L;
+    private static final int RECORD_SIZE = 8;
+
+    /**
+     * The high bits of the records, to tell them from unwritten space. The low bits are the type.
+     */
+    private static final int MAGIC = 0x554A0000;
+
+    /**
+     * Followed by the length and the json of the update, padded to the record size
+     */
+    private static final int RECEIVED = MAGIC | 1;
+    private static final int ACKNOWLEDGED = MAGIC | 2;
+
+    /**
+     * All updates below the id are handled
+     */
+    private static final int BASE = MAGIC | 3;
+
+    private final File file;
+    private final int minCapacity;
+    private MappedByteBuffer buffer;
+
+    /**
+     * The json of the updates which were received but not acknowledged
+     */
+    private final TreeMap<Integer, byte[]> unacknowledged = new TreeMap<Integer, byte[]>();
+
+    /**
+     * The updates which were acknowledged after the lowest unacknowledged one
+     */
+    private final TreeSet<Integer> acknowledged = new TreeSet<Integer>();
+
+    /**
+     * The id after the highest received or acknowledged update, or null if the journal is empty
+     */
+    private Integer next;
+
+    /**
+     * Open the journal, with room for 65536 records of 8 bytes before the file is compacted.
+     */
+    public UpdateJournal(File file) throws IOException {
+        this(file, 65536);
+    }
+
+    /**
+     * Open the journal, or create it if the file does not exist.
+     *
+     * @param capacity the number of records of 8 bytes the file has room for, before it is compacted.
+     *                 The json of an update takes several records.
+     */
+    public UpdateJournal(File file, int capacity) throws IOException {
+        if(capacity < 16) {
+            throw new IllegalArgumentException("The journal must have room for at least 16 records!");
+        }
+        this.file = file;
+        this.minCapacity = capacity;
+
+        if(file.exists() && file.length() > 0) {
+            buffer = map(file, file.length());
+            if(buffer.getLong(0) != HEADER) {
+                throw new IOException("The file " + file + " is not an update journal!");
+            }
+            replay();
+        } else {
+            buffer = create(file, capacity);
+        }
+    }
+
+    private void replay() {
+        buffer.position(RECORD_SIZE);
+        while(buffer.remaining() >= RECORD_SIZE) {
+            final long record = buffer.getLong(buffer.position());
+            final int type = (int) (record >>> 32);
+            final int id = (int) record;
+            int size = RECORD_SIZE;
+            if(type == RECEIVED) {
+                final int length = buffer.getInt(buffer.position() + RECORD_SIZE);
+                if(length < 0 || length > buffer.remaining() || sizeOf(length) > buffer.remaining()) break;
+
+                final byte[] json = new byte[length];
+                final ByteBuffer source = buffer.duplicate();
+                source.position(buffer.position() + RECORD_SIZE + 4);
+                source.get(json);
+                apply(id, json);
+                size = sizeOf(length);
+            }
+            else if(type == ACKNOWLEDGED) apply(id, null);
+            else if(type == BASE) next = id;
+            // the end of the written records
+            else break;
+
+            buffer.position(buffer.position() + size);
+        }
+    }
+
+    /**
+     * @return the lowest unacknowledged update, or the update after the highest acknowledged one.
+     * null if the journal is empty.
+     */
+    public synchronized Integer getResumeOffset() {
+        return unacknowledged.isEmpty() ? next : unacknowledged.firstKey();
+    }
+
+    /**
+     * @return the id after the highest recorded update, or null if the journal is empty. The updates below
+     * it do not have to be received again.
+     */
+    public synchronized Integer getNextOffset() {
+        return next;
+    }
+
+    /**
+     * @return the updates which were received but not acknowledged, in the order of their ids
+     * @throws IOException if the json of an update could not be decoded
+     */
+    public synchronized List<Update> getUnacknowledged() throws IOException {
+        final List<Update> updates = new ArrayList<Update>(unacknowledged.size());
+        for(byte[] json : unacknowledged.values()) {
+            final JsonParser parser = JsonCodecs.shared().getJsonFactory().createJsonParser(json);
+            try {
+                parser.nextToken();
+                updates.add(JsonCodecs.shared().<Update>read(parser, JsonCodecs.UPDATE));
+            } finally {
+                parser.close();
+            }
+        }
+        return updates;
+    }
+
+    /**
+     * @return true if the update was acknowledged already, e.g. before the restart
+     */
+    public synchronized boolean isAcknowledged(int updateId) {
+        final Integer resume = getResumeOffset();
+        return resume != null && (updateId < resume || acknowledged.contains(updateId));
+    }
+
+    /**
+     * Wait until the update is acknowledged.
+     *
+     * @return true if the update is acknowledged, false if the time elapsed before
+     */
+    public synchronized boolean awaitAcknowledged(int updateId, long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while(!isAcknowledged(updateId)) {
+            final long wait = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if(wait <= 0) return false;
+            wait(wait);
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of updates which were received but not acknowledged
+     */
+    public synchronized int getUnacknowledgedCount() {
+        return unacknowledged.size();
+    }
+
+    /**
+     * Wait until less than the given number of updates are unacknowledged.
+     *
+     * @return true if less updates are unacknowledged, false if the time elapsed before
+     */
+    public synchronized boolean awaitUnacknowledgedBelow(int count, long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while(unacknowledged.size() >= count) {
+            final long wait = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if(wait <= 0) return false;
+            wait(wait);
+        }
+        return true;
+    }
+
+    /**
+     * Record the updates with their json. Call it before the offset is confirmed by the next poll.
+     *
+     * @return the updates which were neither received nor acknowledged before
+     */
+    public synchronized List<Update> received(List<Update> updates) throws IOException {
+        final List<Update> recorded = new ArrayList<Update>(updates.size());
+        for(Update update : updates) {
+            final int id = update.getUpdate_id();
+            if(isAcknowledged(id) || unacknowledged.containsKey(id)) continue;
+
+            final byte[] json = JsonCodecs.shared().writeValueAsString(JsonCodecs.UPDATE, update).getBytes("UTF-8");
+            append(RECEIVED, id, json);
+            apply(id, json);
+            recorded.add(update);
+        }
+        return recorded;
+    }
+
+    /**
+     * Record that the update was handled.
+     */
+    public synchronized void acknowledge(int updateId) throws IOException {
+        append(ACKNOWLEDGED, updateId, null);
+        apply(updateId, null);
+        notifyAll();
+    }
+
+    /**
+     * @return a handler which passes the updates to the given handler and acknowledges them afterwards,
+     * also if the handler failed, as the update would be handled again after every restart otherwise
+     */
+    public UpdateHandler acknowledging(final UpdateHandler handler) {
+        return new UpdateHandler() {
+            @Override
+            public void handle(Update update) throws Exception {
+                try {
+                    handler.handle(update);
+                } finally {
+                    acknowledge(update.getUpdate_id());
+                }
+            }
+        };
+    }
+
+    /**
+     * @param json the json of a received update, or null if the update was acknowledged
+     */
+    private void apply(int id, byte[] json) {
+        if(next == null || id >= next) next = id + 1;
+
+        if(json == null) {
+            unacknowledged.remove(id);
+            acknowledged.add(id);
+        } else if(!acknowledged.contains(id)) {
+            unacknowledged.put(id, json);
+        }
+        // the acknowledged updates below the lowest unacknowledged one are covered by the resume offset
+        acknowledged.headSet(getResumeOffset()).clear();
+    }
+
+    private void append(int type, int id, byte[] json) throws IOException {
+        final int size = json == null ? RECORD_SIZE : sizeOf(json.length);
+        if(buffer.remaining() < size) compact(size);
+
+        write(buffer, type, id, json);
+    }
+
+    /**
+     * Write the record at the position of the buffer. The json is written first, so a record which was
+     * written partly before a crash ends the replay.
+     */
+    private static void write(MappedByteBuffer buffer, int type, int id, byte[] json) {
+        final int position = buffer.position();
+        if(json != null) {
+            buffer.putInt(position + RECORD_SIZE, json.length);
+            final ByteBuffer target = buffer.duplicate();
+            target.position(position + RECORD_SIZE + 4);
+            target.put(json);
+        }
+        buffer.putLong(position, ((long) type << 32) | (id & 0xFFFFFFFFL));
+        buffer.position(position + (json == null ? RECORD_SIZE : sizeOf(json.length)));
+    }
+
+    /**
+     * @return the bytes of a received record with json of the given length
+     */
+    private static int sizeOf(int length) {
+        return RECORD_SIZE + (4 + length + RECORD_SIZE - 1) / RECORD_SIZE * RECORD_SIZE;
+    }
+
+    /**
+     * Replace the file by one which only contains the current state
+     *
+     * @param required the bytes of the record which is appended next
+     */
+    private void compact(int required) throws IOException {
+        long size = 2 * RECORD_SIZE + required;
+        for(byte[] json : unacknowledged.values()) size += sizeOf(json.length);
+        size += (long) acknowledged.size() * RECORD_SIZE;
+
+        int capacity = minCapacity;
+        while((long) capacity * RECORD_SIZE < size * 2) capacity *= 2;
+
+        final File compacted = new File(file.getPath() + ".tmp");
+        // left over by a crash during the last compaction
+        compacted.delete();
+        final MappedByteBuffer target = create(compacted, capacity);
+        if(getResumeOffset() != null) write(target, BASE, getResumeOffset(), null);
+        for(Map.Entry<Integer, byte[]> entry : unacknowledged.entrySet()) write(target, RECEIVED, entry.getKey(), entry.getValue());
+        for(Integer id : acknowledged) write(target, ACKNOWLEDGED, id, null);
+        target.force();
+        Files.move(compacted.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        // the old mapping is released by the garbage collector
+        buffer = target;
+    }
+
+    /**
+     * Write the records to the disk.
+     */
+    public synchronized void force() {
+        buffer.force();
+    }
+
+    @Override
+    public synchronized void close() {
+        force();
+    }
+
+    private static MappedByteBuffer create(File file, int capacity) throws IOException {
+        final MappedByteBuffer buffer = map(file, (long) (capacity + 1) * RECORD_SIZE);
+        buffer.putLong(0, HEADER);
+        buffer.position(RECORD_SIZE);
+        return buffer;
+    }
+
+    private static MappedByteBuffer map(File file, long size) throws IOException {
+        final RandomAccessFile access = new RandomAccessFile(file, "rw");
+        try {
+            // the mapping stays valid after the channel was closed
+            return access.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } finally {
+            access.close();
+        }
+    }
+}
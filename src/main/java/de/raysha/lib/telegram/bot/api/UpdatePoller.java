@@ -0,0 +1,358 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.exception.BotApiException;
+import de.raysha.lib.telegram.bot.api.exception.BotException;
+import de.raysha.lib.telegram.bot.api.model.Update;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Receives the updates by long polling and passes them to the registered {@link UpdateHandler}s:
+ * <pre>
+ * UpdatePoller poller = new UpdatePoller(bot);
+ * poller.addHandler(update -&gt; ...);
+ * poller.start();
+ * </pre>
+ * The poller keeps the offset of the next poll, so every update is received once. One thread polls and
+ * another one dispatches the updates to the handlers, one update after the other.
+ * <br /><br />
+ * The API confirms the updates of a batch when the next poll is sent. By default the next poll is only sent
+ * after the batch was dispatched, so the updates of a crashed process are received again. With a
+ * {@link UpdatePollerConfig#setPipelineDepth(int) pipeline} the next poll is sent while the previous batch is
+ * dispatched, so there is no gap between the polls while the handlers work. But the batches which were received
+ * and not dispatched yet are lost on a crash then, unless the poller records them in an {@link UpdateJournal}.
+ * The journal keeps the updates until they are acknowledged, and the poller passes the unacknowledged ones to
+ * the handlers again after a restart. So the poller goes on polling while the updates are in flight, up to
+ * {@link UpdatePollerConfig#getMaxInFlight()} of them.
+ * <br /><br />
+ * The poller does not poll more updates than the {@link BoundedUpdateHandler}s among the handlers have room for.
+ * While they are full it waits until half of their capacity is free, and the updates stay with the API.
+ */
+public class UpdatePoller {
+    /**
+     * Marks the end of the batches
+     */
+    private static final List<Update> STOP = new ArrayList<Update>(0);
+
+    private final BotAPI bot;
+    private final UpdatePollerConfig config;
+    private final List<UpdateHandler> handlers = new CopyOnWriteArrayList<UpdateHandler>();
+    private final BlockingQueue<List<Update>> batches = new LinkedBlockingQueue<List<Update>>();
+
+    /**
+     * A permit per batch which may be received before the previous ones are dispatched
+     */
+    private final Semaphore inFlight;
+
+    /**
+     * The number of updates which were received, but not passed to the handlers yet
+     */
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private volatile UpdateErrorHandler errorHandler = UpdateErrorHandler.LOG;
+    private volatile UpdateJournal journal;
+    private volatile Integer offset;
+    private volatile boolean running;
+    private Thread pollThread;
+    private Thread dispatchThread;
+
+    public UpdatePoller(BotAPI bot) {
+        this(bot, new UpdatePollerConfig());
+    }
+
+    public UpdatePoller(BotAPI bot, UpdatePollerConfig config) {
+        this.bot = bot;
+        this.config = config;
+        this.inFlight = new Semaphore(config.getPipelineDepth() + 1);
+    }
+
+    public UpdatePoller addHandler(UpdateHandler handler) {
+        handlers.add(handler);
+        return this;
+    }
+
+    public UpdatePoller removeHandler(UpdateHandler handler) {
+        handlers.remove(handler);
+        return this;
+    }
+
+    public void setErrorHandler(UpdateErrorHandler errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * @return the offset of the next poll, or null if no update was received yet
+     */
+    public Integer getOffset() {
+        return offset;
+    }
+
+    /**
+     * Set the offset of the first poll. Without an offset the API returns its earliest unconfirmed update.
+     */
+    public void setOffset(Integer offset) {
+        if(running) {
+            throw new IllegalStateException("The offset can not be changed while the poller is running!");
+        }
+        this.offset = offset;
+    }
+
+    /**
+     * Record the received updates in the journal before they are confirmed. On start the unacknowledged updates
+     * of the journal are passed to the handlers again, and the polling goes on after the highest recorded update
+     * if no offset was set. The handlers have to acknowledge the updates (see {@link UpdateJournal#acknowledging(UpdateHandler)}).
+     */
+    public void setJournal(UpdateJournal journal) {
+        if(running) {
+            throw new IllegalStateException("The journal can not be changed while the poller is running!");
+        }
+        this.journal = journal;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public synchronized void start() {
+        if(running) {
+            throw new IllegalStateException("The poller is running already!");
+        }
+        running = true;
+        if(offset == null && journal != null) offset = journal.getNextOffset();
+
+        pollThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                poll();
+            }
+        }, "telegram-update-poller");
+        dispatchThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                dispatch();
+            }
+        }, "telegram-update-dispatcher");
+        pollThread.start();
+        dispatchThread.start();
+    }
+
+    /**
+     * Stop polling. The batches which were received already are dispatched before the threads end.
+     */
+    public synchronized void stop() {
+        running = false;
+        if(pollThread != null) pollThread.interrupt();
+    }
+
+    /**
+     * Wait until the poller has stopped.
+     *
+     * @return true if the poller has stopped, false if the time elapsed before
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        final Thread poll;
+        final Thread dispatch;
+        synchronized (this) {
+            poll = pollThread;
+            dispatch = dispatchThread;
+        }
+        if(poll == null) return true;
+
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        poll.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+        dispatch.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+        return !poll.isAlive() && !dispatch.isAlive();
+    }
+
+    private void poll() {
+        int failures = 0;
+        Integer confirmed = offset;
+        try {
+            if(journal != null) replay();
+
+            while(running) {
+                inFlight.acquire();
+                if(!running) {
+                    inFlight.release();
+                    break;
+                }
+
+                final int limit = awaitLimit();
+                if(limit == 0) {
+                    inFlight.release();
+                    break;
+                }
+
+                final List<Update> updates;
+                try {
+                    updates = bot.getUpdates(offset, limit, config.getTimeout());
+                    confirmed = offset;
+                    failures = 0;
+                } catch (BotException | RuntimeException e) {
+                    // e.g. a response which could not be decoded. The thread must survive it, or nothing is polled anymore.
+                    inFlight.release();
+                    if(!running) break;
+                    errorHandler.handleError(null, e);
+                    Thread.sleep(errorDelay(++failures, e));
+                    continue;
+                }
+
+                // the batch of a stopped poller is not confirmed and will be received again
+                if(updates.isEmpty() || !running) {
+                    inFlight.release();
+                    continue;
+                }
+
+                final List<Update> unhandled;
+                try {
+                    // the updates which were recorded before a restart are passed on by the replay
+                    unhandled = journal == null ? updates : journal.received(updates);
+                } catch (IOException | RuntimeException e) {
+                    // the updates are received again, as the offset is not confirmed
+                    inFlight.release();
+                    errorHandler.handleError(null, e);
+                    Thread.sleep(errorDelay(++failures, null));
+                    continue;
+                }
+
+                offset = updates.get(updates.size() - 1).getUpdate_id() + 1;
+                pending.addAndGet(unhandled.size());
+                batches.add(unhandled);
+            }
+        } catch (InterruptedException e) {
+            // stopped
+        } finally {
+            // also if the thread dies of an error, so the poller can be started again
+            running = false;
+            batches.add(STOP);
+        }
+
+        Thread.interrupted();
+        confirm(confirmed);
+    }
+
+    /**
+     * Pass the updates which were recorded but not acknowledged before the restart to the handlers again.
+     * The API does not return them anymore.
+     */
+    private void replay() throws InterruptedException {
+        final List<Update> unacknowledged;
+        try {
+            unacknowledged = journal.getUnacknowledged();
+        } catch (IOException | RuntimeException e) {
+            // they stay in the journal and are replayed by the next start
+            errorHandler.handleError(null, e);
+            return;
+        }
+        if(unacknowledged.isEmpty()) return;
+
+        inFlight.acquire();
+        pending.addAndGet(unacknowledged.size());
+        batches.add(unacknowledged);
+    }
+
+    /**
+     * Wait until the journal and the bounded handlers have room for the updates of the next poll.
+     *
+     * @return the limit of the next poll, or 0 if the poller was stopped meanwhile
+     */
+    private int awaitLimit() throws InterruptedException {
+        int limit = config.getLimit();
+        if(journal != null) {
+            final int max = config.getMaxInFlight();
+            while(!journal.awaitUnacknowledgedBelow(max, 10, TimeUnit.MILLISECONDS)) {
+                if(!running) return 0;
+            }
+            limit = Math.min(limit, max - journal.getUnacknowledgedCount());
+        }
+
+        for(UpdateHandler handler : handlers) {
+            if(!(handler instanceof BoundedUpdateHandler)) continue;
+
+            final BoundedUpdateHandler bounded = (BoundedUpdateHandler) handler;
+            int free = bounded.getRemainingCapacity() - pending.get();
+            if(free <= 0) {
+                // poll again once a larger batch fits, not for every single update which was handled
+                final int resume = Math.max(1, Math.min(config.getLimit(), bounded.getCapacity() / 2));
+                while(free < resume) {
+                    if(!running) return 0;
+                    // the pending updates are passed on meanwhile, so the required capacity is checked again shortly
+                    bounded.awaitCapacity(pending.get() + resume, 10, TimeUnit.MILLISECONDS);
+                    free = bounded.getRemainingCapacity() - pending.get();
+                }
+            }
+            limit = Math.min(limit, free);
+        }
+        return limit;
+    }
+
+    /**
+     * Confirm the dispatched updates, otherwise they would be received again after a restart
+     */
+    private void confirm(Integer confirmed) {
+        try {
+            dispatchThread.join();
+            if(offset == null || offset.equals(confirmed)) return;
+            bot.getUpdates(offset, 1, 0);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (BotException e) {
+            errorHandler.handleError(null, e);
+        }
+    }
+
+    private void dispatch() {
+        try {
+            while(true) {
+                final List<Update> updates = batches.take();
+                if(updates == STOP) return;
+
+                try {
+                    for(Update update : updates) {
+                        handle(update);
+                        pending.decrementAndGet();
+                    }
+                } finally {
+                    inFlight.release();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handle(Update update) throws InterruptedException {
+        for(UpdateHandler handler : handlers) {
+            try {
+                if(handler instanceof BoundedUpdateHandler) {
+                    // full only if others fill it too. The update was confirmed, so it must not be dropped.
+                    final BoundedUpdateHandler bounded = (BoundedUpdateHandler) handler;
+                    while(!bounded.offer(update)) {
+                        bounded.awaitCapacity(1, 100, TimeUnit.MILLISECONDS);
+                    }
+                } else {
+                    handler.handle(update);
+                }
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                errorHandler.handleError(update, e);
+            }
+        }
+    }
+
+    private long errorDelay(int failures, Exception error) {
+        if(error instanceof BotApiException && ((BotApiException) error).getRetryAfter() != null) {
+            return ((BotApiException) error).getRetryAfter() * 1000L;
+        }
+        return Math.min(config.getMaxErrorDelay(), config.getMinErrorDelay() << Math.min(failures - 1, 30));
+    }
+}
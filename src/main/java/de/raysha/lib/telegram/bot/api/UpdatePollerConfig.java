@@ -0,0 +1,92 @@
+package de.raysha.lib.telegram.bot.api;
+
+/**
+ * The configuration of the {@link UpdatePoller}.
+ */
+public class UpdatePollerConfig {
+
+    /**
+     * The maximum number of updates per poll, 1-100
+     */
+    private int limit = 100;
+
+    /**
+     * The seconds the API holds a poll open while there are no updates
+     */
+    private int timeout = 30;
+
+    /**
+     * The number of received batches which may wait for the dispatching, while the next poll runs.
+     * 0 polls only after the previous batch was dispatched, so a batch is confirmed after its updates
+     * were passed to the handlers.
+     * <br /><br />
+     * A pipeline is faster, but the next poll confirms a batch before it is dispatched. The updates of that
+     * batch are lost if the process crashes meanwhile, so they are handled at most once. An {@link UpdateJournal}
+     * keeps them, if they have to be handled at least once.
+     */
+    private int pipelineDepth = 0;
+
+    /**
+     * The milliseconds to wait after the first failed poll. The delay is doubled for every further failure.
+     */
+    private long minErrorDelay = 100;
+
+    /**
+     * The maximum milliseconds to wait after a failed poll
+     */
+    private long maxErrorDelay = 30000;
+
+    /**
+     * With an {@link UpdateJournal}: the maximum number of updates which were received but not acknowledged.
+     * While as many are in flight, the poller waits and the journal does not grow.
+     */
+    private int maxInFlight = 1000;
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    public int getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(int timeout) {
+        this.timeout = timeout;
+    }
+
+    public int getPipelineDepth() {
+        return pipelineDepth;
+    }
+
+    public void setPipelineDepth(int pipelineDepth) {
+        this.pipelineDepth = pipelineDepth;
+    }
+
+    public long getMinErrorDelay() {
+        return minErrorDelay;
+    }
+
+    public void setMinErrorDelay(long minErrorDelay) {
+        this.minErrorDelay = minErrorDelay;
+    }
+
+    public long getMaxErrorDelay() {
+        return maxErrorDelay;
+    }
+
+    public void setMaxErrorDelay(long maxErrorDelay) {
+        this.maxErrorDelay = maxErrorDelay;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+}
@@ -0,0 +1,503 @@
+package de.raysha.lib.telegram.bot.api;
+
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+
+/**
+ * One connection of the {@link WebhookServer}. Reads the HTTP requests into one buffer, which grows up to
+ * the maximum request size, and passes their bodies to the server without copying them. A request is
+ * answered before the next one of the connection is handled, also while the response waits for the reply
+ * of a handler. Only used by the thread of the server.
+ */
+class WebhookConnection {
+    private static final Charset US_ASCII = Charset.forName("US-ASCII");
+    private static final int INITIAL_CAPACITY = 4096;
+
+    /**
+     * The maximum size of the request line and the headers
+     */
+    private static final int MAX_HEADER_SIZE = 8192;
+
+    private static final byte[] CONTINUE = "HTTP/1.1 100 Continue\r\n\r\n".getBytes(US_ASCII);
+
+    private final WebhookServer server;
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    private final Transport transport;
+    private final int maxRequestSize;
+
+    /**
+     * The received bytes, in write mode
+     */
+    private ByteBuffer in;
+
+    /**
+     * The response which is written, or null
+     */
+    private ByteBuffer out;
+    private boolean closeAfterResponse;
+
+    /**
+     * The reply the response waits for, or null
+     */
+    private WebhookReply awaiting;
+    private long lastActivity = System.currentTimeMillis();
+
+    /**
+     * The index of the first byte after the headers of the current request, or -1 if they are incomplete
+     */
+    private int bodyStart = -1;
+    private int contentLength;
+    private boolean keepAlive;
+    private int status;
+
+    WebhookConnection(WebhookServer server, SocketChannel channel, SelectionKey key, SSLEngine engine, int maxRequestSize) {
+        this.server = server;
+        this.channel = channel;
+        this.key = key;
+        this.transport = engine == null ? new PlainTransport(channel) : new TlsTransport(channel, engine);
+        this.maxRequestSize = maxRequestSize;
+        this.in = ByteBuffer.allocate(Math.max(INITIAL_CAPACITY, transport.minReadCapacity()));
+    }
+
+    long getLastActivity() {
+        return lastActivity;
+    }
+
+    boolean isIdle() {
+        return out == null && awaiting == null && in.position() == 0;
+    }
+
+    void onReadable() throws IOException {
+        lastActivity = System.currentTimeMillis();
+        while(true) {
+            if(in.remaining() < transport.minReadCapacity()) grow(in.capacity() * 2);
+
+            final int read = transport.read(in);
+            if(read < 0) {
+                close();
+                return;
+            }
+            process();
+
+            // TLS may have decrypted less than it received, because the buffer was full
+            if(read == 0 || out != null || awaiting != null || !key.isValid() || !transport.hasBufferedInput()) break;
+        }
+        updateInterest();
+    }
+
+    void onWritable() throws IOException {
+        lastActivity = System.currentTimeMillis();
+        if(!transport.flush()) return;
+
+        if(out != null) {
+            if(!transport.write(out)) return;
+            out = null;
+            if(closeAfterResponse) {
+                close();
+                return;
+            }
+            // the next request may be in the buffer already
+            process();
+        }
+        updateInterest();
+    }
+
+    /**
+     * Handle the complete requests of the buffer
+     */
+    private void process() throws IOException {
+        while(out == null && awaiting == null && key.isValid()) {
+            if(bodyStart < 0 && !parseHeaders()) return;
+
+            final int end = bodyStart + contentLength;
+            if(in.position() < end) {
+                if(end > in.capacity()) grow(end + transport.minReadCapacity());
+                return;
+            }
+
+            final byte[] response = status != 0
+                    ? WebhookServer.response(status, false)
+                    : server.handle(this, in.array(), bodyStart, contentLength, keepAlive);
+            if(status != 0) keepAlive = false;
+
+            // drop the request from the buffer
+            in.flip();
+            in.position(end);
+            in.compact();
+            bodyStart = -1;
+
+            if(response != null) respond(response, !keepAlive);
+        }
+    }
+
+    /**
+     * Wait for the reply before the response is sent.
+     */
+    void await(WebhookReply reply) {
+        awaiting = reply;
+    }
+
+    /**
+     * Send the response of the reply, if the connection waits for it
+     */
+    void replied(WebhookReply reply) throws IOException {
+        if(awaiting != reply || !key.isValid()) return;
+
+        awaiting = null;
+        lastActivity = System.currentTimeMillis();
+        respond(reply.getResponse(), !keepAlive);
+        process();
+        if(out == null && awaiting == null && key.isValid() && transport.hasBufferedInput()) onReadable();
+        else updateInterest();
+    }
+
+    /**
+     * @return true if the headers of the request are complete
+     */
+    private boolean parseHeaders() throws IOException {
+        final byte[] buffer = in.array();
+        final int length = in.position();
+        int headerEnd = -1;
+        for(int i = 3; i < length; i++) {
+            if(buffer[i] == '\n' && buffer[i - 1] == '\r' && buffer[i - 2] == '\n' && buffer[i - 3] == '\r') {
+                headerEnd = i + 1;
+                break;
+            }
+        }
+        if(headerEnd < 0) {
+            if(length >= MAX_HEADER_SIZE) respond(WebhookServer.response(431, false), true);
+            return false;
+        }
+
+        final String[] lines = new String(buffer, 0, headerEnd - 4, US_ASCII).split("\r\n");
+        final String[] requestLine = lines[0].split(" ");
+        status = 0;
+        contentLength = 0;
+        keepAlive = requestLine.length == 3 && "HTTP/1.1".equals(requestLine[2]);
+        boolean hasLength = false;
+        boolean expectContinue = false;
+
+        for(int i = 1; i < lines.length; i++) {
+            final int colon = lines[i].indexOf(':');
+            if(colon < 0) continue;
+
+            final String name = lines[i].substring(0, colon).trim();
+            final String value = lines[i].substring(colon + 1).trim();
+            if("Content-Length".equalsIgnoreCase(name)) {
+                try {
+                    contentLength = Integer.parseInt(value);
+                    hasLength = contentLength >= 0;
+                } catch (NumberFormatException e) {
+                    status = 400;
+                }
+            } else if("Connection".equalsIgnoreCase(name)) {
+                if("close".equalsIgnoreCase(value)) keepAlive = false;
+                else if("keep-alive".equalsIgnoreCase(value)) keepAlive = true;
+            } else if("Transfer-Encoding".equalsIgnoreCase(name)) {
+                status = 411;
+            } else if("Expect".equalsIgnoreCase(name)) {
+                expectContinue = "100-continue".equalsIgnoreCase(value);
+            }
+        }
+
+        if(status == 0) {
+            if(requestLine.length != 3) status = 400;
+            else if(!server.getPath().equals(requestLine[1])) status = 404;
+            else if(!"POST".equals(requestLine[0])) status = 405;
+            else if(!hasLength) status = 411;
+            else if(headerEnd + (long) contentLength > maxRequestSize) status = 413;
+        }
+
+        bodyStart = headerEnd;
+        if(status != 0) {
+            // the body is not read
+            contentLength = 0;
+        } else if(expectContinue && in.position() < headerEnd + contentLength) {
+            if(!transport.write(ByteBuffer.wrap(CONTINUE))) {
+                throw new IOException("Could not write the 100 Continue response at once.");
+            }
+        }
+        return true;
+    }
+
+    private void respond(byte[] response, boolean close) throws IOException {
+        closeAfterResponse = close;
+        final ByteBuffer buffer = ByteBuffer.wrap(response);
+        if(transport.write(buffer)) {
+            if(close) close();
+        } else {
+            out = buffer;
+        }
+    }
+
+    private void updateInterest() {
+        if(!key.isValid()) return;
+        if(out != null || transport.hasPendingOutput()) key.interestOps(SelectionKey.OP_WRITE);
+        // the next request is read once the reply was sent
+        else key.interestOps(awaiting != null ? 0 : SelectionKey.OP_READ);
+    }
+
+    private void grow(int capacity) {
+        if(capacity <= in.capacity()) return;
+
+        final ByteBuffer grown = ByteBuffer.allocate(capacity);
+        in.flip();
+        grown.put(in);
+        in = grown;
+    }
+
+    void close() {
+        if(awaiting != null) {
+            // the later requests of the handlers are sent by the executor
+            awaiting.expire();
+            awaiting = null;
+        }
+        key.cancel();
+        try {
+            transport.close();
+        } catch (IOException e) {
+            // closed anyway
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // closed anyway
+        }
+        server.closed(this);
+    }
+
+    /**
+     * Reads and writes the bytes of the connection, either plain or by TLS
+     */
+    private interface Transport {
+
+        /**
+         * @return the number of bytes which were read into the buffer, or -1 at the end of the stream
+         */
+        int read(ByteBuffer target) throws IOException;
+
+        /**
+         * @return true if all bytes were written
+         */
+        boolean write(ByteBuffer source) throws IOException;
+
+        /**
+         * @return true if there are no more bytes to write
+         */
+        boolean flush() throws IOException;
+
+        boolean hasPendingOutput();
+
+        /**
+         * @return true if bytes were received which were not read yet
+         */
+        boolean hasBufferedInput();
+
+        /**
+         * @return the space a read needs in the target buffer
+         */
+        int minReadCapacity();
+
+        void close() throws IOException;
+    }
+
+    private static class PlainTransport implements Transport {
+        private final SocketChannel channel;
+
+        PlainTransport(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public int read(ByteBuffer target) throws IOException {
+            return channel.read(target);
+        }
+
+        @Override
+        public boolean write(ByteBuffer source) throws IOException {
+            channel.write(source);
+            return !source.hasRemaining();
+        }
+
+        @Override
+        public boolean flush() {
+            return true;
+        }
+
+        @Override
+        public boolean hasPendingOutput() {
+            return false;
+        }
+
+        @Override
+        public boolean hasBufferedInput() {
+            return false;
+        }
+
+        @Override
+        public int minReadCapacity() {
+            return 1024;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static class TlsTransport implements Transport {
+        private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+        private final SocketChannel channel;
+        private final SSLEngine engine;
+
+        /**
+         * The received and the outgoing TLS records, both in write mode
+         */
+        private ByteBuffer netIn;
+        private final ByteBuffer netOut;
+
+        TlsTransport(SocketChannel channel, SSLEngine engine) {
+            this.channel = channel;
+            this.engine = engine;
+            this.netIn = ByteBuffer.allocate(engine.getSession().getPacketBufferSize());
+            this.netOut = ByteBuffer.allocate(engine.getSession().getPacketBufferSize());
+        }
+
+        @Override
+        public int read(ByteBuffer target) throws IOException {
+            final int read = channel.read(netIn);
+            final int before = target.position();
+            boolean closed = read < 0;
+
+            netIn.flip();
+            try {
+                while(!closed) {
+                    final SSLEngineResult.HandshakeStatus handshake = engine.getHandshakeStatus();
+                    if(handshake == SSLEngineResult.HandshakeStatus.NEED_TASK) {
+                        runTasks();
+                        continue;
+                    }
+                    if(handshake == SSLEngineResult.HandshakeStatus.NEED_WRAP) {
+                        if(!wrap(EMPTY)) break;
+                        continue;
+                    }
+                    if(!netIn.hasRemaining()) break;
+
+                    final SSLEngineResult result = engine.unwrap(netIn, target);
+                    if(result.getStatus() == SSLEngineResult.Status.BUFFER_UNDERFLOW) {
+                        if(netIn.limit() == netIn.capacity() && netIn.position() == 0) {
+                            netIn = enlarge(netIn, engine.getSession().getPacketBufferSize());
+                            netIn.flip();
+                        }
+                        break;
+                    } else if(result.getStatus() == SSLEngineResult.Status.BUFFER_OVERFLOW) {
+                        // the connection makes room for the next read
+                        break;
+                    } else if(result.getStatus() == SSLEngineResult.Status.CLOSED) {
+                        closed = true;
+                    }
+                }
+            } finally {
+                netIn.compact();
+            }
+
+            final int unwrapped = target.position() - before;
+            return closed && unwrapped == 0 ? -1 : unwrapped;
+        }
+
+        @Override
+        public boolean write(ByteBuffer source) throws IOException {
+            if(!flush()) return false;
+
+            while(source.hasRemaining()) {
+                if(!wrap(source)) return false;
+            }
+            return true;
+        }
+
+        /**
+         * Wrap the bytes into TLS records and send them
+         *
+         * @return true if the records were sent completely
+         */
+        private boolean wrap(ByteBuffer source) throws IOException {
+            final SSLEngineResult result = engine.wrap(source, netOut);
+            if(result.getStatus() == SSLEngineResult.Status.CLOSED) {
+                throw new SSLException("The TLS session was closed.");
+            }
+            return flush();
+        }
+
+        /**
+         * Send the pending records, and continue the handshake as far as it needs no input
+         */
+        @Override
+        public boolean flush() throws IOException {
+            while(flushRecords()) {
+                final SSLEngineResult.HandshakeStatus handshake = engine.getHandshakeStatus();
+                if(handshake == SSLEngineResult.HandshakeStatus.NEED_TASK) {
+                    runTasks();
+                } else if(handshake == SSLEngineResult.HandshakeStatus.NEED_WRAP) {
+                    if(engine.wrap(EMPTY, netOut).getStatus() == SSLEngineResult.Status.CLOSED) {
+                        return flushRecords();
+                    }
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean flushRecords() throws IOException {
+            netOut.flip();
+            try {
+                channel.write(netOut);
+                return !netOut.hasRemaining();
+            } finally {
+                netOut.compact();
+            }
+        }
+
+        @Override
+        public boolean hasPendingOutput() {
+            return netOut.position() > 0;
+        }
+
+        @Override
+        public boolean hasBufferedInput() {
+            return netIn.position() > 0;
+        }
+
+        @Override
+        public int minReadCapacity() {
+            return engine.getSession().getApplicationBufferSize();
+        }
+
+        @Override
+        public void close() throws IOException {
+            engine.closeOutbound();
+            engine.wrap(EMPTY, netOut);
+            flushRecords();
+        }
+
+        private void runTasks() {
+            Runnable task;
+            while((task = engine.getDelegatedTask()) != null) {
+                task.run();
+            }
+        }
+
+        private static ByteBuffer enlarge(ByteBuffer buffer, int capacity) {
+            final ByteBuffer enlarged = ByteBuffer.allocate(buffer.capacity() + capacity);
+            enlarged.put(buffer);
+            return enlarged;
+        }
+    }
+}
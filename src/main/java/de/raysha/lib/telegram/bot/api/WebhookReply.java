@@ -0,0 +1,137 @@
+package de.raysha.lib.telegram.bot.api;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The pending response to an update which the {@link WebhookServer} received. The first request
+ * which a handler of the update sends by a {@link WebhookReplyExecutor} is put into the response,
+ * unless the handlers have finished already or the reply timeout has elapsed.
+ * <br /><br />
+ * The reply is bound to the thread which handles the update. An {@link UpdateDispatcher} passes it on
+ * to the thread of the lane.
+ */
+final class WebhookReply {
+    private static final ThreadLocal<WebhookReply> CURRENT = new ThreadLocal<WebhookReply>();
+
+    private final WebhookServer server;
+    private final WebhookConnection connection;
+    private final boolean keepAlive;
+    private final long deadline;
+
+    /**
+     * The number of handlers which have not finished yet
+     */
+    private final AtomicInteger holders = new AtomicInteger(1);
+    private final AtomicBoolean done = new AtomicBoolean();
+    private volatile byte[] response;
+
+    WebhookReply(WebhookServer server, WebhookConnection connection, boolean keepAlive, long deadline) {
+        this.server = server;
+        this.connection = connection;
+        this.keepAlive = keepAlive;
+        this.deadline = deadline;
+    }
+
+    /**
+     * @return the reply of the update which the current thread handles, or null
+     */
+    static WebhookReply current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Bind the reply to the current thread.
+     *
+     * @return the reply which was bound before
+     */
+    static WebhookReply bind(WebhookReply reply) {
+        final WebhookReply previous = CURRENT.get();
+        if(reply == null) CURRENT.remove();
+        else CURRENT.set(reply);
+        return previous;
+    }
+
+    WebhookConnection getConnection() {
+        return connection;
+    }
+
+    long getDeadline() {
+        return deadline;
+    }
+
+    boolean isDone() {
+        return done.get();
+    }
+
+    /**
+     * @return the response, or null if the reply is not done yet
+     */
+    byte[] getResponse() {
+        return response;
+    }
+
+    /**
+     * Another handler works on the update, e.g. on another thread.
+     */
+    void retain() {
+        holders.incrementAndGet();
+    }
+
+    /**
+     * A handler has finished. Once all have finished without a reply, the update is answered without one.
+     */
+    void release() {
+        if(holders.decrementAndGet() == 0) {
+            finish(WebhookServer.response(200, keepAlive));
+        }
+    }
+
+    /**
+     * Answer the update with the request.
+     *
+     * @return true if the request is sent by the response, false if the update is answered already
+     */
+    boolean offer(String action, RequestBody body) {
+        if(done.get()) return false;
+
+        return finish(WebhookServer.response(200, keepAlive, body.getContentType(), method(action, body)));
+    }
+
+    /**
+     * Answer the update without a reply, because the reply timeout has elapsed or the connection was closed.
+     */
+    void expire() {
+        finish(WebhookServer.response(200, keepAlive));
+    }
+
+    private boolean finish(byte[] response) {
+        if(!done.compareAndSet(false, true)) return false;
+
+        this.response = response;
+        server.replied(this);
+        return true;
+    }
+
+    /**
+     * @return the parameters of the request together with the parameter <code>method</code>
+     */
+    private static byte[] method(String action, RequestBody body) {
+        final byte[] content = body.getContent();
+        final byte[] method;
+        if(body.isJson()) {
+            method = ("{\"method\":\"" + action + "\"" + (content.length > 2 ? "," : "")).getBytes(WebhookServer.US_ASCII);
+            // replaces the opening brace of the body
+            final byte[] bytes = new byte[method.length + content.length - 1];
+            System.arraycopy(method, 0, bytes, 0, method.length);
+            System.arraycopy(content, 1, bytes, method.length, content.length - 1);
+            return bytes;
+        }
+
+        method = ("method=" + action + (content.length > 0 ? "&" : "")).getBytes(WebhookServer.US_ASCII);
+        final byte[] bytes = new byte[method.length + content.length];
+        System.arraycopy(method, 0, bytes, 0, method.length);
+        System.arraycopy(content, 0, bytes, method.length, content.length);
+        return bytes;
+    }
+}
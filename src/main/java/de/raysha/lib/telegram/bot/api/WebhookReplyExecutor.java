@@ -0,0 +1,53 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.exception.BotException;
+import de.raysha.lib.telegram.bot.api.model.InputFile;
+import org.codehaus.jackson.type.JavaType;
+
+import java.util.Map;
+
+/**
+ * Sends the first request of a handler of the {@link WebhookServer} in the response to the update,
+ * which saves a request to the API. All other requests are sent by the given executor: the requests
+ * after the first one, the requests after the reply timeout of the server or after the handlers have
+ * finished, uploads of files, and the requests of threads which do not handle an update:
+ * <pre>
+ * BotAPI bot = new TelegramBot(new WebhookReplyExecutor(new HttpClientRequestExecutor(baseUrl)));
+ * config.setReplyTimeout(1000);
+ * server.addHandler(new UpdateDispatcher(update -> bot.sendMessage(chatId(update), "Hello")));
+ * </pre>
+ * The API does not answer a reply in the response, so its result is unknown: methods which return
+ * a boolean return true, all other methods return null. A reply is not retried on flood control errors.
+ */
+public class WebhookReplyExecutor implements RequestExecutor {
+    private final RequestExecutor delegate;
+
+    public WebhookReplyExecutor(RequestExecutor delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public <T> T get(String action, Map<String, Object> parameters, JavaType resultType) throws BotException {
+        return delegate.get(action, parameters, resultType);
+    }
+
+    @Override
+    public <T> T post(String action, Map<String, Object> parameters, JavaType resultType) throws BotException {
+        return delegate.post(action, parameters, resultType);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T post(String action, RequestBody body, JavaType resultType) throws BotException {
+        final WebhookReply reply = WebhookReply.current();
+        if(reply != null && reply.offer(action, body)) {
+            return resultType.getRawClass() == Boolean.class ? (T) Boolean.TRUE : null;
+        }
+        return delegate.post(action, body, resultType);
+    }
+
+    @Override
+    public <T> T post(String action, Map<String, Object> parameters, String fileName, InputFile file, JavaType resultType) throws BotException {
+        return delegate.post(action, parameters, fileName, file, resultType);
+    }
+}
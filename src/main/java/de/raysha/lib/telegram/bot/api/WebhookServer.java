@@ -0,0 +1,421 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.model.Update;
+import org.codehaus.jackson.JsonParser;
+
+import javax.net.ssl.SSLEngine;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Receives the updates which the API pushes to the webhook of the bot (see {@link BotAPI#setWebhook(String, java.io.File)})
+ * and passes them to the registered {@link UpdateHandler}s:
+ * <pre>
+ * WebhookServerConfig config = new WebhookServerConfig();
+ * config.setPort(8443);
+ * config.setPath("/" + secret);
+ * config.setSslContext(sslContext);
+ *
+ * WebhookServer server = new WebhookServer(config);
+ * server.addHandler(new UpdateDispatcher(handler));
+ * server.start();
+ * bot.setWebhook("https://example.org:8443/" + secret, certificate);
+ * </pre>
+ * One thread serves all connections with non-blocking I/O. The updates are decoded straight from the buffer
+ * of the connection. The handlers are called by this thread, so they must not block. Put an {@link UpdateDispatcher}
+ * in front of the handlers which do. An update is answered with 200 once the handlers returned, also if one failed,
+ * because the API would send it again and again otherwise. While a {@link BoundedUpdateHandler} among the handlers
+ * is full, the updates are answered with 429 instead and the API sends them again later.
+ * <br /><br />
+ * With a reply timeout (see {@link WebhookServerConfig#setReplyTimeout(long)}) the response waits for the first
+ * request of the handlers which they send by a {@link WebhookReplyExecutor}, and contains it instead of an empty body.
+ */
+public class WebhookServer {
+    static final Charset US_ASCII = Charset.forName("US-ASCII");
+
+    /**
+     * The empty responses by status
+     */
+    private static final String[] REASONS = new String[600];
+    private static final byte[][] KEEP_ALIVE_RESPONSES = new byte[600][];
+    private static final byte[][] CLOSE_RESPONSES = new byte[600][];
+
+    static {
+        final Object[][] statuses = {
+                {200, "OK"}, {400, "Bad Request"}, {404, "Not Found"}, {405, "Method Not Allowed"},
+                {411, "Length Required"}, {413, "Payload Too Large"}, {429, "Too Many Requests"},
+                {431, "Request Header Fields Too Large"}, {503, "Service Unavailable"}
+        };
+        for(Object[] status : statuses) {
+            REASONS[(Integer) status[0]] = (String) status[1];
+            KEEP_ALIVE_RESPONSES[(Integer) status[0]] = createHeaders((Integer) status[0], true, "Content-Length: 0\r\n");
+            CLOSE_RESPONSES[(Integer) status[0]] = createHeaders((Integer) status[0], false, "Content-Length: 0\r\n");
+        }
+    }
+
+    private final WebhookServerConfig config;
+    private final JsonCodecs codecs;
+    private final List<UpdateHandler> handlers = new CopyOnWriteArrayList<UpdateHandler>();
+    private final Set<WebhookConnection> connections = new HashSet<WebhookConnection>();
+    private volatile UpdateErrorHandler errorHandler = UpdateErrorHandler.LOG;
+
+    /**
+     * The replies which are done, queued for the thread of the server
+     */
+    private final Queue<WebhookReply> replied = new ConcurrentLinkedQueue<WebhookReply>();
+
+    /**
+     * The replies which the connections wait for, in the order of their deadlines
+     */
+    private final ArrayDeque<WebhookReply> waiting = new ArrayDeque<WebhookReply>();
+
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private Thread thread;
+    private volatile boolean running;
+
+    public WebhookServer(WebhookServerConfig config) {
+        this.config = config;
+        this.codecs = config.getCodecs();
+    }
+
+    public WebhookServer addHandler(UpdateHandler handler) {
+        handlers.add(handler);
+        return this;
+    }
+
+    public WebhookServer removeHandler(UpdateHandler handler) {
+        handlers.remove(handler);
+        return this;
+    }
+
+    public void setErrorHandler(UpdateErrorHandler errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    String getPath() {
+        return config.getPath();
+    }
+
+    /**
+     * @return the port the server listens on, e.g. if the configured port is 0
+     */
+    public int getPort() {
+        if(serverChannel == null) {
+            throw new IllegalStateException("The server is not started!");
+        }
+        return serverChannel.socket().getLocalPort();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Bind the port and start the thread of the server.
+     */
+    public synchronized void start() throws IOException {
+        if(running) {
+            throw new IllegalStateException("The server is running already!");
+        }
+
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        try {
+            serverChannel.configureBlocking(false);
+            serverChannel.socket().setReuseAddress(true);
+            serverChannel.socket().bind(config.getHost() == null
+                    ? new InetSocketAddress(config.getPort())
+                    : new InetSocketAddress(config.getHost(), config.getPort()), 128);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            serverChannel.close();
+            selector.close();
+            throw e;
+        }
+
+        running = true;
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                serve();
+            }
+        }, "telegram-webhook-server");
+        thread.start();
+    }
+
+    /**
+     * Close the port and all connections.
+     */
+    public synchronized void stop() {
+        if(!running) return;
+
+        running = false;
+        selector.wakeup();
+    }
+
+    /**
+     * Wait until the server has stopped.
+     *
+     * @return true if the server has stopped, false if the time elapsed before
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        final Thread serverThread;
+        synchronized (this) {
+            serverThread = thread;
+        }
+        if(serverThread == null) return true;
+
+        serverThread.join(Math.max(1, unit.toMillis(timeout)));
+        return !serverThread.isAlive();
+    }
+
+    private void serve() {
+        long lastIdleCheck = System.currentTimeMillis();
+        try {
+            while(running) {
+                selector.select(selectTimeout());
+
+                final Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while(keys.hasNext()) {
+                    final SelectionKey key = keys.next();
+                    keys.remove();
+                    if(!key.isValid()) continue;
+
+                    if(key.isAcceptable()) {
+                        try {
+                            accept();
+                        } catch (IOException e) {
+                            errorHandler.handleError(null, e);
+                        }
+                        continue;
+                    }
+
+                    final WebhookConnection connection = (WebhookConnection) key.attachment();
+                    try {
+                        if(key.isReadable()) connection.onReadable();
+                        else if(key.isWritable()) connection.onWritable();
+                    } catch (IOException e) {
+                        connection.close();
+                    }
+                }
+
+                respondReplies();
+
+                final long now = System.currentTimeMillis();
+                if(now - lastIdleCheck >= 1000) {
+                    closeIdleConnections(now);
+                    lastIdleCheck = now;
+                }
+            }
+        } catch (IOException e) {
+            errorHandler.handleError(null, e);
+        } catch (ClosedSelectorException e) {
+            // stopped
+        } finally {
+            for(WebhookConnection connection : new ArrayList<WebhookConnection>(connections)) {
+                connection.close();
+            }
+            try {
+                serverChannel.close();
+                selector.close();
+            } catch (IOException e) {
+                // closed anyway
+            }
+            running = false;
+        }
+    }
+
+    private long selectTimeout() {
+        final WebhookReply next = waiting.peek();
+        if(next == null) return 1000;
+
+        return Math.max(1, Math.min(1000, next.getDeadline() - System.currentTimeMillis()));
+    }
+
+    /**
+     * Send the replies which are done and expire the replies whose deadline has elapsed
+     */
+    private void respondReplies() {
+        final long now = System.currentTimeMillis();
+        WebhookReply reply;
+        while((reply = waiting.peek()) != null && (reply.isDone() || reply.getDeadline() <= now)) {
+            waiting.poll();
+            reply.expire();
+        }
+
+        while((reply = replied.poll()) != null) {
+            try {
+                reply.getConnection().replied(reply);
+            } catch (IOException e) {
+                reply.getConnection().close();
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while((channel = serverChannel.accept()) != null) {
+            if(connections.size() >= config.getMaxConnections()) {
+                channel.close();
+                continue;
+            }
+
+            try {
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+                final SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                final WebhookConnection connection = new WebhookConnection(this, channel, key, sslEngine(), config.getMaxRequestSize());
+                key.attach(connection);
+                connections.add(connection);
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+    }
+
+    private SSLEngine sslEngine() {
+        if(config.getSslContext() == null) return null;
+
+        final SSLEngine engine = config.getSslContext().createSSLEngine();
+        engine.setUseClientMode(false);
+        return engine;
+    }
+
+    private void closeIdleConnections(long now) {
+        for(WebhookConnection connection : new ArrayList<WebhookConnection>(connections)) {
+            if(now - connection.getLastActivity() > config.getIdleTimeout()) {
+                connection.close();
+            }
+        }
+    }
+
+    void closed(WebhookConnection connection) {
+        connections.remove(connection);
+    }
+
+    /**
+     * Decode the update from the body of a request and pass it to the handlers.
+     *
+     * @return the response, or null if the connection has to wait for the reply
+     */
+    byte[] handle(WebhookConnection connection, byte[] buffer, int offset, int length, boolean keepAlive) {
+        // this thread is the only one which fills the handlers, so the update fits if there is room now
+        if(isFull()) return response(429, keepAlive);
+
+        final Update update;
+        try {
+            // the lazy codecs keep slices of the bytes, but the buffer is reused for the next request
+            final JsonParser parser = codecs.isLazyDecoding()
+                    ? codecs.getJsonFactory().createJsonParser(Arrays.copyOfRange(buffer, offset, offset + length))
+                    : codecs.getJsonFactory().createJsonParser(buffer, offset, length);
+            try {
+                parser.nextToken();
+                update = codecs.read(parser, JsonCodecs.UPDATE);
+            } finally {
+                parser.close();
+            }
+        } catch (IOException e) {
+            errorHandler.handleError(null, e);
+            return response(400, keepAlive);
+        }
+        if(update == null) return response(400, keepAlive);
+
+        if(config.getReplyTimeout() <= 0) {
+            callHandlers(update);
+            return response(200, keepAlive);
+        }
+
+        final WebhookReply reply = new WebhookReply(this, connection, keepAlive,
+                System.currentTimeMillis() + config.getReplyTimeout());
+        final WebhookReply previous = WebhookReply.bind(reply);
+        try {
+            callHandlers(update);
+        } finally {
+            WebhookReply.bind(previous);
+            reply.release();
+        }
+        if(reply.isDone()) return reply.getResponse();
+
+        connection.await(reply);
+        waiting.add(reply);
+        return null;
+    }
+
+    private boolean isFull() {
+        for(UpdateHandler handler : handlers) {
+            if(handler instanceof BoundedUpdateHandler && ((BoundedUpdateHandler) handler).getRemainingCapacity() == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void callHandlers(Update update) {
+        for(UpdateHandler handler : handlers) {
+            try {
+                handler.handle(update);
+            } catch (Exception e) {
+                errorHandler.handleError(update, e);
+            }
+        }
+    }
+
+    /**
+     * The reply is done, on any thread. It is sent by the thread of the server.
+     */
+    void replied(WebhookReply reply) {
+        replied.add(reply);
+        if(Thread.currentThread() != thread) selector.wakeup();
+    }
+
+    /**
+     * @return an empty response with the given status
+     */
+    static byte[] response(int status, boolean keepAlive) {
+        final byte[] response = (keepAlive ? KEEP_ALIVE_RESPONSES : CLOSE_RESPONSES)[status];
+        if(response == null) {
+            throw new IllegalArgumentException("Unknown status " + status);
+        }
+        return response;
+    }
+
+    /**
+     * @return a response with the given body
+     */
+    static byte[] response(int status, boolean keepAlive, String contentType, byte[] body) {
+        final byte[] headers = createHeaders(status, keepAlive,
+                "Content-Type: " + contentType + "\r\n" + "Content-Length: " + body.length + "\r\n");
+        final byte[] response = Arrays.copyOf(headers, headers.length + body.length);
+        System.arraycopy(body, 0, response, headers.length, body.length);
+        return response;
+    }
+
+    private static byte[] createHeaders(int status, boolean keepAlive, String headers) {
+        if(REASONS[status] == null) {
+            throw new IllegalArgumentException("Unknown status " + status);
+        }
+        return ("HTTP/1.1 " + status + " " + REASONS[status] + "\r\n" +
+                headers +
+                (keepAlive ? "" : "Connection: close\r\n") +
+                "\r\n").getBytes(US_ASCII);
+    }
+}
@@ -0,0 +1,128 @@
+package de.raysha.lib.telegram.bot.api;
+
+import javax.net.ssl.SSLContext;
+
+/**
+ * The configuration of the {@link WebhookServer}.
+ */
+public class WebhookServerConfig {
+
+    /**
+     * The address to bind to, null for all addresses
+     */
+    private String host;
+
+    /**
+     * The port to listen on, 0 for any free port
+     */
+    private int port = 8443;
+
+    /**
+     * The path of the webhook. Use a secret path (e.g. the token of the bot), so nobody else can send updates.
+     * The requests to other paths are answered with 404.
+     */
+    private String path = "/";
+
+    /**
+     * The context of the HTTPS connections, null for plain HTTP (e.g. behind a reverse proxy)
+     */
+    private SSLContext sslContext;
+
+    /**
+     * The maximum size of a request in bytes, including its headers. Larger requests are answered with 413.
+     */
+    private int maxRequestSize = 1024 * 1024;
+
+    /**
+     * The maximum number of open connections. Further connections are closed right away.
+     */
+    private int maxConnections = 256;
+
+    /**
+     * The milliseconds after which an idle connection is closed
+     */
+    private long idleTimeout = 60000;
+
+    /**
+     * The milliseconds a response waits for the first request of the handlers (see {@link WebhookReplyExecutor}),
+     * 0 to answer the updates without a reply
+     */
+    private long replyTimeout;
+
+    /**
+     * The codecs which decode the updates
+     */
+    private JsonCodecs codecs = JsonCodecs.shared();
+
+    public String getHost() {
+        return host;
+    }
+
+    public void setHost(String host) {
+        this.host = host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public SSLContext getSslContext() {
+        return sslContext;
+    }
+
+    public void setSslContext(SSLContext sslContext) {
+        this.sslContext = sslContext;
+    }
+
+    public int getMaxRequestSize() {
+        return maxRequestSize;
+    }
+
+    public void setMaxRequestSize(int maxRequestSize) {
+        this.maxRequestSize = maxRequestSize;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public long getReplyTimeout() {
+        return replyTimeout;
+    }
+
+    public void setReplyTimeout(long replyTimeout) {
+        this.replyTimeout = replyTimeout;
+    }
+
+    public JsonCodecs getCodecs() {
+        return codecs;
+    }
+
+    public void setCodecs(JsonCodecs codecs) {
+        this.codecs = codecs;
+    }
+}
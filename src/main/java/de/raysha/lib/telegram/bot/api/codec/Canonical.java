@@ -0,0 +1,17 @@
+package de.raysha.lib.telegram.bot.api.codec;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the String fields whose decoded values are canonicalized by the {@link CanonicalPool}
+ * of the decoding (if there is one). Only strings are canonicalized, because they are immutable.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface Canonical {
+}
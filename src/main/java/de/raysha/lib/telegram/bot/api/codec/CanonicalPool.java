@@ -0,0 +1,100 @@
+package de.raysha.lib.telegram.bot.api.codec;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded pool of canonical strings. The same names of users and chats and the same file ids occur
+ * many times in the updates of a busy bot. While a pool is active, the generated codecs read the
+ * {@link Canonical} fields by the pool. So equal values share one string, and a string is not even
+ * created if the pool knows it already. The model objects themselves are never shared, because they
+ * can be modified.
+ * <br /><br />
+ * The pool is a cache with a fixed number of slots. A new string replaces the string of its slot, so
+ * the pool never grows and needs no locks.
+ */
+public final class CanonicalPool {
+    /**
+     * Longer strings are not canonicalized
+     */
+    static final int MAX_STRING_LENGTH = 128;
+
+    private static final ThreadLocal<CanonicalPool> current = new ThreadLocal<CanonicalPool>();
+
+    private final int mask;
+    private final AtomicReferenceArray<String> strings;
+
+    /**
+     * @param capacity the number of strings to keep. Rounded up to a power of two.
+     */
+    public CanonicalPool(int capacity) {
+        if(capacity <= 0) {
+            throw new IllegalArgumentException("The capacity must be positive!");
+        }
+
+        final int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.mask = size - 1;
+        this.strings = new AtomicReferenceArray<String>(size);
+    }
+
+    /**
+     * @return the pool of the decoding on this thread or null
+     */
+    public static CanonicalPool current() {
+        return current.get();
+    }
+
+    /**
+     * Activate the given pool for the decoding on this thread.
+     *
+     * @return the pool which was active before. Pass it to {@link #exit(CanonicalPool)} afterwards.
+     */
+    public static CanonicalPool enter(CanonicalPool pool) {
+        final CanonicalPool previous = current.get();
+        current.set(pool);
+        return previous;
+    }
+
+    /**
+     * Restore the pool which was active before {@link #enter(CanonicalPool)}.
+     */
+    public static void exit(CanonicalPool previous) {
+        if(previous == null) current.remove();
+        else current.set(previous);
+    }
+
+    /**
+     * @return the canonical string with the given characters
+     */
+    public String string(char[] chars, int offset, int length) {
+        if(length > MAX_STRING_LENGTH) {
+            return new String(chars, offset, length);
+        }
+
+        int hash = 0;
+        for(int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+
+        final int slot = spread(hash) & mask;
+        final String existing = strings.get(slot);
+        if(existing != null && matches(existing, chars, offset, length)) {
+            return existing;
+        }
+
+        final String string = new String(chars, offset, length);
+        strings.lazySet(slot, string);
+        return string;
+    }
+
+    private static boolean matches(String string, char[] chars, int offset, int length) {
+        if(string.length() != length) return false;
+        for(int i = 0; i < length; i++) {
+            if(string.charAt(i) != chars[offset + i]) return false;
+        }
+        return true;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
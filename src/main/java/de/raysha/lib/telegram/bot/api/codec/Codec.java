@@ -0,0 +1,30 @@
+package de.raysha.lib.telegram.bot.api.codec;
+
+import org.codehaus.jackson.JsonGenerator;
+import org.codehaus.jackson.JsonParser;
+
+import java.io.IOException;
+
+/**
+ * Reads and writes values of a type directly from and to the JSON stream, without reflection.
+ */
+public interface Codec<T> {
+
+    /**
+     * Read a value. The parser must point to the first token of the value and points to its last token afterwards.
+     */
+    T read(JsonParser parser) throws IOException;
+
+    /**
+     * Read a value but only the fields of the given projection. The values of all other fields are skipped.
+     * Codecs of values without fields read the whole value.
+     */
+    default T read(JsonParser parser, Projection projection) throws IOException {
+        return read(parser);
+    }
+
+    /**
+     * Write the value (which may be null).
+     */
+    void write(T value, JsonGenerator generator) throws IOException;
+}
@@ -0,0 +1,14 @@
+package de.raysha.lib.telegram.bot.api.codec;
+
+/**
+ * Knows the generated codecs of one package. The annotation processor generates one registry
+ * named <code>GeneratedCodecs</code> per package.
+ */
+public interface CodecRegistry {
+
+    /**
+     * @param lazy true for the codec which defers the decoding of nested objects (see {@link Deferred})
+     * @return the codec of the given class or null if there is none
+     */
+    <T> Codec<T> get(Class<T> type, boolean lazy);
+}
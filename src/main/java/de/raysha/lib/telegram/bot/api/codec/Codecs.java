@@ -0,0 +1,268 @@
+package de.raysha.lib.telegram.bot.api.codec;
+
+import org.codehaus.jackson.JsonGenerator;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+import org.codehaus.jackson.map.JsonMappingException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The codecs of the basic types and the lookup of the generated codecs.
+ */
+public final class Codecs {
+
+    public static final Codec<String> STRING = new Codec<String>() {
+        @Override
+        public String read(JsonParser parser) throws IOException {
+            final JsonToken token = parser.getCurrentToken();
+            if(token == JsonToken.VALUE_NULL) return null;
+            if(token.isScalarValue()) return parser.getText();
+            throw unexpected(parser, "String");
+        }
+
+        @Override
+        public void write(String value, JsonGenerator generator) throws IOException {
+            if(value == null) generator.writeNull();
+            else generator.writeString(value);
+        }
+    };
+
+    /**
+     * Reads the strings by the {@link CanonicalPool} of the decoding, if there is one
+     */
+    public static final Codec<String> CANONICAL_STRING = new Codec<String>() {
+        @Override
+        public String read(JsonParser parser) throws IOException {
+            final CanonicalPool pool = CanonicalPool.current();
+            if(pool == null || parser.getCurrentToken() != JsonToken.VALUE_STRING) {
+                return STRING.read(parser);
+            }
+            return pool.string(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        }
+
+        @Override
+        public void write(String value, JsonGenerator generator) throws IOException {
+            STRING.write(value, generator);
+        }
+    };
+
+    public static final Codec<Integer> INTEGER = new Codec<Integer>() {
+        @Override
+        public Integer read(JsonParser parser) throws IOException {
+            final JsonToken token = parser.getCurrentToken();
+            if(token == JsonToken.VALUE_NULL) return null;
+            return readInt(parser);
+        }
+
+        @Override
+        public void write(Integer value, JsonGenerator generator) throws IOException {
+            if(value == null) generator.writeNull();
+            else generator.writeNumber(value);
+        }
+    };
+
+    public static final Codec<Long> LONG = new Codec<Long>() {
+        @Override
+        public Long read(JsonParser parser) throws IOException {
+            final JsonToken token = parser.getCurrentToken();
+            if(token == JsonToken.VALUE_NULL) return null;
+            return readLong(parser);
+        }
+
+        @Override
+        public void write(Long value, JsonGenerator generator) throws IOException {
+            if(value == null) generator.writeNull();
+            else generator.writeNumber(value);
+        }
+    };
+
+    public static final Codec<Float> FLOAT = new Codec<Float>() {
+        @Override
+        public Float read(JsonParser parser) throws IOException {
+            final JsonToken token = parser.getCurrentToken();
+            if(token == JsonToken.VALUE_NULL) return null;
+            return readFloat(parser);
+        }
+
+        @Override
+        public void write(Float value, JsonGenerator generator) throws IOException {
+            if(value == null) generator.writeNull();
+            else generator.writeNumber(value);
+        }
+    };
+
+    public static final Codec<Boolean> BOOLEAN = new Codec<Boolean>() {
+        @Override
+        public Boolean read(JsonParser parser) throws IOException {
+            final JsonToken token = parser.getCurrentToken();
+            if(token == JsonToken.VALUE_NULL) return null;
+            return readBoolean(parser);
+        }
+
+        @Override
+        public void write(Boolean value, JsonGenerator generator) throws IOException {
+            if(value == null) generator.writeNull();
+            else generator.writeBoolean(value);
+        }
+    };
+
+    /**
+     * The name of the registry which is generated for every package
+     */
+    static final String REGISTRY_NAME = "GeneratedCodecs";
+
+    private static final CodecRegistry NO_CODECS = new CodecRegistry() {
+        @Override
+        public <T> Codec<T> get(Class<T> type, boolean lazy) {
+            return null;
+        }
+    };
+
+    private static final ConcurrentMap<String, CodecRegistry> registries = new ConcurrentHashMap<String, CodecRegistry>();
+
+    private Codecs() {
+    }
+
+    /**
+     * @return a codec of lists whose elements are read and written by the given codec
+     */
+    public static <T> Codec<List<T>> listOf(final Codec<T> elementCodec) {
+        return new Codec<List<T>>() {
+            @Override
+            public List<T> read(JsonParser parser) throws IOException {
+                return read(parser, Projection.ALL);
+            }
+
+            @Override
+            public List<T> read(JsonParser parser, Projection projection) throws IOException {
+                final JsonToken token = parser.getCurrentToken();
+                if(token == JsonToken.VALUE_NULL) return null;
+                if(token != JsonToken.START_ARRAY) throw unexpected(parser, "List");
+
+                final List<T> list = new ArrayList<T>();
+                while(parser.nextToken() != JsonToken.END_ARRAY) {
+                    list.add(elementCodec.read(parser, projection));
+                }
+                return list;
+            }
+
+            @Override
+            public void write(List<T> value, JsonGenerator generator) throws IOException {
+                if(value == null) {
+                    generator.writeNull();
+                    return;
+                }
+
+                generator.writeStartArray();
+                for(int i = 0; i < value.size(); i++) {
+                    elementCodec.write(value.get(i), generator);
+                }
+                generator.writeEndArray();
+            }
+        };
+    }
+
+    /**
+     * Read a number into a primitive int without boxing. Used by the generated codecs of primitive fields.
+     *
+     * @throws JsonMappingException if the value is no number (or null)
+     */
+    public static int readInt(JsonParser parser) throws IOException {
+        final JsonToken token = parser.getCurrentToken();
+        if(token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) return parser.getIntValue();
+        if(token == JsonToken.VALUE_STRING) return Integer.parseInt(parser.getText().trim());
+        throw unexpected(parser, "Integer");
+    }
+
+    /**
+     * @see #readInt(JsonParser)
+     */
+    public static long readLong(JsonParser parser) throws IOException {
+        final JsonToken token = parser.getCurrentToken();
+        if(token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) return parser.getLongValue();
+        if(token == JsonToken.VALUE_STRING) return Long.parseLong(parser.getText().trim());
+        throw unexpected(parser, "Long");
+    }
+
+    /**
+     * @see #readInt(JsonParser)
+     */
+    public static float readFloat(JsonParser parser) throws IOException {
+        final JsonToken token = parser.getCurrentToken();
+        if(token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) return parser.getFloatValue();
+        if(token == JsonToken.VALUE_STRING) return Float.parseFloat(parser.getText().trim());
+        throw unexpected(parser, "Float");
+    }
+
+    /**
+     * @see #readInt(JsonParser)
+     */
+    public static boolean readBoolean(JsonParser parser) throws IOException {
+        final JsonToken token = parser.getCurrentToken();
+        if(token == JsonToken.VALUE_TRUE) return true;
+        if(token == JsonToken.VALUE_FALSE) return false;
+        if(token == JsonToken.VALUE_NUMBER_INT) return parser.getIntValue() != 0;
+        if(token == JsonToken.VALUE_STRING) return Boolean.parseBoolean(parser.getText().trim());
+        throw unexpected(parser, "Boolean");
+    }
+
+    /**
+     * Move the parser to the start of an object. Used by the generated codecs.
+     *
+     * @return false if the value is null
+     */
+    public static boolean startObject(JsonParser parser, Class<?> type) throws IOException {
+        final JsonToken token = parser.getCurrentToken();
+        if(token == JsonToken.VALUE_NULL) return false;
+        if(token != JsonToken.START_OBJECT) throw unexpected(parser, type.getSimpleName());
+        return true;
+    }
+
+    /**
+     * Look up the generated codec of the given class. The codecs of a package are known by the
+     * registry which is generated into that package.
+     *
+     * @return the codec or null if there is no generated codec for the class
+     */
+    public static <T> Codec<T> lookup(Class<T> type) {
+        return lookup(type, false);
+    }
+
+    /**
+     * Look up the generated codec of the given class.
+     *
+     * @param lazy true for the codec which defers the decoding of nested objects (see {@link Deferred})
+     * @return the codec or null if there is no generated codec for the class
+     */
+    public static <T> Codec<T> lookup(Class<T> type, boolean lazy) {
+        if(type.getPackage() == null) return null;
+
+        final String packageName = type.getPackage().getName();
+        CodecRegistry registry = registries.get(packageName);
+        if(registry == null) {
+            registry = loadRegistry(packageName, type.getClassLoader());
+            registries.putIfAbsent(packageName, registry);
+        }
+        return registry.get(type, lazy);
+    }
+
+    private static CodecRegistry loadRegistry(String packageName, ClassLoader classLoader) {
+        try {
+            return (CodecRegistry) Class.forName(packageName + "." + REGISTRY_NAME, true, classLoader)
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            return NO_CODECS;
+        } catch (ClassCastException e) {
+            return NO_CODECS;
+        }
+    }
+
+    private static JsonMappingException unexpected(JsonParser parser, String type) {
+        return new JsonMappingException("Can not read " + type + " from " + parser.getCurrentToken(), parser.getCurrentLocation());
+    }
+}
@@ -0,0 +1,142 @@
+package de.raysha.lib.telegram.bot.api.codec;
+
+import org.codehaus.jackson.JsonEncoding;
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonGenerator;
+import org.codehaus.jackson.JsonLocation;
+import org.codehaus.jackson.JsonParseException;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+import org.codehaus.jackson.util.ByteArrayBuilder;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A value whose decoding is deferred. It holds the raw json of the value and decodes it on
+ * the first call of {@link #get()}. Capturing a value does not create the objects (and their
+ * strings and lists) of the value.
+ * <br /><br />
+ * If the parser reads from a byte array, the parser only skips the value and its bytes are taken from
+ * that array. A value refers to its bytes in the array only if it fills most of the array. A smaller
+ * value gets a copy of its bytes, so e.g. an update which is never decoded does not keep the whole
+ * response of getUpdates in memory. Otherwise the tokens of the value are copied.
+ * <br /><br />
+ * The value is decoded with the projection and the canonical pool of the decoding it was captured by.
+ *
+ * @param <T> type of the value
+ */
+public final class Deferred<T> {
+    private static final JsonFactory factory = new JsonFactory();
+
+    /**
+     * A value which takes less than 1/SHARE_DIVISOR of the array is copied out of it
+     */
+    private static final int SHARE_DIVISOR = 2;
+
+    private final byte[] json;
+    private final int offset;
+    private final int length;
+    private final Codec<T> codec;
+    private final Projection projection;
+    private final CanonicalPool pool;
+
+    private Deferred(byte[] json, int offset, int length, Codec<T> codec, Projection projection) {
+        this.json = json;
+        this.offset = offset;
+        this.length = length;
+        this.codec = codec;
+        this.projection = projection;
+        this.pool = CanonicalPool.current();
+    }
+
+    /**
+     * Capture the value the parser points to. The parser is moved to the last token of the value.
+     *
+     * @param codec the codec to decode the value with
+     * @return the deferred value or null if the value is null
+     */
+    public static <T> Deferred<T> capture(JsonParser parser, Codec<T> codec) throws IOException {
+        return capture(parser, codec, Projection.ALL);
+    }
+
+    /**
+     * Capture the value the parser points to. The parser is moved to the last token of the value.
+     *
+     * @param codec the codec to decode the value with
+     * @param projection the fields of the value to decode
+     * @return the deferred value or null if the value is null
+     */
+    public static <T> Deferred<T> capture(JsonParser parser, Codec<T> codec, Projection projection) throws IOException {
+        final JsonToken token = parser.getCurrentToken();
+        if(token == JsonToken.VALUE_NULL) return null;
+
+        final JsonLocation start = parser.getCurrentLocation();
+        if(start.getSourceRef() instanceof byte[] && (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY)) {
+            final byte[] source = (byte[]) start.getSourceRef();
+            // the offsets of a parser of bytes count the bytes, the one of the current location is the last byte read
+            final long from = start.getCharOffset();
+            if(from >= 0 && from < source.length && source[(int) from] == (token == JsonToken.START_OBJECT ? '{' : '[')) {
+                parser.skipChildren();
+
+                final long to = parser.getCurrentLocation().getCharOffset() + 1;
+                if(to > source.length || source[(int) to - 1] != (token == JsonToken.START_OBJECT ? '}' : ']')) {
+                    throw new JsonParseException("Could not capture the value.", parser.getCurrentLocation());
+                }
+                final int length = (int) (to - from);
+                if(length < source.length / SHARE_DIVISOR) {
+                    return new Deferred<T>(Arrays.copyOfRange(source, (int) from, (int) to), 0, length, codec, projection);
+                }
+                return new Deferred<T>(source, (int) from, length, codec, projection);
+            }
+        }
+
+        final ByteArrayBuilder bytes = new ByteArrayBuilder(factory._getBufferRecycler());
+        try {
+            final JsonGenerator generator = factory.createJsonGenerator(bytes, JsonEncoding.UTF8);
+            generator.copyCurrentStructure(parser);
+            generator.close();
+            final byte[] json = bytes.toByteArray();
+            return new Deferred<T>(json, 0, json.length, codec, projection);
+        } finally {
+            bytes.release();
+        }
+    }
+
+    /**
+     * Decode the value. Every call decodes the value again, so the caller should keep the result.
+     *
+     * @return the value
+     * @throws IllegalStateException if the value could not be decoded
+     */
+    public T get() {
+        final CanonicalPool previous = CanonicalPool.enter(pool);
+        try {
+            final JsonParser parser = factory.createJsonParser(json, offset, length);
+            try {
+                parser.nextToken();
+                return codec.read(parser, projection);
+            } finally {
+                parser.close();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not decode the deferred value!", e);
+        } finally {
+            CanonicalPool.exit(previous);
+        }
+    }
+
+    /**
+     * @return the number of bytes of the raw json
+     */
+    public int size() {
+        return length;
+    }
+
+    /**
+     * @return the number of bytes which are kept in memory by this value
+     */
+    int retainedSize() {
+        return json.length;
+    }
+}
@@ -0,0 +1,28 @@
+package de.raysha.lib.telegram.bot.api.codec;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates a {@link Codec} for the annotated class at compile time. The codec of the class
+ * <code>Foo</code> is named <code>FooCodec</code> and is placed in the same package.
+ * <br /><br />
+ * Every field with a getter is written and every field with a setter is read. The JSON name of a
+ * property is the name of its field. The fields may be of type String, Integer, Long, Float, Boolean,
+ * of another class with a generated codec or of a List of them.
+ * <br /><br />
+ * Fields of the primitive types int, long, float and boolean are read without boxing. A null leaves them
+ * unset. If the class has a method <code>has&lt;Field&gt;()</code>, the field is only written if it returns true.
+ * <br /><br />
+ * The codec has a second instance <code>FooCodec.LAZY</code>. It passes a {@link Deferred} value to
+ * the method <code>defer&lt;Field&gt;</code> instead of the setter, if the class has such a method.
+ * So the class can decode the field on its first access.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateCodec {
+}
@@ -0,0 +1,137 @@
+package de.raysha.lib.telegram.bot.api.codec;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The fields of an object which should be decoded. The generated codecs skip all other fields
+ * without creating their values. A projection is declared by the paths of the fields, e.g.
+ * <pre>
+ * Projection.of("chat.id", "from.id", "text", "photo[*].file_id");
+ * </pre>
+ * The elements of a list are projected like the list itself, so <code>photo[*].file_id</code> and
+ * <code>photo.file_id</code> are the same. If a path ends at an object, the whole object is decoded.
+ * <br /><br />
+ * Projections are immutable.
+ */
+public final class Projection {
+    /**
+     * Decodes all fields
+     */
+    public static final Projection ALL = new Projection(null, Collections.<Class<?>, Projection>emptyMap());
+
+    /**
+     * The projections of the fields or null if all fields are decoded
+     */
+    private final Map<String, Projection> fields;
+
+    /**
+     * The projections of the types below the fields which are decoded completely
+     */
+    private final Map<Class<?>, Projection> types;
+
+    private Projection(Map<String, Projection> fields, Map<Class<?>, Projection> types) {
+        this.fields = fields;
+        this.types = types;
+    }
+
+    /**
+     * @param paths the paths of the fields to decode, separated by dots
+     * @return the projection
+     * @throws IllegalArgumentException if a path is empty or contains an empty field name
+     */
+    public static Projection of(String... paths) {
+        final Node root = new Node();
+        for(String path : paths) {
+            if(path == null || path.trim().isEmpty()) {
+                throw new IllegalArgumentException("The path must not be empty!");
+            }
+
+            Node node = root;
+            for(String segment : path.trim().split("\\.", -1)) {
+                final String field = segment.endsWith("[*]") ? segment.substring(0, segment.length() - 3) : segment;
+                if(field.isEmpty()) {
+                    throw new IllegalArgumentException("Invalid path: " + path);
+                }
+                if(node.children == null) break;
+
+                Node child = node.children.get(field);
+                if(child == null) {
+                    child = new Node();
+                    node.children.put(field, child);
+                }
+                node = child;
+            }
+            node.children = null;
+        }
+        return root.toProjection();
+    }
+
+    /**
+     * Use the given projections for the values of the given types, unless this projection declares
+     * the fields of the value explicitly. The fields which are declared by a path are decoded
+     * completely, the projections of the types do not apply to them.
+     *
+     * @param types the projections by the type of the value
+     * @return the projection
+     */
+    public Projection withTypes(Map<Class<?>, Projection> types) {
+        final Map<Class<?>, Projection> copy = Collections.unmodifiableMap(new HashMap<Class<?>, Projection>(types));
+        return new Projection(fields, copy);
+    }
+
+    /**
+     * @param name the name of the field
+     * @param type the type of the field's value. The type of the elements for lists.
+     * @return the projection of the field's value or null if the field should be skipped
+     */
+    public Projection field(String name, Class<?> type) {
+        if(fields != null) {
+            return fields.get(name);
+        }
+        if(types.isEmpty()) {
+            return this;
+        }
+
+        final Projection projection = types.get(type);
+        return projection != null ? projection : this;
+    }
+
+    /**
+     * @return the projection of a value of the given type at the root of a document
+     */
+    public Projection root(Class<?> type) {
+        final Projection projection = fields == null ? types.get(type) : null;
+        return projection != null ? projection : this;
+    }
+
+    /**
+     * @return true if all fields are decoded
+     */
+    public boolean isAll() {
+        return fields == null && types.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return fields == null ? "*" : fields.toString();
+    }
+
+    private static class Node {
+        /**
+         * null if the whole value is decoded
+         */
+        Map<String, Node> children = new HashMap<String, Node>();
+
+        Projection toProjection() {
+            if(children == null) return ALL;
+
+            final Map<String, Projection> fields = new HashMap<String, Projection>();
+            for(Map.Entry<String, Node> child : children.entrySet()) {
+                fields.put(child.getKey(), child.getValue().toProjection());
+            }
+            return new Projection(Collections.unmodifiableMap(fields), Collections.<Class<?>, Projection>emptyMap());
+        }
+    }
+}
@@ -0,0 +1,490 @@
+package de.raysha.lib.telegram.bot.api.codec.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a codec for every class annotated with <code>@GenerateCodec</code> and a registry of the
+ * codecs for every package. The generated codecs bind the JSON stream to the getters and setters of
+ * the class by plain method calls, so there is no reflection at runtime.
+ * <br /><br />
+ * The processor is not registered as a service, so it does not run in the projects which use this
+ * library. The build of this library compiles it first and passes it to the compiler explicitly.
+ */
+@SupportedAnnotationTypes(CodecProcessor.ANNOTATION)
+public class CodecProcessor extends AbstractProcessor {
+    static final String ANNOTATION = "de.raysha.lib.telegram.bot.api.codec.GenerateCodec";
+
+    private static final String CODEC = "de.raysha.lib.telegram.bot.api.codec.Codec";
+    private static final String CODECS = "de.raysha.lib.telegram.bot.api.codec.Codecs";
+    private static final String CANONICAL = "de.raysha.lib.telegram.bot.api.codec.Canonical";
+    private static final String DEFERRED = "de.raysha.lib.telegram.bot.api.codec.Deferred";
+    private static final String PROJECTION = "de.raysha.lib.telegram.bot.api.codec.Projection";
+    private static final String REGISTRY = "de.raysha.lib.telegram.bot.api.codec.CodecRegistry";
+    private static final String REGISTRY_NAME = "GeneratedCodecs";
+    private static final String SERIALIZED_STRING = "org.codehaus.jackson.io.SerializedString";
+    private static final String JSON_SERIALIZE = "org.codehaus.jackson.map.annotate.JsonSerialize";
+
+    private static final Map<String, String> BASIC_CODECS = new LinkedHashMap<String, String>();
+
+    /**
+     * The methods of <code>Codecs</code> which read the primitive types without boxing
+     */
+    private static final Map<TypeKind, String> PRIMITIVE_READERS = new LinkedHashMap<TypeKind, String>();
+
+    static {
+        BASIC_CODECS.put("java.lang.String", CODECS + ".STRING");
+        BASIC_CODECS.put("java.lang.Integer", CODECS + ".INTEGER");
+        BASIC_CODECS.put("java.lang.Long", CODECS + ".LONG");
+        BASIC_CODECS.put("java.lang.Float", CODECS + ".FLOAT");
+        BASIC_CODECS.put("java.lang.Boolean", CODECS + ".BOOLEAN");
+
+        PRIMITIVE_READERS.put(TypeKind.INT, CODECS + ".readInt");
+        PRIMITIVE_READERS.put(TypeKind.LONG, CODECS + ".readLong");
+        PRIMITIVE_READERS.put(TypeKind.FLOAT, CODECS + ".readFloat");
+        PRIMITIVE_READERS.put(TypeKind.BOOLEAN, CODECS + ".readBoolean");
+    }
+
+    /**
+     * The packages whose registry was generated already
+     */
+    private final Set<String> packages = new HashSet<String>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        final TypeElement annotation = processingEnv.getElementUtils().getTypeElement(ANNOTATION);
+        if(annotation == null) return false;
+
+        final Map<String, List<TypeElement>> byPackage = new LinkedHashMap<String, List<TypeElement>>();
+        final Set<String> annotated = new HashSet<String>();
+        for(TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(annotation))) {
+            if(type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) {
+                error(type, "Codecs can only be generated for concrete classes.");
+                continue;
+            }
+
+            final String packageName = packageOf(type).getQualifiedName().toString();
+            if(!byPackage.containsKey(packageName)) {
+                byPackage.put(packageName, new ArrayList<TypeElement>());
+            }
+            byPackage.get(packageName).add(type);
+            annotated.add(type.getQualifiedName().toString());
+        }
+
+        for(Map.Entry<String, List<TypeElement>> entry : byPackage.entrySet()) {
+            if(!packages.add(entry.getKey())) {
+                error(entry.getValue().get(0), "The codecs of package " + entry.getKey() + " were generated in an earlier round already.");
+                continue;
+            }
+
+            try {
+                for(TypeElement type : entry.getValue()) {
+                    generateCodec(type, annotated);
+                }
+                generateRegistry(entry.getKey(), entry.getValue());
+            } catch (IOException e) {
+                error(entry.getValue().get(0), "Could not write the codecs: " + e);
+            }
+        }
+
+        return true;
+    }
+
+    private void generateCodec(TypeElement type, Set<String> annotated) throws IOException {
+        final List<Property> properties = new ArrayList<Property>();
+        collectProperties(type, type, annotated, properties);
+
+        final String name = type.getSimpleName() + "Codec";
+        final String typeName = type.getQualifiedName().toString();
+        final boolean instantiable = hasDefaultConstructor(type);
+
+        final PrintWriter out = new PrintWriter(processingEnv.getFiler()
+                .createSourceFile(packageOf(type).getQualifiedName() + "." + name, type).openWriter());
+        try {
+            out.println("package " + packageOf(type).getQualifiedName() + ";");
+            out.println();
+            out.println("/**");
+            out.println(" * Reads and writes {@link " + typeName + "} without reflection.");
+            out.println(" * Generated by " + getClass().getName() + ", do not edit.");
+            out.println(" */");
+            out.println("public final class " + name + " implements " + CODEC + "<" + typeName + "> {");
+            out.println("    public static final " + name + " INSTANCE = new " + name + "(false);");
+            out.println("    public static final " + name + " LAZY = new " + name + "(true);");
+            out.println();
+            for(Property property : properties) {
+                if(property.codecField) {
+                    out.println("    private static final " + CODEC + "<" + property.type + "> " + property.constant()
+                            + " = " + property.codec + ";");
+                    out.println();
+                }
+            }
+            for(Property property : properties) {
+                if(property.getter != null) {
+                    out.println("    private static final " + SERIALIZED_STRING + " " + property.fieldName()
+                            + " = new " + SERIALIZED_STRING + "(\"" + property.name + "\");");
+                }
+            }
+            out.println();
+            out.println("    private final boolean lazy;");
+            out.println();
+            out.println("    private " + name + "(boolean lazy) {");
+            out.println("        this.lazy = lazy;");
+            out.println("    }");
+            out.println();
+
+            out.println("    @Override");
+            out.println("    public " + typeName + " read(org.codehaus.jackson.JsonParser parser) throws java.io.IOException {");
+            out.println("        return read(parser, " + PROJECTION + ".ALL);");
+            out.println("    }");
+            out.println();
+
+            out.println("    @Override");
+            out.println("    public " + typeName + " read(org.codehaus.jackson.JsonParser parser, " + PROJECTION + " projection) throws java.io.IOException {");
+            out.println("        if(!" + CODECS + ".startObject(parser, " + typeName + ".class)) return null;");
+            out.println();
+            if(instantiable) {
+                out.println("        final " + typeName + " value = new " + typeName + "();");
+                out.println("        " + PROJECTION + " field;");
+                out.println("        while(parser.nextToken() == org.codehaus.jackson.JsonToken.FIELD_NAME) {");
+                out.println("            final String name = parser.getCurrentName();");
+                out.println("            parser.nextToken();");
+                out.println("            switch(name) {");
+                for(Property property : properties) {
+                    if(property.setter == null) continue;
+                    out.println("                case \"" + property.name + "\":");
+                    out.println("                    if((field = projection.field(\"" + property.name + "\", " + property.valueClass + ".class)) == null) parser.skipChildren();");
+                    if(property.primitiveReader != null) {
+                        // a null leaves the field absent
+                        out.println("                    else if(parser.getCurrentToken() != org.codehaus.jackson.JsonToken.VALUE_NULL) value."
+                                + property.setter + "(" + property.primitiveReader + "(parser));");
+                    } else if(property.defer != null) {
+                        out.println("                    else if(lazy) value." + property.defer + "(" + DEFERRED + ".capture(parser, "
+                                + property.lazyCodecReference() + ", field));");
+                        out.println("                    else value." + property.setter + "(" + property.codecReference() + ".read(parser, field));");
+                    } else if(property.objectCodec != null) {
+                        out.println("                    else value." + property.setter + "((lazy ? "
+                                + property.lazyCodecReference() + " : " + property.codecReference() + ").read(parser, field));");
+                    } else {
+                        out.println("                    else value." + property.setter + "(" + property.codecReference() + ".read(parser, field));");
+                    }
+                    out.println("                    break;");
+                }
+                out.println("                default: parser.skipChildren();");
+                out.println("            }");
+                out.println("        }");
+                out.println("        return value;");
+            } else {
+                out.println("        throw new org.codehaus.jackson.map.JsonMappingException(\"" + typeName
+                        + " has no default constructor and can not be read.\", parser.getCurrentLocation());");
+            }
+            out.println("    }");
+            out.println();
+
+            out.println("    @Override");
+            out.println("    public void write(" + typeName + " value, org.codehaus.jackson.JsonGenerator generator) throws java.io.IOException {");
+            out.println("        if(value == null) {");
+            out.println("            generator.writeNull();");
+            out.println("            return;");
+            out.println("        }");
+            out.println();
+            out.println("        generator.writeStartObject();");
+            for(Property property : properties) {
+                if(property.getter == null) continue;
+                if(property.primitiveReader != null) {
+                    final String write = "boolean".equals(property.type) ? "writeBoolean" : "writeNumber";
+                    final String indent = property.presence != null ? "            " : "        ";
+                    if(property.presence != null) out.println("        if(value." + property.presence + "()) {");
+                    out.println(indent + "generator.writeFieldName(" + property.fieldName() + ");");
+                    out.println(indent + "generator." + write + "(value." + property.getter + "());");
+                    if(property.presence != null) out.println("        }");
+                } else if(property.nonNull) {
+                    out.println("        final " + property.type + " " + property.name + " = value." + property.getter + "();");
+                    out.println("        if(" + property.name + " != null) {");
+                    out.println("            generator.writeFieldName(" + property.fieldName() + ");");
+                    out.println("            " + property.codecReference() + ".write(" + property.name + ", generator);");
+                    out.println("        }");
+                } else {
+                    out.println("        generator.writeFieldName(" + property.fieldName() + ");");
+                    out.println("        " + property.codecReference() + ".write(value." + property.getter + "(), generator);");
+                }
+            }
+            out.println("        generator.writeEndObject();");
+            out.println("    }");
+            out.println("}");
+        } finally {
+            out.close();
+        }
+    }
+
+    private void generateRegistry(String packageName, List<TypeElement> types) throws IOException {
+        final PrintWriter out = new PrintWriter(processingEnv.getFiler()
+                .createSourceFile(packageName + "." + REGISTRY_NAME, types.toArray(new Element[types.size()])).openWriter());
+        try {
+            out.println("package " + packageName + ";");
+            out.println();
+            out.println("/**");
+            out.println(" * The generated codecs of this package.");
+            out.println(" * Generated by " + getClass().getName() + ", do not edit.");
+            out.println(" */");
+            out.println("public final class " + REGISTRY_NAME + " implements " + REGISTRY + " {");
+            out.println();
+            out.println("    @Override");
+            out.println("    @SuppressWarnings(\"unchecked\")");
+            out.println("    public <T> " + CODEC + "<T> get(Class<T> type, boolean lazy) {");
+            for(TypeElement type : types) {
+                out.println("        if(type == " + type.getQualifiedName() + ".class) return (" + CODEC + "<T>) "
+                        + "(lazy ? " + type.getSimpleName() + "Codec.LAZY : " + type.getSimpleName() + "Codec.INSTANCE);");
+            }
+            out.println("        return null;");
+            out.println("    }");
+            out.println("}");
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Collect the properties of the class and its super classes. The properties of the super classes come first.
+     */
+    private void collectProperties(TypeElement root, TypeElement type, Set<String> annotated, List<Property> properties) {
+        final TypeMirror superclass = type.getSuperclass();
+        if(superclass.getKind() == TypeKind.DECLARED) {
+            final TypeElement superType = (TypeElement) ((DeclaredType) superclass).asElement();
+            if(!"java.lang.Object".equals(superType.getQualifiedName().toString())) {
+                collectProperties(root, superType, annotated, properties);
+            }
+        }
+
+        for(VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if(field.getModifiers().contains(Modifier.STATIC) || field.getModifiers().contains(Modifier.TRANSIENT)) continue;
+
+            final String name = field.getSimpleName().toString();
+            final String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            final String getter = field.asType().getKind() == TypeKind.BOOLEAN && findMethod(root, "is" + suffix, 0) != null
+                    ? "is" + suffix : findMethod(root, "get" + suffix, 0);
+            final String setter = findMethod(root, "set" + suffix, 1);
+            final String defer = findMethod(root, "defer" + suffix, 1);
+            if(getter == null && setter == null) continue;
+
+            if(field.asType().getKind().isPrimitive()) {
+                final String reader = PRIMITIVE_READERS.get(field.asType().getKind());
+                if(reader == null) {
+                    error(field, "There is no codec for the type " + field.asType() + ".");
+                    continue;
+                }
+                properties.add(Property.primitive(name, field.asType().toString(), getter, setter,
+                        findMethod(root, "has" + suffix, 0), reader));
+                continue;
+            }
+
+            final String codec = isAnnotated(field, CANONICAL) && "java.lang.String".equals(field.asType().toString())
+                    ? CODECS + ".CANONICAL_STRING" : codecOf(field.asType(), annotated);
+            if(codec == null) {
+                error(field, "There is no codec for the type " + field.asType() + ".");
+                continue;
+            }
+
+            properties.add(new Property(name, field.asType().toString(), valueClass(field.asType()), getter, setter, defer, codec,
+                    codec.startsWith(CODECS + ".listOf("), isNonNull(field)));
+        }
+    }
+
+    private String codecOf(TypeMirror type, Set<String> annotated) {
+        if(type.getKind() != TypeKind.DECLARED) return null;
+
+        final DeclaredType declared = (DeclaredType) type;
+        final String name = ((TypeElement) declared.asElement()).getQualifiedName().toString();
+        if(BASIC_CODECS.containsKey(name)) {
+            return BASIC_CODECS.get(name);
+        }
+        if("java.util.List".equals(name) && declared.getTypeArguments().size() == 1) {
+            final String element = codecOf(declared.getTypeArguments().get(0), annotated);
+            return element == null ? null : CODECS + ".listOf(" + element + ")";
+        }
+        if(annotated.contains(name) || processingEnv.getElementUtils().getTypeElement(name + "Codec") != null) {
+            return name + "Codec.INSTANCE";
+        }
+        return null;
+    }
+
+    /**
+     * @return the class of the value, or of the elements for lists
+     */
+    private static String valueClass(TypeMirror type) {
+        final DeclaredType declared = (DeclaredType) type;
+        final String name = ((TypeElement) declared.asElement()).getQualifiedName().toString();
+        if("java.util.List".equals(name)) {
+            return valueClass(declared.getTypeArguments().get(0));
+        }
+        return name;
+    }
+
+    /**
+     * @return the name of the public method with the given name and number of parameters or null
+     */
+    private String findMethod(TypeElement type, String name, int parameters) {
+        for(TypeElement current = type; current != null; ) {
+            for(ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                if(method.getSimpleName().contentEquals(name)
+                        && method.getParameters().size() == parameters
+                        && method.getModifiers().contains(Modifier.PUBLIC)
+                        && !method.getModifiers().contains(Modifier.STATIC)) {
+                    return name;
+                }
+            }
+
+            final TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+        return null;
+    }
+
+    private static boolean hasDefaultConstructor(TypeElement type) {
+        for(ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if(constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAnnotated(Element element, String annotation) {
+        for(AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if(annotation.equals(((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the field is annotated with <code>@JsonSerialize(include = NON_NULL)</code>
+     */
+    private static boolean isNonNull(VariableElement field) {
+        for(AnnotationMirror annotation : field.getAnnotationMirrors()) {
+            if(!JSON_SERIALIZE.equals(((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString())) {
+                continue;
+            }
+            for(Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : annotation.getElementValues().entrySet()) {
+                if(value.getKey().getSimpleName().contentEquals("include")
+                        && value.getValue().getValue().toString().equals("NON_NULL")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static PackageElement packageOf(Element element) {
+        Element current = element;
+        while(current.getKind() != ElementKind.PACKAGE) {
+            current = current.getEnclosingElement();
+        }
+        return (PackageElement) current;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static class Property {
+        final String name;
+        final String type;
+        /**
+         * The class of the value, or of the elements for lists
+         */
+        final String valueClass;
+        final String getter;
+        final String setter;
+        /**
+         * The method which takes the deferred value in the lazy mode or null
+         */
+        final String defer;
+        final String codec;
+        /**
+         * The generated codec class of the value or null if the value is not an object
+         */
+        final String objectCodec;
+        final boolean codecField;
+        final boolean nonNull;
+        /**
+         * The method which reads the value of a primitive field or null if the field is no primitive
+         */
+        String primitiveReader;
+        /**
+         * The method which tells if a primitive field is present or null if it is always written
+         */
+        String presence;
+
+        Property(String name, String type, String valueClass, String getter, String setter, String defer, String codec, boolean codecField, boolean nonNull) {
+            this.name = name;
+            this.type = type;
+            this.valueClass = valueClass;
+            this.getter = getter;
+            this.setter = setter;
+            this.defer = defer;
+            this.codec = codec;
+            this.objectCodec = codec != null && codec.endsWith("Codec.INSTANCE") ? codec.substring(0, codec.length() - ".INSTANCE".length()) : null;
+            this.codecField = codecField;
+            this.nonNull = nonNull;
+        }
+
+        static Property primitive(String name, String type, String getter, String setter, String presence, String reader) {
+            final Property property = new Property(name, type, type, getter, setter, null, null, false, false);
+            property.primitiveReader = reader;
+            property.presence = presence;
+            return property;
+        }
+
+        String constant() {
+            return name.toUpperCase() + "_CODEC";
+        }
+
+        /**
+         * @return the name of the constant with the pre-encoded name of the json field
+         */
+        String fieldName() {
+            return name.toUpperCase() + "_FIELD";
+        }
+
+        String codecReference() {
+            return codecField ? constant() : codec;
+        }
+
+        /**
+         * @return the codec of the value in the lazy mode. The values of lists are never read lazily.
+         */
+        String lazyCodecReference() {
+            return objectCodec != null ? objectCodec + ".LAZY" : codecReference();
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package de.raysha.lib.telegram.bot.api.exception;
 
+import de.raysha.lib.telegram.bot.api.model.ResponseParameters;
+
 /**
  * Error returned by Telegram Bot API.
  *
@@ -29,6 +31,18 @@ public class BotApiException extends BotException {
      */
     private String description;
 
+    /**
+     * Describes why the request was unsuccessful, for example how long to wait after exceeding the flood control.
+     *
+     * Optional, could be null
+     */
+    private ResponseParameters parameters;
+
+    public BotApiException(int errorCode, String errorType, String description, ResponseParameters parameters) {
+        this(errorCode, errorType, description);
+        this.parameters = parameters;
+    }
+
     public BotApiException(int errorCode, String errorType, String description, Throwable cause) {
         super(cause);
         this.errorCode = errorCode;
@@ -55,6 +69,18 @@ public class BotApiException extends BotException {
         return description;
     }
 
+    public ResponseParameters getParameters() {
+        return parameters;
+    }
+
+    /**
+     * @return the number of seconds to wait before the request can be repeated or null if the
+     * flood control was not exceeded
+     */
+    public Integer getRetryAfter() {
+        return parameters == null ? null : parameters.getRetry_after();
+    }
+
     @Override
     public String getMessage() {
         StringBuilder buf = new StringBuilder();
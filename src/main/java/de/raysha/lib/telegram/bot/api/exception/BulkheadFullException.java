@@ -0,0 +1,11 @@
+package de.raysha.lib.telegram.bot.api.exception;
+
+/**
+ * The request was not sent, because too many requests of the same kind are running already.
+ */
+public class BulkheadFullException extends BotException {
+
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,21 @@
+package de.raysha.lib.telegram.bot.api.exception;
+
+/**
+ * The request was not sent, because the API failed too often recently and the circuit breaker is open.
+ */
+public class CircuitOpenException extends BotException {
+
+    /**
+     * The milliseconds until the circuit breaker lets a request pass again
+     */
+    private final long retryAfter;
+
+    public CircuitOpenException(String message, long retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public long getRetryAfter() {
+        return retryAfter;
+    }
+}
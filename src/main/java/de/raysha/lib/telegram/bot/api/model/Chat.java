@@ -1,51 +1,59 @@
 package de.raysha.lib.telegram.bot.api.model;
 
+import de.raysha.lib.telegram.bot.api.codec.Canonical;
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
 import org.codehaus.jackson.map.annotate.JsonSerialize;
 
 /**
  * This object represents a chat.
  */
+@GenerateCodec
 public class Chat {
 
     /**
      * Unique identifier for this chat, not exceeding 1e13 by absolute value
      */
-    private Integer id;
+    private Long id;
 
     /**
      * Type of chat, can be either "private", "group", "supergroup" or "channel"
      */
+    @Canonical
     private String type;
 
     /**
      * Optional. Title, for channels and group chats
      */
+    @Canonical
     @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
     private String title;
 
     /**
      * Optional. Username, for private chats and channels if available
      */
+    @Canonical
     @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
     private String username;
 
     /**
      * Optional. First name of the other party in a private chat
      */
+    @Canonical
     @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
     private String first_name;
 
     /**
      * Optional. Last name of the other party in a private chat
      */
+    @Canonical
     @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
     private String last_name;
 
-    public Integer getId() {
+    public Long getId() {
         return id;
     }
 
-    public void setId(Integer id) {
+    public void setId(Long id) {
         this.id = id;
     }
 
@@ -1,11 +1,13 @@
 package de.raysha.lib.telegram.bot.api.model;
 
 /**
- * This object represents a chat. A chatId contains a String or an Integer as Identifier.
+ * This object represents a chat. A chatId contains a String, an Integer or a Long as Identifier.
+ * The ids of supergroups and channels do not fit into an Integer.
  */
 public class ChatId {
     private String sId;
     private Integer iId;
+    private Long lId;
 
     public ChatId(Object id) {
         checkId(id);
@@ -14,8 +16,10 @@ public class ChatId {
             this.sId = (String)id;
         }else if(id instanceof Integer){
             this.iId = (Integer)id;
+        }else if(id instanceof Long){
+            this.lId = (Long)id;
         }else{
-            throw new IllegalArgumentException("The id must be either a String or a Intger!");
+            throw new IllegalArgumentException("The id must be either a String, an Integer or a Long!");
         }
     }
 
@@ -33,12 +37,20 @@ public class ChatId {
         this.sId = null;
     }
 
+    public ChatId(Long id) {
+        checkId(id);
+
+        this.lId = id;
+        this.sId = null;
+    }
+
     private void checkId(Object id) {
         if(id == null) throw new IllegalArgumentException("The id must not be null!");
     }
 
     public Object getId(){
         if(sId != null) return sId;
+        if(lId != null) return lId;
         return iId;
     }
 
@@ -50,6 +62,10 @@ public class ChatId {
         return iId;
     }
 
+    public Long getLongId() {
+        return lId;
+    }
+
     @Override
     public String toString() {
         return "" + getId();
@@ -1,10 +1,12 @@
 package de.raysha.lib.telegram.bot.api.model;
 
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
 import org.codehaus.jackson.map.annotate.JsonSerialize;
 
 /**
  * This object represents a phone contact.
  */
+@GenerateCodec
 public class Contact {
     /**
      * Contact's phone number
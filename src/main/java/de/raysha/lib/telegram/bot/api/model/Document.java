@@ -1,14 +1,18 @@
 package de.raysha.lib.telegram.bot.api.model;
 
+import de.raysha.lib.telegram.bot.api.codec.Canonical;
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
 import org.codehaus.jackson.map.annotate.JsonSerialize;
 
 /**
  * This object represents a general file (as opposed to photos and audio files).
  */
+@GenerateCodec
 public class Document {
     /**
      * Unique file identifier
      */
+    @Canonical
     private String file_id;
 
     /**
@@ -1,6 +1,8 @@
 package de.raysha.lib.telegram.bot.api.model;
 
 import de.raysha.lib.telegram.bot.api.BotAPI;
+import de.raysha.lib.telegram.bot.api.codec.Canonical;
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
 import org.codehaus.jackson.map.annotate.JsonSerialize;
 
 import java.net.MalformedURLException;
@@ -12,10 +14,12 @@ import java.net.URL;
  * It is guaranteed that the link will be valid for at least 1 hour. When the link expires,
  * a new one can be requested by calling {@link BotAPI#getFile}.
  */
+@GenerateCodec
 public class File {
     /**
      * Unique identifier for this file
      */
+    @Canonical
     private String file_id;
 
     /**
@@ -1,5 +1,6 @@
 package de.raysha.lib.telegram.bot.api.model;
 
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
 import org.codehaus.jackson.map.annotate.JsonSerialize;
 
 /**
@@ -19,6 +20,7 @@ import org.codehaus.jackson.map.annotate.JsonSerialize;
  * it will receive the user's answers even if it only receives replies,
  * commands and mentions -- without any extra work for the user.
  */
+@GenerateCodec
 public class ForceReply {
     /**
      * Shows reply interface to the user, as if they manually selected the bot's message and tapped 'Reply'
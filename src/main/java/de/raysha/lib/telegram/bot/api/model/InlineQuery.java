@@ -1,9 +1,12 @@
 package de.raysha.lib.telegram.bot.api.model;
 
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
+
 /**
  * This object represents an incoming inline query.
  * When the user sends an empty query, your bot could return some default or trending results.
  */
+@GenerateCodec
 public class InlineQuery {
 
     /**
@@ -1,7 +1,5 @@
 package de.raysha.lib.telegram.bot.api.model;
 
-import java.util.UUID;
-
 /**
  * This object represents one result of an inline query.
  * Telegram clients currently support results of the following 5 types:
@@ -12,8 +10,14 @@ import java.util.UUID;
  * <li>{@link InlineQueryResultMpeg4Gif}</li>
  * <li>{@link InlineQueryResultVideo}</li>
  * </ul>
+ * A result keeps its json once it was sent, so the same result can be sent again without serializing it
+ * again. Every change of the result discards the json.
+ * <p>
+ * The results without an id get one from the {@link #setIdGenerator(ResultIdGenerator) id generator}, when
+ * the id is read the first time. The id is kept from then on.
  */
 public abstract class InlineQueryResult {
+    private static volatile ResultIdGenerator idGenerator = ResultIdGenerators.random();
 
     /**
      * Type of the result
@@ -23,11 +27,37 @@ public abstract class InlineQueryResult {
     /**
      * Unique identifier for this result, 1-64 Bytes
      */
-    protected String id;
+    protected volatile String id;
+
+    /**
+     * True while the id is generated, the generator may read the content of the result
+     */
+    private transient boolean generatingId;
+
+    /**
+     * The json of this result as UTF-8, or null if it was not serialized since the last change
+     */
+    private transient volatile byte[] json;
 
     public InlineQueryResult(String type) {
         this.type = type;
-        this.id = UUID.randomUUID().toString().replace("-", "") + UUID.randomUUID().toString().replace("-", "");
+    }
+
+    /**
+     * @return the generator of the ids of the results which have none
+     */
+    public static ResultIdGenerator getIdGenerator() {
+        return idGenerator;
+    }
+
+    /**
+     * Set the generator of the ids of all results which have none, e.g. {@link ResultIdGenerators#content()}.
+     */
+    public static void setIdGenerator(ResultIdGenerator idGenerator) {
+        if(idGenerator == null) {
+            throw new IllegalArgumentException("The id generator must not be null!");
+        }
+        InlineQueryResult.idGenerator = idGenerator;
     }
 
     public String getType() {
@@ -35,11 +65,48 @@ public abstract class InlineQueryResult {
     }
 
     public String getId() {
+        final String id = this.id;
+        return id != null ? id : generateId();
+    }
+
+    private synchronized String generateId() {
+        if(id == null && !generatingId) {
+            generatingId = true;
+            try {
+                id = idGenerator.generate(this);
+            } finally {
+                generatingId = false;
+            }
+        }
         return id;
     }
 
     public void setId(String id) {
         this.id = id;
+        changed();
+    }
+
+    /**
+     * @return the cached json of this result as UTF-8, or null if there is none. The array must not be modified.
+     */
+    public final byte[] cachedJson() {
+        return json;
+    }
+
+    /**
+     * Cache the json of this result until the next change.
+     *
+     * @param json the json of this result as UTF-8
+     */
+    public final void cacheJson(byte[] json) {
+        this.json = json;
+    }
+
+    /**
+     * Discard the cached json. Must be called by every setter.
+     */
+    protected final void changed() {
+        this.json = null;
     }
 
     @Override
@@ -1,10 +1,12 @@
 package de.raysha.lib.telegram.bot.api.model;
 
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
 import org.codehaus.jackson.map.annotate.JsonSerialize;
 
 /**
  * Represents a link to an article or web page.
  */
+@GenerateCodec
 public class InlineQueryResultArticle extends InlineQueryResult {
 
     /**
@@ -115,6 +117,7 @@ public class InlineQueryResultArticle extends InlineQueryResult {
 
     public void setTitle(String title) {
         this.title = title;
+        changed();
     }
 
     public String getMessage_text() {
@@ -123,6 +126,7 @@ public class InlineQueryResultArticle extends InlineQueryResult {
 
     public void setMessage_text(String message_text) {
         this.message_text = message_text;
+        changed();
     }
 
     public String getParse_mode() {
@@ -131,6 +135,7 @@ public class InlineQueryResultArticle extends InlineQueryResult {
 
     public void setParse_mode(String parse_mode) {
         this.parse_mode = parse_mode;
+        changed();
     }
 
     public Boolean getDisable_web_page_preview() {
@@ -139,6 +144,7 @@ public class InlineQueryResultArticle extends InlineQueryResult {
 
     public void setDisable_web_page_preview(Boolean disable_web_page_preview) {
         this.disable_web_page_preview = disable_web_page_preview;
+        changed();
     }
 
     public String getUrl() {
@@ -147,6 +153,7 @@ public class InlineQueryResultArticle extends InlineQueryResult {
 
     public void setUrl(String url) {
         this.url = url;
+        changed();
     }
 
     public Boolean getHide_url() {
@@ -155,6 +162,7 @@ public class InlineQueryResultArticle extends InlineQueryResult {
 
     public void setHide_url(Boolean hide_url) {
         this.hide_url = hide_url;
+        changed();
     }
 
     public String getDescription() {
@@ -163,6 +171,7 @@ public class InlineQueryResultArticle extends InlineQueryResult {
 
     public void setDescription(String description) {
         this.description = description;
+        changed();
     }
 
     public String getThumb_url() {
@@ -171,6 +180,7 @@ public class InlineQueryResultArticle extends InlineQueryResult {
 
     public void setThumb_url(String thumb_url) {
         this.thumb_url = thumb_url;
+        changed();
     }
 
     public Integer getThumb_width() {
@@ -179,6 +189,7 @@ public class InlineQueryResultArticle extends InlineQueryResult {
 
     public void setThumb_width(Integer thumb_width) {
         this.thumb_width = thumb_width;
+        changed();
     }
 
     public Integer getThumb_height() {
@@ -187,6 +198,7 @@ public class InlineQueryResultArticle extends InlineQueryResult {
 
     public void setThumb_height(Integer thumb_height) {
         this.thumb_height = thumb_height;
+        changed();
     }
 
     @Override
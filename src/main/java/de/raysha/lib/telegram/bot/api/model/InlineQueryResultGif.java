@@ -1,11 +1,13 @@
 package de.raysha.lib.telegram.bot.api.model;
 
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
 import org.codehaus.jackson.map.annotate.JsonSerialize;
 
 /**
  * Represents a link to an animated GIF file. By default, this animated GIF file will be sent by the user with optional
  * caption. Alternatively, you can provide <i>message_text</i> to send it instead of the animation.
  */
+@GenerateCodec
 public class InlineQueryResultGif extends InlineQueryResult {
 
     /**
@@ -110,6 +112,7 @@ public class InlineQueryResultGif extends InlineQueryResult {
 
     public void setGif_url(String gif_url) {
         this.gif_url = gif_url;
+        changed();
     }
 
     public Integer getGif_width() {
@@ -118,6 +121,7 @@ public class InlineQueryResultGif extends InlineQueryResult {
 
     public void setGif_width(Integer gif_width) {
         this.gif_width = gif_width;
+        changed();
     }
 
     public Integer getGif_height() {
@@ -126,6 +130,7 @@ public class InlineQueryResultGif extends InlineQueryResult {
 
     public void setGif_height(Integer gif_height) {
         this.gif_height = gif_height;
+        changed();
     }
 
     public String getThumb_url() {
@@ -134,6 +139,7 @@ public class InlineQueryResultGif extends InlineQueryResult {
 
     public void setThumb_url(String thumb_url) {
         this.thumb_url = thumb_url;
+        changed();
     }
 
     public String getTitle() {
@@ -142,6 +148,7 @@ public class InlineQueryResultGif extends InlineQueryResult {
 
     public void setTitle(String title) {
         this.title = title;
+        changed();
     }
 
     public String getCaption() {
@@ -150,6 +157,7 @@ public class InlineQueryResultGif extends InlineQueryResult {
 
     public void setCaption(String caption) {
         this.caption = caption;
+        changed();
     }
 
     public String getMessage_text() {
@@ -158,6 +166,7 @@ public class InlineQueryResultGif extends InlineQueryResult {
 
     public void setMessage_text(String message_text) {
         this.message_text = message_text;
+        changed();
     }
 
     public String getParse_mode() {
@@ -166,6 +175,7 @@ public class InlineQueryResultGif extends InlineQueryResult {
 
     public void setParse_mode(String parse_mode) {
         this.parse_mode = parse_mode;
+        changed();
     }
 
     public Boolean getDisable_web_page_preview() {
@@ -174,6 +184,7 @@ public class InlineQueryResultGif extends InlineQueryResult {
 
     public void setDisable_web_page_preview(Boolean disable_web_page_preview) {
         this.disable_web_page_preview = disable_web_page_preview;
+        changed();
     }
 
     @Override
@@ -1,5 +1,6 @@
 package de.raysha.lib.telegram.bot.api.model;
 
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
 import org.codehaus.jackson.map.annotate.JsonSerialize;
 
 /**
@@ -7,6 +8,7 @@ import org.codehaus.jackson.map.annotate.JsonSerialize;
  * this animated MPEG-4 file will be sent by the user with optional caption. Alternatively,
  * you can provide message_text to send it instead of the animation.
  */
+@GenerateCodec
 public class InlineQueryResultMpeg4Gif extends InlineQueryResult {
 
     /**
@@ -112,6 +114,7 @@ public class InlineQueryResultMpeg4Gif extends InlineQueryResult {
 
     public void setMpeg4_url(String mpeg4_url) {
         this.mpeg4_url = mpeg4_url;
+        changed();
     }
 
     public Integer getMpeg4_width() {
@@ -120,6 +123,7 @@ public class InlineQueryResultMpeg4Gif extends InlineQueryResult {
 
     public void setMpeg4_width(Integer mpeg4_width) {
         this.mpeg4_width = mpeg4_width;
+        changed();
     }
 
     public Integer getMpeg4_height() {
@@ -128,6 +132,7 @@ public class InlineQueryResultMpeg4Gif extends InlineQueryResult {
 
     public void setMpeg4_height(Integer mpeg4_height) {
         this.mpeg4_height = mpeg4_height;
+        changed();
     }
 
     public String getThumb_url() {
@@ -136,6 +141,7 @@ public class InlineQueryResultMpeg4Gif extends InlineQueryResult {
 
     public void setThumb_url(String thumb_url) {
         this.thumb_url = thumb_url;
+        changed();
     }
 
     public String getTitle() {
@@ -144,6 +150,7 @@ public class InlineQueryResultMpeg4Gif extends InlineQueryResult {
 
     public void setTitle(String title) {
         this.title = title;
+        changed();
     }
 
     public String getCaption() {
@@ -152,6 +159,7 @@ public class InlineQueryResultMpeg4Gif extends InlineQueryResult {
 
     public void setCaption(String caption) {
         this.caption = caption;
+        changed();
     }
 
     public String getMessage_text() {
@@ -160,6 +168,7 @@ public class InlineQueryResultMpeg4Gif extends InlineQueryResult {
 
     public void setMessage_text(String message_text) {
         this.message_text = message_text;
+        changed();
     }
 
     public String getParse_mode() {
@@ -168,6 +177,7 @@ public class InlineQueryResultMpeg4Gif extends InlineQueryResult {
 
     public void setParse_mode(String parse_mode) {
         this.parse_mode = parse_mode;
+        changed();
     }
 
     public Boolean getDisable_web_page_preview() {
@@ -176,6 +186,7 @@ public class InlineQueryResultMpeg4Gif extends InlineQueryResult {
 
     public void setDisable_web_page_preview(Boolean disable_web_page_preview) {
         this.disable_web_page_preview = disable_web_page_preview;
+        changed();
     }
 
     @Override
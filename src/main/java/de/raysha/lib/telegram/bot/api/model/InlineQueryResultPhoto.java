@@ -1,5 +1,6 @@
 package de.raysha.lib.telegram.bot.api.model;
 
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
 import org.codehaus.jackson.map.annotate.JsonSerialize;
 
 /**
@@ -7,6 +8,7 @@ import org.codehaus.jackson.map.annotate.JsonSerialize;
  * By default, this photo will be sent by the user with optional caption.
  * Alternatively, you can provide <i>message_text</i> to send it instead of photo.
  */
+@GenerateCodec
 public class InlineQueryResultPhoto extends InlineQueryResult {
 
     /**
@@ -113,6 +115,7 @@ public class InlineQueryResultPhoto extends InlineQueryResult {
 
     public void setPhoto_url(String photo_url) {
         this.photo_url = photo_url;
+        changed();
     }
 
     public Integer getPhoto_width() {
@@ -121,6 +124,7 @@ public class InlineQueryResultPhoto extends InlineQueryResult {
 
     public void setPhoto_width(Integer photo_width) {
         this.photo_width = photo_width;
+        changed();
     }
 
     public Integer getPhoto_height() {
@@ -129,6 +133,7 @@ public class InlineQueryResultPhoto extends InlineQueryResult {
 
     public void setPhoto_height(Integer photo_height) {
         this.photo_height = photo_height;
+        changed();
     }
 
     public String getThumb_url() {
@@ -137,6 +142,7 @@ public class InlineQueryResultPhoto extends InlineQueryResult {
 
     public void setThumb_url(String thumb_url) {
         this.thumb_url = thumb_url;
+        changed();
     }
 
     public String getTitle() {
@@ -145,6 +151,7 @@ public class InlineQueryResultPhoto extends InlineQueryResult {
 
     public void setTitle(String title) {
         this.title = title;
+        changed();
     }
 
     public String getDescription() {
@@ -153,6 +160,7 @@ public class InlineQueryResultPhoto extends InlineQueryResult {
 
     public void setDescription(String description) {
         this.description = description;
+        changed();
     }
 
     public String getCaption() {
@@ -161,6 +169,7 @@ public class InlineQueryResultPhoto extends InlineQueryResult {
 
     public void setCaption(String caption) {
         this.caption = caption;
+        changed();
     }
 
     public String getMessage_text() {
@@ -169,6 +178,7 @@ public class InlineQueryResultPhoto extends InlineQueryResult {
 
     public void setMessage_text(String message_text) {
         this.message_text = message_text;
+        changed();
     }
 
     public String getParse_mode() {
@@ -177,6 +187,7 @@ public class InlineQueryResultPhoto extends InlineQueryResult {
 
     public void setParse_mode(String parse_mode) {
         this.parse_mode = parse_mode;
+        changed();
     }
 
     @Override
@@ -1,10 +1,12 @@
 package de.raysha.lib.telegram.bot.api.model;
 
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
 import org.codehaus.jackson.map.annotate.JsonSerialize;
 
 /**
  * Represents link to a page containing an embedded video player or a video file.
  */
+@GenerateCodec
 public class InlineQueryResultVideo extends InlineQueryResult {
 
     /**
@@ -129,6 +131,7 @@ public class InlineQueryResultVideo extends InlineQueryResult {
 
     public void setVideo_url(String video_url) {
         this.video_url = video_url;
+        changed();
     }
 
     public String getMime_type() {
@@ -137,6 +140,7 @@ public class InlineQueryResultVideo extends InlineQueryResult {
 
     public void setMime_type(String mime_type) {
         this.mime_type = mime_type;
+        changed();
     }
 
     public String getMessage_text() {
@@ -145,6 +149,7 @@ public class InlineQueryResultVideo extends InlineQueryResult {
 
     public void setMessage_text(String message_text) {
         this.message_text = message_text;
+        changed();
     }
 
     public String getParse_mode() {
@@ -153,6 +158,7 @@ public class InlineQueryResultVideo extends InlineQueryResult {
 
     public void setParse_mode(String parse_mode) {
         this.parse_mode = parse_mode;
+        changed();
     }
 
     public Boolean getDisable_web_page_preview() {
@@ -161,6 +167,7 @@ public class InlineQueryResultVideo extends InlineQueryResult {
 
     public void setDisable_web_page_preview(Boolean disable_web_page_preview) {
         this.disable_web_page_preview = disable_web_page_preview;
+        changed();
     }
 
     public Integer getVideo_width() {
@@ -169,6 +176,7 @@ public class InlineQueryResultVideo extends InlineQueryResult {
 
     public void setVideo_width(Integer video_width) {
         this.video_width = video_width;
+        changed();
     }
 
     public Integer getVideo_height() {
@@ -177,6 +185,7 @@ public class InlineQueryResultVideo extends InlineQueryResult {
 
     public void setVideo_height(Integer video_height) {
         this.video_height = video_height;
+        changed();
     }
 
     public Integer getVideo_duration() {
@@ -185,6 +194,7 @@ public class InlineQueryResultVideo extends InlineQueryResult {
 
     public void setVideo_duration(Integer video_duration) {
         this.video_duration = video_duration;
+        changed();
     }
 
     public String getThumb_url() {
@@ -193,6 +203,7 @@ public class InlineQueryResultVideo extends InlineQueryResult {
 
     public void setThumb_url(String thumb_url) {
         this.thumb_url = thumb_url;
+        changed();
     }
 
     public String getTitle() {
@@ -201,6 +212,7 @@ public class InlineQueryResultVideo extends InlineQueryResult {
 
     public void setTitle(String title) {
         this.title = title;
+        changed();
     }
 
     public String getDescription() {
@@ -209,6 +221,7 @@ public class InlineQueryResultVideo extends InlineQueryResult {
 
     public void setDescription(String description) {
         this.description = description;
+        changed();
     }
 
     @Override
@@ -0,0 +1,302 @@
+package de.raysha.lib.telegram.bot.api.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * This object represents the contents of a file to be uploaded. The content is streamed into the
+ * request, so it never has to be held in memory or written to a temporary file.
+ * <br /><br />
+ * Use one of the <code>of(...)</code> methods to create an input file from a {@link File}, a byte array,
+ * a {@link ByteBuffer}, an {@link InputStream} or a {@link FileChannel}.
+ */
+public abstract class InputFile {
+
+    /**
+     * Bots can currently send files of up to 50 MB in size.
+     */
+    public static final long MAX_UPLOAD_SIZE = 50L * 1024 * 1024;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The file name which is sent to the API
+     */
+    private final String name;
+
+    protected InputFile(String name) {
+        if(name == null) throw new IllegalArgumentException("The name must not be null!");
+
+        this.name = name;
+    }
+
+    public static InputFile of(File file) {
+        return new FileInputFile(file);
+    }
+
+    public static InputFile of(String name, byte[] content) {
+        return new ByteBufferInputFile(name, ByteBuffer.wrap(content));
+    }
+
+    /**
+     * The remaining bytes of the buffer are uploaded. The position of the buffer is not changed.
+     */
+    public static InputFile of(String name, ByteBuffer content) {
+        return new ByteBufferInputFile(name, content.duplicate());
+    }
+
+    /**
+     * The stream is read only once, so a request with this input file can not be repeated.
+     *
+     * @param length the number of bytes of the stream or -1 if unknown
+     */
+    public static InputFile of(String name, InputStream content, long length) {
+        return new StreamInputFile(name, content, length);
+    }
+
+    /**
+     * The stream is read only once, so a request with this input file can not be repeated.
+     */
+    public static InputFile of(String name, InputStream content) {
+        return of(name, content, -1);
+    }
+
+    /**
+     * The bytes from the current position up to the end of the channel are uploaded.
+     * The position of the channel is not changed.
+     */
+    public static InputFile of(String name, FileChannel content) throws IOException {
+        return new FileChannelInputFile(name, content, content.position(), content.size() - content.position());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the number of bytes or -1 if unknown
+     */
+    public abstract long getLength();
+
+    /**
+     * @return true if the content can be read more than once
+     */
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    /**
+     * @return a new stream of the content. The caller must close it.
+     */
+    public abstract InputStream openStream() throws IOException;
+
+    /**
+     * Write the content to the given stream. The stream is not closed.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        final InputStream in = openStream();
+        try {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Transfer a region of a file channel without copying it through a heap buffer.
+     */
+    private static void transfer(FileChannel channel, long position, long count, OutputStream out) throws IOException {
+        final WritableByteChannel target = Channels.newChannel(out);
+        long transferred = 0;
+        while(transferred < count) {
+            transferred += channel.transferTo(position + transferred, count - transferred, target);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" +
+                "name='" + name + '\'' +
+                ", length=" + getLength() +
+                '}';
+    }
+
+    private static class FileInputFile extends InputFile {
+        private final File file;
+
+        FileInputFile(File file) {
+            super(file.getName());
+            this.file = file;
+        }
+
+        @Override
+        public long getLength() {
+            return file.length();
+        }
+
+        @Override
+        public InputStream openStream() throws IOException {
+            return new FileInputStream(file);
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            final FileInputStream in = new FileInputStream(file);
+            try {
+                final FileChannel channel = in.getChannel();
+                transfer(channel, 0, channel.size(), out);
+            } finally {
+                in.close();
+            }
+        }
+    }
+
+    private static class ByteBufferInputFile extends InputFile {
+        private final ByteBuffer content;
+
+        ByteBufferInputFile(String name, ByteBuffer content) {
+            super(name);
+            this.content = content;
+        }
+
+        @Override
+        public long getLength() {
+            return content.remaining();
+        }
+
+        @Override
+        public InputStream openStream() {
+            if(content.hasArray()) {
+                return new ByteArrayInputStream(content.array(), content.arrayOffset() + content.position(), content.remaining());
+            }
+
+            final ByteBuffer buffer = content.duplicate();
+            return new InputStream() {
+                @Override
+                public int read() {
+                    return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    if(!buffer.hasRemaining()) return -1;
+
+                    final int count = Math.min(len, buffer.remaining());
+                    buffer.get(b, off, count);
+                    return count;
+                }
+
+                @Override
+                public int available() {
+                    return buffer.remaining();
+                }
+            };
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            if(content.hasArray()) {
+                out.write(content.array(), content.arrayOffset() + content.position(), content.remaining());
+            } else {
+                final WritableByteChannel target = Channels.newChannel(out);
+                final ByteBuffer buffer = content.duplicate();
+                while(buffer.hasRemaining()) {
+                    target.write(buffer);
+                }
+            }
+        }
+    }
+
+    private static class StreamInputFile extends InputFile {
+        private final InputStream content;
+        private final long length;
+        private boolean consumed;
+
+        StreamInputFile(String name, InputStream content, long length) {
+            super(name);
+            this.content = content;
+            this.length = length;
+        }
+
+        @Override
+        public long getLength() {
+            return length;
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return false;
+        }
+
+        @Override
+        public synchronized InputStream openStream() throws IOException {
+            if(consumed) throw new IOException("The stream of " + getName() + " was already consumed!");
+
+            consumed = true;
+            return content;
+        }
+    }
+
+    private static class FileChannelInputFile extends InputFile {
+        private final FileChannel channel;
+        private final long position;
+        private final long count;
+
+        FileChannelInputFile(String name, FileChannel channel, long position, long count) {
+            super(name);
+            this.channel = channel;
+            this.position = position;
+            this.count = count;
+        }
+
+        @Override
+        public long getLength() {
+            return count;
+        }
+
+        @Override
+        public InputStream openStream() {
+            return new InputStream() {
+                private final ByteBuffer single = ByteBuffer.allocate(1);
+                private long offset = 0;
+
+                @Override
+                public int read() throws IOException {
+                    single.clear();
+                    return read(single) == -1 ? -1 : single.get(0) & 0xFF;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    return read(ByteBuffer.wrap(b, off, len));
+                }
+
+                private int read(ByteBuffer target) throws IOException {
+                    if(offset >= count) return -1;
+
+                    if(target.remaining() > count - offset) target.limit(target.position() + (int) (count - offset));
+                    final int read = channel.read(target, position + offset);
+                    if(read > 0) offset += read;
+                    return read;
+                }
+            };
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            transfer(channel, position, count, out);
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package de.raysha.lib.telegram.bot.api.model;
 
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
+
 /**
  * This object represents a point on the map.
  */
+@GenerateCodec
 public class Location {
     /**
      * Longitude as defined by sender
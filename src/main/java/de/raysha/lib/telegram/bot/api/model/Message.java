@@ -1,5 +1,7 @@
 package de.raysha.lib.telegram.bot.api.model;
 
+import de.raysha.lib.telegram.bot.api.codec.Deferred;
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
 import org.codehaus.jackson.map.annotate.JsonSerialize;
 
 import java.util.List;
@@ -7,6 +9,7 @@ import java.util.List;
 /**
  * This object represents a message.
  */
+@GenerateCodec
 public class Message {
     /**
      * Unique message identifier
@@ -45,6 +48,7 @@ public class Message {
      */
     @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
     private Message reply_to_message;
+    private transient volatile Deferred<Message> deferred_reply_to_message;
 
     /**
      * Optional. For text messages, the actual UTF-8 text of the message
@@ -57,30 +61,35 @@ public class Message {
      */
     @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
     private Audio audio;
+    private transient volatile Deferred<Audio> deferred_audio;
 
     /**
      * Optional. Message is a general file, information about the file
      */
     @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
     private Document document;
+    private transient volatile Deferred<Document> deferred_document;
 
     /**
      * Optional. Message is a photo, available sizes of the photo
      */
     @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
     private List<PhotoSize> photo;
+    private transient volatile Deferred<List<PhotoSize>> deferred_photo;
 
     /**
      * Optional. Message is a sticker, information about the sticker
      */
     @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
     private Sticker sticker;
+    private transient volatile Deferred<Sticker> deferred_sticker;
 
     /**
      * Optional. Message is a video, information about the video
      */
     @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
     private Video video;
+    private transient volatile Deferred<Video> deferred_video;
 
     /**
      * Optional. Message is a voice message, information about the file
@@ -128,6 +137,7 @@ public class Message {
      */
     @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
     private List<PhotoSize> new_chat_photo;
+    private transient volatile Deferred<List<PhotoSize>> deferred_new_chat_photo;
 
     /**
      * Optional. Informs that the group photo was deleted
@@ -157,13 +167,13 @@ public class Message {
      * Optional. The group has been migrated to a supergroup with the specified identifier, not exceeding 1e13 by absolute value
      */
     @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
-    private Integer migrate_to_chat_id;
+    private Long migrate_to_chat_id;
 
     /**
      * Optional. The supergroup has been migrated from a group with the specified identifier, not exceeding 1e13 by absolute value
      */
     @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
-    private Integer migrate_from_chat_id;
+    private Long migrate_from_chat_id;
 
     public Integer getMessage_id() {
         return message_id;
@@ -214,11 +224,29 @@ public class Message {
     }
 
     public Message getReply_to_message() {
+        // checked again under the lock, so concurrent readers decode the value once and see it completely
+        if(deferred_reply_to_message != null) {
+            synchronized (this) {
+                if(deferred_reply_to_message != null) {
+                    reply_to_message = deferred_reply_to_message.get();
+                    deferred_reply_to_message = null;
+                }
+            }
+        }
         return reply_to_message;
     }
 
-    public void setReply_to_message(Message reply_to_message) {
+    public synchronized void setReply_to_message(Message reply_to_message) {
         this.reply_to_message = reply_to_message;
+        this.deferred_reply_to_message = null;
+    }
+
+    /**
+     * Set the reply_to_message which is decoded on its first access.
+     */
+    public synchronized void deferReply_to_message(Deferred<Message> reply_to_message) {
+        this.reply_to_message = null;
+        this.deferred_reply_to_message = reply_to_message;
     }
 
     public String getText() {
@@ -230,43 +258,128 @@ public class Message {
     }
 
     public Audio getAudio() {
+        if(deferred_audio != null) {
+            synchronized (this) {
+                if(deferred_audio != null) {
+                    audio = deferred_audio.get();
+                    deferred_audio = null;
+                }
+            }
+        }
         return audio;
     }
 
-    public void setAudio(Audio audio) {
+    public synchronized void setAudio(Audio audio) {
         this.audio = audio;
+        this.deferred_audio = null;
+    }
+
+    /**
+     * Set the audio which is decoded on its first access.
+     */
+    public synchronized void deferAudio(Deferred<Audio> audio) {
+        this.audio = null;
+        this.deferred_audio = audio;
     }
 
     public Document getDocument() {
+        if(deferred_document != null) {
+            synchronized (this) {
+                if(deferred_document != null) {
+                    document = deferred_document.get();
+                    deferred_document = null;
+                }
+            }
+        }
         return document;
     }
 
-    public void setDocument(Document document) {
+    public synchronized void setDocument(Document document) {
         this.document = document;
+        this.deferred_document = null;
+    }
+
+    /**
+     * Set the document which is decoded on its first access.
+     */
+    public synchronized void deferDocument(Deferred<Document> document) {
+        this.document = null;
+        this.deferred_document = document;
     }
 
     public List<PhotoSize> getPhoto() {
+        if(deferred_photo != null) {
+            synchronized (this) {
+                if(deferred_photo != null) {
+                    photo = deferred_photo.get();
+                    deferred_photo = null;
+                }
+            }
+        }
         return photo;
     }
 
-    public void setPhoto(List<PhotoSize> photo) {
+    public synchronized void setPhoto(List<PhotoSize> photo) {
         this.photo = photo;
+        this.deferred_photo = null;
+    }
+
+    /**
+     * Set the photo which is decoded on its first access.
+     */
+    public synchronized void deferPhoto(Deferred<List<PhotoSize>> photo) {
+        this.photo = null;
+        this.deferred_photo = photo;
     }
 
     public Sticker getSticker() {
+        if(deferred_sticker != null) {
+            synchronized (this) {
+                if(deferred_sticker != null) {
+                    sticker = deferred_sticker.get();
+                    deferred_sticker = null;
+                }
+            }
+        }
         return sticker;
     }
 
-    public void setSticker(Sticker sticker) {
+    public synchronized void setSticker(Sticker sticker) {
         this.sticker = sticker;
+        this.deferred_sticker = null;
+    }
+
+    /**
+     * Set the sticker which is decoded on its first access.
+     */
+    public synchronized void deferSticker(Deferred<Sticker> sticker) {
+        this.sticker = null;
+        this.deferred_sticker = sticker;
     }
 
     public Video getVideo() {
+        if(deferred_video != null) {
+            synchronized (this) {
+                if(deferred_video != null) {
+                    video = deferred_video.get();
+                    deferred_video = null;
+                }
+            }
+        }
         return video;
     }
 
-    public void setVideo(Video video) {
+    public synchronized void setVideo(Video video) {
         this.video = video;
+        this.deferred_video = null;
+    }
+
+    /**
+     * Set the video which is decoded on its first access.
+     */
+    public synchronized void deferVideo(Deferred<Video> video) {
+        this.video = null;
+        this.deferred_video = video;
     }
 
     public Contact getContact() {
@@ -310,11 +423,28 @@ public class Message {
     }
 
     public List<PhotoSize> getNew_chat_photo() {
+        if(deferred_new_chat_photo != null) {
+            synchronized (this) {
+                if(deferred_new_chat_photo != null) {
+                    new_chat_photo = deferred_new_chat_photo.get();
+                    deferred_new_chat_photo = null;
+                }
+            }
+        }
         return new_chat_photo;
     }
 
-    public void setNew_chat_photo(List<PhotoSize> new_chat_photo) {
+    public synchronized void setNew_chat_photo(List<PhotoSize> new_chat_photo) {
         this.new_chat_photo = new_chat_photo;
+        this.deferred_new_chat_photo = null;
+    }
+
+    /**
+     * Set the new_chat_photo which is decoded on its first access.
+     */
+    public synchronized void deferNew_chat_photo(Deferred<List<PhotoSize>> new_chat_photo) {
+        this.new_chat_photo = null;
+        this.deferred_new_chat_photo = new_chat_photo;
     }
 
     public Boolean getDelete_chat_photo() {
@@ -365,19 +495,19 @@ public class Message {
         this.channel_chat_created = channel_chat_created;
     }
 
-    public Integer getMigrate_to_chat_id() {
+    public Long getMigrate_to_chat_id() {
         return migrate_to_chat_id;
     }
 
-    public void setMigrate_to_chat_id(Integer migrate_to_chat_id) {
+    public void setMigrate_to_chat_id(Long migrate_to_chat_id) {
         this.migrate_to_chat_id = migrate_to_chat_id;
     }
 
-    public Integer getMigrate_from_chat_id() {
+    public Long getMigrate_from_chat_id() {
         return migrate_from_chat_id;
     }
 
-    public void setMigrate_from_chat_id(Integer migrate_from_chat_id) {
+    public void setMigrate_from_chat_id(Long migrate_from_chat_id) {
         this.migrate_from_chat_id = migrate_from_chat_id;
     }
 
@@ -390,13 +520,13 @@ public class Message {
                 ", chat=" + chat +
                 ", forward_from=" + forward_from +
                 ", forward_date=" + forward_date +
-                ", reply_to_message=" + reply_to_message +
+                ", reply_to_message=" + getReply_to_message() +
                 ", text='" + text + '\'' +
-                ", audio=" + audio +
-                ", document=" + document +
-                ", photo=" + photo +
-                ", sticker=" + sticker +
-                ", video=" + video +
+                ", audio=" + getAudio() +
+                ", document=" + getDocument() +
+                ", photo=" + getPhoto() +
+                ", sticker=" + getSticker() +
+                ", video=" + getVideo() +
                 ", voice=" + voice +
                 ", caption='" + caption + '\'' +
                 ", contact=" + contact +
@@ -404,7 +534,7 @@ public class Message {
                 ", new_chat_participant=" + new_chat_participant +
                 ", left_chat_participant=" + left_chat_participant +
                 ", new_chat_title='" + new_chat_title + '\'' +
-                ", new_chat_photo=" + new_chat_photo +
+                ", new_chat_photo=" + getNew_chat_photo() +
                 ", delete_chat_photo=" + delete_chat_photo +
                 ", group_chat_created=" + group_chat_created +
                 ", supergroup_chat_created=" + supergroup_chat_created +
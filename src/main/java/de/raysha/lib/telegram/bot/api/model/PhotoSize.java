@@ -1,5 +1,7 @@
 package de.raysha.lib.telegram.bot.api.model;
 
+import de.raysha.lib.telegram.bot.api.codec.Canonical;
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
 import org.codehaus.jackson.map.annotate.JsonSerialize;
 
 /**
@@ -7,10 +9,12 @@ import org.codehaus.jackson.map.annotate.JsonSerialize;
  *
  * A missing thumbnail for a file (or sticker) is presented as an empty object.
  */
+@GenerateCodec
 public class PhotoSize {
     /**
      * Unique identifier for this file
      */
+    @Canonical
     private String file_id;
 
     /**
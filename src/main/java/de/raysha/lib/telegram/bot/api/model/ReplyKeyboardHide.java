@@ -1,5 +1,6 @@
 package de.raysha.lib.telegram.bot.api.model;
 
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
 import org.codehaus.jackson.map.annotate.JsonSerialize;
 
 /**
@@ -13,6 +14,7 @@ import org.codehaus.jackson.map.annotate.JsonSerialize;
  * hides keyboard for that user, while still showing the keyboard with poll options to users
  * who haven't voted yet.
  */
+@GenerateCodec
 public class ReplyKeyboardHide {
     /**
      * Requests clients to hide the custom keyboard
@@ -1,5 +1,6 @@
 package de.raysha.lib.telegram.bot.api.model;
 
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
 import org.codehaus.jackson.map.annotate.JsonSerialize;
 
 import java.util.List;
@@ -10,6 +11,7 @@ import java.util.List;
  * Example: A user requests to change the bot's language, bot replies to the request with a
  * keyboard to select the new language. Other users in the group don't see the keyboard.
  */
+@GenerateCodec
 public class ReplyKeyboardMarkup {
 
     /**
@@ -0,0 +1,214 @@
+package de.raysha.lib.telegram.bot.api.model;
+
+import de.raysha.lib.telegram.bot.api.codec.Codec;
+import de.raysha.lib.telegram.bot.api.codec.Codecs;
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonGenerator;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable reply markup, which is serialized once. Most bots send the same few keyboards again
+ * and again, so create them once and pass them as <code>replyMarkup</code> to the send methods:
+ * <pre>
+ * static final ReplyMarkup MENU = ReplyMarkup.keyboard()
+ *         .row("Yes", "No")
+ *         .row("Cancel")
+ *         .oneTime()
+ *         .build();
+ * </pre>
+ * The json of the markup and its form encoded form are kept and written into the requests as they are.
+ */
+public final class ReplyMarkup {
+    private static final JsonFactory factory = new JsonFactory();
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final Charset US_ASCII = Charset.forName("US-ASCII");
+
+    /**
+     * Hides the custom keyboard
+     */
+    public static final ReplyMarkup HIDE_KEYBOARD = hideKeyboard(false);
+
+    /**
+     * Forces a reply of the user
+     */
+    public static final ReplyMarkup FORCE_REPLY = forceReply(false);
+
+    private final String json;
+    private final byte[] jsonBytes;
+    private final byte[] formBytes;
+
+    private ReplyMarkup(String json) {
+        this.json = json;
+        this.jsonBytes = json.getBytes(UTF_8);
+        try {
+            this.formBytes = URLEncoder.encode(json, "UTF-8").getBytes(US_ASCII);
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException("UTF-8 is not supported. This should never happen!", e);
+        }
+    }
+
+    /**
+     * @return a builder of a custom keyboard ({@link ReplyKeyboardMarkup})
+     */
+    public static KeyboardBuilder keyboard() {
+        return new KeyboardBuilder();
+    }
+
+    /**
+     * @param selective true to hide the keyboard for specific users only
+     * @see ReplyKeyboardHide
+     */
+    public static ReplyMarkup hideKeyboard(boolean selective) {
+        final ReplyKeyboardHide markup = new ReplyKeyboardHide();
+        markup.setHide_keyboard(true);
+        if(selective) markup.setSelective(true);
+        return of(markup);
+    }
+
+    /**
+     * @param selective true to force a reply from specific users only
+     * @see ForceReply
+     */
+    public static ReplyMarkup forceReply(boolean selective) {
+        final ForceReply markup = new ForceReply();
+        markup.setForce_reply(true);
+        if(selective) markup.setSelective(true);
+        return of(markup);
+    }
+
+    /**
+     * Serialize the given markup. Later changes of the markup do not change the result.
+     *
+     * @param markup a {@link ReplyKeyboardMarkup}, {@link ReplyKeyboardHide} or {@link ForceReply}
+     * @return the immutable markup
+     * @throws IllegalArgumentException if the markup is of another type
+     */
+    public static ReplyMarkup of(Object markup) {
+        if(markup instanceof ReplyKeyboardMarkup) return new ReplyMarkup(write(ReplyKeyboardMarkup.class, (ReplyKeyboardMarkup) markup));
+        if(markup instanceof ReplyKeyboardHide) return new ReplyMarkup(write(ReplyKeyboardHide.class, (ReplyKeyboardHide) markup));
+        if(markup instanceof ForceReply) return new ReplyMarkup(write(ForceReply.class, (ForceReply) markup));
+
+        throw new IllegalArgumentException("The markup must be one of the following classes: " +
+                ReplyKeyboardMarkup.class.getName() + ", " +
+                ReplyKeyboardHide.class.getName() + ", " +
+                ForceReply.class.getName());
+    }
+
+    private static <T> String write(Class<T> type, T markup) {
+        final Codec<T> codec = Codecs.lookup(type);
+        if(codec == null) {
+            throw new IllegalStateException("There is no codec for " + type.getName() + "!");
+        }
+
+        try {
+            final StringWriter json = new StringWriter();
+            final JsonGenerator generator = factory.createJsonGenerator(json);
+            codec.write(markup, generator);
+            generator.close();
+            return json.toString();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize the reply markup!", e);
+        }
+    }
+
+    public String getJson() {
+        return json;
+    }
+
+    /**
+     * @return the json encoded as UTF-8. The array is not copied and must not be modified.
+     */
+    public byte[] getJsonBytes() {
+        return jsonBytes;
+    }
+
+    /**
+     * @return the json as value of a form (application/x-www-form-urlencoded). The array is not copied
+     * and must not be modified.
+     */
+    public byte[] getFormBytes() {
+        return formBytes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof ReplyMarkup && json.equals(((ReplyMarkup) o).json));
+    }
+
+    @Override
+    public int hashCode() {
+        return json.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return json;
+    }
+
+    /**
+     * Builds a custom keyboard. Every row is a list of buttons.
+     */
+    public static final class KeyboardBuilder {
+        private final List<List<String>> rows = new ArrayList<List<String>>();
+        private boolean resize;
+        private boolean oneTime;
+        private boolean selective;
+
+        private KeyboardBuilder() {
+        }
+
+        public KeyboardBuilder row(String... buttons) {
+            if(buttons.length == 0) {
+                throw new IllegalArgumentException("A row must have at least one button!");
+            }
+            rows.add(Collections.unmodifiableList(new ArrayList<String>(Arrays.asList(buttons))));
+            return this;
+        }
+
+        /**
+         * @see ReplyKeyboardMarkup#setResize_keyboard(Boolean)
+         */
+        public KeyboardBuilder resize() {
+            this.resize = true;
+            return this;
+        }
+
+        /**
+         * @see ReplyKeyboardMarkup#setOne_time_keyboard(Boolean)
+         */
+        public KeyboardBuilder oneTime() {
+            this.oneTime = true;
+            return this;
+        }
+
+        /**
+         * @see ReplyKeyboardMarkup#setSelective(Boolean)
+         */
+        public KeyboardBuilder selective() {
+            this.selective = true;
+            return this;
+        }
+
+        public ReplyMarkup build() {
+            if(rows.isEmpty()) {
+                throw new IllegalStateException("The keyboard must have at least one row!");
+            }
+
+            final ReplyKeyboardMarkup markup = new ReplyKeyboardMarkup();
+            markup.setKeyboard(rows);
+            if(resize) markup.setResize_keyboard(true);
+            if(oneTime) markup.setOne_time_keyboard(true);
+            if(selective) markup.setSelective(true);
+            return of(markup);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package de.raysha.lib.telegram.bot.api.model;
+
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
+
+/**
+ * Contains information about why a request was unsuccessful.
+ */
+@GenerateCodec
+public class ResponseParameters {
+    /**
+     * Optional. The group has been migrated to a supergroup with the specified identifier.
+     */
+    private Long migrate_to_chat_id;
+
+    /**
+     * Optional. In case of exceeding flood control, the number of seconds left to wait before the request can be repeated
+     */
+    private Integer retry_after;
+
+    public Long getMigrate_to_chat_id() {
+        return migrate_to_chat_id;
+    }
+
+    public void setMigrate_to_chat_id(Long migrate_to_chat_id) {
+        this.migrate_to_chat_id = migrate_to_chat_id;
+    }
+
+    public Integer getRetry_after() {
+        return retry_after;
+    }
+
+    public void setRetry_after(Integer retry_after) {
+        this.retry_after = retry_after;
+    }
+
+    @Override
+    public String toString() {
+        return "ResponseParameters{" +
+                "migrate_to_chat_id=" + migrate_to_chat_id +
+                ", retry_after=" + retry_after +
+                '}';
+    }
+}
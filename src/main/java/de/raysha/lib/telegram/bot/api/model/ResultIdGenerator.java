@@ -0,0 +1,15 @@
+package de.raysha.lib.telegram.bot.api.model;
+
+/**
+ * Generates the ids of the {@link InlineQueryResult}s which have none. The id is generated when it
+ * is read the first time, usually while the result is serialized. See {@link ResultIdGenerators}
+ * for the available strategies.
+ */
+public interface ResultIdGenerator {
+
+    /**
+     * @param result the result which needs an id. Its content is complete, but its id must not be read.
+     * @return the id, 1-64 bytes
+     */
+    String generate(InlineQueryResult result);
+}
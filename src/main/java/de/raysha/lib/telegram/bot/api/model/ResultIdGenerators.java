@@ -0,0 +1,148 @@
+package de.raysha.lib.telegram.bot.api.model;
+
+import de.raysha.lib.telegram.bot.api.codec.Codec;
+import de.raysha.lib.telegram.bot.api.codec.Codecs;
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonEncoding;
+import org.codehaus.jackson.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The strategies to generate the ids of inline query results:
+ * <ul>
+ * <li>{@link #random()} 128 random bits of the thread local random, the default</li>
+ * <li>{@link #counter()} a counter, unique per generator</li>
+ * <li>{@link #content()} a hash of the json of the result, so equal results have the same id
+ * and can be cached by the clients</li>
+ * </ul>
+ */
+public final class ResultIdGenerators {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final ResultIdGenerator RANDOM = new ResultIdGenerator() {
+        @Override
+        public String generate(InlineQueryResult result) {
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            final char[] id = new char[32];
+            hex(random.nextLong(), id, 0);
+            hex(random.nextLong(), id, 16);
+            return new String(id);
+        }
+    };
+
+    private static final ResultIdGenerator CONTENT = new ContentIdGenerator();
+
+    private ResultIdGenerators() {
+    }
+
+    /**
+     * @return a generator of random ids, which does not share a random source between the threads
+     */
+    public static ResultIdGenerator random() {
+        return RANDOM;
+    }
+
+    /**
+     * @return a generator of ascending ids. The ids start with the time the generator was created,
+     * so the generators of a restarted bot do not repeat the ids.
+     */
+    public static ResultIdGenerator counter() {
+        final String prefix = Long.toString(System.currentTimeMillis(), 36) + "-";
+        final AtomicLong counter = new AtomicLong();
+        return new ResultIdGenerator() {
+            @Override
+            public String generate(InlineQueryResult result) {
+                return prefix + Long.toString(counter.incrementAndGet(), 36);
+            }
+        };
+    }
+
+    /**
+     * @return a generator of ids derived from the content (the json without the id) of the results.
+     * Equal results get the same id.
+     */
+    public static ResultIdGenerator content() {
+        return CONTENT;
+    }
+
+    private static void hex(long value, char[] target, int offset) {
+        for(int i = offset + 15; i >= offset; i--) {
+            target[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    /**
+     * Hashes (MD5) the json of the result, or its string representation if there is no generated codec
+     */
+    private static class ContentIdGenerator implements ResultIdGenerator {
+        private final JsonFactory factory = new JsonFactory();
+        private final ThreadLocal<MessageDigest> digests = new ThreadLocal<MessageDigest>();
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public String generate(InlineQueryResult result) {
+            final MessageDigest digest = digest();
+            final Codec<Object> codec = (Codec<Object>) Codecs.lookup((Class<?>) result.getClass());
+            if(codec == null) {
+                digest.update(result.getClass().getName().getBytes(Charset.forName("UTF-8")));
+                digest.update(result.toString().getBytes(Charset.forName("UTF-8")));
+            } else {
+                try {
+                    final JsonGenerator generator = factory.createJsonGenerator(new DigestStream(digest), JsonEncoding.UTF8);
+                    codec.write(result, generator);
+                    generator.close();
+                } catch (IOException e) {
+                    throw new IllegalStateException("Could not serialize the result!", e);
+                }
+            }
+
+            final byte[] hash = digest.digest();
+            final char[] id = new char[hash.length * 2];
+            for(int i = 0; i < hash.length; i++) {
+                id[i * 2] = HEX[(hash[i] >> 4) & 0xF];
+                id[i * 2 + 1] = HEX[hash[i] & 0xF];
+            }
+            return new String(id);
+        }
+
+        private MessageDigest digest() {
+            MessageDigest digest = digests.get();
+            if(digest == null) {
+                try {
+                    digest = MessageDigest.getInstance("MD5");
+                } catch (NoSuchAlgorithmException e) {
+                    throw new IllegalStateException("MD5 is not supported. This should never happen!", e);
+                }
+                digests.set(digest);
+            }
+            digest.reset();
+            return digest;
+        }
+    }
+
+    private static class DigestStream extends OutputStream {
+        private final MessageDigest digest;
+
+        DigestStream(MessageDigest digest) {
+            this.digest = digest;
+        }
+
+        @Override
+        public void write(int b) {
+            digest.update((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            digest.update(b, off, len);
+        }
+    }
+}
@@ -1,14 +1,18 @@
 package de.raysha.lib.telegram.bot.api.model;
 
+import de.raysha.lib.telegram.bot.api.codec.Canonical;
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
 import org.codehaus.jackson.map.annotate.JsonSerialize;
 
 /**
  * This object represents a sticker.
  */
+@GenerateCodec
 public class Sticker {
     /**
      * Unique identifier for this file
      */
+    @Canonical
     private String file_id;
 
     /**
@@ -1,10 +1,13 @@
 package de.raysha.lib.telegram.bot.api.model;
 
+import de.raysha.lib.telegram.bot.api.codec.Deferred;
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
 import org.codehaus.jackson.map.annotate.JsonSerialize;
 
 /**
  * This object represents an incoming update.
  */
+@GenerateCodec
 public class Update {
 
     /**
@@ -19,12 +22,14 @@ public class Update {
      */
     @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
     private Message message;
+    private transient volatile Deferred<Message> deferred_message;
 
     /**
      * Optional. New incoming <a href="https://core.telegram.org/bots/api#inline-mode" >inline</a> query
      */
     @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
     private InlineQuery inline_query;
+    private transient volatile Deferred<InlineQuery> deferred_inline_query;
 
     public Integer getUpdate_id() {
         return update_id;
@@ -35,27 +40,62 @@ public class Update {
     }
 
     public Message getMessage() {
+        // checked again under the lock, so concurrent readers decode the value once and see it completely
+        if(deferred_message != null) {
+            synchronized (this) {
+                if(deferred_message != null) {
+                    message = deferred_message.get();
+                    deferred_message = null;
+                }
+            }
+        }
         return message;
     }
 
-    public void setMessage(Message message) {
+    public synchronized void setMessage(Message message) {
         this.message = message;
+        this.deferred_message = null;
+    }
+
+    /**
+     * Set the message which is decoded on its first access.
+     */
+    public synchronized void deferMessage(Deferred<Message> message) {
+        this.message = null;
+        this.deferred_message = message;
     }
 
     public InlineQuery getInline_query() {
+        if(deferred_inline_query != null) {
+            synchronized (this) {
+                if(deferred_inline_query != null) {
+                    inline_query = deferred_inline_query.get();
+                    deferred_inline_query = null;
+                }
+            }
+        }
         return inline_query;
     }
 
-    public void setInline_query(InlineQuery inline_query) {
+    public synchronized void setInline_query(InlineQuery inline_query) {
         this.inline_query = inline_query;
+        this.deferred_inline_query = null;
+    }
+
+    /**
+     * Set the inline_query which is decoded on its first access.
+     */
+    public synchronized void deferInline_query(Deferred<InlineQuery> inline_query) {
+        this.inline_query = null;
+        this.deferred_inline_query = inline_query;
     }
 
     @Override
     public String toString() {
         return "Update{" +
                 "update_id=" + update_id +
-                ", message=" + message +
-                ", inline_query=" + inline_query +
+                ", message=" + getMessage() +
+                ", inline_query=" + getInline_query() +
                 '}';
     }
 }
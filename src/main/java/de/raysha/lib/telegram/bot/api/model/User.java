@@ -1,10 +1,13 @@
 package de.raysha.lib.telegram.bot.api.model;
 
+import de.raysha.lib.telegram.bot.api.codec.Canonical;
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
 import org.codehaus.jackson.map.annotate.JsonSerialize;
 
 /**
  * This object represents a Telegram user or bot.
  */
+@GenerateCodec
 public class User {
 
     /**
@@ -15,17 +18,20 @@ public class User {
     /**
      * User's or bot's first name
      */
+    @Canonical
     private String first_name;
 
     /**
      * Optional. User's or bot's last name
      */
+    @Canonical
     @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
     private String last_name;
 
     /**
      * Optional. User's or bot's username
      */
+    @Canonical
     @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
     private String username;
 
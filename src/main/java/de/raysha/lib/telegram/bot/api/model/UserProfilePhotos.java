@@ -1,10 +1,12 @@
 package de.raysha.lib.telegram.bot.api.model;
 
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
 import java.util.List;
 
 /**
  * This object represent a user's profile pictures.
  */
+@GenerateCodec
 public class UserProfilePhotos {
 
     /**
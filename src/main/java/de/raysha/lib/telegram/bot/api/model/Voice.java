@@ -1,15 +1,19 @@
 package de.raysha.lib.telegram.bot.api.model;
 
+import de.raysha.lib.telegram.bot.api.codec.Canonical;
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
 import org.codehaus.jackson.map.annotate.JsonSerialize;
 
 /**
  * This object represents a voice note.
  */
+@GenerateCodec
 public class Voice {
 
     /**
      * Unique identifier for this file
      */
+    @Canonical
     private String file_id;
 
     /**
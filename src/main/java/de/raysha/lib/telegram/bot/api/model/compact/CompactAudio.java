@@ -0,0 +1,122 @@
+package de.raysha.lib.telegram.bot.api.model.compact;
+
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
+import org.codehaus.jackson.map.annotate.JsonSerialize;
+
+/**
+ * Compact representation of {@link de.raysha.lib.telegram.bot.api.model.Audio}.
+ * The numbers and flags are primitives, {@link #hasDuration()} and the like tell if they were present.
+ */
+@GenerateCodec
+public class CompactAudio {
+    private static final int DURATION = 1 << 0;
+    private static final int FILE_SIZE = 1 << 1;
+
+    /**
+     * Unique identifier for this file
+     */
+    private String file_id;
+
+    /**
+     * Duration of the audio in seconds as defined by sender
+     */
+    private int duration;
+
+    /**
+     * Optional. Performer of the audio as defined by sender or by audio tags
+     */
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private String performer;
+
+    /**
+     * Optional. Title of the audio as defined by sender or by audio tags
+     */
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private String title;
+
+    /**
+     * Optional. MIME type of the file as defined by sender
+     */
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private String mime_type;
+
+    /**
+     * Optional. File size
+     */
+    private int file_size;
+
+    /**
+     * The bits of the primitive fields which are present
+     */
+    private int present;
+
+    public String getFile_id() {
+        return file_id;
+    }
+
+    public void setFile_id(String file_id) {
+        this.file_id = file_id;
+    }
+
+    public int getDuration() {
+        return duration;
+    }
+
+    public boolean hasDuration() {
+        return (present & DURATION) != 0;
+    }
+
+    public void setDuration(int duration) {
+        this.duration = duration;
+        this.present |= DURATION;
+    }
+
+    public String getPerformer() {
+        return performer;
+    }
+
+    public void setPerformer(String performer) {
+        this.performer = performer;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getMime_type() {
+        return mime_type;
+    }
+
+    public void setMime_type(String mime_type) {
+        this.mime_type = mime_type;
+    }
+
+    public int getFile_size() {
+        return file_size;
+    }
+
+    public boolean hasFile_size() {
+        return (present & FILE_SIZE) != 0;
+    }
+
+    public void setFile_size(int file_size) {
+        this.file_size = file_size;
+        this.present |= FILE_SIZE;
+    }
+
+    @Override
+    public String toString() {
+        return "CompactAudio{" +
+                "file_id='" + file_id + '\'' +
+                ", duration=" + (hasDuration() ? String.valueOf(duration) : "null") +
+                ", performer='" + performer + '\'' +
+                ", title='" + title + '\'' +
+                ", mime_type='" + mime_type + '\'' +
+                ", file_size=" + (hasFile_size() ? String.valueOf(file_size) : "null") +
+                '}';
+    }
+}
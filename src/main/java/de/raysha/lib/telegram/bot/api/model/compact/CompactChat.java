@@ -0,0 +1,117 @@
+package de.raysha.lib.telegram.bot.api.model.compact;
+
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
+import org.codehaus.jackson.map.annotate.JsonSerialize;
+
+/**
+ * Compact representation of {@link de.raysha.lib.telegram.bot.api.model.Chat}.
+ * The numbers and flags are primitives, {@link #hasId()} and the like tell if they were present.
+ */
+@GenerateCodec
+public class CompactChat {
+    private static final int ID = 1 << 0;
+
+    /**
+     * Unique identifier for this chat, not exceeding 1e13 by absolute value
+     */
+    private long id;
+
+    /**
+     * Type of chat, can be either "private", "group", "supergroup" or "channel"
+     */
+    private String type;
+
+    /**
+     * Optional. Title, for channels and group chats
+     */
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private String title;
+
+    /**
+     * Optional. Username, for private chats and channels if available
+     */
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private String username;
+
+    /**
+     * Optional. First name of the other party in a private chat
+     */
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private String first_name;
+
+    /**
+     * Optional. Last name of the other party in a private chat
+     */
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private String last_name;
+
+    /**
+     * The bits of the primitive fields which are present
+     */
+    private int present;
+
+    public long getId() {
+        return id;
+    }
+
+    public boolean hasId() {
+        return (present & ID) != 0;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+        this.present |= ID;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getFirst_name() {
+        return first_name;
+    }
+
+    public void setFirst_name(String first_name) {
+        this.first_name = first_name;
+    }
+
+    public String getLast_name() {
+        return last_name;
+    }
+
+    public void setLast_name(String last_name) {
+        this.last_name = last_name;
+    }
+
+    @Override
+    public String toString() {
+        return "CompactChat{" +
+                "id=" + (hasId() ? String.valueOf(id) : "null") +
+                ", type='" + type + '\'' +
+                ", title='" + title + '\'' +
+                ", username='" + username + '\'' +
+                ", first_name='" + first_name + '\'' +
+                ", last_name='" + last_name + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,86 @@
+package de.raysha.lib.telegram.bot.api.model.compact;
+
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
+import org.codehaus.jackson.map.annotate.JsonSerialize;
+
+/**
+ * Compact representation of {@link de.raysha.lib.telegram.bot.api.model.Contact}.
+ * The numbers and flags are primitives, {@link #hasUser_id()} and the like tell if they were present.
+ */
+@GenerateCodec
+public class CompactContact {
+    private static final int USER_ID = 1 << 0;
+
+    /**
+     * Contact's phone number
+     */
+    private String phone_number;
+
+    /**
+     * Contact's first name
+     */
+    private String first_name;
+
+    /**
+     * Optional. Contact's last name
+     */
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private String last_name;
+
+    /**
+     * Optional. Contact's user identifier in Telegram
+     */
+    private long user_id;
+
+    /**
+     * The bits of the primitive fields which are present
+     */
+    private int present;
+
+    public String getPhone_number() {
+        return phone_number;
+    }
+
+    public void setPhone_number(String phone_number) {
+        this.phone_number = phone_number;
+    }
+
+    public String getFirst_name() {
+        return first_name;
+    }
+
+    public void setFirst_name(String first_name) {
+        this.first_name = first_name;
+    }
+
+    public String getLast_name() {
+        return last_name;
+    }
+
+    public void setLast_name(String last_name) {
+        this.last_name = last_name;
+    }
+
+    public long getUser_id() {
+        return user_id;
+    }
+
+    public boolean hasUser_id() {
+        return (present & USER_ID) != 0;
+    }
+
+    public void setUser_id(long user_id) {
+        this.user_id = user_id;
+        this.present |= USER_ID;
+    }
+
+    @Override
+    public String toString() {
+        return "CompactContact{" +
+                "phone_number='" + phone_number + '\'' +
+                ", first_name='" + first_name + '\'' +
+                ", last_name='" + last_name + '\'' +
+                ", user_id=" + (hasUser_id() ? String.valueOf(user_id) : "null") +
+                '}';
+    }
+}
@@ -0,0 +1,101 @@
+package de.raysha.lib.telegram.bot.api.model.compact;
+
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
+import org.codehaus.jackson.map.annotate.JsonSerialize;
+
+/**
+ * Compact representation of {@link de.raysha.lib.telegram.bot.api.model.Document}.
+ * The numbers and flags are primitives, {@link #hasFile_size()} and the like tell if they were present.
+ */
+@GenerateCodec
+public class CompactDocument {
+    private static final int FILE_SIZE = 1 << 0;
+
+    /**
+     * Unique file identifier
+     */
+    private String file_id;
+
+    /**
+     * Document thumbnail as defined by sender
+     */
+    private CompactPhotoSize thumb;
+
+    /**
+     * Optional. Original filename as defined by sender
+     */
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private String file_name;
+
+    /**
+     * Optional. MIME type of the file as defined by sender
+     */
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private String mime_type;
+
+    /**
+     * Optional. File size
+     */
+    private int file_size;
+
+    /**
+     * The bits of the primitive fields which are present
+     */
+    private int present;
+
+    public String getFile_id() {
+        return file_id;
+    }
+
+    public void setFile_id(String file_id) {
+        this.file_id = file_id;
+    }
+
+    public CompactPhotoSize getThumb() {
+        return thumb;
+    }
+
+    public void setThumb(CompactPhotoSize thumb) {
+        this.thumb = thumb;
+    }
+
+    public String getFile_name() {
+        return file_name;
+    }
+
+    public void setFile_name(String file_name) {
+        this.file_name = file_name;
+    }
+
+    public String getMime_type() {
+        return mime_type;
+    }
+
+    public void setMime_type(String mime_type) {
+        this.mime_type = mime_type;
+    }
+
+    public int getFile_size() {
+        return file_size;
+    }
+
+    public boolean hasFile_size() {
+        return (present & FILE_SIZE) != 0;
+    }
+
+    public void setFile_size(int file_size) {
+        this.file_size = file_size;
+        this.present |= FILE_SIZE;
+    }
+
+    @Override
+    public String toString() {
+        return "CompactDocument{" +
+                "file_id='" + file_id + '\'' +
+                ", thumb=" + thumb +
+                ", file_name='" + file_name + '\'' +
+                ", mime_type='" + mime_type + '\'' +
+                ", file_size=" + (hasFile_size() ? String.valueOf(file_size) : "null") +
+                '}';
+    }
+}
@@ -0,0 +1,71 @@
+package de.raysha.lib.telegram.bot.api.model.compact;
+
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
+
+/**
+ * Compact representation of {@link de.raysha.lib.telegram.bot.api.model.InlineQuery}.
+ */
+@GenerateCodec
+public class CompactInlineQuery {
+    /**
+     * Unique identifier for this query
+     */
+    private String id;
+
+    /**
+     * Sender
+     */
+    private CompactUser from;
+
+    /**
+     * Text of the query
+     */
+    private String query;
+
+    /**
+     * Offset of the results to be returned, can be controlled by the bot
+     */
+    private String offset;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public CompactUser getFrom() {
+        return from;
+    }
+
+    public void setFrom(CompactUser from) {
+        this.from = from;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public String getOffset() {
+        return offset;
+    }
+
+    public void setOffset(String offset) {
+        this.offset = offset;
+    }
+
+    @Override
+    public String toString() {
+        return "CompactInlineQuery{" +
+                "id='" + id + '\'' +
+                ", from=" + from +
+                ", query='" + query + '\'' +
+                ", offset='" + offset + '\'' +
+                '}';
+    }
+}
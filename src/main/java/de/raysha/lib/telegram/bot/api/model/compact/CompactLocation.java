@@ -0,0 +1,62 @@
+package de.raysha.lib.telegram.bot.api.model.compact;
+
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
+
+/**
+ * Compact representation of {@link de.raysha.lib.telegram.bot.api.model.Location}.
+ * The numbers and flags are primitives, {@link #hasLongitude()} and the like tell if they were present.
+ */
+@GenerateCodec
+public class CompactLocation {
+    private static final int LONGITUDE = 1 << 0;
+    private static final int LATITUDE = 1 << 1;
+
+    /**
+     * Longitude as defined by sender
+     */
+    private float longitude;
+
+    /**
+     * Latitude as defined by sender
+     */
+    private float latitude;
+
+    /**
+     * The bits of the primitive fields which are present
+     */
+    private int present;
+
+    public float getLongitude() {
+        return longitude;
+    }
+
+    public boolean hasLongitude() {
+        return (present & LONGITUDE) != 0;
+    }
+
+    public void setLongitude(float longitude) {
+        this.longitude = longitude;
+        this.present |= LONGITUDE;
+    }
+
+    public float getLatitude() {
+        return latitude;
+    }
+
+    public boolean hasLatitude() {
+        return (present & LATITUDE) != 0;
+    }
+
+    public void setLatitude(float latitude) {
+        this.latitude = latitude;
+        this.present |= LATITUDE;
+    }
+
+    @Override
+    public String toString() {
+        return "CompactLocation{" +
+                "longitude=" + (hasLongitude() ? String.valueOf(longitude) : "null") +
+                ", latitude=" + (hasLatitude() ? String.valueOf(latitude) : "null") +
+                '}';
+    }
+}
@@ -0,0 +1,472 @@
+package de.raysha.lib.telegram.bot.api.model.compact;
+
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
+import org.codehaus.jackson.map.annotate.JsonSerialize;
+
+import java.util.List;
+
+/**
+ * Compact representation of {@link de.raysha.lib.telegram.bot.api.model.Message}.
+ * The numbers and flags are primitives, {@link #hasMessage_id()} and the like tell if they were present.
+ */
+@GenerateCodec
+public class CompactMessage {
+    private static final int MESSAGE_ID = 1 << 0;
+    private static final int DATE = 1 << 1;
+    private static final int FORWARD_DATE = 1 << 2;
+    private static final int DELETE_CHAT_PHOTO = 1 << 3;
+    private static final int GROUP_CHAT_CREATED = 1 << 4;
+    private static final int SUPERGROUP_CHAT_CREATED = 1 << 5;
+    private static final int CHANNEL_CHAT_CREATED = 1 << 6;
+    private static final int MIGRATE_TO_CHAT_ID = 1 << 7;
+    private static final int MIGRATE_FROM_CHAT_ID = 1 << 8;
+
+    /**
+     * Unique message identifier
+     */
+    private int message_id;
+
+    /**
+     * Sender
+     */
+    private CompactUser from;
+
+    /**
+     * Date the message was sent in Unix time
+     */
+    private int date;
+
+    /**
+     * Conversation the message belongs to
+     */
+    private CompactChat chat;
+
+    /**
+     * Optional. For forwarded messages, sender of the original message
+     */
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private CompactUser forward_from;
+
+    /**
+     * Optional. For forwarded messages, date the original message was sent in Unix time
+     */
+    private int forward_date;
+
+    /**
+     * Optional. For replies, the original message. Note that the Message object in this field will not contain further reply_to_message fields even if it itself is a reply.
+     */
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private CompactMessage reply_to_message;
+
+    /**
+     * Optional. For text messages, the actual UTF-8 text of the message
+     */
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private String text;
+
+    /**
+     * Optional. Message is an audio file, information about the file
+     */
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private CompactAudio audio;
+
+    /**
+     * Optional. Message is a general file, information about the file
+     */
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private CompactDocument document;
+
+    /**
+     * Optional. Message is a photo, available sizes of the photo
+     */
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private List<CompactPhotoSize> photo;
+
+    /**
+     * Optional. Message is a sticker, information about the sticker
+     */
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private CompactSticker sticker;
+
+    /**
+     * Optional. Message is a video, information about the video
+     */
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private CompactVideo video;
+
+    /**
+     * Optional. Message is a voice message, information about the file
+     */
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private CompactVoice voice;
+
+    /**
+     * Optional. Caption for the photo or video
+     */
+    private String caption;
+
+    /**
+     * Optional. Message is a shared contact, information about the contact
+     */
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private CompactContact contact;
+
+    /**
+     * Optional. Message is a shared location, information about the location
+     */
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private CompactLocation location;
+
+    /**
+     * Optional. A new member was added to the group, information about them (this member may be bot itself)
+     */
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private CompactUser new_chat_participant;
+
+    /**
+     * Optional. A member was removed from the group, information about them (this member may be bot itself)
+     */
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private CompactUser left_chat_participant;
+
+    /**
+     * Optional. A group title was changed to this value
+     */
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private String new_chat_title;
+
+    /**
+     * Optional. A group photo was change to this value
+     */
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private List<CompactPhotoSize> new_chat_photo;
+
+    /**
+     * Optional. Informs that the group photo was deleted
+     */
+    private boolean delete_chat_photo;
+
+    /**
+     * Optional. Informs that the group has been created
+     */
+    private boolean group_chat_created;
+
+    /**
+     * Optional. Service message: the supergroup has been created
+     */
+    private boolean supergroup_chat_created;
+
+    /**
+     * Optional. Service message: the channel has been created
+     */
+    private boolean channel_chat_created;
+
+    /**
+     * Optional. The group has been migrated to a supergroup with the specified identifier, not exceeding 1e13 by absolute value
+     */
+    private long migrate_to_chat_id;
+
+    /**
+     * Optional. The supergroup has been migrated from a group with the specified identifier, not exceeding 1e13 by absolute value
+     */
+    private long migrate_from_chat_id;
+
+    /**
+     * The bits of the primitive fields which are present
+     */
+    private int present;
+
+    public int getMessage_id() {
+        return message_id;
+    }
+
+    public boolean hasMessage_id() {
+        return (present & MESSAGE_ID) != 0;
+    }
+
+    public void setMessage_id(int message_id) {
+        this.message_id = message_id;
+        this.present |= MESSAGE_ID;
+    }
+
+    public CompactUser getFrom() {
+        return from;
+    }
+
+    public void setFrom(CompactUser from) {
+        this.from = from;
+    }
+
+    public int getDate() {
+        return date;
+    }
+
+    public boolean hasDate() {
+        return (present & DATE) != 0;
+    }
+
+    public void setDate(int date) {
+        this.date = date;
+        this.present |= DATE;
+    }
+
+    public CompactChat getChat() {
+        return chat;
+    }
+
+    public void setChat(CompactChat chat) {
+        this.chat = chat;
+    }
+
+    public CompactUser getForward_from() {
+        return forward_from;
+    }
+
+    public void setForward_from(CompactUser forward_from) {
+        this.forward_from = forward_from;
+    }
+
+    public int getForward_date() {
+        return forward_date;
+    }
+
+    public boolean hasForward_date() {
+        return (present & FORWARD_DATE) != 0;
+    }
+
+    public void setForward_date(int forward_date) {
+        this.forward_date = forward_date;
+        this.present |= FORWARD_DATE;
+    }
+
+    public CompactMessage getReply_to_message() {
+        return reply_to_message;
+    }
+
+    public void setReply_to_message(CompactMessage reply_to_message) {
+        this.reply_to_message = reply_to_message;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public CompactAudio getAudio() {
+        return audio;
+    }
+
+    public void setAudio(CompactAudio audio) {
+        this.audio = audio;
+    }
+
+    public CompactDocument getDocument() {
+        return document;
+    }
+
+    public void setDocument(CompactDocument document) {
+        this.document = document;
+    }
+
+    public List<CompactPhotoSize> getPhoto() {
+        return photo;
+    }
+
+    public void setPhoto(List<CompactPhotoSize> photo) {
+        this.photo = photo;
+    }
+
+    public CompactSticker getSticker() {
+        return sticker;
+    }
+
+    public void setSticker(CompactSticker sticker) {
+        this.sticker = sticker;
+    }
+
+    public CompactVideo getVideo() {
+        return video;
+    }
+
+    public void setVideo(CompactVideo video) {
+        this.video = video;
+    }
+
+    public CompactVoice getVoice() {
+        return voice;
+    }
+
+    public void setVoice(CompactVoice voice) {
+        this.voice = voice;
+    }
+
+    public String getCaption() {
+        return caption;
+    }
+
+    public void setCaption(String caption) {
+        this.caption = caption;
+    }
+
+    public CompactContact getContact() {
+        return contact;
+    }
+
+    public void setContact(CompactContact contact) {
+        this.contact = contact;
+    }
+
+    public CompactLocation getLocation() {
+        return location;
+    }
+
+    public void setLocation(CompactLocation location) {
+        this.location = location;
+    }
+
+    public CompactUser getNew_chat_participant() {
+        return new_chat_participant;
+    }
+
+    public void setNew_chat_participant(CompactUser new_chat_participant) {
+        this.new_chat_participant = new_chat_participant;
+    }
+
+    public CompactUser getLeft_chat_participant() {
+        return left_chat_participant;
+    }
+
+    public void setLeft_chat_participant(CompactUser left_chat_participant) {
+        this.left_chat_participant = left_chat_participant;
+    }
+
+    public String getNew_chat_title() {
+        return new_chat_title;
+    }
+
+    public void setNew_chat_title(String new_chat_title) {
+        this.new_chat_title = new_chat_title;
+    }
+
+    public List<CompactPhotoSize> getNew_chat_photo() {
+        return new_chat_photo;
+    }
+
+    public void setNew_chat_photo(List<CompactPhotoSize> new_chat_photo) {
+        this.new_chat_photo = new_chat_photo;
+    }
+
+    public boolean getDelete_chat_photo() {
+        return delete_chat_photo;
+    }
+
+    public boolean hasDelete_chat_photo() {
+        return (present & DELETE_CHAT_PHOTO) != 0;
+    }
+
+    public void setDelete_chat_photo(boolean delete_chat_photo) {
+        this.delete_chat_photo = delete_chat_photo;
+        this.present |= DELETE_CHAT_PHOTO;
+    }
+
+    public boolean getGroup_chat_created() {
+        return group_chat_created;
+    }
+
+    public boolean hasGroup_chat_created() {
+        return (present & GROUP_CHAT_CREATED) != 0;
+    }
+
+    public void setGroup_chat_created(boolean group_chat_created) {
+        this.group_chat_created = group_chat_created;
+        this.present |= GROUP_CHAT_CREATED;
+    }
+
+    public boolean getSupergroup_chat_created() {
+        return supergroup_chat_created;
+    }
+
+    public boolean hasSupergroup_chat_created() {
+        return (present & SUPERGROUP_CHAT_CREATED) != 0;
+    }
+
+    public void setSupergroup_chat_created(boolean supergroup_chat_created) {
+        this.supergroup_chat_created = supergroup_chat_created;
+        this.present |= SUPERGROUP_CHAT_CREATED;
+    }
+
+    public boolean getChannel_chat_created() {
+        return channel_chat_created;
+    }
+
+    public boolean hasChannel_chat_created() {
+        return (present & CHANNEL_CHAT_CREATED) != 0;
+    }
+
+    public void setChannel_chat_created(boolean channel_chat_created) {
+        this.channel_chat_created = channel_chat_created;
+        this.present |= CHANNEL_CHAT_CREATED;
+    }
+
+    public long getMigrate_to_chat_id() {
+        return migrate_to_chat_id;
+    }
+
+    public boolean hasMigrate_to_chat_id() {
+        return (present & MIGRATE_TO_CHAT_ID) != 0;
+    }
+
+    public void setMigrate_to_chat_id(long migrate_to_chat_id) {
+        this.migrate_to_chat_id = migrate_to_chat_id;
+        this.present |= MIGRATE_TO_CHAT_ID;
+    }
+
+    public long getMigrate_from_chat_id() {
+        return migrate_from_chat_id;
+    }
+
+    public boolean hasMigrate_from_chat_id() {
+        return (present & MIGRATE_FROM_CHAT_ID) != 0;
+    }
+
+    public void setMigrate_from_chat_id(long migrate_from_chat_id) {
+        this.migrate_from_chat_id = migrate_from_chat_id;
+        this.present |= MIGRATE_FROM_CHAT_ID;
+    }
+
+    @Override
+    public String toString() {
+        return "CompactMessage{" +
+                "message_id=" + (hasMessage_id() ? String.valueOf(message_id) : "null") +
+                ", from=" + from +
+                ", date=" + (hasDate() ? String.valueOf(date) : "null") +
+                ", chat=" + chat +
+                ", forward_from=" + forward_from +
+                ", forward_date=" + (hasForward_date() ? String.valueOf(forward_date) : "null") +
+                ", reply_to_message=" + reply_to_message +
+                ", text='" + text + '\'' +
+                ", audio=" + audio +
+                ", document=" + document +
+                ", photo=" + photo +
+                ", sticker=" + sticker +
+                ", video=" + video +
+                ", voice=" + voice +
+                ", caption='" + caption + '\'' +
+                ", contact=" + contact +
+                ", location=" + location +
+                ", new_chat_participant=" + new_chat_participant +
+                ", left_chat_participant=" + left_chat_participant +
+                ", new_chat_title='" + new_chat_title + '\'' +
+                ", new_chat_photo=" + new_chat_photo +
+                ", delete_chat_photo=" + (hasDelete_chat_photo() ? String.valueOf(delete_chat_photo) : "null") +
+                ", group_chat_created=" + (hasGroup_chat_created() ? String.valueOf(group_chat_created) : "null") +
+                ", supergroup_chat_created=" + (hasSupergroup_chat_created() ? String.valueOf(supergroup_chat_created) : "null") +
+                ", channel_chat_created=" + (hasChannel_chat_created() ? String.valueOf(channel_chat_created) : "null") +
+                ", migrate_to_chat_id=" + (hasMigrate_to_chat_id() ? String.valueOf(migrate_to_chat_id) : "null") +
+                ", migrate_from_chat_id=" + (hasMigrate_from_chat_id() ? String.valueOf(migrate_from_chat_id) : "null") +
+                '}';
+    }
+}
@@ -0,0 +1,110 @@
+package de.raysha.lib.telegram.bot.api.model.compact;
+
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
+
+/**
+ * Compact representation of {@link de.raysha.lib.telegram.bot.api.model.Sticker}.
+ * The numbers and flags are primitives, {@link #hasWidth()} and the like tell if they were present.
+ */
+@GenerateCodec
+public class CompactSticker {
+    private static final int WIDTH = 1 << 0;
+    private static final int HEIGHT = 1 << 1;
+    private static final int FILE_SIZE = 1 << 2;
+
+    /**
+     * Unique identifier for this file
+     */
+    private String file_id;
+
+    /**
+     * Sticker width
+     */
+    private int width;
+
+    /**
+     * Sticker height
+     */
+    private int height;
+
+    /**
+     * Sticker thumbnail in .webp or .jpg format
+     */
+    private CompactPhotoSize thumb;
+
+    /**
+     * Optional. File size
+     */
+    private int file_size;
+
+    /**
+     * The bits of the primitive fields which are present
+     */
+    private int present;
+
+    public String getFile_id() {
+        return file_id;
+    }
+
+    public void setFile_id(String file_id) {
+        this.file_id = file_id;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public boolean hasWidth() {
+        return (present & WIDTH) != 0;
+    }
+
+    public void setWidth(int width) {
+        this.width = width;
+        this.present |= WIDTH;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public boolean hasHeight() {
+        return (present & HEIGHT) != 0;
+    }
+
+    public void setHeight(int height) {
+        this.height = height;
+        this.present |= HEIGHT;
+    }
+
+    public CompactPhotoSize getThumb() {
+        return thumb;
+    }
+
+    public void setThumb(CompactPhotoSize thumb) {
+        this.thumb = thumb;
+    }
+
+    public int getFile_size() {
+        return file_size;
+    }
+
+    public boolean hasFile_size() {
+        return (present & FILE_SIZE) != 0;
+    }
+
+    public void setFile_size(int file_size) {
+        this.file_size = file_size;
+        this.present |= FILE_SIZE;
+    }
+
+    @Override
+    public String toString() {
+        return "CompactSticker{" +
+                "file_id='" + file_id + '\'' +
+                ", width=" + (hasWidth() ? String.valueOf(width) : "null") +
+                ", height=" + (hasHeight() ? String.valueOf(height) : "null") +
+                ", thumb=" + thumb +
+                ", file_size=" + (hasFile_size() ? String.valueOf(file_size) : "null") +
+                '}';
+    }
+}
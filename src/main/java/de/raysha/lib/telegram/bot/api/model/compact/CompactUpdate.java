@@ -0,0 +1,75 @@
+package de.raysha.lib.telegram.bot.api.model.compact;
+
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
+import org.codehaus.jackson.map.annotate.JsonSerialize;
+
+/**
+ * Compact representation of {@link de.raysha.lib.telegram.bot.api.model.Update}.
+ * The numbers and flags are primitives, {@link #hasUpdate_id()} and the like tell if they were present.
+ */
+@GenerateCodec
+public class CompactUpdate {
+    private static final int UPDATE_ID = 1 << 0;
+
+    /**
+     * The update‘s unique identifier. Update identifiers start from a certain positive number and increase
+     * sequentially. This ID becomes especially handy if you’re using Webhooks, since it allows you to ignore
+     * repeated updates or to restore the correct update sequence, should they get out of order.
+     */
+    private int update_id;
+
+    /**
+     * Optional. New incoming message of any kind — text, photo, sticker, etc.
+     */
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private CompactMessage message;
+
+    /**
+     * Optional. New incoming <a href="https://core.telegram.org/bots/api#inline-mode" >inline</a> query
+     */
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private CompactInlineQuery inline_query;
+
+    /**
+     * The bits of the primitive fields which are present
+     */
+    private int present;
+
+    public int getUpdate_id() {
+        return update_id;
+    }
+
+    public boolean hasUpdate_id() {
+        return (present & UPDATE_ID) != 0;
+    }
+
+    public void setUpdate_id(int update_id) {
+        this.update_id = update_id;
+        this.present |= UPDATE_ID;
+    }
+
+    public CompactMessage getMessage() {
+        return message;
+    }
+
+    public void setMessage(CompactMessage message) {
+        this.message = message;
+    }
+
+    public CompactInlineQuery getInline_query() {
+        return inline_query;
+    }
+
+    public void setInline_query(CompactInlineQuery inline_query) {
+        this.inline_query = inline_query;
+    }
+
+    @Override
+    public String toString() {
+        return "CompactUpdate{" +
+                "update_id=" + (hasUpdate_id() ? String.valueOf(update_id) : "null") +
+                ", message=" + message +
+                ", inline_query=" + inline_query +
+                '}';
+    }
+}
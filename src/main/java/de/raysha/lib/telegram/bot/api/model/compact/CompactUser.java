@@ -0,0 +1,87 @@
+package de.raysha.lib.telegram.bot.api.model.compact;
+
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
+import org.codehaus.jackson.map.annotate.JsonSerialize;
+
+/**
+ * Compact representation of {@link de.raysha.lib.telegram.bot.api.model.User}.
+ * The numbers and flags are primitives, {@link #hasId()} and the like tell if they were present.
+ */
+@GenerateCodec
+public class CompactUser {
+    private static final int ID = 1 << 0;
+
+    /**
+     * Unique identifier for this user or bot
+     */
+    private long id;
+
+    /**
+     * User's or bot's first name
+     */
+    private String first_name;
+
+    /**
+     * Optional. User's or bot's last name
+     */
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private String last_name;
+
+    /**
+     * Optional. User's or bot's username
+     */
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private String username;
+
+    /**
+     * The bits of the primitive fields which are present
+     */
+    private int present;
+
+    public long getId() {
+        return id;
+    }
+
+    public boolean hasId() {
+        return (present & ID) != 0;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+        this.present |= ID;
+    }
+
+    public String getFirst_name() {
+        return first_name;
+    }
+
+    public void setFirst_name(String first_name) {
+        this.first_name = first_name;
+    }
+
+    public String getLast_name() {
+        return last_name;
+    }
+
+    public void setLast_name(String last_name) {
+        this.last_name = last_name;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    @Override
+    public String toString() {
+        return "CompactUser{" +
+                "id=" + (hasId() ? String.valueOf(id) : "null") +
+                ", first_name='" + first_name + '\'' +
+                ", last_name='" + last_name + '\'' +
+                ", username='" + username + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,161 @@
+package de.raysha.lib.telegram.bot.api.model.compact;
+
+import de.raysha.lib.telegram.bot.api.codec.GenerateCodec;
+import org.codehaus.jackson.map.annotate.JsonSerialize;
+
+/**
+ * Compact representation of {@link de.raysha.lib.telegram.bot.api.model.Video}.
+ * The numbers and flags are primitives, {@link #hasWidth()} and the like tell if they were present.
+ */
+@GenerateCodec
+public class CompactVideo {
+    private static final int WIDTH = 1 << 0;
+    private static final int HEIGHT = 1 << 1;
+    private static final int DURATION = 1 << 2;
+    private static final int FILE_SIZE = 1 << 3;
+
+    /**
+     * Unique identifier for this file
+     */
+    private String file_id;
+
+    /**
+     * Video width as defined by sender
+     */
+    private int width;
+
+    /**
+     * Video height as defined by sender
+     */
+    private int height;
+
+    /**
+     * Duration of the video in seconds as defined by sender
+     */
+    private int duration;
+
+    /**
+     * Video thumbnail
+     */
+    private CompactPhotoSize thumb;
+
+    /**
+     * Optional. Mime type of a file as defined by sender
+     */
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private String mime_type;
+
+    /**
+     * Optional. File size
+     */
+    private int file_size;
+
+    /**
+     * Optional. Text description of the video (usually empty)
+     */
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private String caption;
+
+    /**
+     * The bits of the primitive fields which are present
+     */
+    private int present;
+
+    public String getFile_id() {
+        return file_id;
+    }
+
+    public void setFile_id(String file_id) {
+        this.file_id = file_id;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public boolean hasWidth() {
+        return (present & WIDTH) != 0;
+    }
+
+    public void setWidth(int width) {
+        this.width = width;
+        this.present |= WIDTH;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public boolean hasHeight() {
+        return (present & HEIGHT) != 0;
+    }
+
+    public void setHeight(int height) {
+        this.height = height;
+        this.present |= HEIGHT;
+    }
+
+    public int getDuration() {
+        return duration;
+    }
+
+    public boolean hasDuration() {
+        return (present & DURATION) != 0;
+    }
+
+    public void setDuration(int duration) {
+        this.duration = duration;
+        this.present |= DURATION;
+    }
+
+    public CompactPhotoSize getThumb() {
+        return thumb;
+    }
+
+    public void setThumb(CompactPhotoSize thumb) {
+        this.thumb = thumb;
+    }
+
+    public String getMime_type() {
+        return mime_type;
+    }
+
+    public void setMime_type(String mime_type) {
+        this.mime_type = mime_type;
+    }
+
+    public int getFile_size() {
+        return file_size;
+    }
+
+    public boolean hasFile_size() {
+        return (present & FILE_SIZE) != 0;
+    }
+
+    public void setFile_size(int file_size) {
+        this.file_size = file_size;
+        this.present |= FILE_SIZE;
+    }
+
+    public String getCaption() {
+        return caption;
+    }
+
+    public void setCaption(String caption) {
+        this.caption = caption;
+    }
+
+    @Override
+    public String toString() {
+        return "CompactVideo{" +
+                "file_id='" + file_id + '\'' +
+                ", width=" + (hasWidth() ? String.valueOf(width) : "null") +
+                ", height=" + (hasHeight() ? String.valueOf(height) : "null") +
+                ", duration=" + (hasDuration() ? String.valueOf(duration) : "null") +
+                ", thumb=" + thumb +
+                ", mime_type='" + mime_type + '\'' +
+                ", file_size=" + (hasFile_size() ? String.valueOf(file_size) : "null") +
+                ", caption='" + caption + '\'' +
+                '}';
+    }
+}
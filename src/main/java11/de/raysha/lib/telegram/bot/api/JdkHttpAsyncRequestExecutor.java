@@ -0,0 +1,103 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.exception.BotException;
+import de.raysha.lib.telegram.bot.api.model.InputFile;
+import org.codehaus.jackson.type.JavaType;
+
+import java.io.ByteArrayInputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Uses the asynchronous API of the http client of the JDK (java.net.http) for making http requests.
+ * The client negotiates HTTP/2, so concurrent requests share a few multiplexed connections.
+ * Neither Unirest nor org.json are needed.
+ */
+public class JdkHttpAsyncRequestExecutor implements AsyncRequestExecutor {
+
+    private final String baseUrl;
+    private final ConnectionPoolConfig config;
+    private final Executor callbackExecutor;
+    private final HttpClient httpClient;
+    private final ResponseDecoder decoder;
+
+    /**
+     * @return whether the http client of the JDK is available, always true for the classes of Java 11
+     */
+    public static boolean isSupported() {
+        return true;
+    }
+
+    public JdkHttpAsyncRequestExecutor(String baseUrl) {
+        this(baseUrl, new ConnectionPoolConfig(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param baseUrl the base url of the api (https://api.telegram.org/bot%TOKEN%/)
+     * @param config the connect and read timeouts are used. The JDK manages the connections itself.
+     * @param callbackExecutor the executor that decodes the responses and completes the futures
+     */
+    public JdkHttpAsyncRequestExecutor(String baseUrl, ConnectionPoolConfig config, Executor callbackExecutor) {
+        this(baseUrl, config, callbackExecutor, JsonCodecs.shared());
+    }
+
+    /**
+     * @param baseUrl the base url of the api (https://api.telegram.org/bot%TOKEN%/)
+     * @param config the connect and read timeouts are used. The JDK manages the connections itself.
+     * @param callbackExecutor the executor that decodes the responses and completes the futures
+     * @param codecs the codecs which decode the responses, e.g. with lazy decoding (see {@link JsonCodecs#create()})
+     */
+    public JdkHttpAsyncRequestExecutor(String baseUrl, ConnectionPoolConfig config, Executor callbackExecutor, JsonCodecs codecs) {
+        this.baseUrl = baseUrl;
+        this.decoder = new ResponseDecoder(codecs);
+        this.config = config;
+        this.callbackExecutor = callbackExecutor;
+        this.httpClient = JdkHttpRequests.newClient(config, callbackExecutor);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> get(String action, Map<String, Object> parameters, JavaType resultType) {
+        return sendAndHandleRequest(JdkHttpRequests.get(baseUrl + action, parameters, config), resultType);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> post(String action, Map<String, Object> parameters, JavaType resultType) {
+        return sendAndHandleRequest(JdkHttpRequests.post(baseUrl + action, parameters, config), resultType);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> post(String action, RequestBody body, JavaType resultType) {
+        return sendAndHandleRequest(JdkHttpRequests.post(baseUrl + action, body, config), resultType);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> post(String action, Map<String, Object> parameters, String fileName, InputFile file, JavaType resultType) {
+        return sendAndHandleRequest(JdkHttpRequests.post(baseUrl + action, parameters, fileName, file, config), resultType);
+    }
+
+    private <T> CompletableFuture<T> sendAndHandleRequest(HttpRequest request, final JavaType resultType) {
+        final CompletableFuture<T> result = new CompletableFuture<T>();
+
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).whenCompleteAsync((response, failure) -> {
+            if(failure != null) {
+                final Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+                result.completeExceptionally(new BotException("Could not get a response.", cause));
+                return;
+            }
+
+            try {
+                result.complete(decoder.<T>decode(new ByteArrayInputStream(response.body()), resultType));
+            } catch (BotException e) {
+                result.completeExceptionally(e);
+            }
+        }, callbackExecutor);
+
+        return result;
+    }
+}
@@ -0,0 +1,90 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.exception.BotException;
+import de.raysha.lib.telegram.bot.api.model.InputFile;
+import org.codehaus.jackson.type.JavaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+
+/**
+ * Uses the http client of the JDK (java.net.http) for making http requests. The client negotiates HTTP/2,
+ * so concurrent requests share a few multiplexed connections. Neither Unirest nor org.json are needed.
+ */
+public class JdkHttpRequestExecutor implements RequestExecutor {
+
+    private final String baseUrl;
+    private final ConnectionPoolConfig config;
+    private final HttpClient httpClient;
+    private final ResponseDecoder decoder;
+
+    /**
+     * @return whether the http client of the JDK is available, always true for the classes of Java 11
+     */
+    public static boolean isSupported() {
+        return true;
+    }
+
+    public JdkHttpRequestExecutor(String baseUrl) {
+        this(baseUrl, new ConnectionPoolConfig());
+    }
+
+    /**
+     * @param baseUrl the base url of the api (https://api.telegram.org/bot%TOKEN%/)
+     * @param config the connect and read timeouts are used. The JDK manages the connections itself.
+     */
+    public JdkHttpRequestExecutor(String baseUrl, ConnectionPoolConfig config) {
+        this(baseUrl, config, JsonCodecs.shared());
+    }
+
+    /**
+     * @param baseUrl the base url of the api (https://api.telegram.org/bot%TOKEN%/)
+     * @param config the connect and read timeouts are used. The JDK manages the connections itself.
+     * @param codecs the codecs which decode the responses, e.g. with lazy decoding (see {@link JsonCodecs#create()})
+     */
+    public JdkHttpRequestExecutor(String baseUrl, ConnectionPoolConfig config, JsonCodecs codecs) {
+        this.baseUrl = baseUrl;
+        this.decoder = new ResponseDecoder(codecs);
+        this.config = config;
+        this.httpClient = JdkHttpRequests.newClient(config, null);
+    }
+
+    @Override
+    public <T> T get(String action, Map<String, Object> parameters, JavaType resultType) throws BotException {
+        return sendAndHandleRequest(JdkHttpRequests.get(baseUrl + action, parameters, config), resultType);
+    }
+
+    @Override
+    public <T> T post(String action, Map<String, Object> parameters, JavaType resultType) throws BotException {
+        return sendAndHandleRequest(JdkHttpRequests.post(baseUrl + action, parameters, config), resultType);
+    }
+
+    @Override
+    public <T> T post(String action, RequestBody body, JavaType resultType) throws BotException {
+        return sendAndHandleRequest(JdkHttpRequests.post(baseUrl + action, body, config), resultType);
+    }
+
+    @Override
+    public <T> T post(String action, Map<String, Object> parameters, String fileName, InputFile file, JavaType resultType) throws BotException {
+        return sendAndHandleRequest(JdkHttpRequests.post(baseUrl + action, parameters, fileName, file, config), resultType);
+    }
+
+    private <T> T sendAndHandleRequest(HttpRequest request, JavaType resultType) throws BotException {
+        final HttpResponse<InputStream> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException | UncheckedIOException e) {
+            throw new BotException("Could not get a response.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BotException("Interrupted while waiting for the response.", e);
+        }
+
+        return decoder.decode(response.body(), resultType);
+    }
+}
@@ -0,0 +1,93 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.model.InputFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+/**
+ * Builds the clients and requests of the executors which use the http client of the JDK.
+ */
+final class JdkHttpRequests {
+
+    private JdkHttpRequests() {
+    }
+
+    static HttpClient newClient(ConnectionPoolConfig config, Executor executor) {
+        final HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2);
+
+        if(config.getConnectTimeout() > 0) builder.connectTimeout(Duration.ofMillis(config.getConnectTimeout()));
+        if(executor != null) builder.executor(executor);
+
+        return builder.build();
+    }
+
+    static HttpRequest get(String url, Map<String, Object> parameters, ConnectionPoolConfig config) {
+        return request(url + FormEncoding.queryString(parameters), config)
+                .GET()
+                .build();
+    }
+
+    static HttpRequest post(String url, Map<String, Object> parameters, ConnectionPoolConfig config) {
+        return request(url, config)
+                .header("Content-Type", "application/x-www-form-urlencoded; charset=UTF-8")
+                .POST(HttpRequest.BodyPublishers.ofString(FormEncoding.encode(parameters), StandardCharsets.UTF_8))
+                .build();
+    }
+
+    static HttpRequest post(String url, RequestBody body, ConnectionPoolConfig config) {
+        return request(url, config)
+                .header("Content-Type", body.getContentType())
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.getContent()))
+                .build();
+    }
+
+    /**
+     * The content of the file is streamed into the connection. If the length of the file is known
+     * the body is sent with a content length instead of chunks.
+     */
+    static HttpRequest post(String url, Map<String, Object> parameters, String fileName, final InputFile file, ConnectionPoolConfig config) {
+        final String boundary = UUID.randomUUID().toString().replace("-", "");
+        final byte[] head = ("--" + boundary + "\r\n" +
+                "Content-Disposition: form-data; name=\"" + fileName + "\"; filename=\"" + file.getName() + "\"\r\n" +
+                "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+        final byte[] tail = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8);
+
+        HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.ofInputStream(() -> {
+            final InputStream content;
+            try {
+                content = file.openStream();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return new SequenceInputStream(new SequenceInputStream(
+                    new ByteArrayInputStream(head), content), new ByteArrayInputStream(tail));
+        });
+        if(file.getLength() >= 0) {
+            body = HttpRequest.BodyPublishers.fromPublisher(body, head.length + file.getLength() + tail.length);
+        }
+
+        return request(url + FormEncoding.queryString(parameters), config)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(body)
+                .build();
+    }
+
+    private static HttpRequest.Builder request(String url, ConnectionPoolConfig config) {
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url));
+        if(config.getReadTimeout() > 0) builder.timeout(Duration.ofMillis(config.getReadTimeout()));
+        return builder;
+    }
+}
@@ -0,0 +1,156 @@
+package de.raysha.lib.telegram.bot.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import de.raysha.lib.telegram.bot.api.exception.BotApiException;
+import de.raysha.lib.telegram.bot.api.exception.BotException;
+import de.raysha.lib.telegram.bot.api.model.ChatId;
+import de.raysha.lib.telegram.bot.api.model.InputFile;
+import de.raysha.lib.telegram.bot.api.model.Message;
+import de.raysha.lib.telegram.bot.api.model.User;
+import org.codehaus.jackson.type.JavaType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AsyncTelegramBotTest {
+    private HttpServer server;
+    private String baseUrl;
+
+    private volatile String lastBody;
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/bot123/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                lastBody = read(exchange.getRequestBody());
+
+                final String action = exchange.getRequestURI().getPath().substring("/bot123/".length());
+                final String response;
+                if("getMe".equals(action)) {
+                    response = "{\"ok\":true,\"result\":{\"id\":1,\"first_name\":\"Bot\"}}";
+                } else if("sendMessage".equals(action)) {
+                    response = "{\"ok\":true,\"result\":{\"message_id\":7,\"text\":\"hello\"}}";
+                } else if("sendChatAction".equals(action)) {
+                    response = "{\"ok\":true,\"result\":false}";
+                } else {
+                    response = "{\"ok\":false,\"error_code\":404,\"description\":\"Not Found\"}";
+                }
+
+                final byte[] bytes = response.getBytes("UTF-8");
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, bytes.length);
+                final OutputStream out = exchange.getResponseBody();
+                out.write(bytes);
+                out.close();
+            }
+        });
+        server.start();
+
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/bot123/";
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void requests() throws Exception {
+        final AsyncTelegramBot bot = new AsyncTelegramBot(new UnirestAsyncRequestExecutor(baseUrl));
+
+        User me = bot.getMe().get(10, TimeUnit.SECONDS);
+        assertEquals("Bot", me.getFirst_name());
+
+        Message message = bot.sendMessage(new ChatId(42), "hello wörld").get(10, TimeUnit.SECONDS);
+        assertEquals(Integer.valueOf(7), message.getMessage_id());
+        assertTrue(lastBody.contains("text=hello+w%C3%B6rld"));
+        assertTrue(lastBody.contains("chat_id=42"));
+
+        assertFalse(bot.sendChatAction(new ChatId(42), BotAPI.ChatAction.typing).get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void apiError() throws Exception {
+        try {
+            new AsyncTelegramBot(new UnirestAsyncRequestExecutor(baseUrl)).getFile("abc").get(10, TimeUnit.SECONDS);
+            fail("ExecutionException expected");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof BotApiException);
+            assertEquals(404, ((BotApiException) e.getCause()).getErrorCode());
+        }
+    }
+
+    @Test
+    public void connectionError() throws Exception {
+        // a port which nobody listens on
+        final ServerSocket socket = new ServerSocket(0);
+        final int port = socket.getLocalPort();
+        socket.close();
+
+        try {
+            new AsyncTelegramBot(new UnirestAsyncRequestExecutor("http://127.0.0.1:" + port + "/bot123/"))
+                    .getMe().get(10, TimeUnit.SECONDS);
+            fail("ExecutionException expected");
+        } catch (ExecutionException e) {
+            assertEquals(BotException.class, e.getCause().getClass());
+        }
+    }
+
+    @Test
+    public void synchronousError() throws Exception {
+        final AsyncRequestExecutor failing = new AsyncRequestExecutor() {
+            @Override
+            public <T> CompletableFuture<T> get(String action, Map<String, Object> parameters, JavaType resultType) {
+                throw new IllegalArgumentException("bad parameter");
+            }
+
+            @Override
+            public <T> CompletableFuture<T> post(String action, Map<String, Object> parameters, JavaType resultType) {
+                throw new IllegalArgumentException("bad parameter");
+            }
+
+            @Override
+            public <T> CompletableFuture<T> post(String action, Map<String, Object> parameters, String fileName, InputFile file, JavaType resultType) {
+                throw new IllegalArgumentException("bad parameter");
+            }
+        };
+
+        final CompletableFuture<User> result = new AsyncTelegramBot(failing).getMe();
+        try {
+            result.get(10, TimeUnit.SECONDS);
+            fail("ExecutionException expected");
+        } catch (ExecutionException e) {
+            assertEquals(IllegalArgumentException.class, e.getCause().getClass());
+        }
+    }
+
+    private static String read(InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[1024];
+        int read;
+        while((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toString("UTF-8");
+    }
+}
@@ -0,0 +1,199 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.exception.BotApiException;
+import de.raysha.lib.telegram.bot.api.exception.BotException;
+import de.raysha.lib.telegram.bot.api.exception.BulkheadFullException;
+import de.raysha.lib.telegram.bot.api.exception.CircuitOpenException;
+import de.raysha.lib.telegram.bot.api.model.InputFile;
+import org.codehaus.jackson.type.JavaType;
+import org.junit.Test;
+
+import java.net.ConnectException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CircuitBreakerRequestExecutorTest {
+
+    @Test
+    public void failFast() throws Exception {
+        final StubExecutor stub = new StubExecutor();
+        final CircuitBreakerConfig config = new CircuitBreakerConfig();
+        config.setFailureThreshold(2);
+        config.setOpenDuration(200);
+        final CircuitBreakerRequestExecutor executor = new CircuitBreakerRequestExecutor(stub, config);
+
+        stub.error = new BotException(new ConnectException());
+        for(int i = 0; i < 2; i++) {
+            try {
+                executor.post("sendMessage", parameters(), null);
+                fail("BotException expected");
+            } catch (CircuitOpenException e) {
+                fail("circuit breaker opened too early");
+            } catch (BotException e) {
+            }
+        }
+        assertEquals(CircuitBreaker.State.OPEN, executor.getState(ApiMethod.Group.SENDING));
+
+        try {
+            executor.post("sendMessage", parameters(), null);
+            fail("CircuitOpenException expected");
+        } catch (CircuitOpenException e) {
+            assertTrue(e.getRetryAfter() > 0);
+        }
+        assertEquals(2, stub.calls);
+
+        // the other groups are not affected
+        stub.error = null;
+        assertEquals("done", executor.get("getFile", parameters(), null));
+        assertEquals(CircuitBreaker.State.CLOSED, executor.getState(ApiMethod.Group.FILE_METADATA));
+
+        Thread.sleep(250);
+        assertEquals("done", executor.post("sendMessage", parameters(), null));
+        assertEquals(CircuitBreaker.State.CLOSED, executor.getState(ApiMethod.Group.SENDING));
+    }
+
+    @Test
+    public void errorsCloseTheTrial() throws Exception {
+        final StubExecutor stub = new StubExecutor();
+        final CircuitBreakerConfig config = new CircuitBreakerConfig();
+        config.setFailureThreshold(1);
+        config.setOpenDuration(50);
+        final CircuitBreakerRequestExecutor executor = new CircuitBreakerRequestExecutor(stub, config);
+
+        stub.error = new BotException(new ConnectException());
+        try {
+            executor.post("sendMessage", parameters(), null);
+            fail("BotException expected");
+        } catch (BotException e) {
+        }
+        assertEquals(CircuitBreaker.State.OPEN, executor.getState(ApiMethod.Group.SENDING));
+
+        // the trial request fails with an error, which is a failure as well
+        Thread.sleep(80);
+        stub.error = null;
+        stub.fatal = new StackOverflowError();
+        try {
+            executor.post("sendMessage", parameters(), null);
+            fail("StackOverflowError expected");
+        } catch (StackOverflowError e) {
+        }
+        assertEquals(CircuitBreaker.State.OPEN, executor.getState(ApiMethod.Group.SENDING));
+
+        Thread.sleep(80);
+        stub.fatal = null;
+        assertEquals("done", executor.post("sendMessage", parameters(), null));
+        assertEquals(CircuitBreaker.State.CLOSED, executor.getState(ApiMethod.Group.SENDING));
+    }
+
+    @Test
+    public void clientErrorsDoNotOpen() throws Exception {
+        final StubExecutor stub = new StubExecutor();
+        final CircuitBreakerConfig config = new CircuitBreakerConfig();
+        config.setFailureThreshold(1);
+        final CircuitBreakerRequestExecutor executor = new CircuitBreakerRequestExecutor(stub, config);
+
+        stub.error = new BotApiException(400, null, "Bad Request");
+        try {
+            executor.get("getFile", parameters(), null);
+            fail("BotApiException expected");
+        } catch (BotApiException e) {
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, executor.getState(ApiMethod.Group.FILE_METADATA));
+    }
+
+    @Test
+    public void bulkhead() throws Exception {
+        final StubExecutor stub = new StubExecutor();
+        stub.block = new CountDownLatch(1);
+        final CircuitBreakerConfig config = new CircuitBreakerConfig();
+        config.setMaxConcurrentRequests(ApiMethod.Group.UPLOADS, 1);
+        final CircuitBreakerRequestExecutor executor = new CircuitBreakerRequestExecutor(stub, config);
+
+        final Thread upload = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    executor.post("sendPhoto", parameters(), "photo", InputFile.of("a.jpg", new byte[1]), null);
+                } catch (BotException e) {
+                }
+            }
+        });
+        upload.start();
+        assertTrue(stub.started.await(5, TimeUnit.SECONDS));
+
+        try {
+            executor.post("sendDocument", parameters(), "document", InputFile.of("b.txt", new byte[1]), null);
+            fail("BulkheadFullException expected");
+        } catch (BulkheadFullException e) {
+        }
+        assertEquals(0, executor.getAvailableRequests(ApiMethod.Group.UPLOADS));
+
+        // replies are not blocked by the uploads
+        stub.block = null;
+        assertEquals("done", executor.post("sendMessage", parameters(), null));
+
+        stub.release();
+        upload.join(5000);
+        assertEquals(1, executor.getAvailableRequests(ApiMethod.Group.UPLOADS));
+    }
+
+    private static Map<String, Object> parameters() {
+        return Collections.<String, Object>singletonMap("chat_id", 42);
+    }
+
+    private static class StubExecutor implements RequestExecutor {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private volatile CountDownLatch block;
+        private volatile CountDownLatch blocked;
+        private volatile BotException error;
+        private volatile Error fatal;
+        private int calls;
+
+        @Override
+        public <T> T get(String action, Map<String, Object> parameters, JavaType resultType) throws BotException {
+            return call();
+        }
+
+        @Override
+        public <T> T post(String action, Map<String, Object> parameters, JavaType resultType) throws BotException {
+            return call();
+        }
+
+        @Override
+        public <T> T post(String action, Map<String, Object> parameters, String fileName, InputFile file, JavaType resultType) throws BotException {
+            return call();
+        }
+
+        void release() {
+            blocked.countDown();
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T call() throws BotException {
+            calls++;
+            final CountDownLatch latch = block;
+            if(latch != null) {
+                blocked = latch;
+                started.countDown();
+                try {
+                    latch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new BotException(e);
+                }
+            }
+            if(error != null) {
+                throw error;
+            }
+            if(fatal != null) {
+                throw fatal;
+            }
+            return (T) "done";
+        }
+    }
+}
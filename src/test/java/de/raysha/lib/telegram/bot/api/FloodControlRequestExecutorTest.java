@@ -0,0 +1,149 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.exception.BotApiException;
+import de.raysha.lib.telegram.bot.api.exception.BotException;
+import de.raysha.lib.telegram.bot.api.model.InputFile;
+import de.raysha.lib.telegram.bot.api.model.ResponseParameters;
+import org.codehaus.jackson.type.JavaType;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class FloodControlRequestExecutorTest {
+
+    @Test
+    public void retryAfter() throws BotException {
+        final LimitedExecutor limited = new LimitedExecutor(1);
+        final FloodControlRequestExecutor executor = new FloodControlRequestExecutor(limited);
+
+        final long start = System.nanoTime();
+        assertEquals("done", executor.post("sendMessage", chat(42), null));
+        final long waited = System.nanoTime() - start;
+
+        assertEquals(2, limited.calls.get());
+        assertTrue("waited " + waited, waited >= 1000000000L);
+        assertFalse(executor.isBlocked(42));
+    }
+
+    @Test
+    public void holdSameChat() throws BotException {
+        final LimitedExecutor limited = new LimitedExecutor(1);
+        final FloodControlRequestExecutor executor = new FloodControlRequestExecutor(limited, 0, 300);
+
+        try {
+            executor.post("sendMessage", chat(42), null);
+            fail("BotApiException expected");
+        } catch (BotApiException e) {
+            assertEquals(429, e.getErrorCode());
+        }
+        assertTrue(executor.isBlocked(42));
+        assertFalse(executor.isBlocked(43));
+
+        assertEquals("done", executor.post("sendMessage", chat(43), null));
+        assertEquals(2, limited.calls.get());
+
+        final long start = System.nanoTime();
+        assertEquals("done", executor.post("sendMessage", chat(42), null));
+        assertTrue(System.nanoTime() - start >= 900000000L);
+    }
+
+    @Test
+    public void holdChatOfEncodedBody() throws BotException {
+        final LimitedExecutor limited = new LimitedExecutor(1);
+        final FloodControlRequestExecutor executor = new FloodControlRequestExecutor(limited, 0, 300);
+
+        try {
+            executor.post("sendMessage", RequestBodyWriter.form().param("chat_id", 42).param("text", "a").build(), null);
+            fail("BotApiException expected");
+        } catch (BotApiException e) {
+            assertEquals(429, e.getErrorCode());
+        }
+        assertTrue(executor.isBlocked(42));
+        assertFalse(executor.isBlocked(43));
+    }
+
+    @Test
+    public void forgetExpiredBlocks() throws Exception {
+        final LimitedExecutor limited = new LimitedExecutor(2);
+        final FloodControlRequestExecutor executor = new FloodControlRequestExecutor(limited, 0, 300);
+
+        for(int chat = 42; chat <= 43; chat++) {
+            try {
+                executor.post("sendMessage", chat(chat), null);
+                fail("BotApiException expected");
+            } catch (BotApiException e) {
+                assertEquals(429, e.getErrorCode());
+            }
+            // chat 42 never sends a request again
+            Thread.sleep(1100);
+        }
+
+        assertEquals(1, executor.getBlockedCount());
+        assertFalse(executor.isBlocked(42));
+    }
+
+    @Test
+    public void noRetryOfStreams() throws BotException {
+        final LimitedExecutor limited = new LimitedExecutor(1);
+        final FloodControlRequestExecutor executor = new FloodControlRequestExecutor(limited);
+
+        try {
+            executor.post("sendDocument", chat(42), "document",
+                    InputFile.of("a.txt", new ByteArrayInputStream(new byte[1])), null);
+            fail("BotApiException expected");
+        } catch (BotApiException e) {
+            assertEquals(1, limited.calls.get());
+        }
+    }
+
+    private static Map<String, Object> chat(Object chatId) {
+        final Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put("chat_id", chatId);
+        return parameters;
+    }
+
+    /**
+     * Answers the first requests with error 429 and retry_after 1.
+     */
+    private static class LimitedExecutor implements RequestExecutor {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final int limited;
+
+        LimitedExecutor(int limited) {
+            this.limited = limited;
+        }
+
+        @Override
+        public <T> T get(String action, Map<String, Object> parameters, JavaType resultType) throws BotException {
+            return call();
+        }
+
+        @Override
+        public <T> T post(String action, Map<String, Object> parameters, JavaType resultType) throws BotException {
+            return call();
+        }
+
+        @Override
+        public <T> T post(String action, Map<String, Object> parameters, String fileName, InputFile file, JavaType resultType) throws BotException {
+            return call();
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T call() throws BotApiException {
+            if(calls.incrementAndGet() <= limited) {
+                final ResponseParameters parameters = new ResponseParameters();
+                parameters.setRetry_after(1);
+                throw new BotApiException(429, null, "Too Many Requests: retry after 1", parameters);
+            }
+            return (T) "done";
+        }
+    }
+}
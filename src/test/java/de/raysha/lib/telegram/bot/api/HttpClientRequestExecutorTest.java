@@ -0,0 +1,177 @@
+package de.raysha.lib.telegram.bot.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import de.raysha.lib.telegram.bot.api.exception.BotApiException;
+import de.raysha.lib.telegram.bot.api.exception.BotException;
+import de.raysha.lib.telegram.bot.api.model.ChatId;
+import de.raysha.lib.telegram.bot.api.model.InputFile;
+import de.raysha.lib.telegram.bot.api.model.Message;
+import de.raysha.lib.telegram.bot.api.model.User;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class HttpClientRequestExecutorTest {
+    private HttpServer server;
+    private String baseUrl;
+
+    private volatile String lastQuery;
+    private volatile String lastBody;
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/bot123/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                lastQuery = exchange.getRequestURI().getRawQuery();
+                lastBody = read(exchange.getRequestBody());
+
+                final String action = exchange.getRequestURI().getPath().substring("/bot123/".length());
+                final String response;
+                if("getMe".equals(action)) {
+                    response = "{\"ok\":true,\"result\":{\"id\":1,\"first_name\":\"Bot\"}}";
+                } else if("sendMessage".equals(action) || "sendDocument".equals(action)) {
+                    response = "{\"ok\":true,\"result\":{\"message_id\":7,\"text\":\"hello\"}}";
+                } else {
+                    response = "{\"ok\":false,\"error_code\":404,\"description\":\"Not Found\"}";
+                }
+
+                final byte[] bytes = response.getBytes("UTF-8");
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, bytes.length);
+                final OutputStream out = exchange.getResponseBody();
+                out.write(bytes);
+                out.close();
+            }
+        });
+        server.start();
+
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/bot123/";
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void ownPool() throws BotException, IOException {
+        final ConnectionPoolConfig config = new ConnectionPoolConfig();
+        config.setMaxConnections(3);
+
+        final HttpClientRequestExecutor executor = new HttpClientRequestExecutor(baseUrl, config);
+        try {
+            final TelegramBot bot = new TelegramBot(executor);
+
+            User me = bot.getMe();
+            assertEquals("Bot", me.getFirst_name());
+
+            Message message = bot.sendMessage(new ChatId(42), "hello wörld");
+            assertEquals(Integer.valueOf(7), message.getMessage_id());
+            assertTrue(lastBody.contains("text=hello+w%C3%B6rld"));
+            assertTrue(lastBody.contains("chat_id=42"));
+
+            final ConnectionPoolStats stats = executor.getPoolStats();
+            assertEquals(3, stats.getMax());
+            assertEquals(0, stats.getLeased());
+            assertEquals(1, stats.getAvailable());
+        } finally {
+            executor.close();
+        }
+    }
+
+    @Test
+    public void apiError() throws IOException {
+        final HttpClientRequestExecutor executor = new HttpClientRequestExecutor(baseUrl);
+        try {
+            new TelegramBot(executor).getFile("abc");
+            fail("BotApiException expected");
+        } catch (BotApiException e) {
+            assertEquals(404, e.getErrorCode());
+            assertEquals("file_id=abc", lastQuery);
+        } catch (BotException e) {
+            fail("BotApiException expected");
+        } finally {
+            executor.close();
+        }
+    }
+
+    @Test
+    public void async() throws Exception {
+        final HttpAsyncClientRequestExecutor executor = new HttpAsyncClientRequestExecutor(baseUrl);
+        try {
+            User me = new AsyncTelegramBot(executor).getMe().get(10, TimeUnit.SECONDS);
+
+            assertEquals("Bot", me.getFirst_name());
+        } finally {
+            executor.close();
+        }
+    }
+
+    @Test
+    public void upload() throws Exception {
+        final java.io.File tmp = java.io.File.createTempFile("upload", ".txt");
+        tmp.deleteOnExit();
+        final FileOutputStream out = new FileOutputStream(tmp);
+        out.write("skip-from the channel".getBytes("UTF-8"));
+        out.close();
+
+        final HttpClientRequestExecutor executor = new HttpClientRequestExecutor(baseUrl);
+        final FileChannel channel = new RandomAccessFile(tmp, "r").getChannel();
+        try {
+            final TelegramBot bot = new TelegramBot(executor);
+
+            final ByteBuffer direct = ByteBuffer.allocateDirect(16);
+            direct.put("from a buffer".getBytes("UTF-8")).flip();
+            bot.sendDocument(new ChatId(42), InputFile.of("buffer.txt", direct));
+            assertEquals("chat_id=42", lastQuery);
+            assertTrue(lastBody.contains("filename=\"buffer.txt\""));
+            assertTrue(lastBody.contains("from a buffer"));
+            assertEquals(0, direct.position());
+
+            bot.sendDocument(new ChatId(42), InputFile.of("channel.txt", channel.position(5)));
+            assertTrue(lastBody.contains("filename=\"channel.txt\""));
+            assertTrue(lastBody.contains("from the channel"));
+            assertFalse(lastBody.contains("skip-"));
+            assertEquals(5, channel.position());
+
+            new TelegramBot(new UnirestRequestExecutor(baseUrl))
+                    .sendDocument(new ChatId(42), InputFile.of("bytes.txt", "from bytes".getBytes("UTF-8")));
+            assertEquals("chat_id=42", lastQuery);
+            assertTrue(lastBody.contains("filename=\"bytes.txt\""));
+            assertTrue(lastBody.contains("from bytes"));
+        } finally {
+            channel.close();
+            executor.close();
+        }
+    }
+
+    private static String read(InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[1024];
+        int read;
+        while((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toString("UTF-8");
+    }
+}
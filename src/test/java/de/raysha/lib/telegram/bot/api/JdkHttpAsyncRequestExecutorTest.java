@@ -0,0 +1,89 @@
+package de.raysha.lib.telegram.bot.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import de.raysha.lib.telegram.bot.api.exception.BotApiException;
+import de.raysha.lib.telegram.bot.api.model.ChatId;
+import de.raysha.lib.telegram.bot.api.model.Message;
+import de.raysha.lib.telegram.bot.api.model.User;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Runs against the multi-release jar on Java 11 or newer (see profile java11), and is skipped otherwise.
+ */
+public class JdkHttpAsyncRequestExecutorTest {
+    private HttpServer server;
+    private String baseUrl;
+
+    @Before
+    public void startServer() throws IOException {
+        Assume.assumeTrue("The placeholder of Java 8 is loaded", JdkHttpAsyncRequestExecutor.isSupported());
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/bot123/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                final String action = exchange.getRequestURI().getPath().substring("/bot123/".length());
+                final String response;
+                if("getMe".equals(action)) {
+                    response = "{\"ok\":true,\"result\":{\"id\":1,\"first_name\":\"Bot\"}}";
+                } else if("sendMessage".equals(action)) {
+                    response = "{\"ok\":true,\"result\":{\"message_id\":7,\"text\":\"hello\"}}";
+                } else {
+                    response = "{\"ok\":false,\"error_code\":404,\"description\":\"Not Found\"}";
+                }
+
+                final byte[] bytes = response.getBytes("UTF-8");
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, bytes.length);
+                final OutputStream out = exchange.getResponseBody();
+                out.write(bytes);
+                out.close();
+            }
+        });
+        server.start();
+
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/bot123/";
+    }
+
+    @After
+    public void stopServer() {
+        if(server != null) server.stop(0);
+    }
+
+    @Test
+    public void requests() throws Exception {
+        final AsyncTelegramBot bot = new AsyncTelegramBot(new JdkHttpAsyncRequestExecutor(baseUrl));
+
+        User me = bot.getMe().get(10, TimeUnit.SECONDS);
+        assertEquals("Bot", me.getFirst_name());
+
+        Message message = bot.sendMessage(new ChatId(42), "hello").get(10, TimeUnit.SECONDS);
+        assertEquals(Integer.valueOf(7), message.getMessage_id());
+    }
+
+    @Test
+    public void apiError() throws Exception {
+        try {
+            new AsyncTelegramBot(new JdkHttpAsyncRequestExecutor(baseUrl)).getFile("abc").get(10, TimeUnit.SECONDS);
+            fail("ExecutionException expected");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof BotApiException);
+            assertEquals(404, ((BotApiException) e.getCause()).getErrorCode());
+        }
+    }
+}
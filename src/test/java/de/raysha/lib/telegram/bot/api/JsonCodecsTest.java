@@ -0,0 +1,96 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.model.InlineQueryResult;
+import de.raysha.lib.telegram.bot.api.model.InlineQueryResultArticle;
+import de.raysha.lib.telegram.bot.api.model.Message;
+import de.raysha.lib.telegram.bot.api.model.Update;
+import de.raysha.lib.telegram.bot.api.codec.CanonicalPool;
+import de.raysha.lib.telegram.bot.api.codec.Projection;
+import org.codehaus.jackson.JsonParser;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class JsonCodecsTest {
+
+    @Test
+    public void sharedReaders() throws IOException {
+        final JsonCodecs codecs = JsonCodecs.shared().warmUp();
+
+        assertSame(codecs, JsonCodecs.shared());
+        assertSame(codecs.reader(JsonCodecs.UPDATES), codecs.reader(JsonCodecs.UPDATES));
+        assertSame(codecs.writer(InlineQueryResultArticle.class), codecs.writer(InlineQueryResultArticle.class));
+
+        final List<Update> updates = codecs.reader(JsonCodecs.UPDATES).readValue("[{\"update_id\":3}]");
+        assertEquals(Integer.valueOf(3), updates.get(0).getUpdate_id());
+    }
+
+    @Test
+    public void configureOwnCodecs() {
+        try {
+            JsonCodecs.shared().setLazyDecoding(true);
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            assertFalse(JsonCodecs.shared().isLazyDecoding());
+        }
+
+        final JsonCodecs codecs = JsonCodecs.create().setLazyDecoding(true);
+        assertNotSame(JsonCodecs.shared(), codecs);
+        assertTrue(codecs.isLazyDecoding());
+    }
+
+    @Test
+    public void projectOwnCodecs() throws IOException {
+        try {
+            JsonCodecs.shared().project(Message.class, Projection.of("message_id"));
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        final String json = "{\"message_id\":1,\"text\":\"hello\"}";
+        final JsonCodecs projected = JsonCodecs.create().project(Message.class, Projection.of("message_id"));
+        assertNull(readMessage(projected, json).getText());
+
+        // other bots still decode all fields
+        assertEquals("hello", readMessage(JsonCodecs.shared(), json).getText());
+    }
+
+    @Test
+    public void poolOwnCodecs() {
+        try {
+            JsonCodecs.shared().setCanonicalPool(new CanonicalPool(64));
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            assertNull(JsonCodecs.shared().getCanonicalPool());
+        }
+    }
+
+    private static Message readMessage(JsonCodecs codecs, String json) throws IOException {
+        final JsonParser parser = codecs.getJsonFactory().createJsonParser(json);
+        parser.nextToken();
+        return codecs.read(parser, JsonCodecs.MESSAGE);
+    }
+
+    @Test
+    public void writeResultsByRuntimeType() throws IOException {
+        final InlineQueryResultArticle article = new InlineQueryResultArticle();
+        article.setTitle("title");
+
+        final String json = JsonCodecs.shared().writer(JsonCodecs.INLINE_QUERY_RESULTS)
+                .writeValueAsString(Collections.<InlineQueryResult>singletonList(article));
+
+        assertTrue(json, json.contains("\"type\":\"article\""));
+        assertTrue(json, json.contains("\"title\":\"title\""));
+    }
+}
@@ -0,0 +1,150 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.model.ChatId;
+import de.raysha.lib.telegram.bot.api.model.ForceReply;
+import de.raysha.lib.telegram.bot.api.model.InlineQueryResult;
+import de.raysha.lib.telegram.bot.api.model.InlineQueryResultArticle;
+import de.raysha.lib.telegram.bot.api.model.InlineQueryResultGif;
+import de.raysha.lib.telegram.bot.api.model.ReplyKeyboardMarkup;
+import de.raysha.lib.telegram.bot.api.model.ReplyMarkup;
+import org.codehaus.jackson.JsonNode;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.junit.Test;
+
+import java.net.URLEncoder;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RequestBodyWriterTest {
+    private static final String TEXT = "hello wörld & more = \"quoted\" \\ \n\t\u0001 😀 \uD800 end*._-";
+
+    @Test
+    public void formLikeUrlEncoder() {
+        final Map<String, Object> parameters = new LinkedHashMap<String, Object>();
+        parameters.put("chat_id", -1001234567890L);
+        parameters.put("text", TEXT);
+        parameters.put("disable_web_page_preview", true);
+        parameters.put("latitude", 1.5f);
+
+        final RequestBody body = RequestBodyWriter.form()
+                .param("chat_id", -1001234567890L)
+                .param("text", TEXT)
+                .param("parse_mode", (String) null)
+                .param("disable_web_page_preview", Boolean.TRUE)
+                .param("reply_to_message_id", (Integer) null)
+                .param("latitude", 1.5f)
+                .build();
+
+        assertEquals(FormEncoding.encode(parameters), body.toString());
+        assertEquals(RequestBody.FORM, body.getContentType());
+        assertEquals(-1001234567890L, body.getChatId());
+        assertEquals("-1001234567890", body.toParameters().get("chat_id"));
+        assertEquals(TEXT.replace("\uD800", "?"), body.toParameters().get("text"));
+    }
+
+    @Test
+    public void json() throws Exception {
+        final RequestBody body = RequestBodyWriter.json()
+                .param("chat_id", "@channel")
+                .param("text", TEXT)
+                .param("message_id", Long.MIN_VALUE)
+                .param("latitude", 1.5f)
+                .param("is_personal", false)
+                .json("reply_markup", "{\"keyboard\":[[\"wörld\"]]}")
+                .build();
+
+        final JsonNode json = new ObjectMapper().readTree(body.toString());
+        assertEquals(TEXT.replace("\uD800", "?"), json.get("text").getTextValue());
+        assertEquals(Long.MIN_VALUE, json.get("message_id").getLongValue());
+        assertEquals(1.5, json.get("latitude").getDoubleValue(), 0.0);
+        assertEquals(false, json.get("is_personal").getBooleanValue());
+        assertEquals("wörld", json.get("reply_markup").get("keyboard").get(0).get(0).getTextValue());
+        assertEquals("@channel", body.getChatId());
+        assertTrue(body.isJson());
+
+        final Map<String, Object> parameters = body.toParameters();
+        assertEquals("{\"keyboard\":[[\"wörld\"]]}", parameters.get("reply_markup"));
+        assertEquals("false", parameters.get("is_personal"));
+    }
+
+    @Test
+    public void pooled() {
+        final RequestBodyWriter writer = RequestBodyWriter.form();
+        final RequestBodyWriter nested = RequestBodyWriter.form();
+        assertTrue(writer != nested);
+        assertEquals("a=1", nested.param("a", 1).build().toString());
+
+        assertEquals("b=2", writer.param("b", 2).build().toString());
+        try {
+            writer.param("c", 3);
+            fail("The writer was completed already");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        final RequestBodyWriter next = RequestBodyWriter.form();
+        assertTrue(writer == next);
+        assertEquals("", next.build().toString());
+        assertNull(RequestBodyWriter.json().build().getChatId());
+    }
+
+    @Test
+    public void replyMarkup() throws Exception {
+        final ReplyMarkup markup = ReplyMarkup.keyboard()
+                .row("Yes", "Nö")
+                .row("Cancel")
+                .oneTime()
+                .build();
+
+        final ReplyKeyboardMarkup keyboard = new ReplyKeyboardMarkup();
+        keyboard.setKeyboard(Arrays.asList(Arrays.asList("Yes", "Nö"), Arrays.asList("Cancel")));
+        keyboard.setOne_time_keyboard(true);
+        final String json = JsonCodecs.shared().writeValueAsString(keyboard);
+        assertEquals(json, markup.getJson());
+        assertEquals(ReplyMarkup.of(keyboard), markup);
+
+        assertEquals("a=1&reply_markup=" + URLEncoder.encode(json, "UTF-8"),
+                RequestBodyWriter.form().param("a", 1).param("reply_markup", markup).build().toString());
+        assertEquals("{\"a\":1,\"reply_markup\":" + json + "}",
+                RequestBodyWriter.json().param("a", 1).param("reply_markup", markup).build().toString());
+
+        final ForceReply forceReply = new ForceReply();
+        forceReply.setForce_reply(true);
+        final RequestBody body = ApiRequest.sendMessage(new ChatId(42), "hi", null, null, null, ReplyMarkup.FORCE_REPLY).getBody();
+        assertEquals("{\"force_reply\":true}", body.toParameters().get("reply_markup"));
+        assertEquals(ApiRequest.sendMessage(new ChatId(42), "hi", null, null, null, forceReply).getBody().toString(), body.toString());
+    }
+
+    @Test
+    public void inlineQueryResults() throws Exception {
+        final InlineQueryResultArticle article = new InlineQueryResultArticle("wörld", "text");
+        final InlineQueryResultGif gif = new InlineQueryResultGif();
+        gif.setGif_url("http://example.org/a.gif");
+        final List<InlineQueryResult> results = Arrays.<InlineQueryResult>asList(article, gif);
+        final String json = JsonCodecs.shared().writeValueAsString(JsonCodecs.INLINE_QUERY_RESULTS, results);
+
+        final RequestBody body = ApiRequest.answerInlineQuery("1", results, 300, null, null).getBody();
+        assertTrue(body.isJson());
+        assertEquals(json, body.toParameters().get("results"));
+        assertEquals("300", body.toParameters().get("cache_time"));
+
+        final byte[] cached = JsonCodecs.shared().writeInlineQueryResult(article);
+        assertTrue(cached == article.cachedJson());
+        assertTrue(cached == JsonCodecs.shared().writeInlineQueryResult(article));
+
+        article.setTitle("changed");
+        assertNull(article.cachedJson());
+        assertTrue(new String(JsonCodecs.shared().writeInlineQueryResult(article), "UTF-8").contains("\"title\":\"changed\""));
+
+        final byte[][] elements = {cached, gif.cachedJson()};
+        assertEquals("results=" + URLEncoder.encode(json, "UTF-8"),
+                RequestBodyWriter.form().jsonArray("results", elements).build().toString());
+    }
+}
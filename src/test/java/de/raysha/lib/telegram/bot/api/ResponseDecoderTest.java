@@ -0,0 +1,86 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.exception.BotApiException;
+import de.raysha.lib.telegram.bot.api.exception.BotException;
+import de.raysha.lib.telegram.bot.api.model.Message;
+import de.raysha.lib.telegram.bot.api.model.Update;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ResponseDecoderTest {
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ResponseDecoder decoder = new ResponseDecoder(mapper);
+
+    @Test
+    public void decodeUpdates() throws BotException {
+        List<Update> updates = decoder.decode(json("{\"ok\":true,\"result\":[" +
+                "{\"update_id\":1,\"message\":{\"message_id\":10,\"date\":1450000000,\"text\":\"/start\"," +
+                "\"chat\":{\"id\":42,\"type\":\"private\"},\"from\":{\"id\":42,\"first_name\":\"Rainu\"}}}," +
+                "{\"update_id\":2}]}"),
+                mapper.getTypeFactory().constructCollectionType(List.class, Update.class));
+
+        assertEquals(2, updates.size());
+        assertEquals(Integer.valueOf(1), updates.get(0).getUpdate_id());
+        assertEquals("/start", updates.get(0).getMessage().getText());
+        assertEquals(Long.valueOf(42), updates.get(0).getMessage().getChat().getId());
+        assertNull(updates.get(1).getMessage());
+    }
+
+    @Test
+    public void decodeResultBeforeOk() throws BotException {
+        Message message = decoder.decode(json("{\"result\":{\"message_id\":10},\"ok\":true}"),
+                mapper.constructType(Message.class));
+
+        assertEquals(Integer.valueOf(10), message.getMessage_id());
+    }
+
+    @Test
+    public void decodeBoolean() throws BotException {
+        Boolean result = decoder.decode(json("{\"ok\":true,\"result\":true}"), mapper.constructType(Boolean.class));
+
+        assertTrue(result);
+    }
+
+    @Test
+    public void decodeError() throws BotException {
+        try {
+            decoder.decode(json("{\"ok\":false,\"error_code\":400,\"description\":\"Bad Request: chat not found\"}"),
+                    mapper.constructType(Message.class));
+            fail("BotApiException expected");
+        } catch (BotApiException e) {
+            assertEquals(400, e.getErrorCode());
+            assertEquals("Bad Request: chat not found", e.getDescription());
+        }
+    }
+
+    @Test
+    public void decodeErrorParameters() throws BotException {
+        try {
+            decoder.decode(json("{\"ok\":false,\"error_code\":429,\"description\":\"Too Many Requests: retry after 3\"," +
+                    "\"parameters\":{\"retry_after\":3}}"), mapper.constructType(Message.class));
+            fail("BotApiException expected");
+        } catch (BotApiException e) {
+            assertEquals(429, e.getErrorCode());
+            assertEquals(Integer.valueOf(3), e.getRetryAfter());
+            assertNull(e.getParameters().getMigrate_to_chat_id());
+        }
+    }
+
+    @Test(expected = BotException.class)
+    public void decodeInvalidEnvelope() throws BotException {
+        decoder.decode(json("[1,2,3]"), mapper.constructType(Message.class));
+    }
+
+    private InputStream json(String content) {
+        return new ByteArrayInputStream(content.getBytes());
+    }
+}
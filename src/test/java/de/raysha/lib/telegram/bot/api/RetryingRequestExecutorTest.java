@@ -0,0 +1,162 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.exception.BotApiException;
+import de.raysha.lib.telegram.bot.api.exception.BotException;
+import de.raysha.lib.telegram.bot.api.exception.BulkheadFullException;
+import de.raysha.lib.telegram.bot.api.exception.CircuitOpenException;
+import de.raysha.lib.telegram.bot.api.model.InputFile;
+import org.codehaus.jackson.type.JavaType;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RetryingRequestExecutorTest {
+    private final RetryPolicy policy = new ExponentialBackoffRetryPolicy(3, 1, 10);
+
+    @Test
+    public void retrySafeRead() throws BotException {
+        final FailingExecutor failing = new FailingExecutor(2, new BotException("Could not get a response.", new SocketTimeoutException()));
+
+        assertEquals("done", new RetryingRequestExecutor(failing, policy).get("getUpdates", parameters(), null));
+        assertEquals(3, failing.calls);
+    }
+
+    @Test
+    public void noRetryOfUnsafeWriteAfterSending() {
+        final FailingExecutor failing = new FailingExecutor(1, new BotException("Could not get a response.", new SocketTimeoutException()));
+
+        try {
+            new RetryingRequestExecutor(failing, policy).post("sendMessage", parameters(), null);
+            fail("BotException expected");
+        } catch (BotException e) {
+            assertEquals(1, failing.calls);
+        }
+    }
+
+    @Test
+    public void retryUnsafeWriteOnConnectFailure() throws BotException {
+        final FailingExecutor failing = new FailingExecutor(1, new BotException("Could not get a response.",
+                new RuntimeException(new ConnectException("Connection refused"))));
+
+        assertEquals("done", new RetryingRequestExecutor(failing, policy).post("sendMessage", parameters(), null));
+        assertEquals(2, failing.calls);
+    }
+
+    @Test
+    public void noRetryOfClientErrors() {
+        final FailingExecutor failing = new FailingExecutor(1, new BotApiException(400, null, "Bad Request"));
+
+        try {
+            new RetryingRequestExecutor(failing, policy).get("getFile", parameters(), null);
+            fail("BotException expected");
+        } catch (BotException e) {
+            assertEquals(1, failing.calls);
+        }
+    }
+
+    @Test
+    public void noRetryOfRejectedRequests() {
+        for(BotException error : new BotException[]{
+                new CircuitOpenException("open", 1000), new BulkheadFullException("full")}) {
+            final FailingExecutor failing = new FailingExecutor(1, error);
+
+            try {
+                new RetryingRequestExecutor(failing, policy).get("getUpdates", parameters(), null);
+                fail("BotException expected");
+            } catch (BotException e) {
+                assertEquals(1, failing.calls);
+            }
+        }
+    }
+
+    @Test
+    public void giveUp() {
+        final FailingExecutor failing = new FailingExecutor(5, new BotApiException(502, null, "Bad Gateway"));
+
+        try {
+            new RetryingRequestExecutor(failing, policy).get("getMe", parameters(), null);
+            fail("BotException expected");
+        } catch (BotException e) {
+            assertEquals(3, failing.calls);
+        }
+    }
+
+    @Test
+    public void noRetryOfStreams() {
+        final FailingExecutor failing = new FailingExecutor(1, new BotException(new ConnectException()));
+
+        try {
+            new RetryingRequestExecutor(failing, policy).post("sendDocument", parameters(), "document",
+                    InputFile.of("a.txt", new ByteArrayInputStream(new byte[1])), null);
+            fail("BotException expected");
+        } catch (BotException e) {
+            assertEquals(1, failing.calls);
+        }
+    }
+
+    @Test
+    public void backoff() {
+        final BotException error = new BotException(new ConnectException());
+        final ExponentialBackoffRetryPolicy backoff = new ExponentialBackoffRetryPolicy(10, 100, 1000);
+
+        for(int i = 0; i < 100; i++) {
+            final long first = backoff.retryDelay(ApiMethod.getMe, 1, error);
+            final long fourth = backoff.retryDelay(ApiMethod.getMe, 4, error);
+            final long ninth = backoff.retryDelay(ApiMethod.getMe, 9, error);
+
+            assertTrue(first >= 50 && first <= 100);
+            assertTrue(fourth >= 400 && fourth <= 800);
+            assertTrue(ninth >= 500 && ninth <= 1000);
+        }
+        assertEquals(-1, backoff.retryDelay(ApiMethod.getMe, 10, error));
+    }
+
+    private static Map<String, Object> parameters() {
+        return Collections.<String, Object>singletonMap("chat_id", 42);
+    }
+
+    /**
+     * Fails the first requests with the given error.
+     */
+    private static class FailingExecutor implements RequestExecutor {
+        private final int failures;
+        private final BotException error;
+        private int calls;
+
+        FailingExecutor(int failures, BotException error) {
+            this.failures = failures;
+            this.error = error;
+        }
+
+        @Override
+        public <T> T get(String action, Map<String, Object> parameters, JavaType resultType) throws BotException {
+            return call();
+        }
+
+        @Override
+        public <T> T post(String action, Map<String, Object> parameters, JavaType resultType) throws BotException {
+            return call();
+        }
+
+        @Override
+        public <T> T post(String action, Map<String, Object> parameters, String fileName, InputFile file, JavaType resultType) throws BotException {
+            return call();
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T call() throws BotException {
+            if(++calls <= failures) {
+                throw error;
+            }
+            return (T) "done";
+        }
+    }
+}
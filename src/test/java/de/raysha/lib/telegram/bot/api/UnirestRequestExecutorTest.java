@@ -0,0 +1,109 @@
+package de.raysha.lib.telegram.bot.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import de.raysha.lib.telegram.bot.api.model.ChatId;
+import de.raysha.lib.telegram.bot.api.model.InputFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class UnirestRequestExecutorTest {
+    private HttpServer server;
+    private String baseUrl;
+
+    private volatile String lastQuery;
+    private volatile String lastBody;
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/bot123/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                lastQuery = exchange.getRequestURI().getRawQuery();
+                lastBody = read(exchange.getRequestBody());
+
+                final byte[] bytes = "{\"ok\":true,\"result\":{\"message_id\":7}}".getBytes("UTF-8");
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, bytes.length);
+                final OutputStream out = exchange.getResponseBody();
+                out.write(bytes);
+                out.close();
+            }
+        });
+        server.start();
+
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/bot123/";
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void upload() throws Exception {
+        final File file = File.createTempFile("upload", ".txt");
+        try {
+            final FileOutputStream out = new FileOutputStream(file);
+            out.write("from a file".getBytes("UTF-8"));
+            out.close();
+
+            new TelegramBot(new UnirestRequestExecutor(baseUrl)).sendDocument(new ChatId(42), file);
+            assertEquals("chat_id=42", lastQuery);
+            assertTrue(lastBody.contains("filename=\"" + file.getName() + "\""));
+            assertTrue(lastBody.contains("from a file"));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void streamedUpload() throws Exception {
+        // the entity is not buffered, so a stream which can be read only once is sent as it is
+        final InputFile stream = InputFile.of("stream.txt", new ByteArrayInputStream("from a stream".getBytes("UTF-8")));
+        assertFalse(UnirestRequestExecutor.multipart(baseUrl, Collections.<String, Object>emptyMap(), "document", stream)
+                .getHttpRequest().getBody().getEntity().isRepeatable());
+
+        new TelegramBot(new UnirestRequestExecutor(baseUrl)).sendDocument(new ChatId(42),
+                InputFile.of("stream.txt", new ByteArrayInputStream("from a stream".getBytes("UTF-8"))));
+        assertTrue(lastBody.contains("filename=\"stream.txt\""));
+        assertTrue(lastBody.contains("from a stream"));
+    }
+
+    @Test
+    public void asyncUpload() throws Exception {
+        new AsyncTelegramBot(new UnirestAsyncRequestExecutor(baseUrl)).sendDocument(new ChatId(42),
+                InputFile.of("bytes.txt", "from bytes".getBytes("UTF-8"))).get(10, TimeUnit.SECONDS);
+        assertEquals("chat_id=42", lastQuery);
+        assertTrue(lastBody.contains("filename=\"bytes.txt\""));
+        assertTrue(lastBody.contains("from bytes"));
+    }
+
+    private static String read(InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[1024];
+        int read;
+        while((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toString("UTF-8");
+    }
+}
@@ -0,0 +1,166 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.model.Update;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class UpdateDeduplicatorTest {
+
+    @Test
+    public void dropSeenUpdates() throws Exception {
+        final List<Integer> handled = new ArrayList<Integer>();
+        final UpdateDeduplicator deduplicator = new UpdateDeduplicator(update -> handled.add(update.getUpdate_id()), 128);
+
+        for(int id : new int[]{10, 11, 10, 13, 12, 11, 13, 14}) {
+            deduplicator.handle(update(id));
+        }
+        assertEquals(Arrays.asList(10, 11, 13, 12, 14), handled);
+        assertEquals(3, deduplicator.getDuplicates());
+    }
+
+    @Test
+    public void slideWindow() throws Exception {
+        final List<Integer> handled = new ArrayList<Integer>();
+        final UpdateDeduplicator deduplicator = new UpdateDeduplicator(update -> handled.add(update.getUpdate_id()), 100);
+
+        // the window is rounded up to 128 ids
+        deduplicator.handle(update(1));
+        deduplicator.handle(update(5));
+        deduplicator.handle(update(130));
+        assertFalse("1 left the window, but slid onto 129", deduplicator.isSeen(129));
+        assertTrue("below the window", deduplicator.isSeen(2));
+        assertTrue(deduplicator.isSeen(5));
+        deduplicator.handle(update(129));
+        deduplicator.handle(update(2));
+
+        // far beyond the window
+        deduplicator.handle(update(1000000));
+        deduplicator.handle(update(999999));
+        assertEquals(Arrays.asList(1, 5, 130, 129, 1000000, 999999), handled);
+        for(int id = 999873; id < 999999; id++) {
+            assertFalse(deduplicator.isSeen(id));
+        }
+        // a late repetition just below the window
+        deduplicator.handle(update(999800));
+        assertEquals(6, handled.size());
+    }
+
+    @Test
+    public void restartWithRandomId() throws Exception {
+        final List<Integer> handled = new ArrayList<Integer>();
+        final UpdateDeduplicator deduplicator = new UpdateDeduplicator(update -> handled.add(update.getUpdate_id()), 128);
+
+        for(int id = 5000000; id < 5000010; id++) {
+            deduplicator.handle(update(id));
+        }
+        // after a week without updates the API continues with a random, possibly lower id
+        deduplicator.handle(update(1234));
+        deduplicator.handle(update(1235));
+        deduplicator.handle(update(1234));
+        assertEquals(12, handled.size());
+        assertEquals(Arrays.asList(1234, 1235), handled.subList(10, 12));
+        assertEquals(1, deduplicator.getDuplicates());
+        assertFalse(deduplicator.isSeen(1233));
+    }
+
+    @Test
+    public void resetAfterQuietTime() throws Exception {
+        final List<Integer> handled = new ArrayList<Integer>();
+        final UpdateDeduplicator deduplicator = new UpdateDeduplicator(update -> handled.add(update.getUpdate_id()), 128);
+        deduplicator.setResetAfter(100, TimeUnit.MILLISECONDS);
+
+        deduplicator.handle(update(1000));
+        // less than two windows below, but the API started a new sequence after the quiet time
+        Thread.sleep(200);
+        deduplicator.handle(update(800));
+        deduplicator.handle(update(800));
+        assertEquals(Arrays.asList(1000, 800), handled);
+        assertFalse(deduplicator.isSeen(1000));
+        assertEquals(1, deduplicator.getDuplicates());
+    }
+
+    @Test
+    public void resetExplicitly() throws Exception {
+        final List<Integer> handled = new ArrayList<Integer>();
+        final UpdateDeduplicator deduplicator = new UpdateDeduplicator(update -> handled.add(update.getUpdate_id()), 128);
+
+        deduplicator.handle(update(1000));
+        assertTrue("a late repetition", deduplicator.isSeen(800));
+        deduplicator.reset();
+        assertFalse(deduplicator.isSeen(1000));
+        deduplicator.handle(update(800));
+        deduplicator.handle(update(1000));
+        assertEquals(Arrays.asList(1000, 800, 1000), handled);
+    }
+
+    @Test
+    public void concurrentDuplicates() throws Exception {
+        final AtomicIntegerArray counts = new AtomicIntegerArray(100001);
+        final UpdateDeduplicator deduplicator = new UpdateDeduplicator(update -> counts.incrementAndGet(update.getUpdate_id()));
+
+        final List<Thread> threads = new ArrayList<Thread>();
+        for(int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                for(int id = 1; id <= 100000; id++) {
+                    try {
+                        deduplicator.handle(update(id));
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            }));
+        }
+        for(Thread thread : threads) thread.start();
+        for(Thread thread : threads) thread.join();
+
+        for(int id = 1; id <= 100000; id++) {
+            assertEquals(1, counts.get(id));
+        }
+        assertEquals(300000, deduplicator.getDuplicates());
+    }
+
+    @Test
+    public void keepBackpressure() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Integer> handled = Collections.synchronizedList(new ArrayList<Integer>());
+        final UpdateDispatcher dispatcher = new UpdateDispatcher(update -> {
+            release.await();
+            handled.add(update.getUpdate_id());
+        }, 1);
+        dispatcher.setCapacity(1);
+        final UpdateDeduplicator deduplicator = new UpdateDeduplicator(dispatcher);
+        assertEquals(1, deduplicator.getCapacity());
+
+        assertTrue(deduplicator.offer(update(1)));
+        assertTrue(dispatcher.awaitCapacity(1, 1, TimeUnit.SECONDS));
+        assertTrue(deduplicator.offer(update(2)));
+        assertFalse(deduplicator.offer(update(3)));
+        assertFalse("a rejected update is not seen", deduplicator.isSeen(3));
+
+        release.countDown();
+        assertTrue(deduplicator.awaitCapacity(1, 1, TimeUnit.SECONDS));
+        assertTrue(deduplicator.offer(update(3)));
+        assertTrue(deduplicator.offer(update(2)));
+        assertTrue(dispatcher.awaitIdle(5, TimeUnit.SECONDS));
+        dispatcher.shutdown();
+        assertEquals(Arrays.asList(1, 2, 3), handled);
+        assertEquals(1, deduplicator.getDuplicates());
+    }
+
+    private static Update update(int id) {
+        final Update update = new Update();
+        update.setUpdate_id(id);
+        return update;
+    }
+}
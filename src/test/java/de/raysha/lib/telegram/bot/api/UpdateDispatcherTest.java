@@ -0,0 +1,198 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.model.Chat;
+import de.raysha.lib.telegram.bot.api.model.InlineQuery;
+import de.raysha.lib.telegram.bot.api.model.Message;
+import de.raysha.lib.telegram.bot.api.model.Update;
+import de.raysha.lib.telegram.bot.api.model.User;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class UpdateDispatcherTest {
+
+    @Test
+    public void orderPerChat() throws Exception {
+        final Map<Long, List<Integer>> received = new ConcurrentHashMap<Long, List<Integer>>();
+        final UpdateDispatcher dispatcher = new UpdateDispatcher(update -> {
+            final long chat = update.getMessage().getChat().getId();
+            received.computeIfAbsent(chat, c -> new ArrayList<Integer>()).add(update.getUpdate_id());
+        }, 4);
+
+        int id = 0;
+        for(int i = 0; i < 500; i++) {
+            for(long chat = -10; chat < 10; chat++) {
+                dispatcher.handle(message(++id, chat));
+            }
+        }
+
+        assertTrue(dispatcher.awaitIdle(10, TimeUnit.SECONDS));
+        dispatcher.shutdown();
+        assertEquals(20, received.size());
+        for(List<Integer> ids : received.values()) {
+            assertEquals(500, ids.size());
+            for(int i = 1; i < ids.size(); i++) {
+                assertTrue(ids.get(i - 1) < ids.get(i));
+            }
+        }
+        assertEquals(10000, dispatcher.getStats().getHandled());
+    }
+
+    @Test
+    public void chatsInParallel() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        final CountDownLatch otherChat = new CountDownLatch(1);
+        final UpdateDispatcher dispatcher = new UpdateDispatcher(update -> {
+            if(update.getMessage() != null) {
+                if(!otherChat.await(5, TimeUnit.SECONDS)) throw new IllegalStateException("The other chat did not run meanwhile");
+            } else {
+                otherChat.countDown();
+            }
+        }, executor, 16);
+
+        final Update slow = message(1, 42);
+        long user = 0;
+        while(dispatcher.laneOf(inlineQuery(2, user)) == dispatcher.laneOf(slow)) user++;
+
+        final List<Throwable> errors = new ArrayList<Throwable>();
+        dispatcher.setErrorHandler((update, error) -> errors.add(error));
+        dispatcher.handle(slow);
+        dispatcher.handle(message(3, 42));
+        dispatcher.handle(inlineQuery(2, user));
+
+        assertTrue(dispatcher.awaitIdle(10, TimeUnit.SECONDS));
+        assertTrue(errors.toString(), errors.isEmpty());
+        executor.shutdown();
+    }
+
+    @Test
+    public void continueAfterError() throws Exception {
+        final CountDownLatch queued = new CountDownLatch(1);
+        final List<Integer> handled = Collections.synchronizedList(new ArrayList<Integer>());
+        final UpdateDispatcher dispatcher = new UpdateDispatcher(update -> {
+            queued.await();
+            handled.add(update.getUpdate_id());
+            if(update.getUpdate_id() == 1) throw new AssertionError("handler failed");
+        }, 1);
+
+        dispatcher.handle(message(1, 7));
+        dispatcher.handle(message(2, 7));
+        queued.countDown();
+
+        assertTrue(dispatcher.awaitIdle(10, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(1, 2), handled);
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void stats() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final UpdateDispatcher dispatcher = new UpdateDispatcher(update -> release.await(), 1);
+        final UpdateDispatcherStats before = dispatcher.getStats();
+        assertEquals(4, dispatcher.getLaneCount());
+
+        for(int i = 1; i <= 5; i++) {
+            dispatcher.handle(message(i, 7));
+        }
+        Thread.sleep(50);
+
+        final UpdateDispatcherStats blocked = dispatcher.getStats();
+        assertEquals(4, blocked.getQueueDepth());
+        assertEquals(4, blocked.getMaxLaneDepth());
+        assertEquals(1, blocked.getActiveLanes());
+        assertTrue(blocked.getUtilization(before) > 0.1);
+        assertFalse(dispatcher.awaitIdle(10, TimeUnit.MILLISECONDS));
+
+        release.countDown();
+        assertTrue(dispatcher.awaitIdle(10, TimeUnit.SECONDS));
+        assertEquals(0, dispatcher.getStats().getQueueDepth());
+        assertEquals(5, dispatcher.getStats().getHandled());
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void capacity() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final UpdateDispatcher dispatcher = new UpdateDispatcher(update -> release.await(), 1);
+        dispatcher.setCapacity(3);
+
+        assertTrue(dispatcher.offer(message(1, 7)));
+        // the first update is taken from the queue by the handler
+        assertTrue(dispatcher.awaitCapacity(3, 1, TimeUnit.SECONDS));
+        for(int i = 2; i <= 4; i++) {
+            assertTrue(dispatcher.offer(message(i, 7)));
+        }
+        assertEquals(0, dispatcher.getRemainingCapacity());
+        assertFalse(dispatcher.offer(message(5, 7)));
+        try {
+            dispatcher.handle(message(5, 7));
+            fail("The dispatcher is full");
+        } catch (RejectedExecutionException e) {
+            // expected
+        }
+        assertFalse(dispatcher.awaitCapacity(1, 20, TimeUnit.MILLISECONDS));
+
+        release.countDown();
+        assertTrue(dispatcher.awaitCapacity(3, 1, TimeUnit.SECONDS));
+        assertTrue(dispatcher.awaitIdle(10, TimeUnit.SECONDS));
+        assertEquals(4, dispatcher.getStats().getHandled());
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void rejectAfterShutdown() throws Exception {
+        final UpdateDispatcher dispatcher = new UpdateDispatcher(update -> { }, 1);
+        dispatcher.setCapacity(3);
+        dispatcher.shutdown();
+
+        for(int i = 1; i <= 5; i++) {
+            try {
+                dispatcher.offer(message(i, 7));
+                fail("The dispatcher is shut down");
+            } catch (RejectedExecutionException e) {
+                // expected
+            }
+        }
+        // the rejected updates do not take the capacity
+        assertEquals(3, dispatcher.getRemainingCapacity());
+        assertEquals(0, dispatcher.getStats().getQueueDepth());
+        assertTrue(dispatcher.awaitIdle(1, TimeUnit.SECONDS));
+    }
+
+    private static Update message(int id, long chatId) {
+        final Chat chat = new Chat();
+        chat.setId(chatId);
+        final Message message = new Message();
+        message.setChat(chat);
+        final Update update = new Update();
+        update.setUpdate_id(id);
+        update.setMessage(message);
+        return update;
+    }
+
+    private static Update inlineQuery(int id, long userId) {
+        final User user = new User();
+        user.setId((int) userId);
+        final InlineQuery query = new InlineQuery();
+        query.setFrom(user);
+        final Update update = new Update();
+        update.setUpdate_id(id);
+        update.setInline_query(query);
+        return update;
+    }
+}
@@ -0,0 +1,288 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.model.Message;
+import de.raysha.lib.telegram.bot.api.model.Update;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class UpdateJournalTest {
+    private File file;
+
+    @Before
+    public void createFile() throws IOException {
+        file = File.createTempFile("updates", ".journal");
+        file.delete();
+    }
+
+    @After
+    public void deleteFile() {
+        file.delete();
+    }
+
+    @Test
+    public void resumeAtLowestUnacknowledged() throws IOException {
+        UpdateJournal journal = new UpdateJournal(file, 16);
+        assertNull(journal.getResumeOffset());
+
+        // far more records than the file has room for, so it is compacted
+        for(int batch = 0; batch < 10; batch++) {
+            journal.received(updates(batch * 10 + 1, 10));
+            for(int id = batch * 10 + 10; id > batch * 10; id--) {
+                if(id != 37 && id != 80) journal.acknowledge(id);
+            }
+        }
+        assertEquals(Integer.valueOf(37), journal.getResumeOffset());
+        journal.close();
+
+        journal = new UpdateJournal(file, 16);
+        assertEquals(Integer.valueOf(37), journal.getResumeOffset());
+        assertEquals(Integer.valueOf(101), journal.getNextOffset());
+        assertEquals(2, journal.getUnacknowledgedCount());
+        assertEquals(Arrays.asList(37, 80), ids(journal.getUnacknowledged()));
+        assertTrue(journal.isAcknowledged(36));
+        assertTrue(journal.isAcknowledged(38));
+        assertFalse(journal.isAcknowledged(80));
+
+        journal.acknowledge(37);
+        journal.acknowledge(80);
+        assertEquals(Integer.valueOf(101), journal.getResumeOffset());
+        journal.close();
+        assertEquals(Integer.valueOf(101), new UpdateJournal(file, 16).getResumeOffset());
+    }
+
+    @Test
+    public void surviveKill() throws Exception {
+        final File java = new File(System.getProperty("java.home"), "bin/java");
+        final Process process = new ProcessBuilder(java.getPath(), "-cp", System.getProperty("java.class.path"),
+                CrashingProcess.class.getName(), file.getPath()).redirectErrorStream(true).start();
+        try {
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), "UTF-8"));
+            assertEquals("ready", reader.readLine());
+        } finally {
+            process.destroyForcibly();
+            process.waitFor(10, TimeUnit.SECONDS);
+        }
+
+        final UpdateJournal journal = new UpdateJournal(file);
+        assertEquals(Integer.valueOf(500), journal.getResumeOffset());
+        assertEquals(2, journal.getUnacknowledgedCount());
+        assertTrue(journal.isAcknowledged(501));
+        assertFalse(journal.isAcknowledged(777));
+        assertTrue(journal.isAcknowledged(1000));
+        assertEquals(Arrays.asList(500, 777), ids(journal.getUnacknowledged()));
+        assertEquals("message 777", journal.getUnacknowledged().get(1).getMessage().getText());
+        journal.close();
+    }
+
+    @Test
+    public void receiveOnce() throws IOException {
+        final UpdateJournal journal = new UpdateJournal(file, 16);
+        assertEquals(Arrays.asList(1, 2, 3), ids(journal.received(updates(1, 3))));
+        journal.acknowledge(2);
+
+        assertEquals(Arrays.asList(4), ids(journal.received(updates(1, 4))));
+        assertEquals(Arrays.asList(1, 3, 4), ids(journal.getUnacknowledged()));
+        journal.close();
+    }
+
+    @Test
+    public void pollerReplaysUnacknowledged() throws Exception {
+        final UpdateJournal journal = new UpdateJournal(file);
+        journal.received(updates(1, 20));
+        for(int id = 1; id <= 20; id++) {
+            if(id != 10) journal.acknowledge(id);
+        }
+
+        final UpdatePollerTest.UpdatesServer server = new UpdatePollerTest.UpdatesServer();
+        server.add(50);
+        final List<Integer> handled = Collections.synchronizedList(new ArrayList<Integer>());
+        final CountDownLatch done = new CountDownLatch(31);
+        final UpdatePollerConfig config = new UpdatePollerConfig();
+        config.setTimeout(1);
+        final UpdatePoller poller = new UpdatePoller(new TelegramBot(server), config);
+        poller.setJournal(journal);
+        poller.addHandler(journal.acknowledging(update -> {
+            handled.add(update.getUpdate_id());
+            done.countDown();
+        }));
+        poller.start();
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        poller.stop();
+        assertTrue(poller.awaitTermination(10, TimeUnit.SECONDS));
+        // the updates up to 20 were recorded already, only 10 is handled again
+        assertEquals(Integer.valueOf(21), server.offsets.get(0));
+        assertEquals(31, handled.size());
+        assertEquals(Integer.valueOf(10), handled.get(0));
+        assertEquals(Integer.valueOf(21), handled.get(1));
+        assertEquals(Integer.valueOf(51), journal.getResumeOffset());
+        journal.close();
+    }
+
+    @Test
+    public void redeliverUnacknowledged() throws Exception {
+        final UpdatePollerTest.UpdatesServer server = new UpdatePollerTest.UpdatesServer();
+        server.add(10);
+        final UpdatePollerConfig config = new UpdatePollerConfig();
+        config.setTimeout(1);
+
+        // the process stops while it handles the updates after 5, they are neither acknowledged nor lost
+        UpdateJournal journal = new UpdateJournal(file);
+        final List<Integer> handled = Collections.synchronizedList(new ArrayList<Integer>());
+        final CountDownLatch received = new CountDownLatch(10);
+        final UpdateJournal first = journal;
+        UpdatePoller poller = new UpdatePoller(new TelegramBot(server), config);
+        poller.setJournal(journal);
+        poller.addHandler(update -> {
+            if(update.getUpdate_id() <= 5) {
+                handled.add(update.getUpdate_id());
+                first.acknowledge(update.getUpdate_id());
+            }
+            received.countDown();
+        });
+        poller.start();
+
+        assertTrue(received.await(10, TimeUnit.SECONDS));
+        // the API confirms the updates in flight, the journal keeps them
+        assertTrue(server.awaitPoll(11));
+        poller.stop();
+        assertTrue(poller.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(11, server.confirmed);
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), handled);
+        journal.close();
+
+        journal = new UpdateJournal(file);
+        final CountDownLatch done = new CountDownLatch(5);
+        poller = new UpdatePoller(new TelegramBot(server), config);
+        poller.setJournal(journal);
+        poller.addHandler(journal.acknowledging(update -> {
+            handled.add(update.getUpdate_id());
+            done.countDown();
+        }));
+        poller.start();
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        poller.stop();
+        assertTrue(poller.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), handled);
+        assertEquals(11, server.confirmed);
+        journal.close();
+    }
+
+    @Test
+    public void pollPastUpdatesInFlight() throws Exception {
+        final UpdatePollerTest.UpdatesServer server = new UpdatePollerTest.UpdatesServer();
+        server.add(250);
+        final UpdatePollerConfig config = new UpdatePollerConfig();
+        config.setTimeout(1);
+        config.setMaxInFlight(10);
+
+        // update 1 is still handled elsewhere, while the others pass it
+        final UpdateJournal journal = new UpdateJournal(file);
+        final CountDownLatch done = new CountDownLatch(249);
+        final UpdatePoller poller = new UpdatePoller(new TelegramBot(server), config);
+        poller.setJournal(journal);
+        poller.addHandler(update -> {
+            if(update.getUpdate_id() == 1) return;
+            journal.acknowledge(update.getUpdate_id());
+            done.countDown();
+        });
+        poller.start();
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(1, journal.getUnacknowledgedCount());
+        journal.acknowledge(1);
+        poller.stop();
+        assertTrue(poller.awaitTermination(10, TimeUnit.SECONDS));
+
+        // the offset never goes back to the update in flight. The first poll has no offset.
+        for(int i = 2; i < server.offsets.size(); i++) {
+            assertTrue(server.offsets.toString(), server.offsets.get(i) >= server.offsets.get(i - 1));
+        }
+        for(int limit : server.limits) {
+            assertTrue(server.limits.toString(), limit <= 10);
+        }
+        journal.close();
+    }
+
+    @Test
+    public void boundUpdatesInFlight() throws Exception {
+        final UpdatePollerTest.UpdatesServer server = new UpdatePollerTest.UpdatesServer();
+        server.add(30);
+        final UpdatePollerConfig config = new UpdatePollerConfig();
+        config.setTimeout(1);
+        config.setMaxInFlight(10);
+
+        final UpdateJournal journal = new UpdateJournal(file);
+        final List<Integer> received = Collections.synchronizedList(new ArrayList<Integer>());
+        final UpdatePoller poller = new UpdatePoller(new TelegramBot(server), config);
+        poller.setJournal(journal);
+        poller.addHandler(update -> received.add(update.getUpdate_id()));
+        poller.start();
+
+        // nothing is acknowledged, so the poller waits after 10 updates
+        Thread.sleep(300);
+        assertEquals(Integer.valueOf(11), poller.getOffset());
+        assertEquals(Collections.<Integer>singletonList(null), server.offsets);
+        assertEquals(10, received.size());
+
+        for(int id = 1; id <= 10; id++) journal.acknowledge(id);
+        assertTrue(server.awaitPoll(11));
+        poller.stop();
+        assertTrue(poller.awaitTermination(10, TimeUnit.SECONDS));
+        journal.close();
+    }
+
+    private static List<Integer> ids(List<Update> updates) {
+        final List<Integer> ids = new ArrayList<Integer>(updates.size());
+        for(Update update : updates) ids.add(update.getUpdate_id());
+        return ids;
+    }
+
+    private static List<Update> updates(int first, int count) {
+        final Update[] updates = new Update[count];
+        for(int i = 0; i < count; i++) {
+            final Message message = new Message();
+            message.setText("message " + (first + i));
+            updates[i] = new Update();
+            updates[i].setUpdate_id(first + i);
+            updates[i].setMessage(message);
+        }
+        return Arrays.asList(updates);
+    }
+
+    /**
+     * Handles 1000 updates, except 500 and 777, and waits to be killed
+     */
+    public static class CrashingProcess {
+        public static void main(String[] args) throws Exception {
+            final UpdateJournal journal = new UpdateJournal(new File(args[0]), 256);
+            for(int batch = 0; batch < 10; batch++) {
+                journal.received(updates(batch * 100 + 1, 100));
+                for(int id = batch * 100 + 1; id <= batch * 100 + 100; id++) {
+                    if(id != 500 && id != 777) journal.acknowledge(id);
+                }
+            }
+            System.out.println("ready");
+            System.out.flush();
+            Thread.sleep(60000);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.exception.BotException;
+import de.raysha.lib.telegram.bot.api.model.InputFile;
+import de.raysha.lib.telegram.bot.api.model.Update;
+import org.codehaus.jackson.type.JavaType;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class UpdatePollerTest {
+
+    @Test
+    public void deliverInOrderAndTrackOffset() throws Exception {
+        final UpdatesServer server = new UpdatesServer();
+        server.add(250);
+
+        final List<Integer> received = Collections.synchronizedList(new ArrayList<Integer>());
+        final CountDownLatch done = new CountDownLatch(250);
+        final UpdatePoller poller = new UpdatePoller(new TelegramBot(server), config(1));
+        poller.addHandler(update -> {
+            received.add(update.getUpdate_id());
+            done.countDown();
+        });
+        poller.start();
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        poller.stop();
+        assertTrue(poller.awaitTermination(10, TimeUnit.SECONDS));
+
+        for(int i = 0; i < 250; i++) {
+            assertEquals(Integer.valueOf(i + 1), received.get(i));
+        }
+        assertEquals(Integer.valueOf(251), poller.getOffset());
+        assertTrue(server.offsets.toString(), server.offsets.containsAll(Arrays.asList(null, 101, 201, 251)));
+        assertEquals("the dispatched updates are confirmed", 251, server.confirmed);
+    }
+
+    @Test
+    public void pollWhileDispatching() throws Exception {
+        final UpdatesServer server = new UpdatesServer();
+        server.add(150);
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(150);
+        final UpdatePollerConfig config = config(1);
+        config.setPipelineDepth(1);
+        final UpdatePoller poller = new UpdatePoller(new TelegramBot(server), config);
+        poller.addHandler(update -> {
+            release.await();
+            done.countDown();
+        });
+        poller.start();
+
+        assertTrue(server.awaitPoll(101));
+        release.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        poller.stop();
+        assertTrue(poller.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void pollAfterDispatching() throws Exception {
+        final UpdatesServer server = new UpdatesServer();
+        server.add(150);
+
+        final CountDownLatch release = new CountDownLatch(1);
+        // not pipelined by default
+        final UpdatePoller poller = new UpdatePoller(new TelegramBot(server), config(1));
+        poller.addHandler(update -> release.await());
+        poller.start();
+
+        assertFalse(server.awaitPoll(101));
+        release.countDown();
+        assertTrue(server.awaitPoll(101));
+        poller.stop();
+        assertTrue(poller.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void retryFailedPolls() throws Exception {
+        final UpdatesServer server = new UpdatesServer();
+        server.failures.set(2);
+        server.add(3);
+
+        final List<Throwable> errors = Collections.synchronizedList(new ArrayList<Throwable>());
+        final CountDownLatch done = new CountDownLatch(3);
+        final UpdatePollerConfig config = config(1);
+        config.setMinErrorDelay(10);
+        final UpdatePoller poller = new UpdatePoller(new TelegramBot(server), config);
+        poller.setErrorHandler((update, error) -> errors.add(error));
+        poller.addHandler(update -> {
+            done.countDown();
+            if(update.getUpdate_id() == 2) throw new IllegalStateException("handler failed");
+        });
+        poller.start();
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        poller.stop();
+        assertTrue(poller.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(3, errors.size());
+        assertTrue(errors.get(2) instanceof IllegalStateException);
+    }
+
+    @Test
+    public void surviveRuntimeExceptions() throws Exception {
+        final UpdatesServer server = new UpdatesServer();
+        server.crashes.set(2);
+        server.add(3);
+
+        final List<Throwable> errors = Collections.synchronizedList(new ArrayList<Throwable>());
+        final CountDownLatch done = new CountDownLatch(3);
+        final UpdatePollerConfig config = config(1);
+        config.setMinErrorDelay(10);
+        final UpdatePoller poller = new UpdatePoller(new TelegramBot(server), config);
+        poller.setErrorHandler((update, error) -> errors.add(error));
+        poller.addHandler(update -> done.countDown());
+        poller.start();
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertTrue(poller.isRunning());
+        poller.stop();
+        assertTrue(poller.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(2, errors.size());
+        assertTrue(errors.get(0) instanceof IllegalStateException);
+    }
+
+    @Test
+    public void holdBackWhileHandlersAreFull() throws Exception {
+        final UpdatesServer server = new UpdatesServer();
+        server.add(500);
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger handled = new AtomicInteger();
+        final UpdateDispatcher dispatcher = new UpdateDispatcher(update -> {
+            release.await();
+            handled.incrementAndGet();
+        }, 2);
+        dispatcher.setCapacity(20);
+        final UpdatePollerConfig config = config(1);
+        config.setPipelineDepth(1);
+        final UpdatePoller poller = new UpdatePoller(new TelegramBot(server), config);
+        poller.addHandler(dispatcher);
+        poller.start();
+
+        Thread.sleep(300);
+        // the first poll fills the queues, the next one waits until half of them is free
+        assertEquals(Integer.valueOf(21), poller.getOffset());
+        for(int limit : server.limits) {
+            assertTrue(server.limits.toString(), limit <= 20);
+        }
+
+        release.countDown();
+        assertTrue(server.awaitPoll(501));
+        poller.stop();
+        // the last batch is handed to the dispatcher before the poller terminates
+        assertTrue(poller.awaitTermination(10, TimeUnit.SECONDS));
+        assertTrue(dispatcher.awaitIdle(10, TimeUnit.SECONDS));
+        dispatcher.shutdown();
+        assertEquals(500, handled.get());
+    }
+
+    private static UpdatePollerConfig config(int timeout) {
+        final UpdatePollerConfig config = new UpdatePollerConfig();
+        config.setTimeout(timeout);
+        return config;
+    }
+
+    /**
+     * Answers getUpdates like the API: the updates below the offset are confirmed and dropped,
+     * a poll waits up to its timeout for new updates.
+     */
+    static class UpdatesServer implements RequestExecutor {
+        final List<Integer> offsets = Collections.synchronizedList(new ArrayList<Integer>());
+        final List<Integer> limits = Collections.synchronizedList(new ArrayList<Integer>());
+        final AtomicInteger failures = new AtomicInteger();
+        final AtomicInteger crashes = new AtomicInteger();
+        private final List<Update> updates = new ArrayList<Update>();
+        private int nextId = 1;
+        volatile int confirmed;
+
+        synchronized void add(int count) {
+            for(int i = 0; i < count; i++) {
+                final Update update = new Update();
+                update.setUpdate_id(nextId++);
+                updates.add(update);
+            }
+            notifyAll();
+        }
+
+        /**
+         * @return true if a poll with the offset was received within a second
+         */
+        synchronized boolean awaitPoll(int offset) throws InterruptedException {
+            final long deadline = System.currentTimeMillis() + 1000;
+            while(!offsets.contains(offset)) {
+                final long wait = deadline - System.currentTimeMillis();
+                if(wait <= 0) return false;
+                wait(wait);
+            }
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public synchronized <T> T get(String action, Map<String, Object> parameters, JavaType resultType) throws BotException {
+            final Integer offset = (Integer) parameters.get("offset");
+            final int limit = (Integer) parameters.get("limit");
+            final int timeout = (Integer) parameters.get("timeout");
+            offsets.add(offset);
+            limits.add(limit);
+            notifyAll();
+            if(failures.getAndDecrement() > 0) {
+                throw new BotException("connection refused");
+            }
+            if(crashes.getAndDecrement() > 0) {
+                throw new IllegalStateException("broken response");
+            }
+
+            if(offset != null) {
+                confirmed = Math.max(confirmed, offset);
+                while(!updates.isEmpty() && updates.get(0).getUpdate_id() < offset) updates.remove(0);
+            }
+
+            try {
+                final long deadline = System.currentTimeMillis() + timeout * 1000L;
+                while(updates.isEmpty() && System.currentTimeMillis() < deadline) {
+                    wait(Math.max(1, deadline - System.currentTimeMillis()));
+                }
+            } catch (InterruptedException e) {
+                throw new BotException("interrupted", e);
+            }
+            return (T) new ArrayList<Update>(updates.subList(0, Math.min(limit, updates.size())));
+        }
+
+        @Override
+        public <T> T post(String action, Map<String, Object> parameters, JavaType resultType) {
+            throw new UnsupportedOperationException(action);
+        }
+
+        @Override
+        public <T> T post(String action, Map<String, Object> parameters, String fileName, InputFile file, JavaType resultType) {
+            throw new UnsupportedOperationException(action);
+        }
+    }
+}
@@ -0,0 +1,416 @@
+package de.raysha.lib.telegram.bot.api;
+
+import de.raysha.lib.telegram.bot.api.model.ChatId;
+import de.raysha.lib.telegram.bot.api.model.InlineQueryResult;
+import de.raysha.lib.telegram.bot.api.model.InputFile;
+import de.raysha.lib.telegram.bot.api.model.Update;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.type.JavaType;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Test;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.security.KeyStore;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class WebhookServerTest {
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final String PATH = "/secret-4711";
+
+    private final List<Update> received = Collections.synchronizedList(new ArrayList<Update>());
+    private WebhookServer server;
+
+    @After
+    public void stop() throws InterruptedException {
+        if(server != null) {
+            server.stop();
+            assertTrue(server.awaitTermination(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void receiveUpdates() throws Exception {
+        start(config(null));
+        final String url = "http://127.0.0.1:" + server.getPort();
+
+        for(int i = 1; i <= 2000; i++) {
+            assertEquals(200, post(url + PATH, update(i, "hello")));
+        }
+        assertEquals(2000, received.size());
+        assertEquals(Integer.valueOf(2000), received.get(1999).getUpdate_id());
+        assertEquals("hello", received.get(0).getMessage().getText());
+        assertEquals(Long.valueOf(-42), received.get(0).getMessage().getChat().getId());
+
+        assertEquals(404, post(url + "/other", update(1, "hello")));
+        assertEquals(400, post(url + PATH, "{no json"));
+        final HttpURLConnection get = (HttpURLConnection) new URL(url + PATH).openConnection();
+        assertEquals(405, get.getResponseCode());
+        assertEquals(2000, received.size());
+    }
+
+    @Test
+    public void pipelinedRequests() throws Exception {
+        start(config(null));
+
+        final String body = update(1, "first");
+        final String second = update(2, "zwëite");
+        final String requests = request(body, false) + request(second, true);
+        final Socket socket = new Socket("127.0.0.1", server.getPort());
+        try {
+            final OutputStream out = socket.getOutputStream();
+            // split the second request to see a partial one
+            final byte[] bytes = requests.getBytes(UTF_8);
+            out.write(bytes, 0, bytes.length - 10);
+            out.flush();
+            Thread.sleep(50);
+            out.write(bytes, bytes.length - 10, 10);
+            out.flush();
+
+            final String responses = readAll(socket.getInputStream());
+            assertEquals(2, responses.split("HTTP/1.1 200 OK").length - 1);
+            assertTrue(responses.contains("Connection: close"));
+        } finally {
+            socket.close();
+        }
+        assertEquals("zwëite", received.get(1).getMessage().getText());
+    }
+
+    @Test
+    public void lazyDecoding() throws Exception {
+        final WebhookServerConfig config = config(null);
+        config.setCodecs(new JsonCodecs(new ObjectMapper(), true).setLazyDecoding(true));
+        start(config);
+
+        final Socket socket = new Socket("127.0.0.1", server.getPort());
+        try {
+            final OutputStream out = socket.getOutputStream();
+            out.write(request(update(1, "first"), false).getBytes(UTF_8));
+            out.flush();
+            final long deadline = System.currentTimeMillis() + 5000;
+            while(received.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            // the second request is read into the buffer of the first one
+            out.write(request(update(2, "other"), true).getBytes(UTF_8));
+            out.flush();
+            readAll(socket.getInputStream());
+        } finally {
+            socket.close();
+        }
+        assertEquals(2, received.size());
+        assertEquals("first", received.get(0).getMessage().getText());
+        assertEquals("other", received.get(1).getMessage().getText());
+    }
+
+    @Test
+    public void limits() throws Exception {
+        final WebhookServerConfig config = config(null);
+        config.setMaxRequestSize(1000);
+        start(config);
+
+        final char[] text = new char[2000];
+        java.util.Arrays.fill(text, 'a');
+        assertEquals(413, post("http://127.0.0.1:" + server.getPort() + PATH, update(1, new String(text))));
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    public void fullHandlers() throws Exception {
+        start(config(null));
+        final CountDownLatch release = new CountDownLatch(1);
+        final UpdateDispatcher dispatcher = new UpdateDispatcher(update -> release.await(), 1);
+        dispatcher.setCapacity(1);
+        server.addHandler(dispatcher);
+        try {
+            final String url = "http://127.0.0.1:" + server.getPort() + PATH;
+            assertEquals(200, post(url, update(1, "taken")));
+            assertTrue(dispatcher.awaitCapacity(1, 1, TimeUnit.SECONDS));
+            assertEquals(200, post(url, update(2, "queued")));
+            assertEquals(429, post(url, update(3, "again later")));
+
+            release.countDown();
+            assertTrue(dispatcher.awaitIdle(5, TimeUnit.SECONDS));
+            assertEquals(200, post(url, update(3, "again later")));
+            assertEquals(3, received.size());
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    public void https() throws Exception {
+        final SSLContext serverContext = serverContext();
+        Assume.assumeTrue("keytool is not available", serverContext != null);
+        start(config(serverContext));
+
+        final SSLContext clientContext = SSLContext.getInstance("TLS");
+        clientContext.init(null, new TrustManager[]{new TrustAll()}, null);
+        final char[] text = new char[100000];
+        java.util.Arrays.fill(text, 'b');
+
+        for(int i = 1; i <= 20; i++) {
+            final HttpsURLConnection connection = (HttpsURLConnection) new URL("https://localhost:" + server.getPort() + PATH).openConnection();
+            connection.setSSLSocketFactory(clientContext.getSocketFactory());
+            connection.setHostnameVerifier((host, session) -> true);
+            assertEquals(200, post(connection, update(i, i % 2 == 0 ? new String(text) : "small")));
+        }
+        assertEquals(20, received.size());
+        assertEquals(100000, received.get(1).getMessage().getText().length());
+    }
+
+    @Test
+    public void replyInResponse() throws Exception {
+        final RecordingExecutor executor = new RecordingExecutor();
+        final BotAPI bot = new TelegramBot(new WebhookReplyExecutor(executor));
+        final WebhookServerConfig config = config(null);
+        config.setReplyTimeout(5000);
+        start(config);
+        final UpdateDispatcher dispatcher = new UpdateDispatcher(new UpdateHandler() {
+            @Override
+            public void handle(Update update) throws Exception {
+                final ChatId chat = new ChatId(update.getMessage().getChat().getId());
+                if(!bot.sendChatAction(chat, BotAPI.ChatAction.typing)) {
+                    throw new IllegalStateException("A reply in the response returns true.");
+                }
+                bot.sendMessage(chat, "pong " + update.getMessage().getText());
+            }
+        }, 2);
+        server.addHandler(dispatcher);
+        try {
+            final String url = "http://127.0.0.1:" + server.getPort() + PATH;
+            for(int i = 1; i <= 50; i++) {
+                assertEquals("method=sendChatAction&chat_id=-42&action=typing", postForBody(url, update(i, "ping")));
+            }
+            assertTrue(dispatcher.awaitIdle(5, TimeUnit.SECONDS));
+
+            // the second request of each handler is sent by the executor
+            assertEquals(50, executor.actions.size());
+            assertEquals("sendMessage", executor.actions.get(0));
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    public void replyTimeout() throws Exception {
+        final RecordingExecutor executor = new RecordingExecutor();
+        final BotAPI bot = new TelegramBot(new WebhookReplyExecutor(executor));
+        final WebhookServerConfig config = config(null);
+        config.setReplyTimeout(100);
+        start(config);
+        final UpdateDispatcher dispatcher = new UpdateDispatcher(new UpdateHandler() {
+            @Override
+            public void handle(Update update) throws Exception {
+                if(update.getUpdate_id() == 1) Thread.sleep(500);
+                bot.sendMessage(new ChatId(update.getMessage().getChat().getId()), "late");
+            }
+        }, 1);
+        server.addHandler(dispatcher);
+        try {
+            final String url = "http://127.0.0.1:" + server.getPort() + PATH;
+            final long start = System.currentTimeMillis();
+            assertEquals("", postForBody(url, update(1, "slow")));
+            assertTrue(System.currentTimeMillis() - start < 500);
+
+            assertTrue(dispatcher.awaitIdle(5, TimeUnit.SECONDS));
+            assertEquals(Collections.singletonList("sendMessage"), executor.actions);
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    public void replyJsonBody() throws Exception {
+        final RecordingExecutor executor = new RecordingExecutor();
+        final BotAPI bot = new TelegramBot(new WebhookReplyExecutor(executor));
+        final WebhookServerConfig config = config(null);
+        config.setReplyTimeout(5000);
+        start(config);
+        server.addHandler(new UpdateHandler() {
+            @Override
+            public void handle(Update update) throws Exception {
+                if(!bot.answerInlineQuery("q1", Collections.<InlineQueryResult>emptyList())) {
+                    throw new IllegalStateException("A reply in the response returns true.");
+                }
+            }
+        });
+
+        final String body = postForBody("http://127.0.0.1:" + server.getPort() + PATH, update(1, "inline"));
+        assertTrue(body, body.startsWith("{\"method\":\"answerInlineQuery\",\"inline_query_id\":\"q1\""));
+        assertTrue(executor.actions.isEmpty());
+    }
+
+    private void start(WebhookServerConfig config) throws IOException {
+        server = new WebhookServer(config);
+        server.addHandler(new UpdateHandler() {
+            @Override
+            public void handle(Update update) {
+                received.add(update);
+            }
+        });
+        server.start();
+    }
+
+    private WebhookServerConfig config(SSLContext sslContext) {
+        final WebhookServerConfig config = new WebhookServerConfig();
+        config.setHost("127.0.0.1");
+        config.setPort(0);
+        config.setPath(PATH);
+        config.setSslContext(sslContext);
+        return config;
+    }
+
+    private static String update(int id, String text) {
+        return "{\"update_id\":" + id + ",\"message\":{\"message_id\":" + id + ",\"date\":1450000000," +
+                "\"chat\":{\"id\":-42,\"type\":\"group\"},\"text\":\"" + text + "\"}}";
+    }
+
+    private static String request(String body, boolean close) {
+        return "POST " + PATH + " HTTP/1.1\r\n" +
+                "Host: localhost\r\n" +
+                "Content-Type: application/json\r\n" +
+                "Content-Length: " + body.getBytes(UTF_8).length + "\r\n" +
+                (close ? "Connection: close\r\n" : "") +
+                "\r\n" + body;
+    }
+
+    private static int post(String url, String body) throws IOException {
+        return post((HttpURLConnection) new URL(url).openConnection(), body);
+    }
+
+    private static int post(HttpURLConnection connection, String body) throws IOException {
+        connection.setDoOutput(true);
+        connection.setRequestMethod("POST");
+        connection.setRequestProperty("Content-Type", "application/json");
+        final OutputStream out = connection.getOutputStream();
+        out.write(body.getBytes(UTF_8));
+        out.close();
+
+        final int status = connection.getResponseCode();
+        final InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        if(in != null) readAll(in);
+        return status;
+    }
+
+    private static String postForBody(String url, String body) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setDoOutput(true);
+        connection.setRequestMethod("POST");
+        final OutputStream out = connection.getOutputStream();
+        out.write(body.getBytes(UTF_8));
+        out.close();
+
+        assertEquals(200, connection.getResponseCode());
+        return readAll(connection.getInputStream());
+    }
+
+    private static String readAll(InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[4096];
+        int read;
+        while((read = in.read(buffer)) >= 0) {
+            out.write(buffer, 0, read);
+        }
+        in.close();
+        return new String(out.toByteArray(), UTF_8);
+    }
+
+    /**
+     * @return a context with a self signed certificate of keytool, or null if keytool is not available
+     */
+    private static SSLContext serverContext() throws Exception {
+        final File keytool = new File(System.getProperty("java.home"), "bin/keytool");
+        if(!keytool.exists()) return null;
+
+        final File keystore = File.createTempFile("webhook", ".p12");
+        keystore.delete();
+        keystore.deleteOnExit();
+        final Process process = new ProcessBuilder(keytool.getPath(), "-genkeypair", "-alias", "webhook",
+                "-keyalg", "RSA", "-keysize", "2048", "-validity", "1", "-dname", "CN=localhost",
+                "-storetype", "PKCS12", "-keystore", keystore.getPath(), "-storepass", "secret", "-keypass", "secret")
+                .redirectErrorStream(true).start();
+        readAll(process.getInputStream());
+        if(process.waitFor() != 0) return null;
+
+        final KeyStore store = KeyStore.getInstance("PKCS12");
+        final InputStream in = new FileInputStream(keystore);
+        try {
+            store.load(in, "secret".toCharArray());
+        } finally {
+            in.close();
+        }
+        final KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagers.init(store, "secret".toCharArray());
+        final SSLContext context = SSLContext.getInstance("TLS");
+        context.init(keyManagers.getKeyManagers(), null, null);
+        return context;
+    }
+
+    private static class RecordingExecutor implements RequestExecutor {
+        private final List<String> actions = Collections.synchronizedList(new ArrayList<String>());
+
+        @Override
+        public <T> T get(String action, Map<String, Object> parameters, JavaType resultType) {
+            actions.add(action);
+            return null;
+        }
+
+        @Override
+        public <T> T post(String action, Map<String, Object> parameters, JavaType resultType) {
+            actions.add(action);
+            return null;
+        }
+
+        @Override
+        public <T> T post(String action, RequestBody body, JavaType resultType) {
+            actions.add(action);
+            return null;
+        }
+
+        @Override
+        public <T> T post(String action, Map<String, Object> parameters, String fileName, InputFile file, JavaType resultType) {
+            actions.add(action);
+            return null;
+        }
+    }
+
+    private static class TrustAll implements X509TrustManager {
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[0];
+        }
+    }
+}
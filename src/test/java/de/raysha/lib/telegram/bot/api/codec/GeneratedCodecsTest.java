@@ -0,0 +1,309 @@
+package de.raysha.lib.telegram.bot.api.codec;
+
+import de.raysha.lib.telegram.bot.api.JsonCodecs;
+import de.raysha.lib.telegram.bot.api.ResponseDecoder;
+import de.raysha.lib.telegram.bot.api.exception.BotException;
+import de.raysha.lib.telegram.bot.api.model.InlineQueryResult;
+import de.raysha.lib.telegram.bot.api.model.InlineQueryResultArticle;
+import de.raysha.lib.telegram.bot.api.model.InlineQueryResultGif;
+import de.raysha.lib.telegram.bot.api.model.Message;
+import de.raysha.lib.telegram.bot.api.model.ReplyKeyboardMarkup;
+import de.raysha.lib.telegram.bot.api.model.Update;
+import de.raysha.lib.telegram.bot.api.model.UserProfilePhotos;
+import de.raysha.lib.telegram.bot.api.model.compact.CompactMessage;
+import de.raysha.lib.telegram.bot.api.model.compact.CompactUpdate;
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.type.JavaType;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class GeneratedCodecsTest {
+    private static final String UPDATES = "[" +
+            "{\"update_id\":1,\"message\":{\"message_id\":2,\"date\":1450000000," +
+            "\"from\":{\"id\":3,\"first_name\":\"Jane\",\"username\":\"jane\"}," +
+            "\"chat\":{\"id\":-4,\"type\":\"group\",\"title\":\"Group\"}," +
+            "\"text\":\"hello\",\"photo\":[{\"file_id\":\"a\",\"width\":1,\"height\":2,\"file_size\":3}]," +
+            "\"reply_to_message\":{\"message_id\":1,\"text\":\"hi\"},\"group_chat_created\":false}}," +
+            "{\"update_id\":2,\"inline_query\":{\"id\":\"q\",\"from\":{\"id\":3},\"query\":\"cats\",\"offset\":\"\"}}" +
+            "]";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final JsonCodecs generated = new JsonCodecs(mapper, true);
+    private final JsonCodecs reflective = new JsonCodecs(mapper);
+
+    @Test
+    public void lookup() {
+        assertNotNull(Codecs.lookup(Update.class));
+        assertNull(Codecs.lookup(InlineQueryResult.class));
+        assertNull(Codecs.lookup(String.class));
+    }
+
+    @Test
+    public void readLikeJackson() throws IOException {
+        final List<Update> expected = read(reflective, UPDATES, JsonCodecs.UPDATES);
+        final List<Update> actual = read(generated, UPDATES, JsonCodecs.UPDATES);
+
+        assertEquals(expected.toString(), actual.toString());
+        assertEquals("Group", actual.get(0).getMessage().getChat().getTitle());
+        assertEquals(Integer.valueOf(2), actual.get(0).getMessage().getPhoto().get(0).getHeight());
+
+        final String photos = "{\"total_count\":1,\"photos\":[[{\"file_id\":\"a\"},{\"file_id\":\"b\"}]]}";
+        assertEquals(read(reflective, photos, JsonCodecs.USER_PROFILE_PHOTOS).toString(),
+                read(generated, photos, JsonCodecs.USER_PROFILE_PHOTOS).toString());
+    }
+
+    @Test
+    public void skipUnknownFields() throws IOException {
+        final Message message = read(generated, "{\"message_id\":1,\"entities\":[{\"type\":\"bold\"}],\"text\":\"x\"}", JsonCodecs.MESSAGE);
+
+        assertEquals(Integer.valueOf(1), message.getMessage_id());
+        assertEquals("x", message.getText());
+    }
+
+    @Test
+    public void readLazily() throws IOException, BotException {
+        final JsonCodecs lazy = new JsonCodecs(mapper, true).setLazyDecoding(true);
+
+        final List<Update> updates = read(lazy, UPDATES, JsonCodecs.UPDATES);
+        assertEquals(read(reflective, UPDATES, JsonCodecs.UPDATES).toString(), updates.toString());
+        assertEquals("hi", updates.get(0).getMessage().getReply_to_message().getText());
+
+        // the response is read into a byte array, so the deferred values are sliced out of it
+        final String response = "{\"ok\":true,\"result\":" + UPDATES + "}";
+        final List<Update> sliced = new ResponseDecoder(lazy).decode(new ByteArrayInputStream(response.getBytes("UTF-8")), JsonCodecs.UPDATES);
+        assertEquals(updates.toString(), sliced.toString());
+
+        final String invalidPhoto = "[{\"update_id\":1,\"message\":{\"message_id\":2,\"photo\":\"none\"}}]";
+        final List<Update> invalid = read(lazy, invalidPhoto, JsonCodecs.UPDATES);
+        final Message message = invalid.get(0).getMessage();
+        assertEquals(Integer.valueOf(2), message.getMessage_id());
+        try {
+            message.getPhoto();
+            fail("The photos must be decoded on the first access");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void copySmallDeferredValues() throws IOException {
+        final StringBuilder padding = new StringBuilder();
+        for(int i = 0; i < 1000; i++) padding.append('x');
+
+        // a small value does not keep the whole array
+        final JsonParser small = new JsonFactory().createJsonParser(
+                ("[{\"message_id\":1},\"" + padding + "\"]").getBytes("UTF-8"));
+        small.nextToken();
+        small.nextToken();
+        final Deferred<Message> message = Deferred.capture(small, Codecs.lookup(Message.class));
+        assertEquals(message.size(), message.retainedSize());
+        assertEquals(Integer.valueOf(1), message.get().getMessage_id());
+
+        // a value which fills most of the array refers to it
+        final byte[] json = ("{\"message_id\":2,\"text\":\"" + padding + "\"}").getBytes("UTF-8");
+        final JsonParser large = new JsonFactory().createJsonParser(json);
+        large.nextToken();
+        final Deferred<Message> text = Deferred.capture(large, Codecs.lookup(Message.class));
+        assertEquals(json.length, text.retainedSize());
+        assertEquals(padding.toString(), text.get().getText());
+    }
+
+    @Test
+    public void readLazilyConcurrently() throws Exception {
+        final JsonCodecs lazy = new JsonCodecs(mapper, true).setLazyDecoding(true);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for(int i = 0; i < 200; i++) {
+                final Update update = GeneratedCodecsTest.<List<Update>>read(lazy, UPDATES, JsonCodecs.UPDATES).get(0);
+                final CountDownLatch start = new CountDownLatch(1);
+                final List<Future<Message>> messages = new ArrayList<Future<Message>>();
+                for(int t = 0; t < 4; t++) {
+                    messages.add(executor.submit(() -> {
+                        start.await();
+                        return update.getMessage();
+                    }));
+                }
+                start.countDown();
+
+                // every reader sees the one decoded message
+                final Message message = messages.get(0).get(5, TimeUnit.SECONDS);
+                assertEquals("hello", message.getText());
+                for(Future<Message> other : messages) {
+                    assertSame(message, other.get(5, TimeUnit.SECONDS));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void project() throws IOException {
+        final JsonCodecs projected = new JsonCodecs(mapper, true)
+                .project(Message.class, Projection.of("chat.id", "from.id", "text", "photo[*].file_id"));
+
+        final List<Update> updates = read(projected, UPDATES, JsonCodecs.UPDATES);
+        final Message message = updates.get(0).getMessage();
+        assertEquals(Integer.valueOf(1), updates.get(0).getUpdate_id());
+        assertEquals(Long.valueOf(-4), message.getChat().getId());
+        assertNull(message.getChat().getTitle());
+        assertEquals(Integer.valueOf(3), message.getFrom().getId());
+        assertNull(message.getFrom().getFirst_name());
+        assertEquals("hello", message.getText());
+        assertEquals("a", message.getPhoto().get(0).getFile_id());
+        assertNull(message.getPhoto().get(0).getWidth());
+        assertNull(message.getMessage_id());
+        assertNull(message.getReply_to_message());
+        assertEquals("cats", updates.get(1).getInline_query().getQuery());
+
+        // the projection applies to deferred values too
+        projected.setLazyDecoding(true);
+        final List<Update> lazyUpdates = read(projected, UPDATES, JsonCodecs.UPDATES);
+        final Message lazy = lazyUpdates.get(0).getMessage();
+        assertEquals(Long.valueOf(-4), lazy.getChat().getId());
+        assertNull(lazy.getChat().getTitle());
+
+        projected.project(Message.class, null);
+        final List<Update> all = read(projected, UPDATES, JsonCodecs.UPDATES);
+        assertEquals("Group", all.get(0).getMessage().getChat().getTitle());
+    }
+
+    @Test
+    public void projectionPaths() {
+        assertEquals("*", Projection.of("chat.id", "chat").field("chat", Object.class).toString());
+        assertEquals("*", Projection.of("chat", "chat.id").field("chat", Object.class).toString());
+        assertEquals("{id=*}", Projection.of("chat[*].id").field("chat", Object.class).toString());
+        assertNull(Projection.of("chat.id").field("text", String.class));
+
+        try {
+            Projection.of("chat..id");
+            fail("Empty field names are invalid");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void canonicalize() throws IOException {
+        final String json = "[" +
+                "{\"update_id\":1,\"message\":{\"from\":{\"id\":3,\"first_name\":\"Jane\"},\"chat\":{\"id\":-4,\"type\":\"group\"}," +
+                "\"reply_to_message\":{\"from\":{\"id\":3,\"first_name\":\"Jane\"},\"photo\":[{\"file_id\":\"AgAD\"}]}}}," +
+                "{\"update_id\":2,\"message\":{\"from\":{\"id\":3,\"first_name\":\"Jane\"},\"chat\":{\"id\":-4,\"type\":\"group\"}," +
+                "\"photo\":[{\"file_id\":\"AgAD\"}]}}" +
+                "]";
+
+        final List<Update> plain = read(generated, json, JsonCodecs.UPDATES);
+        assertNotSame(plain.get(0).getMessage().getFrom(), plain.get(1).getMessage().getFrom());
+
+        final JsonCodecs canonical = new JsonCodecs(mapper, true).setCanonicalPool(new CanonicalPool(64));
+        final List<Update> updates = read(canonical, json, JsonCodecs.UPDATES);
+        final Message first = updates.get(0).getMessage();
+        final Message second = updates.get(1).getMessage();
+
+        // the strings are shared, the users and chats which can be modified are not
+        assertNotSame(first.getFrom(), second.getFrom());
+        assertNotSame(first.getChat(), second.getChat());
+        assertSame(first.getFrom().getFirst_name(), second.getFrom().getFirst_name());
+        assertSame(first.getFrom().getFirst_name(), first.getReply_to_message().getFrom().getFirst_name());
+        assertSame(first.getChat().getType(), second.getChat().getType());
+        assertSame(first.getReply_to_message().getPhoto().get(0).getFile_id(), second.getPhoto().get(0).getFile_id());
+        assertEquals(plain.toString(), updates.toString());
+        assertNull(CanonicalPool.current());
+
+        second.getFrom().setFirst_name("John");
+        assertEquals("Jane", first.getFrom().getFirst_name());
+
+        // values of later batches are canonicalized too
+        final List<Update> next = read(canonical, json, JsonCodecs.UPDATES);
+        assertSame(first.getFrom().getFirst_name(), next.get(0).getMessage().getFrom().getFirst_name());
+    }
+
+    @Test
+    public void readCompact() throws IOException {
+        final List<CompactUpdate> updates = read(generated, UPDATES, JsonCodecs.COMPACT_UPDATES);
+        final CompactMessage message = updates.get(0).getMessage();
+
+        assertEquals(1, updates.get(0).getUpdate_id());
+        assertEquals(2, message.getMessage_id());
+        assertEquals(-4L, message.getChat().getId());
+        assertEquals(3L, message.getFrom().getId());
+        assertEquals(2, message.getPhoto().get(0).getHeight());
+        assertTrue(message.hasGroup_chat_created());
+        assertFalse(message.getGroup_chat_created());
+        assertFalse(message.hasForward_date());
+        assertFalse(message.getReply_to_message().hasDate());
+        assertEquals("cats", updates.get(1).getInline_query().getQuery());
+        assertEquals(read(reflective, UPDATES, JsonCodecs.COMPACT_UPDATES).toString(), updates.toString());
+
+        // absent primitives are not written
+        final String reply = generated.writeValueAsString(message.getReply_to_message());
+        assertTrue(reply.contains("\"message_id\":1"));
+        assertFalse(reply.contains("date"));
+    }
+
+    @Test
+    public void largeChatIds() throws IOException {
+        final String json = "[{\"update_id\":1,\"message\":{\"message_id\":2,\"chat\":{\"id\":-1001234567890,\"type\":\"supergroup\"}," +
+                "\"migrate_from_chat_id\":-123456789012}}]";
+
+        final List<CompactUpdate> compact = read(generated, json, JsonCodecs.COMPACT_UPDATES);
+        assertEquals(-1001234567890L, compact.get(0).getMessage().getChat().getId());
+        assertEquals(-123456789012L, compact.get(0).getMessage().getMigrate_from_chat_id());
+
+        final List<Update> updates = read(generated, json, JsonCodecs.UPDATES);
+        assertEquals(Long.valueOf(-1001234567890L), updates.get(0).getMessage().getChat().getId());
+        assertEquals(Long.valueOf(-123456789012L), updates.get(0).getMessage().getMigrate_from_chat_id());
+        assertEquals(read(reflective, json, JsonCodecs.UPDATES).toString(), updates.toString());
+    }
+
+    @Test
+    public void writeLikeJackson() throws IOException {
+        final InlineQueryResultArticle article = new InlineQueryResultArticle();
+        article.setTitle("title");
+        article.setMessage_text("text");
+        final InlineQueryResultGif gif = new InlineQueryResultGif();
+        gif.setGif_url("http://example.org/a.gif");
+        final List<InlineQueryResult> results = Arrays.<InlineQueryResult>asList(article, gif);
+
+        assertEquals(mapper.readTree(reflective.writeValueAsString(JsonCodecs.INLINE_QUERY_RESULTS, results)),
+                mapper.readTree(generated.writeValueAsString(JsonCodecs.INLINE_QUERY_RESULTS, results)));
+
+        final ReplyKeyboardMarkup keyboard = new ReplyKeyboardMarkup();
+        keyboard.setKeyboard(Arrays.asList(Arrays.asList("a", "b"), Arrays.asList("c")));
+        keyboard.setOne_time_keyboard(true);
+
+        assertEquals(mapper.readTree(reflective.writeValueAsString(keyboard)),
+                mapper.readTree(generated.writeValueAsString(keyboard)));
+    }
+
+    private static <T> T read(JsonCodecs codecs, String json, JavaType type) throws IOException {
+        final JsonParser parser = codecs.getJsonFactory().createJsonParser(json);
+        try {
+            parser.nextToken();
+            return codecs.read(parser, type);
+        } finally {
+            parser.close();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package de.raysha.lib.telegram.bot.api.model;
+
+import de.raysha.lib.telegram.bot.api.JsonCodecs;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ResultIdGeneratorsTest {
+
+    @Test
+    public void random() {
+        final Set<String> ids = new HashSet<String>();
+        for(int i = 0; i < 1000; i++) {
+            final String id = new InlineQueryResultArticle("title", "text").getId();
+            assertTrue(id, id.matches("[0-9a-f]{32}"));
+            ids.add(id);
+        }
+        assertEquals(1000, ids.size());
+    }
+
+    @Test
+    public void lazyAndStable() throws Exception {
+        final InlineQueryResultArticle article = new InlineQueryResultArticle("title", "text");
+        final String id = article.getId();
+        assertEquals(id, article.getId());
+        assertTrue(JsonCodecs.shared().writeValueAsString(article).contains("\"id\":\"" + id + "\""));
+
+        article.setId("mine");
+        assertEquals("mine", article.getId());
+    }
+
+    @Test
+    public void counter() {
+        final ResultIdGenerator counter = ResultIdGenerators.counter();
+        final String first = counter.generate(new InlineQueryResultArticle());
+        final String second = counter.generate(new InlineQueryResultArticle());
+        assertFalse(first.equals(second));
+        assertEquals(first.substring(0, first.indexOf('-')), second.substring(0, second.indexOf('-')));
+        assertTrue(second, second.endsWith("-2"));
+    }
+
+    @Test
+    public void content() throws Exception {
+        final ResultIdGenerator previous = InlineQueryResult.getIdGenerator();
+        InlineQueryResult.setIdGenerator(ResultIdGenerators.content());
+        try {
+            final InlineQueryResultArticle article = new InlineQueryResultArticle("title", "text");
+            final InlineQueryResultArticle same = new InlineQueryResultArticle("title", "text");
+            final InlineQueryResultArticle other = new InlineQueryResultArticle("title", "other text");
+            final InlineQueryResultGif gif = new InlineQueryResultGif();
+            gif.setGif_url("http://example.org/a.gif");
+
+            assertTrue(article.getId(), article.getId().matches("[0-9a-f]{32}"));
+            assertEquals(article.getId(), same.getId());
+            assertFalse(article.getId().equals(other.getId()));
+            assertEquals(new String(JsonCodecs.shared().writeInlineQueryResult(article), "UTF-8"),
+                    new String(JsonCodecs.shared().writeInlineQueryResult(same), "UTF-8"));
+            assertTrue(gif.getId().matches("[0-9a-f]{32}"));
+        } finally {
+            InlineQueryResult.setIdGenerator(previous);
+        }
+    }
+}